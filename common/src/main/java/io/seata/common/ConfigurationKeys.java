@@ -180,6 +180,16 @@ public interface ConfigurationKeys {
      * The constant CLIENT_ASYNC_COMMIT_BUFFER_LIMIT.
      */
     String CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = CLIENT_RM_PREFIX + "asyncCommitBufferLimit";
+
+    /**
+     * The constant CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL.
+     */
+    String CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL = CLIENT_RM_PREFIX + "asyncCommitFlushInterval";
+
+    /**
+     * The constant CLIENT_ASYNC_COMMIT_THREAD_SIZE.
+     */
+    String CLIENT_ASYNC_COMMIT_THREAD_SIZE = CLIENT_RM_PREFIX + "asyncCommitThreadSize";
     /**
      * The constant CLIENT_RM_LOCK_PREFIX.
      */
@@ -197,6 +207,14 @@ public interface ConfigurationKeys {
      * The constant CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT.
      */
     String CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = CLIENT_RM_LOCK_PREFIX + "retryPolicyBranchRollbackOnConflict";
+    /**
+     * The constant CLIENT_LOCK_RETRY_MAX_INTERVAL.
+     */
+    String CLIENT_LOCK_RETRY_MAX_INTERVAL = CLIENT_RM_LOCK_PREFIX + "retryMaxInterval";
+    /**
+     * The constant CLIENT_LOCK_WAIT_NOTIFY_ENABLE.
+     */
+    String CLIENT_LOCK_WAIT_NOTIFY_ENABLE = CLIENT_RM_LOCK_PREFIX + "waitNotifyEnable";
 
     /**
      * The constant SERVICE_SESSION_RELOAD_READ_SIZE
@@ -228,6 +246,16 @@ public interface ConfigurationKeys {
      */
     String CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE = CLIENT_RM_PREFIX + "sagaCompensatePersistModeUpdate";
 
+    /**
+     * The constant CLIENT_SAGA_STATE_LOG_WRITE_BEHIND.
+     */
+    String CLIENT_SAGA_STATE_LOG_WRITE_BEHIND = CLIENT_RM_PREFIX + "sagaStateLogWriteBehind";
+
+    /**
+     * The constant CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL.
+     */
+    String CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL = CLIENT_RM_PREFIX + "sagaStateLogFlushInterval";
+
     /**
      * The constant CLIENT_REPORT_RETRY_COUNT.
      */
@@ -243,11 +271,47 @@ public interface ConfigurationKeys {
      */
     String CLIENT_TABLE_META_CHECKER_INTERVAL = CLIENT_RM_PREFIX + "tableMetaCheckerInterval";
 
+    /**
+     * The constant CLIENT_TABLE_META_PRELOAD_TABLES.
+     */
+    String CLIENT_TABLE_META_PRELOAD_TABLES = CLIENT_RM_PREFIX + "tableMetaPreloadTables";
+
+    /**
+     * The constant CLIENT_TABLE_META_SNAPSHOT_ENABLE.
+     */
+    String CLIENT_TABLE_META_SNAPSHOT_ENABLE = CLIENT_RM_PREFIX + "tableMetaSnapshotEnable";
+
+    /**
+     * The constant CLIENT_TABLE_META_SNAPSHOT_DIR.
+     */
+    String CLIENT_TABLE_META_SNAPSHOT_DIR = CLIENT_RM_PREFIX + "tableMetaSnapshotDir";
+
     /**
      * The constant TCC_ACTION_INTERCEPTOR_ORDER.
      */
     String TCC_ACTION_INTERCEPTOR_ORDER = CLIENT_RM_PREFIX + "tccActionInterceptorOrder";
 
+    /**
+     * The constant TCC_DEFERRED_BRANCH_REGISTER.
+     * The deferred branches record their action context in the action_context column of the tcc fence log.
+     */
+    String TCC_DEFERRED_BRANCH_REGISTER = CLIENT_RM_PREFIX + "tccDeferredBranchRegister";
+
+    /**
+     * The constant TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE.
+     */
+    String TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE = CLIENT_RM_PREFIX + "tccDeferredBranchRegisterMaxSize";
+
+    /**
+     * The constant TCC_CONTEXT_CODEC.
+     */
+    String TCC_CONTEXT_CODEC = CLIENT_RM_PREFIX + "tccContextCodec";
+
+    /**
+     * The constant TCC_CONTEXT_COMPRESS_THRESHOLD.
+     */
+    String TCC_CONTEXT_COMPRESS_THRESHOLD = CLIENT_RM_PREFIX + "tccContextCompressThreshold";
+
     /**
      * The constant CLIENT_TM_PREFIX.
      */
@@ -463,6 +527,36 @@ public interface ConfigurationKeys {
      */
     String METRICS_EXPORTER_PROMETHEUS_PORT = "exporterPrometheusPort";
 
+    /**
+     * The constant METRICS_STAGE_ENABLED
+     */
+    String METRICS_STAGE_ENABLED = "stageEnabled";
+
+    /**
+     * The constant CLIENT_METRICS_ENABLED
+     */
+    String CLIENT_METRICS_ENABLED = CLIENT_PREFIX + "metrics.enabled";
+
+    /**
+     * The constant CLIENT_METRICS_EXPORTER_LIST, the client does not share the exporters of the server
+     */
+    String CLIENT_METRICS_EXPORTER_LIST = CLIENT_PREFIX + "metrics." + METRICS_EXPORTER_LIST;
+
+    /**
+     * The constant CLIENT_METRICS_EXPORTER_PROMETHEUS_PORT
+     */
+    String CLIENT_METRICS_EXPORTER_PROMETHEUS_PORT = CLIENT_PREFIX + "metrics." + METRICS_EXPORTER_PROMETHEUS_PORT;
+
+    /**
+     * The constant CLIENT_REGISTRY_SNAPSHOT_ENABLE
+     */
+    String CLIENT_REGISTRY_SNAPSHOT_ENABLE = CLIENT_PREFIX + "registrySnapshot.enable";
+
+    /**
+     * The constant CLIENT_REGISTRY_SNAPSHOT_DIR
+     */
+    String CLIENT_REGISTRY_SNAPSHOT_DIR = CLIENT_PREFIX + "registrySnapshot.dir";
+
     /**
      * The constant SERVER_UNDO_PREFIX.
      */
@@ -482,6 +576,12 @@ public interface ConfigurationKeys {
      * The constant TRANSACTION_UNDO_LOG_TABLE
      */
     String TRANSACTION_UNDO_LOG_TABLE = CLIENT_UNDO_PREFIX + "logTable";
+
+    /**
+     * The constant TRANSACTION_UNDO_LOG_TABLE_PARTITION
+     */
+    String TRANSACTION_UNDO_LOG_TABLE_PARTITION = CLIENT_UNDO_PREFIX + "logTablePartition";
+
     /**
      * The constant LOG_PREFIX
      */
@@ -643,6 +743,21 @@ public interface ConfigurationKeys {
      */
     String ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = TRANSPORT_PREFIX + "enableTcServerBatchSendResponse";
 
+    /**
+     * The constant TRANSPORT_RPC_TRACE_ENABLE
+     */
+    String TRANSPORT_RPC_TRACE_ENABLE = TRANSPORT_PREFIX + "rpcTrace.enable";
+
+    /**
+     * The constant TRANSPORT_RPC_TRACE_CAPACITY
+     */
+    String TRANSPORT_RPC_TRACE_CAPACITY = TRANSPORT_PREFIX + "rpcTrace.capacity";
+
+    /**
+     * The constant TRANSPORT_RPC_TRACE_SAMPLE_RATE
+     */
+    String TRANSPORT_RPC_TRACE_SAMPLE_RATE = TRANSPORT_PREFIX + "rpcTrace.sampleRate";
+
     /**
      * The constant DISABLE_GLOBAL_TRANSACTION.
      */
@@ -881,6 +996,19 @@ public interface ConfigurationKeys {
      */
     String XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT = CLIENT_RM_PREFIX + "connectionTwoPhaseHoldTimeoutXA";
 
+    /**
+     * The constant XA_CONNECTION_TWO_PHASE_POOL_SIZE
+     */
+    String XA_CONNECTION_TWO_PHASE_POOL_SIZE = CLIENT_RM_PREFIX + "connectionTwoPhasePoolSizeXA";
+
+    /**
+     * The constant XA_READ_ONLY_ONE_PHASE. A branch on a read-only connection that ran no update and no locking
+     * query is committed in one phase before the global decision. A query with side effects (a function writing
+     * data, a sequence) on such a connection is therefore NOT rolled back with the global transaction.
+     * The read-only status it reports needs a TC that knows it.
+     */
+    String XA_READ_ONLY_ONE_PHASE = CLIENT_RM_PREFIX + "readOnlyOnePhaseXA";
+
     /**
      * The constant ENABLE_PARALLEL_REQUEST_HANDLE_KEY
      */
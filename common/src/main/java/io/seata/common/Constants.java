@@ -96,6 +96,11 @@ public interface Constants {
      */
     String HOST_NAME = "host-name";
 
+    /**
+     * the branch id allocated locally for a TCC branch registered deferred
+     */
+    String LOCAL_BRANCH_ID = "sys::localBranchId";
+
     /**
      * branch context
      */
@@ -166,6 +171,11 @@ public interface Constants {
      */
     String SKIP_CHECK_LOCK = "skipCheckLock";
 
+    /**
+     * The constant LOCK_WAIT_NOTIFY
+     */
+    String LOCK_WAIT_NOTIFY = "lockWaitNotify";
+
     /**
      * The constant REGISTRY_TYPE_SPLIT_CHAR.
      */
@@ -25,17 +25,25 @@ public interface DefaultValues {
     int DEFAULT_TM_DEGRADE_CHECK_ALLOW_TIMES = 10;
     int DEFAULT_CLIENT_LOCK_RETRY_TIMES = 30;
     boolean DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = true;
+    int DEFAULT_CLIENT_LOCK_RETRY_MAX_INTERVAL = 0;
+    boolean DEFAULT_CLIENT_LOCK_WAIT_NOTIFY_ENABLE = false;
     int DEFAULT_LOG_EXCEPTION_RATE = 100;
     int DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = 10000;
+    long DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL = 1000L;
+    int DEFAULT_CLIENT_ASYNC_COMMIT_THREAD_SIZE = 4;
     int DEFAULT_TM_DEGRADE_CHECK_PERIOD = 2000;
     int DEFAULT_CLIENT_REPORT_RETRY_COUNT = 5;
     boolean DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE = false;
     boolean DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE = true;
     long DEFAULT_TABLE_META_CHECKER_INTERVAL = 60000L;
+    boolean DEFAULT_TABLE_META_SNAPSHOT_ENABLE = false;
+    String DEFAULT_TABLE_META_SNAPSHOT_DIR = "tableMetaSnapshot";
     boolean DEFAULT_TM_DEGRADE_CHECK = false;
     boolean DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE = false;
     boolean DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE = false;
     boolean DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE = false;
+    boolean DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND = false;
+    long DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL = 1000L;
 
     /**
      * Shutdown timeout default 3s
@@ -52,6 +60,9 @@ public interface DefaultValues {
     boolean DEFAULT_ENABLE_TM_CLIENT_BATCH_SEND_REQUEST = false;
     boolean DEFAULT_ENABLE_RM_CLIENT_BATCH_SEND_REQUEST = true;
     boolean DEFAULT_ENABLE_TC_SERVER_BATCH_SEND_RESPONSE = false;
+    boolean DEFAULT_TRANSPORT_RPC_TRACE_ENABLE = false;
+    int DEFAULT_TRANSPORT_RPC_TRACE_CAPACITY = 8192;
+    int DEFAULT_TRANSPORT_RPC_TRACE_SAMPLE_RATE = 100;
 
 
     String DEFAULT_BOSS_THREAD_PREFIX = "NettyBoss";
@@ -66,6 +77,7 @@ public interface DefaultValues {
      * The constant  DEFAULT_TRANSACTION_UNDO_LOG_TABLE.
      */
     String DEFAULT_TRANSACTION_UNDO_LOG_TABLE = "undo_log";
+    boolean DEFAULT_TRANSACTION_UNDO_LOG_TABLE_PARTITION = false;
     /**
      * The constant DEFAULT_STORE_DB_GLOBAL_TABLE.
      */
@@ -116,6 +128,7 @@ public interface DefaultValues {
 
     String DEFAULT_LOAD_BALANCE = "XID";
     int VIRTUAL_NODES_DEFAULT = 10;
+    int DEFAULT_LOAD_BALANCE_DECAY_TIME = 10000;
 
     /**
      * the constant DEFAULT_CLIENT_UNDO_COMPRESS_ENABLE
@@ -147,6 +160,26 @@ public interface DefaultValues {
      */
     int TCC_ACTION_INTERCEPTOR_ORDER = Integer.MIN_VALUE + 1000;
 
+    /**
+     * the constant DEFAULT_TCC_DEFERRED_BRANCH_REGISTER
+     */
+    boolean DEFAULT_TCC_DEFERRED_BRANCH_REGISTER = false;
+
+    /**
+     * the constant DEFAULT_TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE
+     */
+    int DEFAULT_TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE = 16;
+
+    /**
+     * the constant DEFAULT_TCC_CONTEXT_CODEC
+     */
+    String DEFAULT_TCC_CONTEXT_CODEC = "json";
+
+    /**
+     * the constant DEFAULT_TCC_CONTEXT_COMPRESS_THRESHOLD
+     */
+    int DEFAULT_TCC_CONTEXT_COMPRESS_THRESHOLD = 1024;
+
     /**
      * the constant DEFAULT_DISTRIBUTED_LOCK_EXPIRE
      */
@@ -195,6 +228,16 @@ public interface DefaultValues {
      */
     int DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT = 10000;
 
+    /**
+     * the constant DEFAULT_XA_CONNECTION_TWO_PHASE_POOL_SIZE
+     */
+    int DEFAULT_XA_CONNECTION_TWO_PHASE_POOL_SIZE = 0;
+
+    /**
+     * the constant DEFAULT_XA_READ_ONLY_ONE_PHASE
+     */
+    boolean DEFAULT_XA_READ_ONLY_ONE_PHASE = false;
+
     /**
      * the constant DEFAULT_COMMITING_RETRY_PERIOD
      */
@@ -245,6 +288,36 @@ public interface DefaultValues {
      */
     String DEFAULT_METRICS_EXPORTER_LIST = "prometheus";
 
+    /**
+     * the const DEFAULT_METRICS_STAGE_ENABLED
+     */
+    boolean DEFAULT_METRICS_STAGE_ENABLED = false;
+
+    /**
+     * the const DEFAULT_CLIENT_METRICS_ENABLED
+     */
+    boolean DEFAULT_CLIENT_METRICS_ENABLED = false;
+
+    /**
+     * the const DEFAULT_CLIENT_METRICS_EXPORTER_LIST, no exporter is started in the client unless configured
+     */
+    String DEFAULT_CLIENT_METRICS_EXPORTER_LIST = "";
+
+    /**
+     * the const DEFAULT_CLIENT_PROMETHEUS_PORT
+     */
+    int DEFAULT_CLIENT_PROMETHEUS_PORT = 9899;
+
+    /**
+     * the const DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE
+     */
+    boolean DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE = false;
+
+    /**
+     * the const DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR
+     */
+    String DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR = "registrySnapshot";
+
     /**
      * the const DEFAULT_MAX_COMMIT_RETRY_TIMEOUT
      */
@@ -30,6 +30,9 @@ public class RpcStatus {
     private static final ConcurrentMap<String, RpcStatus> SERVICE_STATUS_MAP = new ConcurrentHashMap<>();
     private final AtomicLong active = new AtomicLong();
     private final LongAdder total = new LongAdder();
+    private final AtomicLong pending = new AtomicLong();
+    private volatile long ewmaNanos;
+    private long lastUpdateNanos;
 
     private RpcStatus() {
     }
@@ -73,6 +76,57 @@ public class RpcStatus {
         rpcStatus.total.increment();
     }
 
+    /**
+     * begin a request which waits for its response, used by the latency aware load balance
+     *
+     * @param service the service
+     */
+    public static void beginRequest(String service) {
+        getStatus(service).pending.incrementAndGet();
+    }
+
+    /**
+     * end a request and feed its round trip time into the peak EWMA of the service.
+     * A slower sample replaces the average at once, a faster one is blended in with a weight
+     * decaying by the time since the last sample, so a slow node is avoided quickly and recovers smoothly.
+     *
+     * @param service      the service
+     * @param elapsedNanos the round trip time
+     * @param decayNanos   the decay time of the average
+     */
+    public static void endRequest(String service, long elapsedNanos, long decayNanos) {
+        RpcStatus rpcStatus = getStatus(service);
+        rpcStatus.pending.decrementAndGet();
+        long now = System.nanoTime();
+        synchronized (rpcStatus) {
+            if (rpcStatus.ewmaNanos == 0 || elapsedNanos > rpcStatus.ewmaNanos) {
+                rpcStatus.ewmaNanos = elapsedNanos;
+            } else {
+                double weight = Math.exp(-(double)Math.max(now - rpcStatus.lastUpdateNanos, 0) / decayNanos);
+                rpcStatus.ewmaNanos = (long)(rpcStatus.ewmaNanos * weight + elapsedNanos * (1 - weight));
+            }
+            rpcStatus.lastUpdateNanos = now;
+        }
+    }
+
+    /**
+     * get pending.
+     *
+     * @return the requests waiting for their responses
+     */
+    public long getPending() {
+        return pending.get();
+    }
+
+    /**
+     * get the peak EWMA of the round trip time.
+     *
+     * @return the average in nanoseconds, 0 if the service has not responded yet
+     */
+    public long getEwmaNanos() {
+        return ewmaNanos;
+    }
+
     /**
      * get active.
      *
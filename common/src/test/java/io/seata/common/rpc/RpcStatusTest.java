@@ -15,6 +15,8 @@
  */
 package io.seata.common.rpc;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -54,4 +56,25 @@ public class RpcStatusTest {
         Assertions.assertEquals(RpcStatus.getStatus(SERVICE).getActive(), 0);
         Assertions.assertEquals(RpcStatus.getStatus(SERVICE).getTotal(), 1);
     }
+
+    @Test
+    public void endRequest() {
+        String service = "127.0.0.1:81";
+        long decayNanos = TimeUnit.SECONDS.toNanos(10);
+        RpcStatus.beginRequest(service);
+        Assertions.assertEquals(1, RpcStatus.getStatus(service).getPending());
+        RpcStatus.endRequest(service, 100, decayNanos);
+        Assertions.assertEquals(0, RpcStatus.getStatus(service).getPending());
+        Assertions.assertEquals(100, RpcStatus.getStatus(service).getEwmaNanos());
+        // a slower sample is taken at once
+        RpcStatus.beginRequest(service);
+        RpcStatus.endRequest(service, 1000, decayNanos);
+        Assertions.assertEquals(1000, RpcStatus.getStatus(service).getEwmaNanos());
+        // a faster one is blended in
+        RpcStatus.beginRequest(service);
+        RpcStatus.endRequest(service, 10, decayNanos);
+        long ewma = RpcStatus.getStatus(service).getEwmaNanos();
+        Assertions.assertTrue(ewma > 10 && ewma <= 1000);
+        RpcStatus.removeStatus(service);
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.config;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import io.seata.common.util.DurationUtil;
+import io.seata.common.util.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A typed, pre-resolved handle of a single configuration item.
+ * <p>
+ * The value is converted once when the handle is created and again on every {@link ConfigurationChangeEvent}
+ * of its data id, so reading it is a single volatile read instead of a trip through the
+ * {@link ConfigurationCache} proxy. Hold the handle in a static field and call {@link #get()} on the hot path.
+ *
+ * @param <T> the type of the configuration value
+ * @author agent
+ */
+public final class ConfigurationHandle<T> implements ConfigurationChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationHandle.class);
+
+    private final String dataId;
+
+    private final T defaultValue;
+
+    private final Function<String, T> converter;
+
+    private volatile T value;
+
+    private ConfigurationHandle(String dataId, T defaultValue, Function<String, T> converter) {
+        this.dataId = dataId;
+        this.defaultValue = defaultValue;
+        this.converter = converter;
+        this.value = defaultValue;
+    }
+
+    /**
+     * Create a handle of the given data id, the raw value is converted by the converter.
+     *
+     * @param dataId       the data id
+     * @param defaultValue the value used when the item is absent or illegal
+     * @param converter    the converter of the raw value
+     * @param <T>          the type of the configuration value
+     * @return the handle
+     */
+    public static <T> ConfigurationHandle<T> of(String dataId, T defaultValue, Function<String, T> converter) {
+        ConfigurationHandle<T> handle = new ConfigurationHandle<>(dataId, defaultValue, converter);
+        // listen before the first read, so that a change in between is not lost
+        ConfigurationCache.addConfigListener(dataId, handle);
+        handle.value = handle.convert(ConfigurationFactory.getInstance().getConfig(dataId));
+        return handle;
+    }
+
+    public static ConfigurationHandle<String> ofString(String dataId, String defaultValue) {
+        return of(dataId, defaultValue, Function.identity());
+    }
+
+    public static ConfigurationHandle<Integer> ofInt(String dataId, int defaultValue) {
+        return of(dataId, defaultValue, Integer::parseInt);
+    }
+
+    public static ConfigurationHandle<Long> ofLong(String dataId, long defaultValue) {
+        return of(dataId, defaultValue, Long::parseLong);
+    }
+
+    public static ConfigurationHandle<Boolean> ofBoolean(String dataId, boolean defaultValue) {
+        return of(dataId, defaultValue, Boolean::parseBoolean);
+    }
+
+    public static ConfigurationHandle<Duration> ofDuration(String dataId, Duration defaultValue) {
+        return of(dataId, defaultValue, DurationUtil::parse);
+    }
+
+    /**
+     * Gets the current value.
+     *
+     * @return the value, never re-read from the configuration center
+     */
+    public T get() {
+        return value;
+    }
+
+    public String getDataId() {
+        return dataId;
+    }
+
+    @Override
+    public void onChangeEvent(ConfigurationChangeEvent event) {
+        if (dataId.equals(event.getDataId())) {
+            value = convert(event.getNewValue());
+        }
+    }
+
+    private T convert(String rawValue) {
+        if (StringUtils.isBlank(rawValue)) {
+            return defaultValue;
+        }
+        try {
+            return converter.apply(rawValue.trim());
+        } catch (RuntimeException e) {
+            LOGGER.warn("Illegal value '{}' of config '{}', use the default value '{}'", rawValue, dataId, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.config;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class ConfigurationHandleTest {
+
+    @Test
+    public void testDefaultValue() {
+        ConfigurationHandle<Integer> handle = ConfigurationHandle.ofInt("handle.absent.int", 7);
+        Assertions.assertEquals(7, handle.get());
+        Assertions.assertEquals("handle.absent.int", handle.getDataId());
+    }
+
+    @Test
+    public void testChangeValue() {
+        ConfigurationHandle<Integer> intHandle = ConfigurationHandle.ofInt("handle.int", 1);
+        intHandle.onChangeEvent(new ConfigurationChangeEvent("handle.int", "5"));
+        Assertions.assertEquals(5, intHandle.get());
+
+        ConfigurationHandle<Boolean> booleanHandle = ConfigurationHandle.ofBoolean("handle.boolean", false);
+        booleanHandle.onChangeEvent(new ConfigurationChangeEvent("handle.boolean", " true "));
+        Assertions.assertTrue(booleanHandle.get());
+
+        ConfigurationHandle<Duration> durationHandle = ConfigurationHandle.ofDuration("handle.duration", Duration.ZERO);
+        durationHandle.onChangeEvent(new ConfigurationChangeEvent("handle.duration", "1s"));
+        Assertions.assertEquals(Duration.ofSeconds(1), durationHandle.get());
+
+        ConfigurationHandle<String> stringHandle = ConfigurationHandle.ofString("handle.string", "a");
+        stringHandle.onChangeEvent(new ConfigurationChangeEvent("handle.other", "b"));
+        Assertions.assertEquals("a", stringHandle.get());
+    }
+
+    @Test
+    public void testIllegalOrRemovedValue() {
+        ConfigurationHandle<Long> handle = ConfigurationHandle.ofLong("handle.long", 3L);
+        handle.onChangeEvent(new ConfigurationChangeEvent("handle.long", "10"));
+        Assertions.assertEquals(10L, handle.get());
+        handle.onChangeEvent(new ConfigurationChangeEvent("handle.long", "not a number"));
+        Assertions.assertEquals(3L, handle.get());
+        handle.onChangeEvent(new ConfigurationChangeEvent("handle.long", "10"));
+        handle.onChangeEvent(new ConfigurationChangeEvent("handle.long", null));
+        Assertions.assertEquals(3L, handle.get());
+    }
+}
@@ -49,6 +49,10 @@ public class PageResult<T> extends Result<T> implements Serializable {
      * the data
      */
     private List<T> data;
+    /**
+     * the cursor of the next page, null if unsupported or on the last page
+     */
+    private String nextCursor;
 
     public PageResult() {
     }
@@ -167,4 +171,12 @@ public class PageResult<T> extends Result<T> implements Serializable {
     public void setData(List<T> data) {
         this.data = data;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+/**
+ * The meters of TM and RM clients
+ *
+ * @author agent
+ */
+public enum ClientMeter {
+    /**
+     * latency of TM global begin
+     */
+    TM_BEGIN(Role.TM, Type.TIMER, "begin"),
+    /**
+     * latency of TM global commit
+     */
+    TM_COMMIT(Role.TM, Type.TIMER, "commit"),
+    /**
+     * latency of TM global rollback
+     */
+    TM_ROLLBACK(Role.TM, Type.TIMER, "rollback"),
+    /**
+     * latency of RM branch register
+     */
+    RM_BRANCH_REGISTER(Role.RM, Type.TIMER, "branchRegister"),
+    /**
+     * retries of global lock conflicts
+     */
+    RM_LOCK_RETRY(Role.RM, Type.SUMMARY, "lockRetry"),
+    /**
+     * size in bytes of the flushed undo logs
+     */
+    RM_UNDO_LOG_SIZE(Role.RM, Type.SUMMARY, "undoLogSize"),
+    /**
+     * latency of encoding and inserting undo logs
+     */
+    RM_UNDO_LOG_FLUSH(Role.RM, Type.TIMER, "undoLogFlush"),
+    /**
+     * branches waiting for asynchronous phase two commit
+     */
+    RM_ASYNC_COMMIT_BACKLOG(Role.RM, Type.GAUGE, "asyncCommitBacklog");
+
+    /**
+     * The role of a client meter
+     */
+    public enum Role {
+        /**
+         * transaction manager
+         */
+        TM,
+        /**
+         * resource manager
+         */
+        RM
+    }
+
+    /**
+     * The type of a client meter
+     */
+    public enum Type {
+        /**
+         * timer
+         */
+        TIMER,
+        /**
+         * summary
+         */
+        SUMMARY,
+        /**
+         * gauge
+         */
+        GAUGE
+    }
+
+    private final Role role;
+
+    private final Type type;
+
+    private final String value;
+
+    ClientMeter(Role role, Type type, String value) {
+        this.role = role;
+        this.type = type;
+        this.value = value;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.config.ConfigurationFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.common.ConfigurationKeys.CLIENT_METRICS_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_METRICS_ENABLED;
+
+/**
+ * Entry of the client meters. When {@code client.metrics.enabled} is false, or no {@link ClientMetricsRecorder} is
+ * found, every method returns at once without reading the clock.
+ *
+ * @author agent
+ */
+public final class ClientMetrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientMetrics.class);
+
+    private static final ClientMetricsRecorder RECORDER = loadRecorder();
+
+    private ClientMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return RECORDER != null;
+    }
+
+    /**
+     * Start timing.
+     *
+     * @return the start time in nanoseconds, 0 if disabled
+     */
+    public static long start() {
+        return RECORDER == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * Record the time elapsed since {@link #start()}.
+     *
+     * @param meter     the timer meter
+     * @param startTime the start time returned by {@link #start()}
+     */
+    public static void recordTime(ClientMeter meter, long startTime) {
+        if (RECORDER != null && startTime != 0L) {
+            RECORDER.recordTime(meter, System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Increase a summary meter.
+     *
+     * @param meter the summary meter
+     * @param value the value to increase
+     */
+    public static void increase(ClientMeter meter, long value) {
+        if (RECORDER != null) {
+            RECORDER.increase(meter, value);
+        }
+    }
+
+    /**
+     * Register the value supplier of a gauge meter.
+     *
+     * @param meter    the gauge meter
+     * @param supplier the value supplier
+     */
+    public static void registerGauge(ClientMeter meter, Supplier<Number> supplier) {
+        if (RECORDER != null) {
+            RECORDER.registerGauge(meter, supplier);
+        }
+    }
+
+    private static ClientMetricsRecorder loadRecorder() {
+        if (!ConfigurationFactory.getInstance().getBoolean(CLIENT_METRICS_ENABLED, DEFAULT_CLIENT_METRICS_ENABLED)) {
+            return null;
+        }
+        try {
+            return EnhancedServiceLoader.load(ClientMetricsRecorder.class);
+        } catch (Throwable t) {
+            LOGGER.warn("client metrics is enabled but no recorder is available, add seata-metrics-all to enable it",
+                t);
+            return null;
+        }
+    }
+}
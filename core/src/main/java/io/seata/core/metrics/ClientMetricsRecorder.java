@@ -0,0 +1,52 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The SPI recording the client meters, implemented by seata-metrics-core on top of the metrics registry.
+ *
+ * @author agent
+ */
+public interface ClientMetricsRecorder {
+
+    /**
+     * Record the time of a timer meter.
+     *
+     * @param meter the timer meter
+     * @param time  the time
+     * @param unit  the time unit
+     */
+    void recordTime(ClientMeter meter, long time, TimeUnit unit);
+
+    /**
+     * Increase a summary meter.
+     *
+     * @param meter the summary meter
+     * @param value the value to increase
+     */
+    void increase(ClientMeter meter, long value);
+
+    /**
+     * Register the value supplier of a gauge meter.
+     *
+     * @param meter    the gauge meter
+     * @param supplier the value supplier
+     */
+    void registerGauge(ClientMeter meter, Supplier<Number> supplier);
+}
@@ -101,7 +101,13 @@ public enum BranchStatus {
      * The Phase two rollback failed retryable because of XAException.XAER_NOTA.
      * description:rollback logic is failed because of XAException.XAER_NOTA but retryable.
      */
-    PhaseTwo_RollbackFailed_XAER_NOTA_Retryable(12);
+    PhaseTwo_RollbackFailed_XAER_NOTA_Retryable(12),
+
+    /**
+     * The Phase one read only.
+     * description:Branch made no changes and finished locally at phase one, phase two is NOT needed.
+     */
+    PhaseOne_RDONLY(13);
 
     private int code;
 
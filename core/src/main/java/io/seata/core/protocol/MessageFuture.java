@@ -42,6 +42,15 @@ public class MessageFuture {
         return System.currentTimeMillis() - start > timeout;
     }
 
+    /**
+     * The milliseconds elapsed since the request was sent, not a getter to keep it out of the serialized form.
+     *
+     * @return the elapsed milliseconds
+     */
+    public long elapsedMillis() {
+        return System.currentTimeMillis() - start;
+    }
+
     /**
      * Get object.
      *
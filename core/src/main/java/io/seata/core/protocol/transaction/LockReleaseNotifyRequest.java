@@ -0,0 +1,92 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.protocol.transaction;
+
+import java.io.Serializable;
+
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.MessageType;
+import io.seata.core.rpc.RpcContext;
+
+/**
+ * The type global lock release notify request.
+ * <p>
+ * Pushed by the TC to the RM that is waiting on a global lock conflict, once the holder has released
+ * (part of) the conflicting row locks, so that the RM can retry immediately instead of sleeping.
+ *
+ * @author agent
+ */
+public class LockReleaseNotifyRequest extends AbstractTransactionRequestToRM implements Serializable {
+
+    private static final long serialVersionUID = -3427893846227184736L;
+
+    private String resourceId;
+
+    /**
+     * The released row lock keys, in the same format as the branch lock key, e.g. "t_order:1,2;t_stock:3"
+     */
+    private String lockKey;
+
+    /**
+     * The Branch type.
+     */
+    protected BranchType branchType = BranchType.AT;
+
+    public String getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(String resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public String getLockKey() {
+        return lockKey;
+    }
+
+    public void setLockKey(String lockKey) {
+        this.lockKey = lockKey;
+    }
+
+    public BranchType getBranchType() {
+        return branchType;
+    }
+
+    public void setBranchType(BranchType branchType) {
+        this.branchType = branchType;
+    }
+
+    @Override
+    public AbstractTransactionResponse handle(RpcContext rpcContext) {
+        handler.handle(this);
+        return null;
+    }
+
+    @Override
+    public short getTypeCode() {
+        return MessageType.TYPE_RM_LOCK_RELEASE_NOTIFY;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("LockReleaseNotifyRequest{");
+        sb.append("resourceId='").append(resourceId).append('\'');
+        sb.append(", lockKey='").append(lockKey).append('\'');
+        sb.append(", branchType=").append(branchType);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -50,6 +50,7 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.ObjLongConsumer;
 
 /**
  * The abstract netty remoting.
@@ -104,6 +105,15 @@ public abstract class AbstractNettyRemoting implements Disposable {
 
     protected final List<RpcHook> rpcHooks = EnhancedServiceLoader.loadAll(RpcHook.class);
 
+    /**
+     * Listener of how long, in nanoseconds, a message waited for its processor executor, null if not listened.
+     */
+    private volatile ObjLongConsumer<MessageTypeAware> queueWaitListener;
+
+    public void setQueueWaitListener(ObjLongConsumer<MessageTypeAware> queueWaitListener) {
+        this.queueWaitListener = queueWaitListener;
+    }
+
     public void init() {
         timerExecutor.scheduleAtFixedRate(new Runnable() {
             @Override
@@ -275,9 +285,14 @@ public abstract class AbstractNettyRemoting implements Disposable {
             final Pair<RemotingProcessor, ExecutorService> pair = this.processorTable.get((int) messageTypeAware.getTypeCode());
             if (pair != null) {
                 if (pair.getSecond() != null) {
+                    final ObjLongConsumer<MessageTypeAware> listener = queueWaitListener;
+                    final long enqueueTime = listener == null ? 0L : System.nanoTime();
                     try {
                         pair.getSecond().execute(() -> {
                             try {
+                                if (listener != null) {
+                                    listener.accept(messageTypeAware, System.nanoTime() - enqueueTime);
+                                }
                                 pair.getFirst().process(ctx, rpcMessage);
                             } catch (Throwable th) {
                                 LOGGER.error(FrameworkErrorCode.NetDispatch.getErrCode(), th.getMessage(), th);
@@ -39,10 +39,12 @@ import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
+import io.seata.common.rpc.RpcStatus;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.NetUtil;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.MergeMessage;
@@ -63,6 +65,7 @@ import io.seata.discovery.registry.RegistryFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.common.DefaultValues.DEFAULT_LOAD_BALANCE_DECAY_TIME;
 import static io.seata.common.exception.FrameworkErrorCode.NoAvailableService;
 
 /**
@@ -86,6 +89,8 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     private static final long SCHEDULE_DELAY_MILLS = 60 * 1000L;
     private static final long SCHEDULE_INTERVAL_MILLS = 10 * 1000L;
     private static final String MERGE_THREAD_PREFIX = "rpcMergeMessageSend";
+    private static final long LOAD_BALANCE_DECAY_NANOS = TimeUnit.MILLISECONDS.toNanos(Math.max(1,
+        ConfigurationFactory.getInstance().getInt(LoadBalanceFactory.LOAD_BALANCE_DECAY_TIME, DEFAULT_LOAD_BALANCE_DECAY_TIME)));
     protected final Object mergeLock = new Object();
 
     /**
@@ -135,6 +140,17 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
     @Override
     public Object sendSyncRequest(Object msg) throws TimeoutException {
         String serverAddress = loadBalance(getTransactionServiceGroup(), msg);
+        // feed the round trip time to the latency aware load balance, a failure counts with the time it took
+        RpcStatus.beginRequest(serverAddress);
+        long start = System.nanoTime();
+        try {
+            return doSendSyncRequest(serverAddress, msg);
+        } finally {
+            RpcStatus.endRequest(serverAddress, System.nanoTime() - start, LOAD_BALANCE_DECAY_NANOS);
+        }
+    }
+
+    private Object doSendSyncRequest(String serverAddress, Object msg) throws TimeoutException {
         long timeoutMillis = this.getRpcRequestTimeout();
         RpcMessage rpcMessage = buildRequestMessage(msg, ProtocolConstants.MSGTYPE_RESQUEST_SYNC);
 
@@ -248,6 +264,20 @@ public abstract class AbstractNettyRemotingClient extends AbstractNettyRemoting
         return clientChannelManager;
     }
 
+    /**
+     * Connect to the servers of the transaction service group at startup. With the registry snapshot enabled,
+     * the servers of the last snapshot are connected at once and the registry is looked up asynchronously.
+     *
+     * @param transactionServiceGroup the transaction service group
+     */
+    protected void initConnection(String transactionServiceGroup) {
+        if (clientChannelManager.connectFromSnapshot(transactionServiceGroup)) {
+            timerExecutor.execute(() -> clientChannelManager.reconnect(transactionServiceGroup));
+        } else {
+            clientChannelManager.reconnect(transactionServiceGroup);
+        }
+    }
+
     protected String loadBalance(String transactionServiceGroup, Object msg) {
         InetSocketAddress address = null;
         try {
@@ -36,6 +36,7 @@ import io.seata.core.protocol.RegisterTMRequest;
 import io.seata.discovery.registry.FileRegistryServiceImpl;
 import io.seata.discovery.registry.RegistryFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.RegistrySnapshot;
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -179,6 +180,26 @@ class NettyClientChannelManager {
             }
             return;
         }
+        connect(transactionServiceGroup, availList);
+    }
+
+    /**
+     * Connect to the servers of the last registry snapshot, before the registry is looked up.
+     *
+     * @param transactionServiceGroup transaction service group
+     * @return whether any server of the snapshot is connected
+     */
+    boolean connectFromSnapshot(String transactionServiceGroup) {
+        List<InetSocketAddress> snapshot = RegistrySnapshot.load(transactionServiceGroup);
+        if (CollectionUtils.isEmpty(snapshot)) {
+            return false;
+        }
+        LOGGER.info("connect to the servers {} of the registry snapshot of {}", snapshot, transactionServiceGroup);
+        return !connect(transactionServiceGroup,
+            snapshot.stream().map(NetUtil::toStringAddress).collect(Collectors.toList())).isEmpty();
+    }
+
+    private Set<String> connect(String transactionServiceGroup, List<String> availList) {
         Set<String> channelAddress = new HashSet<>(availList.size());
         try {
             for (String serverAddress : availList) {
@@ -202,6 +223,7 @@ class NettyClientChannelManager {
                 RegistryFactory.getInstance().refreshAliveLookup(transactionServiceGroup, Collections.emptyList());
             }
         }
+        return channelAddress;
     }
 
     void invalidateObject(final String serverAddress, final Channel channel) throws Exception {
@@ -248,6 +270,7 @@ class NettyClientChannelManager {
         if (CollectionUtils.isEmpty(availInetSocketAddressList)) {
             return Collections.emptyList();
         }
+        RegistrySnapshot.save(transactionServiceGroup, availInetSocketAddressList);
 
         return availInetSocketAddressList.stream()
                 .map(NetUtil::toStringAddress)
@@ -55,14 +55,14 @@ public class BatchLogHandler {
         mergeSendExecutorService.submit(new BatchLogRunnable());
     }
 
+    /**
+     * Queue the log without blocking the caller, the log is dropped when the queue is full.
+     *
+     * @param log the log
+     * @return whether the log is queued
+     */
     public boolean writeLog(String log) {
-        try {
-            LOG_QUEUE.put(log);
-        } catch (InterruptedException e) {
-            LOGGER.error("put message to logQueue error: {}", e.getMessage(), e);
-            return false;
-        }
-        return true;
+        return LOG_QUEUE.offer(log);
     }
 
     /**
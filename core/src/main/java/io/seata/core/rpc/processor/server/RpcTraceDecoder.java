@@ -0,0 +1,211 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.core.protocol.MessageType;
+import io.seata.core.protocol.ResultCode;
+
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.BRANCH_ID_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.HEADER_SIZE;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.LATENCY_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.MAGIC;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.MSG_ID_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.NO_RESULT;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.RESULT_CODE_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.STREAMED_COUNT;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.TIMESTAMP_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.TYPE_CODE_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.XID_LENGTH_OFFSET;
+import static io.seata.core.rpc.processor.server.RpcTraceRecorder.XID_OFFSET;
+
+/**
+ * Decode the dump of {@link RpcTraceRecorder}, it can also be run offline on a saved dump:
+ * <pre>
+ * java -cp seata-core.jar:... io.seata.core.rpc.processor.server.RpcTraceDecoder rpc-trace.bin
+ * </pre>
+ *
+ * @author agent
+ */
+public class RpcTraceDecoder {
+
+    private static final Map<Short, String> TYPE_NAMES = typeNames();
+
+    /**
+     * Decode the records of a dump.
+     *
+     * @param dump the dump
+     * @return the records, oldest first
+     */
+    public static List<Record> decode(byte[] dump) {
+        ByteBuffer buffer = ByteBuffer.wrap(dump);
+        if (dump.length < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("not a rpc trace dump");
+        }
+        int recordSize = buffer.getShort(6);
+        int count = buffer.getInt(8);
+        if (count == STREAMED_COUNT) {
+            count = (dump.length - HEADER_SIZE) / recordSize;
+        } else if (dump.length < HEADER_SIZE + count * recordSize) {
+            throw new IllegalArgumentException("truncated rpc trace dump");
+        }
+        List<Record> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(decodeRecord(buffer, HEADER_SIZE + i * recordSize));
+        }
+        return records;
+    }
+
+    static Record decodeRecord(ByteBuffer buffer, int base) {
+        int xidLength = buffer.get(base + XID_LENGTH_OFFSET) & 0xFF;
+        String xid = null;
+        if (xidLength > 0) {
+            byte[] bytes = new byte[xidLength];
+            for (int i = 0; i < xidLength; i++) {
+                bytes[i] = buffer.get(base + XID_OFFSET + i);
+            }
+            xid = new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+        return new Record(
+            buffer.getLong(base + TIMESTAMP_OFFSET),
+            buffer.getInt(base + MSG_ID_OFFSET),
+            buffer.getShort(base + TYPE_CODE_OFFSET),
+            buffer.get(base + RESULT_CODE_OFFSET),
+            xid,
+            buffer.getLong(base + BRANCH_ID_OFFSET),
+            buffer.getLong(base + LATENCY_OFFSET));
+    }
+
+    /**
+     * Print the records of a dump, one per line.
+     *
+     * @param dump the dump
+     * @param out  the stream to print to
+     */
+    public static void print(byte[] dump, PrintStream out) {
+        for (Record record : decode(dump)) {
+            out.println(record);
+        }
+        out.flush();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: RpcTraceDecoder <dump file>");
+        }
+        print(Files.readAllBytes(Paths.get(args[0])), System.out);
+    }
+
+    private static Map<Short, String> typeNames() {
+        Map<Short, String> names = new HashMap<>();
+        for (Field field : MessageType.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == short.class
+                && field.getName().startsWith("TYPE_")) {
+                try {
+                    names.put(field.getShort(null), field.getName().substring("TYPE_".length()));
+                } catch (IllegalAccessException ignore) {
+                    // public constant
+                }
+            }
+        }
+        return Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * A decoded record.
+     */
+    public static class Record {
+
+        private final long timestamp;
+
+        private final int msgId;
+
+        private final short typeCode;
+
+        private final byte resultCode;
+
+        private final String xid;
+
+        private final long branchId;
+
+        private final long latencyNanos;
+
+        Record(long timestamp, int msgId, short typeCode, byte resultCode, String xid, long branchId,
+               long latencyNanos) {
+            this.timestamp = timestamp;
+            this.msgId = msgId;
+            this.typeCode = typeCode;
+            this.resultCode = resultCode;
+            this.xid = xid;
+            this.branchId = branchId;
+            this.latencyNanos = latencyNanos;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public int getMsgId() {
+            return msgId;
+        }
+
+        public String getType() {
+            return TYPE_NAMES.getOrDefault(typeCode, String.valueOf(typeCode));
+        }
+
+        public String getResult() {
+            if (resultCode == NO_RESULT) {
+                return null;
+            }
+            return resultCode >= 0 && resultCode < ResultCode.values().length
+                ? ResultCode.get(resultCode).name() : String.valueOf(resultCode);
+        }
+
+        public String getXid() {
+            return xid;
+        }
+
+        public long getBranchId() {
+            return branchId;
+        }
+
+        public long getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(new Date(timestamp))
+                + " msgId=" + msgId + " type=" + getType() + " result=" + getResult() + " xid=" + xid
+                + " branchId=" + branchId + " latency=" + latencyNanos / 1000 + "us";
+        }
+    }
+}
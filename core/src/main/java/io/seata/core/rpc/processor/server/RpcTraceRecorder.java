@@ -0,0 +1,299 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.DefaultValues;
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.AbstractResultMessage;
+import io.seata.core.protocol.transaction.AbstractBranchEndRequest;
+import io.seata.core.protocol.transaction.AbstractBranchEndResponse;
+import io.seata.core.protocol.transaction.AbstractGlobalEndRequest;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchRegisterResponse;
+import io.seata.core.protocol.transaction.BranchReportRequest;
+import io.seata.core.protocol.transaction.GlobalBeginResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Record the rpc handled by the server as fixed size binary records in an off-heap ring buffer, instead of
+ * formatting every message into a log line.
+ * <p>
+ * Writers claim a slot with a single atomic increment and never block, so the oldest records are overwritten once
+ * the ring is full. Each slot carries a stamp written after the record, a record being overwritten while it is
+ * dumped is dropped from the dump. Sampling is decided by the xid, so a sampled transaction keeps all its records.
+ * The dump is decoded by {@link RpcTraceDecoder}.
+ *
+ * @author agent
+ */
+public class RpcTraceRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RpcTraceRecorder.class);
+
+    private static final Configuration CONFIG = ConfigurationFactory.getInstance();
+
+    /**
+     * the size in bytes of a record
+     */
+    public static final int RECORD_SIZE = 128;
+
+    static final int MAGIC = 0x53545243;
+
+    static final short VERSION = 1;
+
+    /**
+     * magic(4) version(2) recordSize(2) count(4) reserved(4)
+     */
+    static final int HEADER_SIZE = 16;
+
+    static final int TIMESTAMP_OFFSET = 0;
+    static final int LATENCY_OFFSET = 8;
+    static final int BRANCH_ID_OFFSET = 16;
+    static final int MSG_ID_OFFSET = 24;
+    static final int TYPE_CODE_OFFSET = 28;
+    static final int RESULT_CODE_OFFSET = 30;
+    static final int XID_LENGTH_OFFSET = 31;
+    static final int XID_OFFSET = 32;
+    static final int MAX_XID_LENGTH = RECORD_SIZE - XID_OFFSET;
+
+    /**
+     * the max number of records kept, the ring takes 1GB of direct memory at most
+     */
+    static final int MAX_CAPACITY = 1 << 23;
+
+    /**
+     * the count in the header of a streamed dump, whose records run to the end of the dump
+     */
+    static final int STREAMED_COUNT = -1;
+
+    /**
+     * the result code of a record without result
+     */
+    static final byte NO_RESULT = -1;
+
+    public static final RpcTraceRecorder INSTANCE = new RpcTraceRecorder(
+        CONFIG.getBoolean(ConfigurationKeys.TRANSPORT_RPC_TRACE_ENABLE,
+            DefaultValues.DEFAULT_TRANSPORT_RPC_TRACE_ENABLE),
+        CONFIG.getInt(ConfigurationKeys.TRANSPORT_RPC_TRACE_CAPACITY,
+            DefaultValues.DEFAULT_TRANSPORT_RPC_TRACE_CAPACITY),
+        CONFIG.getInt(ConfigurationKeys.TRANSPORT_RPC_TRACE_SAMPLE_RATE,
+            DefaultValues.DEFAULT_TRANSPORT_RPC_TRACE_SAMPLE_RATE));
+
+    private final boolean enabled;
+
+    private final int sampleRate;
+
+    private final int capacity;
+
+    private final ByteBuffer buffer;
+
+    private final AtomicLongArray stamps;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param enabled    whether to record
+     * @param capacity   the number of records kept, rounded up to a power of two within {@link #MAX_CAPACITY}
+     * @param sampleRate the percentage of the transactions recorded
+     */
+    RpcTraceRecorder(boolean enabled, int capacity, int sampleRate) {
+        this.enabled = enabled && sampleRate > 0;
+        this.sampleRate = sampleRate;
+        if (this.enabled && capacity > MAX_CAPACITY) {
+            LOGGER.warn("The rpc trace capacity {} exceeds the max {}, the max is used", capacity, MAX_CAPACITY);
+        }
+        int size = roundCapacity(capacity);
+        this.capacity = this.enabled ? size : 0;
+        this.buffer = this.enabled ? ByteBuffer.allocateDirect(size * RECORD_SIZE) : null;
+        this.stamps = new AtomicLongArray(this.capacity);
+    }
+
+    /**
+     * Round the capacity up to a power of two between 16 and {@link #MAX_CAPACITY}.
+     *
+     * @param capacity the configured capacity
+     * @return the number of records kept
+     */
+    static int roundCapacity(int capacity) {
+        return Integer.highestOneBit(Math.min(Math.max(capacity, 16), MAX_CAPACITY) - 1) << 1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Record a handled message.
+     *
+     * @param msgId        the message id
+     * @param request      the request message
+     * @param result       the result message, may be null
+     * @param latencyNanos the handling time in nanoseconds
+     */
+    public void record(int msgId, Object request, Object result, long latencyNanos) {
+        if (!enabled) {
+            return;
+        }
+        String xid = null;
+        long branchId = 0;
+        if (request instanceof AbstractGlobalEndRequest) {
+            xid = ((AbstractGlobalEndRequest)request).getXid();
+        } else if (request instanceof BranchRegisterRequest) {
+            xid = ((BranchRegisterRequest)request).getXid();
+        } else if (request instanceof BranchReportRequest) {
+            xid = ((BranchReportRequest)request).getXid();
+            branchId = ((BranchReportRequest)request).getBranchId();
+        } else if (request instanceof AbstractBranchEndRequest) {
+            xid = ((AbstractBranchEndRequest)request).getXid();
+            branchId = ((AbstractBranchEndRequest)request).getBranchId();
+        }
+        if (result instanceof GlobalBeginResponse) {
+            xid = ((GlobalBeginResponse)result).getXid();
+        } else if (result instanceof BranchRegisterResponse) {
+            branchId = ((BranchRegisterResponse)result).getBranchId();
+        } else if (result instanceof AbstractBranchEndResponse && xid == null) {
+            xid = ((AbstractBranchEndResponse)result).getXid();
+            branchId = ((AbstractBranchEndResponse)result).getBranchId();
+        }
+        short typeCode = request instanceof AbstractMessage ? ((AbstractMessage)request).getTypeCode() : -1;
+        byte resultCode = NO_RESULT;
+        if (result instanceof AbstractResultMessage && ((AbstractResultMessage)result).getResultCode() != null) {
+            resultCode = (byte)((AbstractResultMessage)result).getResultCode().ordinal();
+        }
+        record(System.currentTimeMillis(), msgId, typeCode, resultCode, xid, branchId, latencyNanos);
+    }
+
+    void record(long timestamp, int msgId, short typeCode, byte resultCode, String xid, long branchId,
+                long latencyNanos) {
+        if (!sampled(xid, msgId)) {
+            return;
+        }
+        long seq = sequence.getAndIncrement();
+        int slot = (int)(seq & (capacity - 1));
+        int base = slot * RECORD_SIZE;
+        stamps.set(slot, 0);
+        buffer.putLong(base + TIMESTAMP_OFFSET, timestamp);
+        buffer.putLong(base + LATENCY_OFFSET, latencyNanos);
+        buffer.putLong(base + BRANCH_ID_OFFSET, branchId);
+        buffer.putInt(base + MSG_ID_OFFSET, msgId);
+        buffer.putShort(base + TYPE_CODE_OFFSET, typeCode);
+        buffer.put(base + RESULT_CODE_OFFSET, resultCode);
+        int xidLength = xid == null ? 0 : Math.min(xid.length(), MAX_XID_LENGTH);
+        buffer.put(base + XID_LENGTH_OFFSET, (byte)xidLength);
+        for (int i = 0; i < xidLength; i++) {
+            buffer.put(base + XID_OFFSET + i, (byte)xid.charAt(i));
+        }
+        stamps.set(slot, seq + 1);
+    }
+
+    private boolean sampled(String xid, int msgId) {
+        if (sampleRate >= 100) {
+            return true;
+        }
+        int hash = xid != null ? xid.hashCode() : msgId;
+        return Math.floorMod(hash, 100) < sampleRate;
+    }
+
+    /**
+     * Write the records kept in the ring to the stream, oldest first. The records are copied one at a time, the
+     * count in the header is {@link #STREAMED_COUNT} and the records run to the end of the stream.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream fails
+     */
+    public void dump(OutputStream out) throws IOException {
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer header = ByteBuffer.wrap(new byte[HEADER_SIZE]);
+        header.putInt(0, MAGIC);
+        header.putShort(4, VERSION);
+        header.putShort(6, (short)RECORD_SIZE);
+        header.putInt(8, STREAMED_COUNT);
+        out.write(header.array());
+        if (enabled) {
+            ByteBuffer view = buffer.duplicate();
+            long end = sequence.get();
+            for (long seq = Math.max(0, end - capacity); seq < end; seq++) {
+                if (read(view, seq, record)) {
+                    out.write(record);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Query the latest records kept in the ring.
+     *
+     * @param xid   the xid of the records, null for any
+     * @param limit the max number of records returned
+     * @return the records, oldest first
+     */
+    public List<RpcTraceDecoder.Record> query(String xid, int limit) {
+        if (!enabled || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<RpcTraceDecoder.Record> records = new ArrayList<>(Math.min(limit, capacity));
+        byte[] record = new byte[RECORD_SIZE];
+        ByteBuffer view = buffer.duplicate();
+        ByteBuffer wrapped = ByteBuffer.wrap(record);
+        long end = sequence.get();
+        for (long seq = end - 1; seq >= Math.max(0, end - capacity) && records.size() < limit; seq--) {
+            if (read(view, seq, record) && (xid == null || xidEquals(record, xid))) {
+                records.add(RpcTraceDecoder.decodeRecord(wrapped, 0));
+            }
+        }
+        Collections.reverse(records);
+        return records;
+    }
+
+    /**
+     * Copy the record of the sequence, a record overwritten before or while being copied is skipped.
+     */
+    private boolean read(ByteBuffer view, long seq, byte[] record) {
+        int slot = (int)(seq & (capacity - 1));
+        if (stamps.get(slot) != seq + 1) {
+            return false;
+        }
+        view.position(slot * RECORD_SIZE);
+        view.get(record);
+        return stamps.get(slot) == seq + 1;
+    }
+
+    private static boolean xidEquals(byte[] record, String xid) {
+        int xidLength = record[XID_LENGTH_OFFSET] & 0xFF;
+        if (xidLength != Math.min(xid.length(), MAX_XID_LENGTH)) {
+            return false;
+        }
+        for (int i = 0; i < xidLength; i++) {
+            if (record[XID_OFFSET + i] != (byte)xid.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
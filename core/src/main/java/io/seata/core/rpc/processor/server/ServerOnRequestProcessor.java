@@ -176,10 +176,10 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
                         }
                         int finalI = i;
                         completableFutures.add(CompletableFuture.supplyAsync(() -> handleRequestsByMergedWarpMessage(
-                            ((MergedWarpMessage)message).msgs.get(finalI), rpcContext)));
+                            ((MergedWarpMessage)message).msgs.get(finalI), rpcMessage.getId(), rpcContext)));
                     } else {
-                        results.add(i,
-                            handleRequestsByMergedWarpMessage(((MergedWarpMessage)message).msgs.get(i), rpcContext));
+                        results.add(i, handleRequestsByMergedWarpMessage(((MergedWarpMessage)message).msgs.get(i),
+                            rpcMessage.getId(), rpcContext));
                     }
                 }
                 if (CollectionUtils.isNotEmpty(completableFutures)) {
@@ -198,18 +198,8 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
         } else {
             // the single send request message
             final AbstractMessage msg = (AbstractMessage) message;
-            if (LOGGER.isInfoEnabled()) {
-                String receiveMsgLog = String.format("receive msg[single]: %s, clientIp: %s, vgroup: %s", message,
-                    NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-                BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
-            }
-            AbstractResultMessage result = transactionMessageHandler.onRequest(msg, rpcContext);
+            AbstractResultMessage result = handleRequest(msg, rpcMessage.getId(), "single", ctx.channel(), rpcContext);
             remotingServer.sendAsyncResponse(rpcMessage, ctx.channel(), result);
-            if (LOGGER.isInfoEnabled()) {
-                String resultMsgLog = String.format("result msg[single]: %s, clientIp: %s, vgroup: %s", result,
-                    NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-                BatchLogHandler.INSTANCE.writeLog(resultMsgLog);
-            }
         }
     }
 
@@ -277,18 +267,41 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
 
     /**
      * handle rpc request message
+     * @param msgId the id of the merged message
+     * @param rpcContext rpcContext
+     */
+    private AbstractResultMessage handleRequestsByMergedWarpMessage(AbstractMessage subMessage, int msgId,
+        RpcContext rpcContext) {
+        return handleRequest(subMessage, msgId, "merged", rpcContext.getChannel(), rpcContext);
+    }
+
+    /**
+     * handle the request, recording it with the rpc trace recorder when enabled, or logging it otherwise
+     *
+     * @param msg msg
+     * @param msgId msgId
+     * @param mode single or merged, for the log
+     * @param channel the client channel
      * @param rpcContext rpcContext
+     * @return the result message
      */
-    private AbstractResultMessage handleRequestsByMergedWarpMessage(AbstractMessage subMessage, RpcContext rpcContext) {
+    private AbstractResultMessage handleRequest(AbstractMessage msg, int msgId, String mode, Channel channel,
+        RpcContext rpcContext) {
+        if (RpcTraceRecorder.INSTANCE.isEnabled()) {
+            long start = System.nanoTime();
+            AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
+            RpcTraceRecorder.INSTANCE.record(msgId, msg, resultMessage, System.nanoTime() - start);
+            return resultMessage;
+        }
         if (LOGGER.isInfoEnabled()) {
-            String receiveMsgLog = String.format("receive msg[merged]: %s, clientIp: %s, vgroup: %s", subMessage,
-                NetUtil.toIpAddress(rpcContext.getChannel().remoteAddress()), rpcContext.getTransactionServiceGroup());
+            String receiveMsgLog = String.format("receive msg[%s]: %s, clientIp: %s, vgroup: %s", mode, msg,
+                NetUtil.toIpAddress(channel.remoteAddress()), rpcContext.getTransactionServiceGroup());
             BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
         }
-        AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(subMessage, rpcContext);
+        AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
         if (LOGGER.isInfoEnabled()) {
-            String resultMsgLog = String.format("result msg[merged]: %s, clientIp: %s, vgroup: %s", resultMessage,
-                NetUtil.toIpAddress(rpcContext.getChannel().remoteAddress()), rpcContext.getTransactionServiceGroup());
+            String resultMsgLog = String.format("result msg[%s]: %s, clientIp: %s, vgroup: %s", mode, resultMessage,
+                NetUtil.toIpAddress(channel.remoteAddress()), rpcContext.getTransactionServiceGroup());
             BatchLogHandler.INSTANCE.writeLog(resultMsgLog);
         }
         return resultMessage;
@@ -304,20 +317,10 @@ public class ServerOnRequestProcessor implements RemotingProcessor, Disposable {
      */
     private void handleRequestsByMergedWarpMessageBy150(AbstractMessage msg, int msgId, RpcMessage rpcMessage,
         ChannelHandlerContext ctx, RpcContext rpcContext) {
-        if (LOGGER.isInfoEnabled()) {
-            String receiveMsgLog = String.format("receive msg[merged]: %s, clientIp: %s, vgroup: %s", msg,
-                NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-            BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
-        }
-        AbstractResultMessage resultMessage = transactionMessageHandler.onRequest(msg, rpcContext);
+        AbstractResultMessage resultMessage = handleRequest(msg, msgId, "merged", ctx.channel(), rpcContext);
         BlockingQueue<QueueItem> msgQueue = computeIfAbsentMsgQueue(ctx.channel());
         offerMsg(msgQueue, rpcMessage, resultMessage, msgId, ctx.channel());
         notifyBatchRespondingThread();
-        if (LOGGER.isInfoEnabled()) {
-            String resultMsgLog = String.format("result msg[merged]: %s, clientIp: %s, vgroup: %s", resultMessage,
-                NetUtil.toIpAddress(ctx.channel().remoteAddress()), rpcContext.getTransactionServiceGroup());
-            BatchLogHandler.INSTANCE.writeLog(resultMsgLog);
-        }
     }
 
     /**
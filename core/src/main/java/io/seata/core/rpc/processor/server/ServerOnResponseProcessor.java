@@ -17,6 +17,7 @@ package io.seata.core.rpc.processor.server;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelHandlerContext;
 import io.seata.common.util.NetUtil;
@@ -66,9 +67,14 @@ public class ServerOnResponseProcessor implements RemotingProcessor {
     @Override
     public void process(ChannelHandlerContext ctx, RpcMessage rpcMessage) throws Exception {
         MessageFuture messageFuture = futures.remove(rpcMessage.getId());
-        String receiveMsgLog = String.format("receive msg[single]: %s, clientIp: %s, vgroup: %s", rpcMessage.getBody(), NetUtil.toIpAddress(ctx.channel().remoteAddress()),
-            ChannelManager.getContextFromIdentified(ctx.channel()).getTransactionServiceGroup());
-        if (LOGGER.isInfoEnabled()) {
+        if (RpcTraceRecorder.INSTANCE.isEnabled()) {
+            RpcTraceRecorder.INSTANCE.record(rpcMessage.getId(),
+                messageFuture != null && messageFuture.getRequestMessage() != null
+                    ? messageFuture.getRequestMessage().getBody() : null, rpcMessage.getBody(),
+                messageFuture != null ? TimeUnit.MILLISECONDS.toNanos(messageFuture.elapsedMillis()) : 0);
+        } else if (LOGGER.isInfoEnabled()) {
+            String receiveMsgLog = String.format("receive msg[single]: %s, clientIp: %s, vgroup: %s", rpcMessage.getBody(), NetUtil.toIpAddress(ctx.channel().remoteAddress()),
+                ChannelManager.getContextFromIdentified(ctx.channel()).getTransactionServiceGroup());
             BatchLogHandler.INSTANCE.writeLog(receiveMsgLog);
         }
         if (messageFuture != null) {
@@ -149,6 +149,7 @@ public class SerializerSecurityRegistry {
             classNameSet.add(io.seata.core.protocol.transaction.GlobalStatusRequest.class);
             classNameSet.add(io.seata.core.protocol.transaction.GlobalStatusResponse.class);
             classNameSet.add(io.seata.core.protocol.transaction.UndoLogDeleteRequest.class);
+            classNameSet.add(io.seata.core.protocol.transaction.LockReleaseNotifyRequest.class);
         }
 
         return classNameSet;
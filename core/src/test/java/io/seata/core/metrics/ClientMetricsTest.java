@@ -0,0 +1,52 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * test {@link ClientMetrics} and {@link ClientMeter}
+ *
+ * @author agent
+ */
+public class ClientMetricsTest {
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertFalse(ClientMetrics.isEnabled());
+        long startTime = ClientMetrics.start();
+        Assertions.assertEquals(0L, startTime);
+        Assertions.assertDoesNotThrow(() -> {
+            ClientMetrics.recordTime(ClientMeter.TM_BEGIN, startTime);
+            ClientMetrics.increase(ClientMeter.RM_LOCK_RETRY, 1);
+            ClientMetrics.registerGauge(ClientMeter.RM_ASYNC_COMMIT_BACKLOG, () -> 0);
+        });
+    }
+
+    @Test
+    public void testMeterNames() {
+        Set<String> names = new HashSet<>();
+        for (ClientMeter meter : ClientMeter.values()) {
+            Assertions.assertNotNull(meter.getRole());
+            Assertions.assertNotNull(meter.getType());
+            Assertions.assertTrue(names.add(meter.getRole() + "." + meter.getValue()), meter.name());
+        }
+    }
+}
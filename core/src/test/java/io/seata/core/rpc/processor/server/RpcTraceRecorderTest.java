@@ -0,0 +1,151 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.processor.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchRegisterResponse;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class RpcTraceRecorderTest {
+
+    private static final String XID = "127.0.0.1:8091:123456";
+
+    @Test
+    public void testRecordAndDecode() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(true, 16, 100);
+        BranchRegisterRequest request = new BranchRegisterRequest();
+        request.setXid(XID);
+        BranchRegisterResponse response = new BranchRegisterResponse();
+        response.setBranchId(654321L);
+        response.setResultCode(ResultCode.Success);
+        recorder.record(7, request, response, 1500L);
+
+        List<RpcTraceDecoder.Record> records = RpcTraceDecoder.decode(dump(recorder));
+        Assertions.assertEquals(1, records.size());
+        RpcTraceDecoder.Record record = records.get(0);
+        Assertions.assertEquals(7, record.getMsgId());
+        Assertions.assertEquals("BRANCH_REGISTER", record.getType());
+        Assertions.assertEquals("Success", record.getResult());
+        Assertions.assertEquals(XID, record.getXid());
+        Assertions.assertEquals(654321L, record.getBranchId());
+        Assertions.assertEquals(1500L, record.getLatencyNanos());
+    }
+
+    @Test
+    public void testRoundCapacity() {
+        Assertions.assertEquals(16, RpcTraceRecorder.roundCapacity(-1));
+        Assertions.assertEquals(16, RpcTraceRecorder.roundCapacity(16));
+        Assertions.assertEquals(1024, RpcTraceRecorder.roundCapacity(1000));
+        Assertions.assertEquals(RpcTraceRecorder.MAX_CAPACITY, RpcTraceRecorder.roundCapacity(RpcTraceRecorder.MAX_CAPACITY));
+        Assertions.assertEquals(RpcTraceRecorder.MAX_CAPACITY, RpcTraceRecorder.roundCapacity(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testRingOverwritesOldest() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(true, 16, 100);
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        request.setXid(XID);
+        for (int i = 0; i < 40; i++) {
+            recorder.record(i, request, null, 0);
+        }
+        List<RpcTraceDecoder.Record> records = RpcTraceDecoder.decode(dump(recorder));
+        Assertions.assertEquals(16, records.size());
+        Assertions.assertEquals(24, records.get(0).getMsgId());
+        Assertions.assertEquals(39, records.get(15).getMsgId());
+        Assertions.assertNull(records.get(0).getResult());
+    }
+
+    @Test
+    public void testSampling() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(true, 1024, 50);
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        for (int i = 0; i < 1000; i++) {
+            request.setXid("127.0.0.1:8091:" + i);
+            recorder.record(i, request, null, 0);
+            recorder.record(i, request, null, 0);
+        }
+        List<RpcTraceDecoder.Record> records = RpcTraceDecoder.decode(dump(recorder));
+        Assertions.assertTrue(records.size() > 0 && records.size() < 2000);
+        for (int i = 0; i < records.size(); i += 2) {
+            Assertions.assertEquals(records.get(i).getXid(), records.get(i + 1).getXid());
+        }
+    }
+
+    @Test
+    public void testPrint() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(true, 16, 100);
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        request.setXid(XID);
+        recorder.record(3, request, null, 2000L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RpcTraceDecoder.print(dump(recorder), new PrintStream(out));
+        String printed = out.toString();
+        Assertions.assertTrue(printed.contains("msgId=3 type=GLOBAL_COMMIT result=null xid=" + XID));
+        Assertions.assertTrue(printed.contains("latency=2us"));
+    }
+
+    @Test
+    public void testDisabled() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(false, 16, 100);
+        Assertions.assertFalse(recorder.isEnabled());
+        recorder.record(1, new GlobalCommitRequest(), null, 0);
+        Assertions.assertTrue(RpcTraceDecoder.decode(dump(recorder)).isEmpty());
+    }
+
+    @Test
+    public void testQuery() {
+        RpcTraceRecorder recorder = new RpcTraceRecorder(true, 16, 100);
+        GlobalCommitRequest request = new GlobalCommitRequest();
+        for (int i = 0; i < 40; i++) {
+            request.setXid(i % 2 == 0 ? XID : XID + "0");
+            recorder.record(i, request, null, 0);
+        }
+        List<RpcTraceDecoder.Record> records = recorder.query(null, 5);
+        Assertions.assertEquals(5, records.size());
+        Assertions.assertEquals(35, records.get(0).getMsgId());
+        Assertions.assertEquals(39, records.get(4).getMsgId());
+
+        records = recorder.query(XID, 100);
+        Assertions.assertEquals(8, records.size());
+        Assertions.assertEquals(24, records.get(0).getMsgId());
+        for (RpcTraceDecoder.Record record : records) {
+            Assertions.assertEquals(XID, record.getXid());
+        }
+        Assertions.assertTrue(recorder.query("absent", 100).isEmpty());
+        Assertions.assertTrue(recorder.query(null, 0).isEmpty());
+    }
+
+    private static byte[] dump(RpcTraceRecorder recorder) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            recorder.dump(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -17,8 +17,9 @@ package io.seata.discovery.loadbalance;
 
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
 import java.util.TreeMap;
 
 import io.seata.common.loader.LoadLevel;
@@ -45,17 +46,30 @@ public class ConsistentHashLoadBalance implements LoadBalance {
      */
     private static final int VIRTUAL_NODES_NUM = ConfigurationFactory.getInstance().getInt(LOAD_BALANCE_CONSISTENT_HASH_VIRTUAL_NODES, VIRTUAL_NODES_DEFAULT);
 
+    /**
+     * The ring of the last address list, it is only rebuilt when the address list changes.
+     */
+    private volatile ConsistentHashSelector<?> selector;
+
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T select(List<T> invokers, String xid) {
-        return new ConsistentHashSelector<>(invokers, VIRTUAL_NODES_NUM).select(xid);
+        ConsistentHashSelector<?> current = selector;
+        if (current == null || !current.accept(invokers)) {
+            current = new ConsistentHashSelector<>(invokers, VIRTUAL_NODES_NUM);
+            selector = current;
+        }
+        return (T)current.select(xid);
     }
 
     private static final class ConsistentHashSelector<T> {
 
-        private final SortedMap<Long, T> virtualInvokers = new TreeMap<>();
+        private final List<T> invokers;
+        private final TreeMap<Long, T> virtualInvokers = new TreeMap<>();
         private final HashFunction hashFunction = new MD5Hash();
 
         ConsistentHashSelector(List<T> invokers, int virtualNodes) {
+            this.invokers = new ArrayList<>(invokers);
             for (T invoker : invokers) {
                 for (int i = 0; i < virtualNodes; i++) {
                     virtualInvokers.put(hashFunction.hash(invoker.toString() + i), invoker);
@@ -63,26 +77,30 @@ public class ConsistentHashLoadBalance implements LoadBalance {
             }
         }
 
+        boolean accept(List<?> invokers) {
+            return this.invokers.equals(invokers);
+        }
+
         public T select(String objectKey) {
-            SortedMap<Long, T> tailMap = virtualInvokers.tailMap(hashFunction.hash(objectKey));
-            Long nodeHashVal = tailMap.isEmpty() ? virtualInvokers.firstKey() : tailMap.firstKey();
-            return virtualInvokers.get(nodeHashVal);
+            Map.Entry<Long, T> entry = virtualInvokers.ceilingEntry(hashFunction.hash(objectKey));
+            return entry == null ? virtualInvokers.firstEntry().getValue() : entry.getValue();
         }
     }
 
     @SuppressWarnings("lgtm[java/weak-cryptographic-algorithm]")
     private static class MD5Hash implements HashFunction {
-        MessageDigest instance;
-        public MD5Hash() {
+        // the ring is shared by the selecting threads, the digest is not thread safe
+        private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
             try {
-                instance = MessageDigest.getInstance("MD5");
+                return MessageDigest.getInstance("MD5");
             } catch (NoSuchAlgorithmException e) {
                 throw new IllegalStateException(e.getMessage(), e);
             }
-        }
+        });
 
         @Override
         public long hash(String key) {
+            MessageDigest instance = DIGEST.get();
             instance.reset();
             instance.update(key.getBytes());
             byte[] digest = instance.digest();
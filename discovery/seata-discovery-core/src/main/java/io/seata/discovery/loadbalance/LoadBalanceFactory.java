@@ -35,6 +35,11 @@ public class LoadBalanceFactory {
 
     public static final String LOAD_BALANCE_TYPE = LOAD_BALANCE_PREFIX + "type";
 
+    /**
+     * The decay time in milliseconds of the round trip time average used by the latency aware load balance.
+     */
+    public static final String LOAD_BALANCE_DECAY_TIME = LOAD_BALANCE_PREFIX + "decayTime";
+
     public static final String RANDOM_LOAD_BALANCE = "RandomLoadBalance";
 
     public static final String XID_LOAD_BALANCE = "XID";
@@ -45,6 +50,8 @@ public class LoadBalanceFactory {
 
     public static final String LEAST_ACTIVE_LOAD_BALANCE = "LeastActiveLoadBalance";
 
+    public static final String PEAK_EWMA_LOAD_BALANCE = "PeakEwmaLoadBalance";
+
 
     /**
      * Get instance.
@@ -0,0 +1,85 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.loadbalance;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.common.rpc.RpcStatus;
+import io.seata.common.util.NetUtil;
+
+import static io.seata.discovery.loadbalance.LoadBalanceFactory.PEAK_EWMA_LOAD_BALANCE;
+
+/**
+ * The type latency aware load balance.
+ * <p>
+ * Picks two distinct invokers at random and chooses the cheaper one, the cost being the peak EWMA
+ * of the round trip time weighted by the requests still waiting for their responses.
+ * The samples are recorded by the remoting client, see {@link RpcStatus#endRequest(String, long, long)}.
+ *
+ * @author agent
+ */
+@LoadLevel(name = PEAK_EWMA_LOAD_BALANCE)
+public class PeakEwmaLoadBalance implements LoadBalance {
+
+    /**
+     * The cost of an invoker which has not responded yet but already has pending requests,
+     * high enough to prefer any measured invoker and to keep from flooding a new one.
+     */
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    @Override
+    public <T> T select(List<T> invokers, String xid) {
+        int length = invokers.size();
+        if (length == 1) {
+            return invokers.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(length);
+        int second = random.nextInt(length - 1);
+        if (second >= first) {
+            second++;
+        }
+        T a = invokers.get(first);
+        T b = invokers.get(second);
+        return cost(b) < cost(a) ? b : a;
+    }
+
+    private static double cost(Object invoker) {
+        RpcStatus status = RpcStatus.getStatus(toServiceKey(invoker));
+        long pending = status.getPending();
+        long ewma = status.getEwmaNanos();
+        if (ewma == 0) {
+            return pending > 0 ? PENALTY + pending : 0;
+        }
+        return (double)ewma * (pending + 1);
+    }
+
+    /**
+     * The key of the invoker in {@link RpcStatus}, the same as the server address the remoting client records.
+     *
+     * @param invoker the invoker
+     * @return the key
+     */
+    static String toServiceKey(Object invoker) {
+        if (invoker instanceof InetSocketAddress && !((InetSocketAddress)invoker).isUnresolved()) {
+            return NetUtil.toStringAddress((InetSocketAddress)invoker);
+        }
+        return invoker.toString();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.registry;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.seata.common.ConfigurationKeys;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.NetUtil;
+import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE;
+
+/**
+ * The on-disk snapshot of the last TC addresses looked up per transaction service group,
+ * so that a restarted client can connect before the registry answers, or while it is down.
+ *
+ * @author agent
+ */
+public final class RegistrySnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrySnapshot.class);
+
+    private static final String SNAPSHOT_FILE_SUFFIX = ".addr";
+
+    private static final boolean ENABLE = ConfigurationFactory.getInstance()
+        .getBoolean(ConfigurationKeys.CLIENT_REGISTRY_SNAPSHOT_ENABLE, DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE);
+
+    private static final String DIR = ConfigurationFactory.getInstance()
+        .getConfig(ConfigurationKeys.CLIENT_REGISTRY_SNAPSHOT_DIR, DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR);
+
+    /**
+     * key: transaction service group, the addresses last written, to skip rewriting an unchanged snapshot
+     */
+    private static final Map<String, List<String>> LAST_SAVED = new ConcurrentHashMap<>();
+
+    private RegistrySnapshot() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLE;
+    }
+
+    /**
+     * Load the addresses of the transaction service group.
+     *
+     * @param transactionServiceGroup the transaction service group
+     * @return the addresses, empty if disabled or there is no snapshot
+     */
+    public static List<InetSocketAddress> load(String transactionServiceGroup) {
+        if (!ENABLE) {
+            return Collections.emptyList();
+        }
+        return load(new File(DIR), transactionServiceGroup);
+    }
+
+    /**
+     * Save the addresses of the transaction service group, an empty list is not saved
+     * so that a transient empty lookup doesn't wipe out the last known addresses.
+     *
+     * @param transactionServiceGroup the transaction service group
+     * @param addresses               the addresses looked up from the registry
+     */
+    public static void save(String transactionServiceGroup, List<InetSocketAddress> addresses) {
+        if (ENABLE) {
+            save(new File(DIR), transactionServiceGroup, addresses);
+        }
+    }
+
+    static List<InetSocketAddress> load(File dir, String transactionServiceGroup) {
+        File file = getSnapshotFile(dir, transactionServiceGroup);
+        if (!file.isFile()) {
+            return Collections.emptyList();
+        }
+        try {
+            List<InetSocketAddress> addresses = new ArrayList<>();
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                int i = line.lastIndexOf(':');
+                if (StringUtils.isNotBlank(line) && i > 0) {
+                    addresses.add(new InetSocketAddress(line.substring(0, i), Integer.parseInt(line.substring(i + 1).trim())));
+                }
+            }
+            return addresses;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("read the registry snapshot of {} failed: {}", transactionServiceGroup, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    static void save(File dir, String transactionServiceGroup, List<InetSocketAddress> addresses) {
+        if (CollectionUtils.isEmpty(addresses)) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(addresses.size());
+        for (InetSocketAddress address : addresses) {
+            lines.add(NetUtil.toStringAddress(address));
+        }
+        Collections.sort(lines);
+        if (lines.equals(LAST_SAVED.get(transactionServiceGroup))) {
+            return;
+        }
+        File file = getSnapshotFile(dir, transactionServiceGroup);
+        try {
+            if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+                throw new IOException("can not create the registry snapshot dir " + dir);
+            }
+            // write to a temp file first and then move it, so that the snapshot is never half written
+            File tmp = new File(file.getPath() + ".tmp");
+            Files.write(tmp.toPath(), lines, StandardCharsets.UTF_8);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LAST_SAVED.put(transactionServiceGroup, lines);
+        } catch (IOException e) {
+            LOGGER.warn("write the registry snapshot of {} failed: {}", transactionServiceGroup, e.getMessage());
+        }
+    }
+
+    private static File getSnapshotFile(File dir, String transactionServiceGroup) {
+        return new File(dir, transactionServiceGroup.replaceAll("[^A-Za-z0-9._-]", "_") + SNAPSHOT_FILE_SUFFIX);
+    }
+}
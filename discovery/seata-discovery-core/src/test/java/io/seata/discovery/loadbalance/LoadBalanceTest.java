@@ -21,10 +21,12 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
@@ -139,6 +141,56 @@ public class LoadBalanceTest {
         }
     }
 
+    /**
+     * Test consistent hash load balance select after the address list changes.
+     *
+     * @param addresses the addresses
+     */
+    @ParameterizedTest
+    @MethodSource("addressProvider")
+    public void testConsistentHashLoadBalance_addressChanged(List<InetSocketAddress> addresses) {
+        ConsistentHashLoadBalance loadBalance = new ConsistentHashLoadBalance();
+        InetSocketAddress selected = loadBalance.select(addresses, XID);
+        Assertions.assertEquals(selected, loadBalance.select(new ArrayList<>(addresses), XID));
+
+        List<InetSocketAddress> others = new ArrayList<>(addresses);
+        others.remove(selected);
+        InetSocketAddress reselected = loadBalance.select(others, XID);
+        Assertions.assertNotEquals(selected, reselected);
+        Assertions.assertTrue(others.contains(reselected));
+    }
+
+    /**
+     * Test peak ewma load balance select.
+     *
+     * @param addresses the addresses
+     */
+    @ParameterizedTest
+    @MethodSource("addressProvider")
+    public void testPeakEwmaLoadBalance_select(List<InetSocketAddress> addresses) {
+        int runs = 10000;
+        long decayNanos = TimeUnit.SECONDS.toNanos(10);
+        InetSocketAddress slowAddress = addresses.get(0);
+        for (InetSocketAddress address : addresses) {
+            String key = PeakEwmaLoadBalance.toServiceKey(address);
+            RpcStatus.beginRequest(key);
+            RpcStatus.endRequest(key, address == slowAddress
+                ? TimeUnit.MILLISECONDS.toNanos(500) : TimeUnit.MILLISECONDS.toNanos(1), decayNanos);
+        }
+        Map<InetSocketAddress, AtomicLong> counter = getSelectedCounter(runs, addresses, new PeakEwmaLoadBalance());
+        for (InetSocketAddress address : counter.keySet()) {
+            Long count = counter.get(address).get();
+            if (address == slowAddress) {
+                Assertions.assertEquals(0, count, "the slow one should never win a pair");
+            } else {
+                Assertions.assertTrue(count > 0);
+            }
+        }
+        for (InetSocketAddress address : addresses) {
+            RpcStatus.removeStatus(PeakEwmaLoadBalance.toServiceKey(address));
+        }
+    }
+
     /**
      * Gets selected counter.
      *
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.registry;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ */
+public class RegistrySnapshotTest {
+
+    @TempDir
+    File dir;
+
+    @Test
+    public void testSaveAndLoad() {
+        List<InetSocketAddress> addresses = Arrays.asList(new InetSocketAddress("127.0.0.1", 8091),
+            new InetSocketAddress("2000:0000:0000:0000:0001:2345:6789:abcd", 8092));
+        RegistrySnapshot.save(dir, "my_test_tx_group", addresses);
+        List<InetSocketAddress> loaded = RegistrySnapshot.load(dir, "my_test_tx_group");
+        Assertions.assertEquals(2, loaded.size());
+        Assertions.assertTrue(loaded.containsAll(addresses));
+    }
+
+    @Test
+    public void testEmptyNotSaved() {
+        RegistrySnapshot.save(dir, "empty_tx_group", Collections.singletonList(new InetSocketAddress("127.0.0.1", 8091)));
+        RegistrySnapshot.save(dir, "empty_tx_group", Collections.emptyList());
+        Assertions.assertEquals(1, RegistrySnapshot.load(dir, "empty_tx_group").size());
+        Assertions.assertTrue(RegistrySnapshot.load(dir, "absent_tx_group").isEmpty());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertFalse(RegistrySnapshot.isEnabled());
+        Assertions.assertTrue(RegistrySnapshot.load("my_test_tx_group").isEmpty());
+    }
+}
@@ -23,6 +23,12 @@ package io.seata.metrics;
 public interface IdConstants {
     String SEATA_TRANSACTION = "seata.transaction";
 
+    String SEATA_STAGE = "seata.stage";
+
+    String SEATA_CLIENT = "seata.client";
+
+    String SEATA_LOG = "seata.log";
+
     String APP_ID_KEY = "applicationId";
     
     String GROUP_KEY = "group";
@@ -37,6 +43,14 @@ public interface IdConstants {
 
     String STATUS_KEY = "status";
 
+    String QUANTILE_KEY = "quantile";
+
+    String BUCKET_KEY = "le";
+
+    String STAGE_KEY = "stage";
+
+    String REQUEST_KEY = "request";
+
     String ROLE_VALUE_TC = "tc";
 
     String ROLE_VALUE_TM = "tm";
@@ -61,6 +75,12 @@ public interface IdConstants {
 
     String STATISTIC_VALUE_AVERAGE = "average";
 
+    String STATISTIC_VALUE_QUANTILE = "quantile";
+
+    String STATISTIC_VALUE_BUCKET = "bucket";
+
+    String STATISTIC_VALUE_SUM = "sum";
+
     String STATUS_VALUE_ACTIVE = "active";
 
     String STATUS_VALUE_COMMITTED = "committed";
@@ -71,6 +91,10 @@ public interface IdConstants {
 
     String STATUS_VALUE_TWO_PHASE_TIMEOUT = "2phaseTimeout";
 
+    String STATUS_VALUE_QUEUED = "queued";
+
+    String STATUS_VALUE_DISCARDED = "discarded";
+
     String RETRY_KEY = "retry";
 
     String STATUS_VALUE_AFTER_COMMITTED_KEY = "AfterCommitted";
@@ -0,0 +1,95 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.client;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.core.metrics.ClientMeter;
+import io.seata.core.metrics.ClientMetricsRecorder;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
+import io.seata.metrics.exporter.Exporter;
+import io.seata.metrics.exporter.ExporterFactory;
+import io.seata.metrics.registry.Registry;
+import io.seata.metrics.registry.RegistryFactory;
+
+/**
+ * Client metrics recorder on the configured registry and the client exporters ({@code client.metrics.exporterList},
+ * none by default), the timers and summaries are resolved once when created so recording only updates them.
+ *
+ * @author agent
+ */
+@LoadLevel(name = "default")
+public class RegistryClientMetricsRecorder implements ClientMetricsRecorder {
+
+    private final Registry registry;
+
+    private final Timer[] timers = new Timer[ClientMeter.values().length];
+
+    private final Summary[] summaries = new Summary[ClientMeter.values().length];
+
+    public RegistryClientMetricsRecorder() {
+        this(RegistryFactory.getInstance(), ExporterFactory.getClientInstanceList());
+    }
+
+    public RegistryClientMetricsRecorder(Registry registry, List<Exporter> exporters) {
+        this.registry = registry;
+        exporters.forEach(exporter -> exporter.setRegistry(registry));
+        for (ClientMeter meter : ClientMeter.values()) {
+            if (meter.getType() == ClientMeter.Type.TIMER) {
+                timers[meter.ordinal()] = registry.getTimer(meterId(meter));
+            } else if (meter.getType() == ClientMeter.Type.SUMMARY) {
+                summaries[meter.ordinal()] = registry.getSummary(meterId(meter));
+            }
+        }
+    }
+
+    @Override
+    public void recordTime(ClientMeter meter, long time, TimeUnit unit) {
+        Timer timer = timers[meter.ordinal()];
+        if (timer != null) {
+            timer.record(time, unit);
+        }
+    }
+
+    @Override
+    public void increase(ClientMeter meter, long value) {
+        Summary summary = summaries[meter.ordinal()];
+        if (summary != null) {
+            summary.increase(value);
+        }
+    }
+
+    @Override
+    public void registerGauge(ClientMeter meter, Supplier<Number> supplier) {
+        if (meter.getType() == ClientMeter.Type.GAUGE) {
+            registry.getGauge(meterId(meter), supplier);
+        }
+    }
+
+    private static Id meterId(ClientMeter meter) {
+        return new Id(IdConstants.SEATA_CLIENT)
+            .withTag(IdConstants.ROLE_KEY, meter.getRole().name().toLowerCase(Locale.ROOT))
+            .withTag(IdConstants.METER_KEY, meter.getType().name().toLowerCase(Locale.ROOT))
+            .withTag(IdConstants.NAME_KEY, meter.getValue());
+    }
+}
@@ -26,6 +26,8 @@ import io.seata.core.constants.ConfigurationKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_METRICS_EXPORTER_LIST;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_PROMETHEUS_PORT;
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_EXPORTER_LIST;
 
 /**
@@ -37,17 +39,35 @@ public class ExporterFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExporterFactory.class);
 
     public static List<Exporter> getInstanceList() {
-        List<Exporter> exporters = new ArrayList<>();
         String exporterTypeNameList = ConfigurationFactory.getInstance().getConfig(
             ConfigurationKeys.METRICS_PREFIX + ConfigurationKeys.METRICS_EXPORTER_LIST, DEFAULT_METRICS_EXPORTER_LIST);
+        return load(exporterTypeNameList, null, null);
+    }
+
+    /**
+     * Load the exporters of the TM and RM client meters, they are configured apart from the server ones so that
+     * an application does not open the server port unless asked to.
+     *
+     * @return the client exporters, empty by default
+     */
+    public static List<Exporter> getClientInstanceList() {
+        String exporterTypeNameList = ConfigurationFactory.getInstance().getConfig(
+            ConfigurationKeys.CLIENT_METRICS_EXPORTER_LIST, DEFAULT_CLIENT_METRICS_EXPORTER_LIST);
+        int prometheusPort = ConfigurationFactory.getInstance().getInt(
+            ConfigurationKeys.CLIENT_METRICS_EXPORTER_PROMETHEUS_PORT, DEFAULT_CLIENT_PROMETHEUS_PORT);
+        return load(exporterTypeNameList, new Class[] {int.class}, new Object[] {prometheusPort});
+    }
+
+    private static List<Exporter> load(String exporterTypeNameList, Class<?>[] argsType, Object[] args) {
+        List<Exporter> exporters = new ArrayList<>();
         if (!StringUtils.isNullOrEmpty(exporterTypeNameList)) {
             String[] exporterTypeNames = exporterTypeNameList.split(",");
             for (String exporterTypeName : exporterTypeNames) {
                 ExporterType exporterType;
                 try {
                     exporterType = ExporterType.getType(exporterTypeName);
-                    exporters.add(
-                        EnhancedServiceLoader.load(Exporter.class, Objects.requireNonNull(exporterType).getName()));
+                    exporters.add(EnhancedServiceLoader.load(Exporter.class,
+                        Objects.requireNonNull(exporterType).getName(), argsType, args));
                 } catch (Exception exx) {
                     LOGGER.error("not support metrics exporter type: {}",exporterTypeName, exx);
                 }
@@ -0,0 +1,136 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.seata.core.metrics.ClientMeter;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
+import io.seata.metrics.exporter.Exporter;
+import io.seata.metrics.registry.Registry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+/**
+ * test {@link RegistryClientMetricsRecorder}
+ *
+ * @author agent
+ */
+public class RegistryClientMetricsRecorderTest {
+
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    private final Map<String, Summary> summaries = new HashMap<>();
+
+    private Registry registry;
+
+    private Exporter exporter;
+
+    private RegistryClientMetricsRecorder recorder;
+
+    @BeforeEach
+    public void init() {
+        registry = Mockito.mock(Registry.class);
+        Mockito.when(registry.getTimer(Mockito.any(Id.class))).thenAnswer(
+            invocation -> timers.computeIfAbsent(tag(invocation.getArgument(0), IdConstants.NAME_KEY),
+                name -> Mockito.mock(Timer.class)));
+        Mockito.when(registry.getSummary(Mockito.any(Id.class))).thenAnswer(
+            invocation -> summaries.computeIfAbsent(tag(invocation.getArgument(0), IdConstants.NAME_KEY),
+                name -> Mockito.mock(Summary.class)));
+        exporter = Mockito.mock(Exporter.class);
+        recorder = new RegistryClientMetricsRecorder(registry, Collections.singletonList(exporter));
+    }
+
+    @Test
+    public void testResolveMetersOnce() {
+        Mockito.verify(exporter).setRegistry(registry);
+        for (ClientMeter meter : ClientMeter.values()) {
+            if (meter.getType() == ClientMeter.Type.TIMER) {
+                Assertions.assertNotNull(timers.get(meter.getValue()), meter.name());
+            } else if (meter.getType() == ClientMeter.Type.SUMMARY) {
+                Assertions.assertNotNull(summaries.get(meter.getValue()), meter.name());
+            }
+        }
+        recorder.recordTime(ClientMeter.TM_BEGIN, 1, TimeUnit.MILLISECONDS);
+        recorder.increase(ClientMeter.RM_LOCK_RETRY, 1);
+        Mockito.verify(registry, Mockito.times(timers.size())).getTimer(Mockito.any(Id.class));
+        Mockito.verify(registry, Mockito.times(summaries.size())).getSummary(Mockito.any(Id.class));
+    }
+
+    @Test
+    public void testRecordTime() {
+        recorder.recordTime(ClientMeter.TM_COMMIT, 5, TimeUnit.MILLISECONDS);
+        recorder.recordTime(ClientMeter.RM_UNDO_LOG_FLUSH, 7, TimeUnit.NANOSECONDS);
+
+        Mockito.verify(timers.get(ClientMeter.TM_COMMIT.getValue())).record(5, TimeUnit.MILLISECONDS);
+        Mockito.verify(timers.get(ClientMeter.RM_UNDO_LOG_FLUSH.getValue())).record(7, TimeUnit.NANOSECONDS);
+        Mockito.verifyZeroInteractions(timers.get(ClientMeter.TM_BEGIN.getValue()),
+            timers.get(ClientMeter.TM_ROLLBACK.getValue()), timers.get(ClientMeter.RM_BRANCH_REGISTER.getValue()));
+
+        // a summary meter has no timer
+        recorder.recordTime(ClientMeter.RM_LOCK_RETRY, 1, TimeUnit.MILLISECONDS);
+        summaries.values().forEach(Mockito::verifyZeroInteractions);
+    }
+
+    @Test
+    public void testIncrease() {
+        recorder.increase(ClientMeter.RM_LOCK_RETRY, 3);
+        recorder.increase(ClientMeter.RM_UNDO_LOG_SIZE, 1024);
+
+        Mockito.verify(summaries.get(ClientMeter.RM_LOCK_RETRY.getValue())).increase(3);
+        Mockito.verify(summaries.get(ClientMeter.RM_UNDO_LOG_SIZE.getValue())).increase(1024);
+
+        // a timer meter has no summary
+        recorder.increase(ClientMeter.TM_BEGIN, 1);
+        timers.values().forEach(Mockito::verifyZeroInteractions);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRegisterGauge() {
+        Supplier<Number> supplier = () -> 1;
+        recorder.registerGauge(ClientMeter.TM_BEGIN, supplier);
+        Mockito.verify(registry, Mockito.never()).getGauge(Mockito.any(Id.class), Mockito.any(Supplier.class));
+
+        recorder.registerGauge(ClientMeter.RM_ASYNC_COMMIT_BACKLOG, supplier);
+        ArgumentCaptor<Id> id = ArgumentCaptor.forClass(Id.class);
+        Mockito.verify(registry).getGauge(id.capture(), Mockito.same(supplier));
+        Assertions.assertEquals(IdConstants.SEATA_CLIENT, id.getValue().getName());
+        Assertions.assertEquals("rm", tag(id.getValue(), IdConstants.ROLE_KEY));
+        Assertions.assertEquals("gauge", tag(id.getValue(), IdConstants.METER_KEY));
+        Assertions.assertEquals(ClientMeter.RM_ASYNC_COMMIT_BACKLOG.getValue(), tag(id.getValue(), IdConstants.NAME_KEY));
+    }
+
+    private static String tag(Id id, String key) {
+        for (Entry<String, String> tag : id.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -17,7 +17,10 @@ package io.seata.metrics.exporter.prometheus;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 
 import io.prometheus.client.Collector;
@@ -26,6 +29,7 @@ import io.prometheus.client.exporter.HTTPServer;
 import io.seata.common.loader.LoadLevel;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.metrics.IdConstants;
 import io.seata.metrics.Measurement;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.registry.Registry;
@@ -34,20 +38,31 @@ import static io.seata.common.DefaultValues.DEFAULT_PROMETHEUS_PORT;
 import static io.seata.core.constants.ConfigurationKeys.METRICS_EXPORTER_PROMETHEUS_PORT;
 
 /**
- * Exporter for Prometheus
+ * Exporter for Prometheus, timer quantiles and buckets are exported as summary and histogram families named
+ * {@code <name>_timer} and {@code <name>_timer_histogram}, all the other measurements as the untyped family.
+ * The summary takes its count and sum from the interval of its quantiles, the histogram from its cumulative buckets
  *
  * @author zhengyangyong
  */
 @LoadLevel(name = "prometheus", order = 1)
 public class PrometheusExporter extends Collector implements Collector.Describable, Exporter {
 
+    private static final String SUMMARY_SUFFIX = "_timer";
+
+    private static final String HISTOGRAM_SUFFIX = "_timer_histogram";
+
+    private static final String INF_BUCKET = "+Inf";
+
     private final HTTPServer server;
 
     private Registry registry;
 
     public PrometheusExporter() throws IOException {
-        int port = ConfigurationFactory.getInstance().getInt(
-            ConfigurationKeys.METRICS_PREFIX + METRICS_EXPORTER_PROMETHEUS_PORT, DEFAULT_PROMETHEUS_PORT);
+        this(ConfigurationFactory.getInstance().getInt(
+            ConfigurationKeys.METRICS_PREFIX + METRICS_EXPORTER_PROMETHEUS_PORT, DEFAULT_PROMETHEUS_PORT));
+    }
+
+    public PrometheusExporter(int port) throws IOException {
         this.server = new HTTPServer(port, true);
         this.register();
     }
@@ -63,12 +78,26 @@ public class PrometheusExporter extends Collector implements Collector.Describab
         if (registry != null) {
             Iterable<Measurement> measurements = registry.measure();
             List<Sample> samples = new ArrayList<>();
-            measurements.forEach(measurement -> samples.add(convertMeasurementToSample(measurement)));
+            Map<String, List<Sample>> summarySamples = new LinkedHashMap<>();
+            Map<String, List<Sample>> histogramSamples = new LinkedHashMap<>();
+            Map<String, List<Sample>> intervalSamples = new LinkedHashMap<>();
+            measurements.forEach(measurement -> {
+                if (!convertTimerMeasurement(measurement, summarySamples, histogramSamples)) {
+                    samples.add(convertMeasurementToSample(measurement));
+                    convertIntervalMeasurement(measurement, intervalSamples);
+                }
+            });
 
             if (!samples.isEmpty()) {
                 Type unknownType = getUnknownType();
                 familySamples.add(new MetricFamilySamples("seata", unknownType, "seata", samples));
             }
+            summarySamples.forEach((name, family) -> {
+                family.addAll(intervalSamples.getOrDefault(name, Collections.emptyList()));
+                familySamples.add(new MetricFamilySamples(name, Type.SUMMARY, name, family));
+            });
+            histogramSamples.forEach((name, family) -> familySamples.add(
+                new MetricFamilySamples(name, Type.HISTOGRAM, name, family)));
         }
         return familySamples;
     }
@@ -85,6 +114,70 @@ public class PrometheusExporter extends Collector implements Collector.Describab
             (long)measurement.getTimestamp());
     }
 
+    private boolean convertTimerMeasurement(Measurement measurement, Map<String, List<Sample>> summarySamples,
+                                            Map<String, List<Sample>> histogramSamples) {
+        String statistic = null;
+        String bucket = null;
+        for (Entry<String, String> tag : measurement.getId().getTags()) {
+            if (IdConstants.STATISTIC_KEY.equals(tag.getKey())) {
+                statistic = tag.getValue();
+            } else if (IdConstants.BUCKET_KEY.equals(tag.getKey())) {
+                bucket = tag.getValue();
+            }
+        }
+        String prometheusName = measurement.getId().getName().replace(".", "_");
+        String summaryName = prometheusName + SUMMARY_SUFFIX;
+        String histogramName = prometheusName + HISTOGRAM_SUFFIX;
+        if (IdConstants.STATISTIC_VALUE_QUANTILE.equals(statistic)) {
+            addTimerSample(summarySamples, summaryName, summaryName, measurement, true);
+        } else if (IdConstants.STATISTIC_VALUE_BUCKET.equals(statistic)) {
+            addTimerSample(histogramSamples, histogramName, histogramName + "_bucket", measurement, true);
+            if (INF_BUCKET.equals(bucket)) {
+                addTimerSample(histogramSamples, histogramName, histogramName + "_count", measurement, false);
+            }
+        } else if (IdConstants.STATISTIC_VALUE_SUM.equals(statistic)) {
+            addTimerSample(histogramSamples, histogramName, histogramName + "_sum", measurement, false);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * the count and total of an interval are kept as the count and sum of the summary with the same name, the
+     * quantiles are of the same interval
+     */
+    private void convertIntervalMeasurement(Measurement measurement, Map<String, List<Sample>> intervalSamples) {
+        String summaryName = measurement.getId().getName().replace(".", "_") + SUMMARY_SUFFIX;
+        for (Entry<String, String> tag : measurement.getId().getTags()) {
+            if (!IdConstants.STATISTIC_KEY.equals(tag.getKey())) {
+                continue;
+            }
+            if (IdConstants.STATISTIC_VALUE_COUNT.equals(tag.getValue())) {
+                addTimerSample(intervalSamples, summaryName, summaryName + "_count", measurement, false);
+            } else if (IdConstants.STATISTIC_VALUE_TOTAL.equals(tag.getValue())) {
+                addTimerSample(intervalSamples, summaryName, summaryName + "_sum", measurement, false);
+            }
+        }
+    }
+
+    private void addTimerSample(Map<String, List<Sample>> familySamples, String familyName, String sampleName,
+                                Measurement measurement, boolean keepQuantileAndBucket) {
+        List<String> labelNames = new ArrayList<>();
+        List<String> labelValues = new ArrayList<>();
+        for (Entry<String, String> tag : measurement.getId().getTags()) {
+            String key = tag.getKey();
+            if (IdConstants.STATISTIC_KEY.equals(key) || (!keepQuantileAndBucket
+                && (IdConstants.QUANTILE_KEY.equals(key) || IdConstants.BUCKET_KEY.equals(key)))) {
+                continue;
+            }
+            labelNames.add(key);
+            labelValues.add(tag.getValue());
+        }
+        familySamples.computeIfAbsent(familyName, key -> new ArrayList<>()).add(new Sample(sampleName, labelNames,
+            labelValues, measurement.getValue(), (long)measurement.getTimestamp()));
+    }
+
     /**
      * Compatible with high and low versions of 'io.prometheus:simpleclient'
      *
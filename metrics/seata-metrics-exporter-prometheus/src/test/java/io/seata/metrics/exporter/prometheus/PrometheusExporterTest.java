@@ -15,8 +15,18 @@
  */
 package io.seata.metrics.exporter.prometheus;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import io.prometheus.client.Collector.MetricFamilySamples;
+import io.prometheus.client.Collector.MetricFamilySamples.Sample;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Measurement;
+import io.seata.metrics.registry.Registry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 /**
  * test {@link PrometheusExporter}
@@ -31,4 +41,46 @@ public class PrometheusExporterTest {
             PrometheusExporter.getUnknownType();
         });
     }
+
+    @Test
+    public void testSummaryCountAndSumOfInterval() throws Exception {
+        Id id = new Id("seata.transaction").withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC);
+        List<Measurement> measurements = new ArrayList<>();
+        measurements.add(new Measurement(statistic(id, IdConstants.STATISTIC_VALUE_COUNT), 0, 2));
+        measurements.add(new Measurement(statistic(id, IdConstants.STATISTIC_VALUE_TOTAL), 0, 30));
+        measurements.add(new Measurement(statistic(id, IdConstants.STATISTIC_VALUE_QUANTILE)
+            .withTag(IdConstants.QUANTILE_KEY, "0.5"), 0, 10));
+        measurements.add(new Measurement(statistic(id, IdConstants.STATISTIC_VALUE_BUCKET)
+            .withTag(IdConstants.BUCKET_KEY, "+Inf"), 0, 100));
+        measurements.add(new Measurement(statistic(id, IdConstants.STATISTIC_VALUE_SUM), 0, 1000));
+        Registry registry = Mockito.mock(Registry.class);
+        Mockito.when(registry.measure()).thenReturn(measurements);
+
+        PrometheusExporter exporter = new PrometheusExporter(0);
+        try {
+            exporter.setRegistry(registry);
+            List<MetricFamilySamples> familySamples = exporter.collect();
+            Assertions.assertEquals(2.0, sampleValue(familySamples, "seata_transaction_timer_count"));
+            Assertions.assertEquals(30.0, sampleValue(familySamples, "seata_transaction_timer_sum"));
+            Assertions.assertEquals(100.0, sampleValue(familySamples, "seata_transaction_timer_histogram_count"));
+            Assertions.assertEquals(1000.0, sampleValue(familySamples, "seata_transaction_timer_histogram_sum"));
+        } finally {
+            exporter.close();
+        }
+    }
+
+    private static Id statistic(Id id, String statistic) {
+        return new Id(id.getName()).withTag(id.getTags()).withTag(IdConstants.STATISTIC_KEY, statistic);
+    }
+
+    private static double sampleValue(List<MetricFamilySamples> familySamples, String sampleName) {
+        for (MetricFamilySamples family : familySamples) {
+            for (Sample sample : family.samples) {
+                if (sampleName.equals(sample.name)) {
+                    return sample.value;
+                }
+            }
+        }
+        throw new AssertionError("no sample " + sampleName);
+    }
 }
@@ -15,7 +15,8 @@
  */
 package io.seata.metrics.registry.compact;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import io.seata.metrics.Clock;
@@ -26,11 +27,20 @@ import io.seata.metrics.Timer;
 import io.seata.metrics.IdConstants;
 
 /**
- * Compact Timer implement with TimerValue
+ * Compact Timer implement with TimerValue, besides count/total/max/average of the interval it exports the latency
+ * quantiles of the interval and cumulative histogram buckets, all in milliseconds
  *
  * @author zhengyangyong
  */
 public class CompactTimer implements Timer {
+    static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * histogram bucket upper bounds in microseconds, the last one is +Inf
+     */
+    static final long[] BUCKET_BOUNDS = {1000L, 5000L, 10000L, 25000L, 50000L, 100000L, 250000L, 500000L, 1000000L,
+        2500000L, 5000000L, Long.MAX_VALUE};
+
     private final Id id;
 
     private final Id countId;
@@ -41,8 +51,22 @@ public class CompactTimer implements Timer {
 
     private final Id averageId;
 
+    private final Id[] quantileIds;
+
+    private final Id[] bucketIds;
+
+    private final Id sumId;
+
+    private final long[] bucketCounts;
+
+    private long sum;
+
+    private final WriterReaderPhaser phaser;
+
     private volatile TimerValue value;
 
+    private TimerValue spareValue;
+
     private final Clock clock;
 
     public CompactTimer(Id id) {
@@ -59,7 +83,25 @@ public class CompactTimer implements Timer {
             .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_MAX);
         this.averageId = new Id(id.getName()).withTag(id.getTags())
             .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_AVERAGE);
+        this.quantileIds = new Id[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            this.quantileIds[i] = new Id(id.getName()).withTag(id.getTags())
+                .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_QUANTILE)
+                .withTag(IdConstants.QUANTILE_KEY, String.valueOf(QUANTILES[i]));
+        }
+        this.bucketIds = new Id[BUCKET_BOUNDS.length];
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            String bound = BUCKET_BOUNDS[i] == Long.MAX_VALUE ? "+Inf" : String.valueOf(BUCKET_BOUNDS[i] * 0.001);
+            this.bucketIds[i] = new Id(id.getName()).withTag(id.getTags())
+                .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_BUCKET)
+                .withTag(IdConstants.BUCKET_KEY, bound);
+        }
+        this.sumId = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_SUM);
+        this.bucketCounts = new long[BUCKET_BOUNDS.length];
+        this.phaser = new WriterReaderPhaser();
         this.value = new TimerValue();
+        this.spareValue = new TimerValue();
         this.clock = clock;
     }
 
@@ -70,7 +112,12 @@ public class CompactTimer implements Timer {
 
     @Override
     public void record(long value, TimeUnit unit) {
-        this.value.record(value, unit);
+        long criticalValue = phaser.writerCriticalSectionEnter();
+        try {
+            this.value.record(value, unit);
+        } finally {
+            phaser.writerCriticalSectionExit(criticalValue);
+        }
     }
 
     @Override
@@ -94,14 +141,33 @@ public class CompactTimer implements Timer {
     }
 
     @Override
-    public Iterable<Measurement> measure() {
-        //reset value when measure
+    public synchronized Iterable<Measurement> measure() {
+        //swap value when measure, records still in flight on the old value are waited for by the phaser
         double time = clock.getCurrentMilliseconds();
         TimerValue value = this.value;
-        this.value = new TimerValue();
-        return Arrays.asList(new Measurement(countId, time, value.getCount()),
-            new Measurement(totalId, time, value.getTotal() * 0.001),
-            new Measurement(maxId, time, value.getMax() * 0.001),
-            new Measurement(averageId, time, value.getAverage() * 0.001));
+        this.value = spareValue;
+        phaser.flipPhase();
+
+        HistogramValue histogram = value.getHistogram();
+        histogram.addCountsAtOrBelow(BUCKET_BOUNDS, bucketCounts);
+        sum += value.getTotal();
+
+        List<Measurement> measurements = new ArrayList<>(5 + QUANTILES.length + BUCKET_BOUNDS.length);
+        measurements.add(new Measurement(countId, time, value.getCount()));
+        measurements.add(new Measurement(totalId, time, value.getTotal() * 0.001));
+        measurements.add(new Measurement(maxId, time, value.getMax() * 0.001));
+        measurements.add(new Measurement(averageId, time, value.getAverage() * 0.001));
+        for (int i = 0; i < QUANTILES.length; i++) {
+            long quantileValue = Math.min(histogram.getValueAtQuantile(QUANTILES[i]), value.getMax());
+            measurements.add(new Measurement(quantileIds[i], time, quantileValue * 0.001));
+        }
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            measurements.add(new Measurement(bucketIds[i], time, bucketCounts[i]));
+        }
+        measurements.add(new Measurement(sumId, time, sum * 0.001));
+
+        value.reset();
+        spareValue = value;
+        return measurements;
     }
 }
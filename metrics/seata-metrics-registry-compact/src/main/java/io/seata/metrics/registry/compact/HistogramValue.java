@@ -0,0 +1,143 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram for CompactTimer.
+ * <p>
+ * Values below {@link #SUB_BUCKET_COUNT} are counted exactly, larger values fall into buckets whose width doubles
+ * every power of two, so any recorded value is known within 1/64 of its magnitude. Values above
+ * {@link #MAX_TRACKABLE_VALUE} are counted in the last bucket.
+ *
+ * @author agent
+ */
+public class HistogramValue {
+    static final int SUB_BUCKET_BITS = 7;
+
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    static final long MAX_TRACKABLE_VALUE = (1L << 32) - 1;
+
+    static final int BUCKET_LENGTH = indexOf(MAX_TRACKABLE_VALUE) + 1;
+
+    private final AtomicLongArray counts;
+
+    public HistogramValue() {
+        this.counts = new AtomicLongArray(BUCKET_LENGTH);
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        counts.incrementAndGet(indexOf(Math.min(value, MAX_TRACKABLE_VALUE)));
+    }
+
+    /**
+     * Add all counts of another histogram to this one.
+     *
+     * @param other the histogram to merge
+     */
+    public void merge(HistogramValue other) {
+        for (int i = 0; i < BUCKET_LENGTH; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_LENGTH; i++) {
+            counts.lazySet(i, 0);
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKET_LENGTH; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the value at the given quantile, reported as the highest value of the bucket it falls in.
+     *
+     * @param quantile the quantile in [0, 1]
+     * @return the value at quantile, 0 if nothing recorded
+     */
+    public long getValueAtQuantile(double quantile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long)Math.ceil(Math.min(Math.max(quantile, 0), 1) * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_LENGTH; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return highestValueOf(BUCKET_LENGTH - 1);
+    }
+
+    /**
+     * Fill cumulative counts of the recorded values for each upper bound, a bucket is counted when its highest value
+     * is not greater than the bound.
+     *
+     * @param upperBounds the ascending upper bounds
+     * @param cumulativeCounts the counts are added into it, one for each upper bound
+     */
+    public void addCountsAtOrBelow(long[] upperBounds, long[] cumulativeCounts) {
+        int bound = 0;
+        long seen = 0;
+        for (int i = 0; i < BUCKET_LENGTH && bound < upperBounds.length; i++) {
+            long count = counts.get(i);
+            while (bound < upperBounds.length && highestValueOf(i) > upperBounds[bound]) {
+                cumulativeCounts[bound++] += seen;
+            }
+            seen += count;
+        }
+        while (bound < upperBounds.length) {
+            cumulativeCounts[bound++] += seen;
+        }
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+            + (int)((value >> shift) - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -31,6 +31,8 @@ public class TimerValue {
 
     private final AtomicLong max;
 
+    private final HistogramValue histogram;
+
     public long getCount() {
         return count.longValue();
     }
@@ -49,10 +51,15 @@ public class TimerValue {
         return count == 0 ? 0 : total / count;
     }
 
+    public HistogramValue getHistogram() {
+        return histogram;
+    }
+
     public TimerValue() {
         this.count = new LongAdder();
         this.total = new LongAdder();
         this.max = new AtomicLong(0);
+        this.histogram = new HistogramValue();
     }
 
     public void record(long value, TimeUnit unit) {
@@ -63,5 +70,20 @@ public class TimerValue {
         this.count.increment();
         this.total.add(changeValue);
         this.max.accumulateAndGet(changeValue, Math::max);
+        this.histogram.record(changeValue);
+    }
+
+    public void merge(TimerValue other) {
+        this.count.add(other.getCount());
+        this.total.add(other.getTotal());
+        this.max.accumulateAndGet(other.getMax(), Math::max);
+        this.histogram.merge(other.histogram);
+    }
+
+    public void reset() {
+        this.count.reset();
+        this.total.reset();
+        this.max.set(0);
+        this.histogram.reset();
     }
 }
\ No newline at end of file
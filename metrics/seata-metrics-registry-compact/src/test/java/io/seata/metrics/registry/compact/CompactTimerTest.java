@@ -0,0 +1,117 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Measurement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * test {@link CompactTimer}
+ *
+ * @author agent
+ */
+public class CompactTimerTest {
+
+    @Test
+    public void testHistogramIndex() {
+        for (long value : new long[] {0, 1, 127, 128, 255, 256, 1000, 123456, HistogramValue.MAX_TRACKABLE_VALUE}) {
+            int index = HistogramValue.indexOf(value);
+            Assertions.assertTrue(HistogramValue.highestValueOf(index) >= value);
+            Assertions.assertTrue(index == 0 || HistogramValue.highestValueOf(index - 1) < value);
+            Assertions.assertTrue(HistogramValue.highestValueOf(index) - value <= Math.max(1, value / 64));
+        }
+        Assertions.assertEquals(HistogramValue.BUCKET_LENGTH - 1,
+            HistogramValue.indexOf(HistogramValue.MAX_TRACKABLE_VALUE));
+    }
+
+    @Test
+    public void testQuantilesAndBuckets() {
+        CompactTimer timer = new CompactTimer(new Id("test").withTag(IdConstants.METER_KEY,
+            IdConstants.METER_VALUE_TIMER));
+        for (int i = 1; i <= 1000; i++) {
+            timer.record(i, TimeUnit.MILLISECONDS);
+        }
+        Map<String, Double> measurements = measure(timer);
+        Assertions.assertEquals(1000, measurements.get("count"), 0);
+        Assertions.assertEquals(1000, measurements.get("max"), 0);
+        Assertions.assertEquals(500, measurements.get("quantile=0.5"), 500 / 64.0);
+        Assertions.assertEquals(990, measurements.get("quantile=0.99"), 990 / 64.0);
+        Assertions.assertEquals(1000, measurements.get("quantile=0.999"), 1000 / 64.0);
+        Assertions.assertEquals(1000, measurements.get("le=+Inf"), 0);
+        Assertions.assertEquals(500500, measurements.get("sum"), 0);
+
+        //quantiles are of the interval, buckets and sum are cumulative
+        timer.record(2, TimeUnit.MILLISECONDS);
+        measurements = measure(timer);
+        Assertions.assertEquals(1, measurements.get("count"), 0);
+        Assertions.assertEquals(2, measurements.get("quantile=0.999"), 0.1);
+        Assertions.assertEquals(1001, measurements.get("le=+Inf"), 0);
+        Assertions.assertEquals(500502, measurements.get("sum"), 0);
+    }
+
+    @Test
+    public void testConcurrentRecord() throws InterruptedException {
+        CompactTimer timer = new CompactTimer(new Id("test"));
+        int threads = 4;
+        int records = 20000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < records; j++) {
+                    timer.record(j % 100, TimeUnit.MICROSECONDS);
+                }
+                latch.countDown();
+            });
+        }
+        long count = 0;
+        while (latch.getCount() > 0) {
+            count += measure(timer).get("count").longValue();
+        }
+        latch.await();
+        executor.shutdown();
+        Map<String, Double> measurements = measure(timer);
+        count += measurements.get("count").longValue();
+        Assertions.assertEquals((long)threads * records, count);
+        Assertions.assertEquals((double)threads * records, measurements.get("le=+Inf"), 0);
+    }
+
+    private Map<String, Double> measure(CompactTimer timer) {
+        Map<String, Double> measurements = new HashMap<>();
+        for (Measurement measurement : timer.measure()) {
+            String key = null;
+            for (Map.Entry<String, String> tag : measurement.getId().getTags()) {
+                if (IdConstants.QUANTILE_KEY.equals(tag.getKey()) || IdConstants.BUCKET_KEY.equals(tag.getKey())) {
+                    key = tag.getKey() + "=" + tag.getValue();
+                } else if (key == null && IdConstants.STATISTIC_KEY.equals(tag.getKey())) {
+                    key = tag.getValue();
+                }
+            }
+            measurements.put(key, measurement.getValue());
+        }
+        return measurements;
+    }
+}
@@ -19,9 +19,13 @@ import java.io.PrintWriter;
 import java.sql.Driver;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
 import com.google.common.cache.Cache;
@@ -58,6 +62,18 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
 
     private Map<String, T> keeper = new ConcurrentHashMap<>();
 
+    /**
+     * the hold time of the kept values, ordered by time then by sequence
+     */
+    private final ConcurrentSkipListMap<HoldTime, String> holdTimes = new ConcurrentSkipListMap<>();
+
+    /**
+     * the hold time index by key
+     */
+    private final Map<String, HoldTime> holdTimeIndex = new ConcurrentHashMap<>();
+
+    private final AtomicLong holdTimeSequence = new AtomicLong();
+
     private static final Cache<String, BranchStatus> BRANCH_STATUS_CACHE =
             CacheBuilder.newBuilder().maximumSize(1024).expireAfterAccess(10, TimeUnit.MINUTES).build();
 
@@ -187,6 +203,7 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
 
     @Override
     public T release(String key, T value) {
+        removeHoldTime(key);
         T x = keeper.remove(key);
         if (x != value) {
             throw new ShouldNeverHappenException("something wrong with keeper, released[" + x +
@@ -201,6 +218,51 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
         return keeper.get(key);
     }
 
+    /**
+     * Set the time from which the kept value is held, the value can be polled by {@link #pollHeldBefore(long)}
+     * without scanning the keeper.
+     *
+     * @param key  the key
+     * @param time the hold time
+     */
+    public void setHoldTime(String key, long time) {
+        HoldTime holdTime = new HoldTime(time, holdTimeSequence.incrementAndGet());
+        HoldTime previous = holdTimeIndex.put(key, holdTime);
+        if (previous != null) {
+            holdTimes.remove(previous);
+        }
+        holdTimes.put(holdTime, key);
+    }
+
+    /**
+     * Poll the kept values held before the time, in the order of the hold time.
+     *
+     * @param time the time
+     * @return the kept values
+     */
+    public List<T> pollHeldBefore(long time) {
+        List<T> values = new ArrayList<>();
+        Map.Entry<HoldTime, String> first;
+        while ((first = holdTimes.firstEntry()) != null && first.getKey().time < time) {
+            if (holdTimes.remove(first.getKey()) == null) {
+                continue;
+            }
+            holdTimeIndex.remove(first.getValue(), first.getKey());
+            T value = keeper.get(first.getValue());
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private void removeHoldTime(String key) {
+        HoldTime holdTime = holdTimeIndex.remove(key);
+        if (holdTime != null) {
+            holdTimes.remove(holdTime);
+        }
+    }
+
     public static void setBranchStatus(String xaBranchXid, BranchStatus branchStatus) {
         BRANCH_STATUS_CACHE.put(xaBranchXid, branchStatus);
     }
@@ -226,4 +288,22 @@ public abstract class BaseDataSourceResource<T extends Holdable> implements Seat
     public void setShouldBeHeld(boolean shouldBeHeld) {
         this.shouldBeHeld = shouldBeHeld;
     }
+
+    private static class HoldTime implements Comparable<HoldTime> {
+
+        private final long time;
+
+        private final long sequence;
+
+        HoldTime(long time, long sequence) {
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(HoldTime o) {
+            int result = Long.compare(time, o.time);
+            return result != 0 ? result : Long.compare(sequence, o.sequence);
+        }
+    }
 }
@@ -25,9 +25,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import io.seata.common.util.DateUtil;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.ResourceManager;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
 import io.seata.core.protocol.transaction.UndoLogDeleteRequest;
 import io.seata.rm.datasource.DataSourceManager;
 import io.seata.rm.datasource.DataSourceProxy;
+import io.seata.rm.datasource.exec.LockWaitManager;
 import io.seata.rm.datasource.undo.UndoLogManager;
 import io.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
@@ -71,6 +73,7 @@ public class RMHandlerAT extends AbstractRMHandler {
                 LOGGER.warn("Failed to get connection to delete expired undo_log for {}", resourceId);
                 return;
             }
+            purgeUndoLog(manager, conn, division);
             int deleteRows;
             do {
                 deleteRows = deleteUndoLog(manager, conn, division);
@@ -80,6 +83,11 @@ public class RMHandlerAT extends AbstractRMHandler {
         }
     }
 
+    @Override
+    public void handle(LockReleaseNotifyRequest request) {
+        LockWaitManager.getInstance().onLockReleased(request.getResourceId(), request.getLockKey());
+    }
+
     boolean checkUndoLogTableExist(DataSourceProxy dataSourceProxy) {
         UndoLogManager manager = getUndoLogManager(dataSourceProxy);
         try (Connection connection = getConnection(dataSourceProxy)) {
@@ -107,6 +115,15 @@ public class RMHandlerAT extends AbstractRMHandler {
         return UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType());
     }
 
+    int purgeUndoLog(UndoLogManager manager, Connection conn, Date division) {
+        try {
+            return manager.purgeUndoLogByLogCreated(division, conn);
+        } catch (SQLException e) {
+            LOGGER.error("Failed to drop expired undo_log partitions", e);
+            return 0;
+        }
+    }
+
     int deleteUndoLog(UndoLogManager manager, Connection conn, Date division) {
         try {
             int deleteRows = manager.deleteUndoLogByLogCreated(division, LIMIT_ROWS, conn);
@@ -38,6 +38,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -54,8 +55,14 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
      */
     protected Map<Integer, ArrayList<Object>> parameters;
 
+    /**
+     * The count of values of every parameter which belong to the rows added to the batch.
+     */
+    private Map<Integer, Integer> batchedSizes;
+
     private void initParameterHolder() {
         this.parameters = new HashMap<>();
+        this.batchedSizes = new HashMap<>();
     }
 
     /**
@@ -96,14 +103,20 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
     }
 
     /**
-     * Sets param by index.
+     * Sets param by index. Every index keeps one value per batched row, the value after them
+     * belongs to the row which is being bound.
      *
      * @param index the index
      * @param x     the x
      */
     protected void setParamByIndex(int index, Object x) {
-        CollectionUtils.computeIfAbsent(parameters, index, e -> new ArrayList<>())
-                .add(x);
+        ArrayList<Object> values = CollectionUtils.computeIfAbsent(parameters, index, e -> new ArrayList<>());
+        int batchedSize = batchedSizes.getOrDefault(index, 0);
+        if (values.size() > batchedSize) {
+            values.set(batchedSize, x);
+        } else {
+            values.add(x);
+        }
     }
 
     @Override
@@ -211,7 +224,12 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
 
     @Override
     public void clearParameters() throws SQLException {
-        initParameterHolder();
+        if (batchedSizes.isEmpty()) {
+            initParameterHolder();
+        } else {
+            // only the row being bound is cleared, the rows already added to the batch are kept
+            truncateParameters();
+        }
         targetStatement.clearParameters();
     }
 
@@ -230,6 +248,45 @@ public abstract class AbstractPreparedStatementProxy extends StatementProxy<Prep
     @Override
     public void addBatch() throws SQLException {
         targetStatement.addBatch();
+        for (Map.Entry<Integer, ArrayList<Object>> entry : parameters.entrySet()) {
+            ArrayList<Object> values = entry.getValue();
+            // parameters not bound again keep the value of the previous row
+            if (!values.isEmpty() && values.size() == batchedSizes.getOrDefault(entry.getKey(), 0)) {
+                values.add(values.get(values.size() - 1));
+            }
+            batchedSizes.put(entry.getKey(), values.size());
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        targetStatement.clearBatch();
+        initParameterHolder();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        // the row bound after the last addBatch is not part of the batch
+        truncateParameters();
+        try {
+            return super.executeBatch();
+        } finally {
+            initParameterHolder();
+        }
+    }
+
+    private void truncateParameters() {
+        Iterator<Map.Entry<Integer, ArrayList<Object>>> iterator = parameters.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, ArrayList<Object>> entry = iterator.next();
+            ArrayList<Object> values = entry.getValue();
+            int batchedSize = batchedSizes.getOrDefault(entry.getKey(), 0);
+            if (batchedSize == 0) {
+                iterator.remove();
+            } else if (values.size() > batchedSize) {
+                values.subList(batchedSize, values.size()).clear();
+            }
+        }
     }
 
     @Override
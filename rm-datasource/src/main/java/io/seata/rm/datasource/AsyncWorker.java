@@ -17,25 +17,31 @@ package io.seata.rm.datasource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-import com.google.common.collect.Lists;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.IOUtil;
 import io.seata.common.util.StringUtils;
+import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
+import io.seata.core.metrics.ClientMeter;
+import io.seata.core.metrics.ClientMetrics;
 import io.seata.core.model.BranchStatus;
 import io.seata.rm.datasource.undo.UndoLogManager;
 import io.seata.rm.datasource.undo.UndoLogManagerFactory;
@@ -43,10 +49,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_THREAD_SIZE;
 import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_THREAD_SIZE;
 
 /**
  * The type Async worker.
+ * <p>
+ * The phase two commits are sharded by resource, each resource has its own bounded queue which is drained
+ * as soon as a full undo log delete batch is buffered, or at the latest after the flush interval. The shards
+ * are drained in parallel, each on its own connection, and at most one drain runs for a shard at a time.
  *
  * @author sharajava
  */
@@ -58,96 +72,172 @@ public class AsyncWorker {
 
     private static final int UNDOLOG_DELETE_LIMIT_SIZE = 1000;
 
-    private static final int ASYNC_COMMIT_BUFFER_LIMIT = ConfigurationFactory.getInstance().getInt(
+    /**
+     * the times a phase two commit is retried on the flusher while the queue of its resource is full
+     */
+    private static final int MAX_OVERFLOW_RETRIES = 3;
+
+    private static final Configuration CONFIG = ConfigurationFactory.getInstance();
+
+    private static final int ASYNC_COMMIT_BUFFER_LIMIT = CONFIG.getInt(
         CLIENT_ASYNC_COMMIT_BUFFER_LIMIT, DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT);
 
+    private static final long ASYNC_COMMIT_FLUSH_INTERVAL = CONFIG.getLong(
+        CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL, DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL);
+
+    private static final int ASYNC_COMMIT_THREAD_SIZE = CONFIG.getInt(
+        CLIENT_ASYNC_COMMIT_THREAD_SIZE, DEFAULT_CLIENT_ASYNC_COMMIT_THREAD_SIZE);
+
     private final DataSourceManager dataSourceManager;
 
-    private final BlockingQueue<Phase2Context> commitQueue;
+    private final Map<String, CommitQueue> commitQueues = new ConcurrentHashMap<>(DEFAULT_RESOURCE_SIZE);
 
     private final ScheduledExecutorService scheduledExecutor;
 
+    private final ExecutorService commitExecutor;
+
+    private final LongAdder committedCount = new LongAdder();
+
+    private final LongAdder requeuedCount = new LongAdder();
+
+    private final LongAdder overflowCount = new LongAdder();
+
+    private final LongAdder droppedCount = new LongAdder();
+
+    /**
+     * the overflow retries scheduled on the flusher, bounded by the buffer limit
+     */
+    private final AtomicInteger pendingOverflowRetries = new AtomicInteger();
+
     public AsyncWorker(DataSourceManager dataSourceManager) {
         this.dataSourceManager = dataSourceManager;
 
-        LOGGER.info("Async Commit Buffer Limit: {}", ASYNC_COMMIT_BUFFER_LIMIT);
-        commitQueue = new LinkedBlockingQueue<>(ASYNC_COMMIT_BUFFER_LIMIT);
+        LOGGER.info("Async Commit Buffer Limit: {}, Flush Interval: {}ms, Thread Size: {}", ASYNC_COMMIT_BUFFER_LIMIT,
+            ASYNC_COMMIT_FLUSH_INTERVAL, ASYNC_COMMIT_THREAD_SIZE);
 
-        ThreadFactory threadFactory = new NamedThreadFactory("AsyncWorker", 2, true);
-        scheduledExecutor = new ScheduledThreadPoolExecutor(2, threadFactory);
-        scheduledExecutor.scheduleAtFixedRate(this::doBranchCommitSafely, 10, 1000, TimeUnit.MILLISECONDS);
+        int threadSize = Math.max(1, ASYNC_COMMIT_THREAD_SIZE);
+        commitExecutor = new ThreadPoolExecutor(threadSize, threadSize, Integer.MAX_VALUE, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), new NamedThreadFactory("AsyncWorker", threadSize, true));
+        scheduledExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("AsyncWorkerFlusher", 1, true));
+        scheduledExecutor.scheduleAtFixedRate(this::doBranchCommitSafely, 10, Math.max(1, ASYNC_COMMIT_FLUSH_INTERVAL),
+            TimeUnit.MILLISECONDS);
+        ClientMetrics.registerGauge(ClientMeter.RM_ASYNC_COMMIT_BACKLOG, this::getBacklogSize);
     }
 
     public BranchStatus branchCommit(String xid, long branchId, String resourceId) {
+        if (StringUtils.isBlank(resourceId)) {
+            LOGGER.warn("resourceId is empty, xid:{}, branchId:{}", xid, branchId);
+            return BranchStatus.PhaseTwo_Committed;
+        }
         Phase2Context context = new Phase2Context(xid, branchId, resourceId);
         addToCommitQueue(context);
         return BranchStatus.PhaseTwo_Committed;
     }
 
     /**
-     * try add context to commitQueue directly, if fail(which means the queue is full),
-     * then doBranchCommit urgently(so that the queue could be empty again) and retry this process.
+     * try add context to the queue of its resource, and drain the queue once a full delete batch is buffered.
+     * if fail(which means the queue is full), drain it urgently and retry later on the flusher,
+     * so that the caller is never blocked by undo log deletion. The retries are bounded per context and in total,
+     * past them the undo log is left to the undo log delete of the TC.
      */
     private void addToCommitQueue(Phase2Context context) {
-        if (commitQueue.offer(context)) {
+        CommitQueue commitQueue = commitQueues.computeIfAbsent(context.resourceId, CommitQueue::new);
+        if (commitQueue.queue.offer(context)) {
+            if (commitQueue.queue.size() >= UNDOLOG_DELETE_LIMIT_SIZE) {
+                scheduleDrain(commitQueue);
+            }
             return;
         }
-        CompletableFuture.runAsync(this::doBranchCommitSafely, scheduledExecutor)
-                .thenRun(() -> addToCommitQueue(context));
+        overflowCount.increment();
+        scheduleDrain(commitQueue);
+        if (context.overflowRetries >= MAX_OVERFLOW_RETRIES) {
+            drop(commitQueue, context);
+            return;
+        }
+        if (pendingOverflowRetries.incrementAndGet() > ASYNC_COMMIT_BUFFER_LIMIT) {
+            pendingOverflowRetries.decrementAndGet();
+            drop(commitQueue, context);
+            return;
+        }
+        context.overflowRetries++;
+        try {
+            scheduledExecutor.schedule(() -> {
+                pendingOverflowRetries.decrementAndGet();
+                addToCommitQueue(context);
+            }, Math.max(1, ASYNC_COMMIT_FLUSH_INTERVAL / 10), TimeUnit.MILLISECONDS);
+        } catch (Throwable e) {
+            pendingOverflowRetries.decrementAndGet();
+            drop(commitQueue, context);
+        }
+    }
+
+    private void drop(CommitQueue commitQueue, Phase2Context context) {
+        droppedCount.increment();
+        LOGGER.warn("async commit queue of {} is full, undo log of {} is left to the undo log delete",
+            commitQueue.resourceId, context);
     }
 
-    private void addAllToCommitQueue(List<Phase2Context> contexts) {
+    /**
+     * requeue the contexts failed to delete, the undo logs are left to the undo log delete of the TC
+     * if the queue is still full, since the deletion of phase two is best effort.
+     */
+    private void requeue(CommitQueue commitQueue, List<Phase2Context> contexts) {
+        requeuedCount.add(contexts.size());
         for (Phase2Context context : contexts) {
-            addToCommitQueue(context);
+            if (!commitQueue.queue.offer(context)) {
+                drop(commitQueue, context);
+            }
         }
     }
 
     void doBranchCommitSafely() {
         try {
-            doBranchCommit();
+            commitQueues.values().forEach(commitQueue -> {
+                if (!commitQueue.queue.isEmpty()) {
+                    scheduleDrain(commitQueue);
+                }
+            });
         } catch (Throwable e) {
             LOGGER.error("Exception occur when doing branch commit", e);
         }
     }
 
-    private void doBranchCommit() {
-        if (commitQueue.isEmpty()) {
+    private void scheduleDrain(CommitQueue commitQueue) {
+        if (!commitQueue.draining.compareAndSet(false, true)) {
             return;
         }
-
-        // transfer all context currently received to this list
-        List<Phase2Context> allContexts = new LinkedList<>();
-        commitQueue.drainTo(allContexts);
-
-        // group context by their resourceId
-        Map<String, List<Phase2Context>> groupedContexts = groupedByResourceId(allContexts);
-
-        groupedContexts.forEach(this::dealWithGroupedContexts);
+        try {
+            commitExecutor.execute(() -> drainSafely(commitQueue));
+        } catch (Throwable e) {
+            commitQueue.draining.set(false);
+            LOGGER.error("Failed to schedule the async commit of {}", commitQueue.resourceId, e);
+        }
     }
 
-    Map<String, List<Phase2Context>> groupedByResourceId(List<Phase2Context> contexts) {
-        Map<String, List<Phase2Context>> groupedContexts = new HashMap<>(DEFAULT_RESOURCE_SIZE);
-        contexts.forEach(context -> {
-            if (StringUtils.isBlank(context.resourceId)) {
-                LOGGER.warn("resourceId is empty, resource:{}", context);
-                return;
-            }
-            List<Phase2Context> group = groupedContexts.computeIfAbsent(context.resourceId, key -> new LinkedList<>());
-            group.add(context);
-        });
-        return groupedContexts;
+    private void drainSafely(CommitQueue commitQueue) {
+        try {
+            drain(commitQueue);
+        } catch (Throwable e) {
+            LOGGER.error("Exception occur when doing branch commit on {}", commitQueue.resourceId, e);
+        } finally {
+            commitQueue.draining.set(false);
+        }
+        // the contexts added while draining could have missed their trigger
+        if (commitQueue.queue.size() >= UNDOLOG_DELETE_LIMIT_SIZE) {
+            scheduleDrain(commitQueue);
+        }
     }
 
-    private void dealWithGroupedContexts(String resourceId, List<Phase2Context> contexts) {
-        if (StringUtils.isBlank(resourceId)) {
-            //ConcurrentHashMap required notNull key
-            LOGGER.warn("resourceId is empty and will skip.");
+    private void drain(CommitQueue commitQueue) {
+        // only drain what is buffered now, so that a busy resource won't occupy the worker forever
+        int remaining = commitQueue.queue.size();
+        if (remaining <= 0) {
             return;
         }
-        DataSourceProxy dataSourceProxy = dataSourceManager.get(resourceId);
+        String resourceId = commitQueue.resourceId;
+        DataSourceProxy dataSourceProxy = dataSourceManager == null ? null : dataSourceManager.get(resourceId);
         if (dataSourceProxy == null) {
-            LOGGER.warn("failed to find resource for {} and requeue", resourceId);
-            addAllToCommitQueue(contexts);
+            LOGGER.warn("failed to find resource for {} and keep it in queue", resourceId);
             return;
         }
 
@@ -155,22 +245,24 @@ public class AsyncWorker {
         try {
             conn = dataSourceProxy.getPlainConnection();
             UndoLogManager undoLogManager = UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType());
-
             // split contexts into several lists, with each list contain no more element than limit size
-            List<List<Phase2Context>> splitByLimit = Lists.partition(contexts, UNDOLOG_DELETE_LIMIT_SIZE);
-            for (List<Phase2Context> partition : splitByLimit) {
-                deleteUndoLog(conn, undoLogManager, partition);
+            while (remaining > 0) {
+                List<Phase2Context> partition = new ArrayList<>(Math.min(remaining, UNDOLOG_DELETE_LIMIT_SIZE));
+                if (commitQueue.queue.drainTo(partition, Math.min(remaining, UNDOLOG_DELETE_LIMIT_SIZE)) == 0) {
+                    break;
+                }
+                remaining -= partition.size();
+                deleteUndoLog(conn, undoLogManager, commitQueue, partition);
             }
         } catch (SQLException sqlExx) {
-            addAllToCommitQueue(contexts);
-            LOGGER.error("failed to get connection for async committing on {} and requeue", resourceId, sqlExx);
+            LOGGER.error("failed to get connection for async committing on {} and keep it in queue", resourceId, sqlExx);
         } finally {
             IOUtil.close(conn);
         }
-
     }
 
-    private void deleteUndoLog(final Connection conn, UndoLogManager undoLogManager, List<Phase2Context> contexts) {
+    private void deleteUndoLog(final Connection conn, UndoLogManager undoLogManager, CommitQueue commitQueue,
+                               List<Phase2Context> contexts) {
         Set<String> xids = new LinkedHashSet<>(contexts.size());
         Set<Long> branchIds = new LinkedHashSet<>(contexts.size());
         contexts.forEach(context -> {
@@ -183,17 +275,98 @@ public class AsyncWorker {
             if (!conn.getAutoCommit()) {
                 conn.commit();
             }
+            committedCount.add(contexts.size());
         } catch (SQLException e) {
             LOGGER.error("Failed to batch delete undo log", e);
             try {
                 conn.rollback();
-                addAllToCommitQueue(contexts);
+                requeue(commitQueue, contexts);
             } catch (SQLException rollbackEx) {
                 LOGGER.error("Failed to rollback JDBC resource after deleting undo log failed", rollbackEx);
             }
         }
     }
 
+    /**
+     * Gets the number of the phase two commits waiting for undo log deletion.
+     *
+     * @return the backlog size
+     */
+    public int getBacklogSize() {
+        int size = 0;
+        for (CommitQueue commitQueue : commitQueues.values()) {
+            size += commitQueue.queue.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the backlog size of each resource.
+     *
+     * @return the backlog size grouped by resource id
+     */
+    public Map<String, Integer> getBacklogSizeByResource() {
+        Map<String, Integer> backlog = new HashMap<>(commitQueues.size());
+        commitQueues.forEach((resourceId, commitQueue) -> backlog.put(resourceId, commitQueue.queue.size()));
+        return backlog;
+    }
+
+    /**
+     * Gets the number of the phase two commits whose undo logs were deleted.
+     *
+     * @return the committed count
+     */
+    public long getCommittedCount() {
+        return committedCount.sum();
+    }
+
+    /**
+     * Gets the number of the phase two commits requeued after a failed deletion.
+     *
+     * @return the requeued count
+     */
+    public long getRequeuedCount() {
+        return requeuedCount.sum();
+    }
+
+    /**
+     * Gets the number of the phase two commits deferred because the queue of the resource was full.
+     *
+     * @return the overflow count
+     */
+    public long getOverflowCount() {
+        return overflowCount.sum();
+    }
+
+    /**
+     * Gets the number of the phase two commits whose undo logs are left to the undo log delete of the TC, because
+     * the queue of the resource stayed full.
+     *
+     * @return the dropped count
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * The queue of the phase two commits of one resource.
+     */
+    static class CommitQueue {
+
+        final String resourceId;
+
+        final BlockingQueue<Phase2Context> queue = new LinkedBlockingQueue<>(ASYNC_COMMIT_BUFFER_LIMIT);
+
+        /**
+         * whether a drain of the queue is scheduled or running
+         */
+        final AtomicBoolean draining = new AtomicBoolean(false);
+
+        CommitQueue(String resourceId) {
+            this.resourceId = resourceId;
+        }
+    }
+
     static class Phase2Context {
 
         /**
@@ -220,6 +393,10 @@ public class AsyncWorker {
          * The Resource id.
          */
         String resourceId;
+        /**
+         * The times it was retried because the queue was full.
+         */
+        int overflowRetries;
 
         @Override
         public String toString() {
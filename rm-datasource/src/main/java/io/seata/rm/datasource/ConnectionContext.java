@@ -36,9 +36,11 @@ import io.seata.common.util.StringUtils;
 import io.seata.core.context.GlobalLockConfigHolder;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.GlobalLockConfig;
+import io.seata.rm.datasource.exec.LockWaitManager;
 import io.seata.rm.datasource.undo.SQLUndoLog;
 
 import static io.seata.common.Constants.AUTO_COMMIT;
+import static io.seata.common.Constants.LOCK_WAIT_NOTIFY;
 import static io.seata.common.Constants.SKIP_CHECK_LOCK;
 
 /**
@@ -66,7 +68,7 @@ public class ConnectionContext {
     private boolean isGlobalLockRequire;
     private Savepoint currentSavepoint = DEFAULT_SAVEPOINT;
     private boolean autoCommitChanged;
-    private final Map<String, Object> applicationData = new HashMap<>(2, 1.0001f);
+    private final Map<String, Object> applicationData = new HashMap<>(3, 1.0001f);
 
     /**
      * the lock keys buffer
@@ -291,6 +293,10 @@ public class ConnectionContext {
             }
         });
 
+        if (LockWaitManager.getInstance().isEnabled()) {
+            this.applicationData.put(LOCK_WAIT_NOTIFY, true);
+        }
+
         boolean autoCommit = this.isAutoCommitChanged();
         // when transaction are enabled, it must be false
         if (!autoCommit) {
@@ -20,7 +20,7 @@ import java.sql.SQLException;
 import java.sql.Savepoint;
 import java.util.concurrent.Callable;
 import io.seata.common.util.StringUtils;
-import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationHandle;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
@@ -29,6 +29,7 @@ import io.seata.core.model.BranchType;
 import io.seata.rm.DefaultResourceManager;
 import io.seata.rm.datasource.exec.LockConflictException;
 import io.seata.rm.datasource.exec.LockRetryController;
+import io.seata.rm.datasource.exec.LockWaitManager;
 import io.seata.rm.datasource.undo.SQLUndoLog;
 import io.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
@@ -51,12 +52,19 @@ public class ConnectionProxy extends AbstractConnectionProxy {
 
     private final LockRetryPolicy lockRetryPolicy = new LockRetryPolicy(this);
 
-    private static final int REPORT_RETRY_COUNT = ConfigurationFactory.getInstance().getInt(
+    private static final ConfigurationHandle<Integer> REPORT_RETRY_COUNT = ConfigurationHandle.ofInt(
         ConfigurationKeys.CLIENT_REPORT_RETRY_COUNT, DEFAULT_CLIENT_REPORT_RETRY_COUNT);
 
-    public static final boolean IS_REPORT_SUCCESS_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+    private static final ConfigurationHandle<Boolean> REPORT_SUCCESS_ENABLE = ConfigurationHandle.ofBoolean(
         ConfigurationKeys.CLIENT_REPORT_SUCCESS_ENABLE, DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE);
 
+    /**
+     * @deprecated the value when the class is loaded, the report of a commit follows the later changes of the
+     * configuration
+     */
+    @Deprecated
+    public static final boolean IS_REPORT_SUCCESS_ENABLE = REPORT_SUCCESS_ENABLE.get();
+
     /**
      * Instantiates a new Connection proxy.
      *
@@ -249,7 +257,17 @@ public class ConnectionProxy extends AbstractConnectionProxy {
         try {
             register();
         } catch (TransactionException e) {
-            recognizeLockKeyConflictException(e, context.buildLockKeys());
+            String lockKeys = context.buildLockKeys();
+            try {
+                recognizeLockKeyConflictException(e, lockKeys);
+            } catch (LockConflictException lockConflict) {
+                // park on the conflicting rows before retry, the TC notifies once the holder releases them
+                LockWaitManager lockWaitManager = LockWaitManager.getInstance();
+                if (lockWaitManager.isEnabled() && lockConflict.getCode() == TransactionExceptionCode.LockKeyConflict) {
+                    lockConflict.setLockWaiter(lockWaitManager.register(getDataSourceProxy().getResourceId(), lockKeys));
+                }
+                throw lockConflict;
+            }
         }
         try {
             UndoLogManagerFactory.getUndoLogManager(this.getDbType()).flushUndoLogs(this);
@@ -259,7 +277,7 @@ public class ConnectionProxy extends AbstractConnectionProxy {
             report(false);
             throw new SQLException(ex);
         }
-        if (IS_REPORT_SUCCESS_ENABLE) {
+        if (REPORT_SUCCESS_ENABLE.get()) {
             report(true);
         }
         context.reset();
@@ -308,7 +326,7 @@ public class ConnectionProxy extends AbstractConnectionProxy {
         if (context.getBranchId() == null) {
             return;
         }
-        int retry = REPORT_RETRY_COUNT;
+        int retry = REPORT_RETRY_COUNT.get();
         while (retry > 0) {
             try {
                 DefaultResourceManager.get().branchReport(BranchType.AT, context.getXid(), context.getBranchId(),
@@ -327,8 +345,8 @@ public class ConnectionProxy extends AbstractConnectionProxy {
     }
 
     public static class LockRetryPolicy {
-        protected static final boolean LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = ConfigurationFactory
-            .getInstance().getBoolean(ConfigurationKeys.CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT, DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT);
+        protected static final ConfigurationHandle<Boolean> LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = ConfigurationHandle
+            .ofBoolean(ConfigurationKeys.CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT, DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT);
 
         protected final ConnectionProxy connection;
 
@@ -340,7 +358,7 @@ public class ConnectionProxy extends AbstractConnectionProxy {
             // the only case that not need to retry acquire lock hear is
             //    LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT == true && connection#autoCommit == true
             // because it has retry acquire lock when AbstractDMLBaseExecutor#executeAutoCommitTrue
-            if (LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT && connection.getContext().isAutoCommitChanged()) {
+            if (LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT.get() && connection.getContext().isAutoCommitChanged()) {
                 return callable.call();
             } else {
                 // LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT == false
@@ -30,7 +30,7 @@ import io.seata.sqlparser.util.ColumnUtils;
  */
 public class SqlGenerateUtils {
 
-    private static final int MAX_IN_SIZE = 1000;
+    public static final int MAX_IN_SIZE = 1000;
 
     private SqlGenerateUtils() {
 
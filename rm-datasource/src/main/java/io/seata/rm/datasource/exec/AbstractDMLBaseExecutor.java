@@ -184,7 +184,7 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
 
         @Override
         public <T> T execute(Callable<T> callable) throws Exception {
-            if (LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT) {
+            if (LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT.get()) {
                 return doRetryOnLockConflict(callable);
             } else {
                 return callable.call();
@@ -200,7 +200,7 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
         }
 
         public static boolean isLockRetryPolicyBranchRollbackOnConflict() {
-            return LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
+            return LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT.get();
         }
     }
 }
@@ -23,8 +23,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.Lists;
 import io.seata.common.exception.NotSupportYetException;
@@ -35,6 +35,8 @@ import io.seata.sqlparser.util.ColumnUtils;
 import io.seata.rm.datasource.PreparedStatementProxy;
 import io.seata.rm.datasource.StatementProxy;
 import io.seata.sqlparser.struct.ColumnMeta;
+import io.seata.rm.datasource.sql.struct.Field;
+import io.seata.rm.datasource.sql.struct.Row;
 import io.seata.rm.datasource.sql.struct.TableRecords;
 import io.seata.sqlparser.SQLInsertRecognizer;
 import io.seata.sqlparser.SQLRecognizer;
@@ -56,6 +58,11 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
 
     protected static final String PLACEHOLDER = "?";
 
+    /**
+     * the generated keys of the statement by pk column, read once however many rows need them
+     */
+    private Map<String, List<Object>> generatedKeys;
+
     /**
      * Instantiates a new Abstract dml base executor.
      *
@@ -68,11 +75,25 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
         super(statementProxy, statementCallback, sqlRecognizer);
     }
 
+    @Override
+    protected T executeAutoCommitFalse(Object[] args) throws Exception {
+        resetGeneratedKeys();
+        return super.executeAutoCommitFalse(args);
+    }
+
     @Override
     protected TableRecords beforeImage() throws SQLException {
         return TableRecords.empty(getTableMeta());
     }
 
+    /**
+     * forget the generated keys of the last execution, a lock conflict retry re-executes the insert
+     * on the same executor and the keys of the former try are not the ones of the inserted rows.
+     */
+    protected void resetGeneratedKeys() {
+        generatedKeys = null;
+    }
+
     @Override
     protected TableRecords afterImage(TableRecords beforeImage) throws SQLException {
         Map<String, List<Object>> pkValues = getPkValues();
@@ -83,6 +104,55 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
         return afterImage;
     }
 
+    /**
+     * build lockKey of the inserted rows. the rows of an after image share the same column layout,
+     * so the pk fields are located once and appended directly instead of building a pk map per row.
+     *
+     * @param rowsIncludingPK the records
+     * @return the string as local key. the local key example(multi pk): "t_user:1_a,2_b"
+     */
+    @Override
+    protected String buildLockKey(TableRecords rowsIncludingPK) {
+        if (rowsIncludingPK.size() == 0) {
+            return null;
+        }
+        List<Row> rows = rowsIncludingPK.getRows();
+        List<String> primaryKeysOnlyName = rowsIncludingPK.getTableMeta().getPrimaryKeyOnlyName();
+        List<Field> firstFields = rows.get(0).getFields();
+        int[] pkFieldIndexes = new int[primaryKeysOnlyName.size()];
+        for (int i = 0; i < pkFieldIndexes.length; i++) {
+            pkFieldIndexes[i] = -1;
+            for (int j = 0; j < firstFields.size(); j++) {
+                if (primaryKeysOnlyName.get(i).equals(firstFields.get(j).getName())) {
+                    pkFieldIndexes[i] = j;
+                    break;
+                }
+            }
+            if (pkFieldIndexes[i] < 0) {
+                return super.buildLockKey(rowsIncludingPK);
+            }
+        }
+        String tableName = rowsIncludingPK.getTableMeta().getTableName();
+        StringBuilder sb = new StringBuilder(tableName.length() + rows.size() * 8 * pkFieldIndexes.length);
+        sb.append(tableName).append(':');
+        for (int r = 0; r < rows.size(); r++) {
+            List<Field> fields = rows.get(r).getFields();
+            if (fields.size() != firstFields.size()) {
+                return super.buildLockKey(rowsIncludingPK);
+            }
+            if (r > 0) {
+                sb.append(',');
+            }
+            for (int i = 0; i < pkFieldIndexes.length; i++) {
+                if (i > 0) {
+                    sb.append('_');
+                }
+                sb.append(fields.get(pkFieldIndexes[i]).getValue());
+            }
+        }
+        return sb.toString();
+    }
+
     protected boolean containsPK() {
         SQLInsertRecognizer recognizer = (SQLInsertRecognizer) sqlRecognizer;
         List<String> insertColumns = recognizer.getInsertColumns();
@@ -150,49 +220,49 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
             if (insertRows != null && !insertRows.isEmpty()) {
                 Map<Integer, ArrayList<Object>> parameters = preparedStatementProxy.getParameters();
                 final int rowSize = insertRows.size();
-                int totalPlaceholderNum = -1;
+                final int pkSize = pkIndexMap.size();
+                final int[] pkIndexes = new int[pkSize];
+                final List<List<Object>> pkValuesList = new ArrayList<>(pkSize);
+                int maxPkIndex = -1;
+                for (Map.Entry<String, Integer> entry : pkIndexMap.entrySet()) {
+                    pkIndexes[pkValuesList.size()] = entry.getValue();
+                    maxPkIndex = Math.max(maxPkIndex, entry.getValue());
+                    List<Object> pkValues = new ArrayList<>(rowSize);
+                    pkValuesMap.put(ColumnUtils.delEscape(entry.getKey(), getDbType()), pkValues);
+                    pkValuesList.add(pkValues);
+                }
+                // the parameter index of the pk placeholder, resolved with a single scan of each row
+                final int[] pkParamIndexes = new int[pkSize];
+                int rowParamOffset = 0;
                 for (List<Object> row : insertRows) {
                     // oracle insert sql statement specify RETURN_GENERATED_KEYS will append :rowid on sql end
                     // insert parameter count will than the actual +1
                     if (row.isEmpty()) {
                         continue;
                     }
-                    int currentRowPlaceholderNum = -1;
-                    for (Object r : row) {
-                        if (PLACEHOLDER.equals(r)) {
-                            totalPlaceholderNum += 1;
-                            currentRowPlaceholderNum += 1;
+                    int rowPlaceholderNum = 0;
+                    for (int n = 0, len = row.size(); n < len; n++) {
+                        if (n <= maxPkIndex) {
+                            for (int k = 0; k < pkSize; k++) {
+                                if (pkIndexes[k] == n) {
+                                    pkParamIndexes[k] = rowParamOffset + rowPlaceholderNum + 1;
+                                }
+                            }
                         }
-                    }
-                    String pkKey;
-                    int pkIndex;
-                    List<Object> pkValues;
-                    for (Map.Entry<String, Integer> entry : pkIndexMap.entrySet()) {
-                        pkKey = entry.getKey();
-                        pkValues = pkValuesMap.get(pkKey);
-                        if (Objects.isNull(pkValues)) {
-                            pkValues = new ArrayList<>(rowSize);
+                        if (PLACEHOLDER.equals(row.get(n))) {
+                            rowPlaceholderNum++;
                         }
-                        pkIndex = entry.getValue();
-                        Object pkValue = row.get(pkIndex);
+                    }
+                    for (int k = 0; k < pkSize; k++) {
+                        Object pkValue = row.get(pkIndexes[k]);
                         if (PLACEHOLDER.equals(pkValue)) {
-                            int currentRowNotPlaceholderNumBeforePkIndex = 0;
-                            for (int n = 0, len = row.size(); n < len; n++) {
-                                Object r = row.get(n);
-                                if (n < pkIndex && !PLACEHOLDER.equals(r)) {
-                                    currentRowNotPlaceholderNumBeforePkIndex++;
-                                }
-                            }
-                            int idx = totalPlaceholderNum - currentRowPlaceholderNum + pkIndex - currentRowNotPlaceholderNumBeforePkIndex;
-                            ArrayList<Object> parameter = parameters.get(idx + 1);
-                            pkValues.addAll(parameter);
+                            // a batched statement holds one parameter value per batched row
+                            pkValuesList.get(k).addAll(parameters.get(pkParamIndexes[k]));
                         } else {
-                            pkValues.add(pkValue);
-                        }
-                        if (!pkValuesMap.containsKey(ColumnUtils.delEscape(pkKey, getDbType()))) {
-                            pkValuesMap.put(ColumnUtils.delEscape(pkKey, getDbType()), pkValues);
+                            pkValuesList.get(k).add(pkValue);
                         }
                     }
+                    rowParamOffset += rowPlaceholderNum;
                 }
             }
         } else {
@@ -251,6 +321,10 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
      * @throws SQLException
      */
     public List<Object> getGeneratedKeys(String pkKey) throws SQLException {
+        String cacheKey = StringUtils.isEmpty(pkKey) ? StringUtils.EMPTY : pkKey;
+        if (generatedKeys != null && generatedKeys.containsKey(cacheKey)) {
+            return generatedKeys.get(cacheKey);
+        }
         // PK is just auto generated
         ResultSet genKeys = statementProxy.getGeneratedKeys();
         List<Object> pkValues = new ArrayList<>();
@@ -266,9 +340,29 @@ public abstract class BaseInsertExecutor<T, S extends Statement> extends Abstrac
         } catch (SQLException e) {
             LOGGER.warn("Fail to reset ResultSet cursor. can not get primary key value");
         }
+        if (generatedKeys == null) {
+            generatedKeys = new HashMap<>(4);
+        }
+        generatedKeys.put(cacheKey, pkValues);
         return pkValues;
     }
 
+    /**
+     * get the generated key of one insert row.
+     * when the statement returns a key for every row (multi-row insert or batch) the key at the row index is used,
+     * otherwise the first generated key.
+     *
+     * @param pkKey    the pk key
+     * @param rowIndex the index of the row
+     * @param rowSize  the count of the insert rows
+     * @return the generated key
+     * @throws SQLException the sql exception
+     */
+    protected Object getGeneratedKey(String pkKey, int rowIndex, int rowSize) throws SQLException {
+        List<Object> pkValues = getGeneratedKeys(pkKey);
+        return pkValues.size() == rowSize ? pkValues.get(rowIndex) : pkValues.get(0);
+    }
+
     /**
      * the modify for test
      *
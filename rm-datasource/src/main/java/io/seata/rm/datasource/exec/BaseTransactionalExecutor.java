@@ -485,36 +485,61 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
     protected TableRecords buildTableRecords(Map<String, List<Object>> pkValuesMap) throws SQLException {
         SQLInsertRecognizer recognizer = (SQLInsertRecognizer)sqlRecognizer;
         List<String> pkColumnNameList = getTableMeta().getPrimaryKeyOnlyName();
-        String prefix = "SELECT ";
-        StringBuilder suffix = new StringBuilder(" FROM ").append(getFromTableInSQL());
-        // build check sql
         String firstKey = pkValuesMap.keySet().stream().findFirst().get();
         int rowSize = pkValuesMap.get(firstKey).size();
-        suffix.append(WHERE).append(SqlGenerateUtils.buildWhereConditionByPKs(pkColumnNameList, rowSize, getDbType()));
-        StringJoiner selectSQLJoin = new StringJoiner(", ", prefix, suffix.toString());
         List<String> insertColumnsUnEscape = recognizer.getInsertColumnsUnEscape();
         List<String> needColumns =
             getNeedColumns(tableMeta.getTableName(), sqlRecognizer.getTableAlias(), insertColumnsUnEscape);
-        needColumns.forEach(selectSQLJoin::add);
-        ResultSet rs = null;
-        try (PreparedStatement ps = statementProxy.getConnection().prepareStatement(selectSQLJoin.toString())) {
-
-            int paramIndex = 1;
-            for (int r = 0; r < rowSize; r++) {
-                for (int c = 0; c < pkColumnNameList.size(); c++) {
-                    List<Object> pkColumnValueList = pkValuesMap.get(pkColumnNameList.get(c));
-                    int dataType = tableMeta.getColumnMeta(pkColumnNameList.get(c)).getDataType();
-                    ps.setObject(paramIndex, pkColumnValueList.get(r), dataType);
-                    paramIndex++;
+        int[] dataTypes = new int[pkColumnNameList.size()];
+        List<List<Object>> pkColumnValueLists = new ArrayList<>(pkColumnNameList.size());
+        for (int c = 0; c < pkColumnNameList.size(); c++) {
+            dataTypes[c] = tableMeta.getColumnMeta(pkColumnNameList.get(c)).getDataType();
+            pkColumnValueLists.add(pkValuesMap.get(pkColumnNameList.get(c)));
+        }
+        // large multi-row or batch inserts are queried chunk by chunk, one IN list per statement,
+        // the statement of the full chunks is prepared only once
+        TableRecords tableRecords = null;
+        PreparedStatement ps = null;
+        int preparedChunkSize = -1;
+        try {
+            for (int from = 0; from < rowSize; from += SqlGenerateUtils.MAX_IN_SIZE) {
+                int chunkSize = Math.min(SqlGenerateUtils.MAX_IN_SIZE, rowSize - from);
+                if (chunkSize != preparedChunkSize) {
+                    IOUtil.close(ps);
+                    ps = statementProxy.getConnection().prepareStatement(
+                        buildSelectSQLByPKs(pkColumnNameList, needColumns, chunkSize));
+                    preparedChunkSize = chunkSize;
+                }
+                int paramIndex = 1;
+                for (int r = from; r < from + chunkSize; r++) {
+                    for (int c = 0; c < dataTypes.length; c++) {
+                        ps.setObject(paramIndex++, pkColumnValueLists.get(c).get(r), dataTypes[c]);
+                    }
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    TableRecords chunkRecords = TableRecords.buildRecords(getTableMeta(), rs);
+                    if (tableRecords == null) {
+                        tableRecords = chunkRecords;
+                    } else {
+                        chunkRecords.getRows().forEach(tableRecords::add);
+                    }
                 }
             }
-            rs = ps.executeQuery();
-            return TableRecords.buildRecords(getTableMeta(), rs);
+            return tableRecords;
         } finally {
-            IOUtil.close(rs);
+            IOUtil.close(ps);
         }
     }
 
+    private String buildSelectSQLByPKs(List<String> pkColumnNameList, List<String> needColumns, int rowSize)
+        throws SQLException {
+        StringBuilder suffix = new StringBuilder(" FROM ").append(getFromTableInSQL());
+        suffix.append(WHERE).append(SqlGenerateUtils.buildWhereConditionByPKs(pkColumnNameList, rowSize, getDbType()));
+        StringJoiner selectSQLJoin = new StringJoiner(", ", "SELECT ", suffix.toString());
+        needColumns.forEach(selectSQLJoin::add);
+        return selectSQLJoin.toString();
+    }
+
     protected List<String> getNeedColumns(String table, String tableAlias, List<String> unescapeColumns) {
         List<String> needUpdateColumns = new ArrayList<>();
         TableMeta tableMeta = getTableMeta(table);
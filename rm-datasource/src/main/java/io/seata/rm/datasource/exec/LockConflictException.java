@@ -27,6 +27,11 @@ public class LockConflictException extends SQLException {
 
     TransactionExceptionCode code;
 
+    /**
+     * the waiter registered on the conflicting rows, null if the lock wait notify is disabled
+     */
+    private transient LockWaitManager.LockWaiter lockWaiter;
+
     public LockConflictException(String message) {
         super(message);
     }
@@ -44,4 +49,12 @@ public class LockConflictException extends SQLException {
         this.code = code;
     }
 
+    public LockWaitManager.LockWaiter getLockWaiter() {
+        return lockWaiter;
+    }
+
+    public void setLockWaiter(LockWaitManager.LockWaiter lockWaiter) {
+        this.lockWaiter = lockWaiter;
+    }
+
 }
@@ -15,6 +15,8 @@
  */
 package io.seata.rm.datasource.exec;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 import io.seata.common.DefaultValues;
 import io.seata.common.util.NumberUtils;
 import io.seata.config.Configuration;
@@ -25,6 +27,8 @@ import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.context.GlobalLockConfigHolder;
 import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.metrics.ClientMeter;
+import io.seata.core.metrics.ClientMetrics;
 import io.seata.core.model.GlobalLockConfig;
 
 /**
@@ -39,18 +43,25 @@ public class LockRetryController {
     static {
         ConfigurationCache.addConfigListener(ConfigurationKeys.CLIENT_LOCK_RETRY_INTERVAL, LISTENER);
         ConfigurationCache.addConfigListener(ConfigurationKeys.CLIENT_LOCK_RETRY_TIMES, LISTENER);
+        ConfigurationCache.addConfigListener(ConfigurationKeys.CLIENT_LOCK_RETRY_MAX_INTERVAL, LISTENER);
     }
 
     private int lockRetryInterval;
 
+    private int lockRetryMaxInterval;
+
     private int lockRetryTimes;
 
+    private int retriedTimes;
+
     /**
      * Instantiates a new Lock retry controller.
      */
     public LockRetryController() {
-        this.lockRetryInterval = getLockRetryInterval();
-        this.lockRetryTimes = getLockRetryTimes();
+        GlobalConfig.Snapshot global = LISTENER.getSnapshot();
+        this.lockRetryInterval = getLockRetryInterval(global);
+        this.lockRetryMaxInterval = Math.max(lockRetryInterval, global.lockRetryMaxInterval);
+        this.lockRetryTimes = getLockRetryTimes(global);
     }
 
     /**
@@ -60,19 +71,49 @@ public class LockRetryController {
      * @throws LockWaitTimeoutException the lock wait timeout exception
      */
     public void sleep(Exception e) throws LockWaitTimeoutException {
+        LockWaitManager.LockWaiter lockWaiter = e instanceof LockConflictException
+            ? ((LockConflictException)e).getLockWaiter() : null;
         // prioritize the rollback of other transactions
         if (--lockRetryTimes < 0 || (e instanceof LockConflictException
             && ((LockConflictException)e).getCode() == TransactionExceptionCode.LockKeyConflictFailFast)) {
+            if (lockWaiter != null) {
+                lockWaiter.cancel();
+            }
             throw new LockWaitTimeoutException("Global lock wait timeout", e);
         }
+        ClientMetrics.increase(ClientMeter.RM_LOCK_RETRY, 1);
 
+        long waitTime = nextWaitTime();
+        if (lockWaiter != null) {
+            // woken up as soon as the TC notifies the release, the wait time is the upper bound
+            lockWaiter.await(waitTime);
+            return;
+        }
         try {
-            Thread.sleep(lockRetryInterval);
+            Thread.sleep(waitTime);
         } catch (InterruptedException ignore) {
         }
     }
 
+    /**
+     * The exponential backoff with jitter, capped by the max retry interval.
+     * The jitter keeps the mean of the wait time while spreading the retries of the conflicting transactions.
+     *
+     * @return the wait time in milliseconds
+     */
+    long nextWaitTime() {
+        long backoff = Math.min((long)lockRetryInterval << Math.min(retriedTimes++, 30), lockRetryMaxInterval);
+        if (backoff <= 1) {
+            return backoff;
+        }
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff);
+    }
+
     int getLockRetryInterval() {
+        return getLockRetryInterval(LISTENER.getSnapshot());
+    }
+
+    private int getLockRetryInterval(GlobalConfig.Snapshot global) {
         // get customized config first
         GlobalLockConfig config = GlobalLockConfigHolder.getCurrentGlobalLockConfig();
         if (config != null) {
@@ -82,10 +123,14 @@ public class LockRetryController {
             }
         }
         // if there is no customized config, use global config instead
-        return LISTENER.getGlobalLockRetryInterval();
+        return global.lockRetryInterval;
     }
 
     int getLockRetryTimes() {
+        return getLockRetryTimes(LISTENER.getSnapshot());
+    }
+
+    private int getLockRetryTimes(GlobalConfig.Snapshot global) {
         // get customized config first
         GlobalLockConfig config = GlobalLockConfigHolder.getCurrentGlobalLockConfig();
         if (config != null) {
@@ -95,42 +140,78 @@ public class LockRetryController {
             }
         }
         // if there is no customized config, use global config instead
-        return LISTENER.getGlobalLockRetryTimes();
+        return global.lockRetryTimes;
     }
 
+    /**
+     * The global lock retry config, the three items are swapped as one immutable snapshot
+     * so that a controller never sees a half-applied change and reads them with a single volatile read.
+     */
     static class GlobalConfig implements ConfigurationChangeListener {
 
-        private volatile int globalLockRetryInterval;
-
-        private volatile int globalLockRetryTimes;
+        private volatile Snapshot snapshot;
 
         private final int defaultRetryInterval = DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_INTERVAL;
         private final int defaultRetryTimes = DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_TIMES;
+        private final int defaultRetryMaxInterval = DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_MAX_INTERVAL;
 
         public GlobalConfig() {
             Configuration configuration = ConfigurationFactory.getInstance();
-            globalLockRetryInterval = configuration.getInt(ConfigurationKeys.CLIENT_LOCK_RETRY_INTERVAL, defaultRetryInterval);
-            globalLockRetryTimes = configuration.getInt(ConfigurationKeys.CLIENT_LOCK_RETRY_TIMES, defaultRetryTimes);
+            snapshot = new Snapshot(
+                configuration.getInt(ConfigurationKeys.CLIENT_LOCK_RETRY_INTERVAL, defaultRetryInterval),
+                configuration.getInt(ConfigurationKeys.CLIENT_LOCK_RETRY_TIMES, defaultRetryTimes),
+                configuration.getInt(ConfigurationKeys.CLIENT_LOCK_RETRY_MAX_INTERVAL, defaultRetryMaxInterval));
         }
 
         @Override
-        public void onChangeEvent(ConfigurationChangeEvent event) {
+        public synchronized void onChangeEvent(ConfigurationChangeEvent event) {
             String dataId = event.getDataId();
             String newValue = event.getNewValue();
+            Snapshot current = snapshot;
+            int retryInterval = current.lockRetryInterval;
+            int retryTimes = current.lockRetryTimes;
+            int retryMaxInterval = current.lockRetryMaxInterval;
             if (ConfigurationKeys.CLIENT_LOCK_RETRY_INTERVAL.equals(dataId)) {
-                globalLockRetryInterval = NumberUtils.toInt(newValue, defaultRetryInterval);
+                retryInterval = NumberUtils.toInt(newValue, defaultRetryInterval);
             }
             if (ConfigurationKeys.CLIENT_LOCK_RETRY_TIMES.equals(dataId)) {
-                globalLockRetryTimes = NumberUtils.toInt(newValue, defaultRetryTimes);
+                retryTimes = NumberUtils.toInt(newValue, defaultRetryTimes);
+            }
+            if (ConfigurationKeys.CLIENT_LOCK_RETRY_MAX_INTERVAL.equals(dataId)) {
+                retryMaxInterval = NumberUtils.toInt(newValue, defaultRetryMaxInterval);
             }
+            snapshot = new Snapshot(retryInterval, retryTimes, retryMaxInterval);
+        }
+
+        Snapshot getSnapshot() {
+            return snapshot;
         }
 
         public int getGlobalLockRetryInterval() {
-            return globalLockRetryInterval;
+            return snapshot.lockRetryInterval;
         }
 
         public int getGlobalLockRetryTimes() {
-            return globalLockRetryTimes;
+            return snapshot.lockRetryTimes;
+        }
+
+        public int getGlobalLockRetryMaxInterval() {
+            return snapshot.lockRetryMaxInterval;
+        }
+
+        static final class Snapshot {
+
+            final int lockRetryInterval;
+
+            final int lockRetryTimes;
+
+            final int lockRetryMaxInterval;
+
+            Snapshot(int lockRetryInterval, int lockRetryTimes, int lockRetryMaxInterval) {
+                this.lockRetryInterval = lockRetryInterval;
+                this.lockRetryTimes = lockRetryTimes;
+                this.lockRetryMaxInterval = lockRetryMaxInterval;
+            }
         }
     }
 }
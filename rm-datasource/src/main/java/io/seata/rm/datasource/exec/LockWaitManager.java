@@ -0,0 +1,196 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.exec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_WAIT_NOTIFY_ENABLE;
+
+/**
+ * The global lock wait manager.
+ * <p>
+ * When a branch register fails on a global lock conflict, the RM parks on a {@link LockWaiter} of the conflicting
+ * row keys instead of blindly sleeping. The TC pushes a lock release notify once the holder releases the rows,
+ * which wakes the waiter up so the local transaction could be retried immediately. The wait is always bounded by
+ * the retry interval of {@link LockRetryController}, so TCs without the notify support just fall back to backoff.
+ *
+ * @author agent
+ */
+public class LockWaitManager {
+
+    private static final String ROW_KEY_SPLIT_CHAR = "^^^";
+
+    private static final boolean LOCK_WAIT_NOTIFY_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_LOCK_WAIT_NOTIFY_ENABLE, DEFAULT_CLIENT_LOCK_WAIT_NOTIFY_ENABLE);
+
+    private static final LockWaitManager INSTANCE = new LockWaitManager(LOCK_WAIT_NOTIFY_ENABLE);
+
+    /**
+     * row key -> waiters of the row
+     */
+    private final Map<String, Set<LockWaiter>> rowWaiters = new ConcurrentHashMap<>();
+
+    private final boolean enabled;
+
+    LockWaitManager(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public static LockWaitManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Whether the wait-notify protocol is enabled.
+     *
+     * @return the boolean
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Register a waiter on the lock keys.
+     *
+     * @param resourceId the resource id
+     * @param lockKeys   the lock keys, e.g. "t_order:1,2;t_stock:3"
+     * @return the lock waiter
+     */
+    public LockWaiter register(String resourceId, String lockKeys) {
+        LockWaiter waiter = new LockWaiter(this, toRowKeys(resourceId, lockKeys));
+        for (String rowKey : waiter.rowKeys) {
+            rowWaiters.compute(rowKey, (key, waiters) -> {
+                if (waiters == null) {
+                    waiters = ConcurrentHashMap.newKeySet();
+                }
+                waiters.add(waiter);
+                return waiters;
+            });
+        }
+        return waiter;
+    }
+
+    /**
+     * Wake up all the waiters on the released lock keys.
+     *
+     * @param resourceId the resource id
+     * @param lockKeys   the released lock keys
+     */
+    public void onLockReleased(String resourceId, String lockKeys) {
+        if (rowWaiters.isEmpty()) {
+            return;
+        }
+        for (String rowKey : toRowKeys(resourceId, lockKeys)) {
+            Set<LockWaiter> waiters = rowWaiters.get(rowKey);
+            if (waiters != null) {
+                for (LockWaiter waiter : waiters) {
+                    waiter.wakeup();
+                }
+            }
+        }
+    }
+
+    int getWaitingRowCount() {
+        return rowWaiters.size();
+    }
+
+    private void deregister(LockWaiter waiter) {
+        for (String rowKey : waiter.rowKeys) {
+            rowWaiters.computeIfPresent(rowKey, (key, waiters) -> {
+                waiters.remove(waiter);
+                return waiters.isEmpty() ? null : waiters;
+            });
+        }
+    }
+
+    static List<String> toRowKeys(String resourceId, String lockKeys) {
+        List<String> rowKeys = new ArrayList<>();
+        if (StringUtils.isBlank(lockKeys)) {
+            return rowKeys;
+        }
+        for (String tableGroupedLockKey : lockKeys.split(";")) {
+            int idx = tableGroupedLockKey.indexOf(':');
+            if (idx < 0) {
+                continue;
+            }
+            String tableName = tableGroupedLockKey.substring(0, idx);
+            for (String pk : tableGroupedLockKey.substring(idx + 1).split(",")) {
+                if (StringUtils.isNotBlank(pk)) {
+                    rowKeys.add(resourceId + ROW_KEY_SPLIT_CHAR + tableName + ROW_KEY_SPLIT_CHAR + pk);
+                }
+            }
+        }
+        return rowKeys;
+    }
+
+    /**
+     * The waiter of some conflicting rows.
+     */
+    public static class LockWaiter {
+
+        private final LockWaitManager manager;
+
+        private final List<String> rowKeys;
+
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        LockWaiter(LockWaitManager manager, List<String> rowKeys) {
+            this.manager = manager;
+            this.rowKeys = rowKeys;
+        }
+
+        /**
+         * Wait until any of the rows is released or timeout, the waiter is deregistered after that.
+         *
+         * @param timeoutMillis the max wait time in milliseconds
+         * @return true if woken up by a release notify
+         */
+        public boolean await(long timeoutMillis) {
+            try {
+                return released.await(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ignore) {
+                return false;
+            } finally {
+                cancel();
+            }
+        }
+
+        /**
+         * Deregister the waiter without waiting.
+         */
+        public void cancel() {
+            manager.deregister(this);
+        }
+
+        void wakeup() {
+            released.countDown();
+        }
+
+        boolean isReleased() {
+            return released.getCount() == 0;
+        }
+    }
+}
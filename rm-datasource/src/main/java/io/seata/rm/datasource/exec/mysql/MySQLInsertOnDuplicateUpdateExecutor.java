@@ -106,6 +106,7 @@ public class MySQLInsertOnDuplicateUpdateExecutor extends MySQLInsertExecutor im
      */
     @Override
     protected Object executeAutoCommitFalse(Object[] args) throws Exception {
+        resetGeneratedKeys();
         if (!JdbcConstants.MYSQL.equalsIgnoreCase(getDbType()) && getTableMeta().getPrimaryKeyOnlyName().size() > 1) {
             throw new NotSupportYetException("multi pk only support mysql!");
         }
@@ -382,15 +383,20 @@ public class MySQLInsertOnDuplicateUpdateExecutor extends MySQLInsertExecutor im
         List<String> insertColumns = CollectionUtils.isEmpty(sqlRecognizerColumns) ? new ArrayList<>(getTableMeta().getAllColumns().keySet()) : sqlRecognizerColumns;
         final Map<String,Integer> pkIndexMap = getPkIndex();
         List<List<Object>> insertRows = recognizer.getInsertRows(pkIndexMap.values());
+        // resolve the image list of every column once, rows are appended column by column
+        List<ArrayList<Object>> columnImagesList = new ArrayList<>(insertColumns.size());
+        for (String insertColumn : insertColumns) {
+            String column = ColumnUtils.delEscape(insertColumn, getDbType());
+            columnImagesList.add(imageParameterMap.computeIfAbsent(column, k -> new ArrayList<>(insertRows.size())));
+        }
         int placeHolderIndex = 1;
         for (List<Object> row : insertRows) {
             if (row.size() != insertColumns.size()) {
                 throw new IllegalArgumentException("insert row's size is not equal to column size");
             }
             for (int i = 0;i < insertColumns.size();i++) {
-                String column = ColumnUtils.delEscape(insertColumns.get(i),getDbType());
                 Object value = row.get(i);
-                ArrayList<Object> columnImages = imageParameterMap.computeIfAbsent(column, k -> new ArrayList<>());
+                ArrayList<Object> columnImages = columnImagesList.get(i);
                 if (PLACEHOLDER.equals(value)) {
                     ArrayList<Object> objects = parameters.get(placeHolderIndex);
                     columnImages.addAll(objects);
@@ -398,7 +404,6 @@ public class MySQLInsertOnDuplicateUpdateExecutor extends MySQLInsertExecutor im
                 } else {
                     columnImages.add(value);
                 }
-                imageParameterMap.put(column,columnImages);
             }
         }
         return imageParameterMap;
@@ -121,9 +121,9 @@ public class OracleInsertExecutor extends BaseInsertExecutor implements Sequence
                 if (!pkKey.isEmpty() && pkValues.get(i) instanceof SqlSequenceExpr) {
                     pkValues.set(i, getPkValuesBySequence((SqlSequenceExpr) pkValues.get(i), pkKey).get(0));
                 } else if (!pkKey.isEmpty() && pkValues.get(i) instanceof SqlMethodExpr) {
-                    pkValues.set(i, getGeneratedKeys(pkKey).get(0));
+                    pkValues.set(i, getGeneratedKey(pkKey, i, pkValues.size()));
                 } else if (!pkKey.isEmpty() && pkValues.get(i) instanceof Null) {
-                    pkValues.set(i, getGeneratedKeys(pkKey).get(0));
+                    pkValues.set(i, getGeneratedKey(pkKey, i, pkValues.size()));
                 }
             }
             pkValuesMap.put(pkKey, pkValues);
@@ -125,7 +125,7 @@ public class PostgresqlInsertExecutor extends BaseInsertExecutor implements Sequ
                 if (!pkKey.isEmpty() && pkValues.get(i) instanceof SqlSequenceExpr) {
                     pkValues.set(i, getPkValuesBySequence((SqlSequenceExpr) pkValues.get(i), pkKey).get(0));
                 } else if (!pkKey.isEmpty() && pkValues.get(i) instanceof SqlMethodExpr) {
-                    pkValues.set(i, getGeneratedKeys(pkKey).get(0));
+                    pkValues.set(i, getGeneratedKey(pkKey, i, pkValues.size()));
                 } else if (!pkValues.isEmpty() && pkValues.get(i) instanceof SqlDefaultExpr) {
                     pkValues.set(i, getPkValuesByDefault(pkKey).get(0));
                 }
@@ -16,6 +16,8 @@
 package io.seata.rm.datasource.sql.struct;
 
 import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
@@ -23,13 +25,17 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import io.seata.common.ConfigurationKeys;
 import io.seata.common.loader.EnhancedServiceLoader;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.StringUtils;
 import io.seata.config.ConfigurationFactory;
 import io.seata.rm.datasource.DataSourceProxy;
+import io.seata.rm.datasource.sql.struct.cache.AbstractTableMetaCache;
 import io.seata.sqlparser.struct.TableMetaCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +72,22 @@ public class TableMetaCacheFactory {
     private static final long TABLE_META_CHECKER_INTERVAL = ConfigurationFactory.getInstance()
         .getLong(ConfigurationKeys.CLIENT_TABLE_META_CHECKER_INTERVAL, DEFAULT_TABLE_META_CHECKER_INTERVAL);
 
+    /**
+     * The tables whose table metas are loaded on startup, instead of on the first business statement
+     */
+    private static final List<String> TABLE_META_PRELOAD_TABLES = parseTables(ConfigurationFactory.getInstance()
+        .getConfig(ConfigurationKeys.CLIENT_TABLE_META_PRELOAD_TABLES));
+
+    private static final int TABLE_META_PRELOAD_THREAD_SIZE = 4;
+
+    private static final ThreadPoolExecutor TABLE_META_PRELOAD_EXECUTOR = new ThreadPoolExecutor(
+        TABLE_META_PRELOAD_THREAD_SIZE, TABLE_META_PRELOAD_THREAD_SIZE, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), new NamedThreadFactory("tableMetaPreload", TABLE_META_PRELOAD_THREAD_SIZE, true));
+
+    static {
+        TABLE_META_PRELOAD_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
 
     /**
      * get table meta cache
@@ -99,6 +121,38 @@ public class TableMetaCacheFactory {
         }
     }
 
+    static List<String> parseTables(String tables) {
+        if (StringUtils.isBlank(tables)) {
+            return Collections.emptyList();
+        }
+        return Stream.of(tables.split(",")).map(String::trim).filter(StringUtils::isNotBlank).distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * load the table metas from the snapshot, and then load the preload tables missing in the snapshot in parallel
+     */
+    static void warmUp(DataSourceProxy dataSource) {
+        TableMetaCache tableMetaCache = getTableMetaCache(dataSource.getDbType());
+        if (tableMetaCache instanceof AbstractTableMetaCache) {
+            try (Connection connection = dataSource.getPlainConnection()) {
+                ((AbstractTableMetaCache) tableMetaCache).loadSnapshot(connection, dataSource.getResourceId());
+            } catch (Exception e) {
+                LOGGER.warn("load table meta snapshot of {} error: {}", dataSource.getResourceId(), e.getMessage());
+            }
+        }
+        for (String tableName : TABLE_META_PRELOAD_TABLES) {
+            TABLE_META_PRELOAD_EXECUTOR.execute(() -> {
+                try (Connection connection = dataSource.getPlainConnection()) {
+                    tableMetaCache.getTableMeta(connection, tableName, dataSource.getResourceId());
+                } catch (Exception e) {
+                    LOGGER.warn("preload table meta of {} on {} error: {}", tableName, dataSource.getResourceId(),
+                        e.getMessage());
+                }
+            });
+        }
+    }
+
     static class TableMetaRefreshHolder {
         private long lastRefreshFinishTime;
         private DataSourceProxy dataSource;
@@ -114,6 +168,7 @@ public class TableMetaCacheFactory {
             this.tableMetaRefreshQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
 
             tableMetaRefreshExecutor.execute(() -> {
+                warmUp(dataSource);
                 while (true) {
                     // 1. check table meta
                     if (ENABLE_TABLE_META_CHECKER_ENABLE 
@@ -15,22 +15,40 @@
  */
 package io.seata.rm.datasource.sql.struct.cache;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.seata.common.ConfigurationKeys;
 import io.seata.common.exception.ShouldNeverHappenException;
+import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.context.RootContext;
 import io.seata.sqlparser.struct.TableMeta;
 import io.seata.sqlparser.struct.TableMetaCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_SNAPSHOT_DIR;
+import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_SNAPSHOT_ENABLE;
+
 /**
  * The type Table meta cache.
  *
@@ -46,6 +64,17 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
 
     private static final Cache<String, TableMeta> TABLE_META_CACHE;
 
+    /**
+     * the schema fingerprints the cached table metas were fetched with, key: cache key
+     */
+    private static final Map<String, String> TABLE_META_FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private static final boolean TABLE_META_SNAPSHOT_ENABLE = ConfigurationFactory.getInstance()
+        .getBoolean(ConfigurationKeys.CLIENT_TABLE_META_SNAPSHOT_ENABLE, DEFAULT_TABLE_META_SNAPSHOT_ENABLE);
+
+    private static final String TABLE_META_SNAPSHOT_DIR = ConfigurationFactory.getInstance()
+        .getConfig(ConfigurationKeys.CLIENT_TABLE_META_SNAPSHOT_DIR, DEFAULT_TABLE_META_SNAPSHOT_DIR);
+
     static {
         try {
             TABLE_META_CACHE = Caffeine.newBuilder().maximumSize(CACHE_SIZE)
@@ -80,23 +109,189 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
         return tmeta;
     }
 
+    /**
+     * Refresh the cached table metas of the resource.
+     * If the database supports the schema fingerprint, only the tables whose fingerprints changed are fetched again,
+     * the others are kept in cache without querying their metadata.
+     *
+     * @param connection the connection
+     * @param resourceId the resource id
+     */
     @Override
     public void refresh(final Connection connection, String resourceId) {
+        Map<String, String> fingerprints = fetchSchemaFingerprintsSafely(connection);
         ConcurrentMap<String, TableMeta> tableMetaMap = TABLE_META_CACHE.asMap();
         for (Map.Entry<String, TableMeta> entry : tableMetaMap.entrySet()) {
             String key = getCacheKey(connection, entry.getValue().getTableName(), resourceId);
             if (entry.getKey().equals(key)) {
+                String fingerprint = getFingerprint(fingerprints, entry.getValue().getTableName());
+                if (fingerprint != null && fingerprint.equals(TABLE_META_FINGERPRINTS.get(key))) {
+                    // unchanged, put it back to keep it from expiring
+                    TABLE_META_CACHE.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
                 try {
                     TableMeta tableMeta = fetchSchema(connection, entry.getValue().getTableName());
                     if (!tableMeta.equals(entry.getValue())) {
                         TABLE_META_CACHE.put(entry.getKey(), tableMeta);
                         LOGGER.info("table meta change was found, update table meta cache automatically.");
                     }
+                    if (fingerprint != null) {
+                        TABLE_META_FINGERPRINTS.put(key, fingerprint);
+                    }
                 } catch (SQLException e) {
                     LOGGER.error("get table meta error:{}", e.getMessage(), e);
                 }
             }
         }
+        if (TABLE_META_SNAPSHOT_ENABLE && fingerprints != null) {
+            writeSnapshot(resourceId);
+        }
+    }
+
+    /**
+     * Load the table metas of the resource from the on-disk snapshot, only the ones whose schema fingerprints are
+     * the same as the current ones are loaded.
+     *
+     * @param connection the connection
+     * @param resourceId the resource id
+     * @return the count of the loaded table metas
+     */
+    public int loadSnapshot(final Connection connection, String resourceId) {
+        if (!TABLE_META_SNAPSHOT_ENABLE) {
+            return 0;
+        }
+        TableMetaSnapshot snapshot;
+        try {
+            snapshot = TableMetaSnapshot.readFrom(getSnapshotFile(resourceId));
+        } catch (IOException e) {
+            LOGGER.warn("read the table meta snapshot of {} failed: {}", resourceId, e.getMessage());
+            return 0;
+        }
+        if (snapshot.isEmpty()) {
+            return 0;
+        }
+        Map<String, String> fingerprints = fetchSchemaFingerprintsSafely(connection);
+        if (fingerprints == null) {
+            return 0;
+        }
+        int loaded = 0;
+        for (Map.Entry<String, TableMeta> entry : snapshot.getTableMetas().entrySet()) {
+            String fingerprint = getFingerprint(fingerprints, entry.getValue().getTableName());
+            if (fingerprint != null && fingerprint.equals(snapshot.getFingerprints().get(entry.getKey()))) {
+                TABLE_META_CACHE.put(entry.getKey(), entry.getValue());
+                TABLE_META_FINGERPRINTS.put(entry.getKey(), fingerprint);
+                loaded++;
+            }
+        }
+        LOGGER.info("loaded {} of {} table metas from the snapshot of {}", loaded, snapshot.getTableMetas().size(),
+            resourceId);
+        return loaded;
+    }
+
+    private void writeSnapshot(String resourceId) {
+        String prefix = resourceId + ".";
+        TableMetaSnapshot snapshot = new TableMetaSnapshot();
+        TABLE_META_CACHE.asMap().forEach((key, tableMeta) -> {
+            String fingerprint = TABLE_META_FINGERPRINTS.get(key);
+            if (fingerprint != null && key.startsWith(prefix)) {
+                snapshot.put(key, tableMeta, fingerprint);
+            }
+        });
+        if (snapshot.isEmpty()) {
+            return;
+        }
+        try {
+            snapshot.writeTo(getSnapshotFile(resourceId));
+        } catch (IOException e) {
+            LOGGER.warn("write the table meta snapshot of {} failed: {}", resourceId, e.getMessage());
+        }
+    }
+
+    static File getSnapshotFile(String resourceId) {
+        return new File(TABLE_META_SNAPSHOT_DIR, resourceId.replaceAll("[^A-Za-z0-9._-]", "_") + ".meta");
+    }
+
+    private Map<String, String> fetchSchemaFingerprintsSafely(Connection connection) {
+        List<String> fingerprintSqls = getSchemaFingerprintSqls();
+        if (CollectionUtils.isEmpty(fingerprintSqls)) {
+            return null;
+        }
+        try {
+            return fetchSchemaFingerprints(connection, fingerprintSqls);
+        } catch (SQLException e) {
+            LOGGER.warn("get the schema fingerprints error, fall back to fetch the table metas: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetch the fingerprints of all tables in the current schema.
+     * The first column of each row is the table name, and the rows of a table, with all their other columns, make up
+     * the fingerprint of the table.
+     *
+     * @param connection      the connection
+     * @param fingerprintSqls the fingerprint sqls
+     * @return the fingerprints, key: table name in lower case
+     * @throws SQLException the sql exception
+     */
+    static Map<String, String> fetchSchemaFingerprints(Connection connection, List<String> fingerprintSqls)
+        throws SQLException {
+        Map<String, StringBuilder> contents = new HashMap<>();
+        for (String sql : fingerprintSqls) {
+            try (PreparedStatement pst = connection.prepareStatement(sql);
+                 ResultSet rs = pst.executeQuery()) {
+                int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    StringBuilder content = contents.computeIfAbsent(rs.getString(1).toLowerCase(Locale.ROOT),
+                        k -> new StringBuilder());
+                    for (int i = 2; i <= columnCount; i++) {
+                        content.append(rs.getString(i)).append('\u0001');
+                    }
+                    content.append('\n');
+                }
+            }
+        }
+        Map<String, String> fingerprints = new HashMap<>(contents.size());
+        contents.forEach((tableName, content) -> fingerprints.put(tableName, digest(content)));
+        return fingerprints;
+    }
+
+    /**
+     * only the unqualified table names are looked up, since the fingerprints cover the current schema only
+     */
+    static String getFingerprint(Map<String, String> fingerprints, String tableName) {
+        if (fingerprints == null || tableName == null) {
+            return null;
+        }
+        String name = tableName.replace("`", "").replace("\"", "");
+        if (name.indexOf('.') >= 0) {
+            return null;
+        }
+        return fingerprints.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    private static String digest(StringBuilder content) {
+        try {
+            byte[] bytes = MessageDigest.getInstance("MD5").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ShouldNeverHappenException(e);
+        }
+    }
+
+    /**
+     * the sqls to fetch the schema fingerprints, see {@link #fetchSchemaFingerprints(Connection, List)}.
+     * empty if not supported, then the refresh fetches the metadata of every cached table.
+     *
+     * @return the fingerprint sqls
+     */
+    protected List<String> getSchemaFingerprintSqls() {
+        return Collections.emptyList();
     }
 
     /**
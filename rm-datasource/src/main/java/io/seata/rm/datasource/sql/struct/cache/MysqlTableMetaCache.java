@@ -21,6 +21,8 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
 
 import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.exception.ShouldNeverHappenException;
@@ -44,6 +46,13 @@ public class MysqlTableMetaCache extends AbstractTableMetaCache {
 
     protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+    private static final List<String> SCHEMA_FINGERPRINT_SQLS = Arrays.asList(
+        "SELECT TABLE_NAME, COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE, COLUMN_DEFAULT, COLUMN_KEY, EXTRA"
+            + " FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() ORDER BY TABLE_NAME, ORDINAL_POSITION",
+        "SELECT TABLE_NAME, INDEX_NAME, NON_UNIQUE, SEQ_IN_INDEX, COLUMN_NAME"
+            + " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE()"
+            + " ORDER BY TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX");
+
     @Override
     protected String getCacheKey(Connection connection, String tableName, String resourceId) {
         StringBuilder cacheKey = new StringBuilder(resourceId);
@@ -188,4 +197,9 @@ public class MysqlTableMetaCache extends AbstractTableMetaCache {
         }
         return tm;
     }
+
+    @Override
+    protected List<String> getSchemaFingerprintSqls() {
+        return SCHEMA_FINGERPRINT_SQLS;
+    }
 }
@@ -31,6 +31,7 @@ import io.seata.sqlparser.struct.TableMeta;
 import io.seata.sqlparser.util.JdbcConstants;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -42,6 +43,12 @@ import java.util.Map;
 @LoadLevel(name = JdbcConstants.ORACLE)
 public class OracleTableMetaCache extends AbstractTableMetaCache {
 
+    private static final List<String> SCHEMA_FINGERPRINT_SQLS = Arrays.asList(
+        "SELECT object_name, TO_CHAR(last_ddl_time, 'yyyymmddhh24miss') FROM user_objects"
+            + " WHERE object_type = 'TABLE'",
+        "SELECT table_name, index_name, column_name, column_position FROM user_ind_columns"
+            + " ORDER BY table_name, index_name, column_position");
+
     @Override
     protected String getCacheKey(Connection connection, String tableName, String resourceId) {
         StringBuilder cacheKey = new StringBuilder(resourceId);
@@ -196,4 +203,9 @@ public class OracleTableMetaCache extends AbstractTableMetaCache {
         }
         return tm;
     }
+
+    @Override
+    protected List<String> getSchemaFingerprintSqls() {
+        return SCHEMA_FINGERPRINT_SQLS;
+    }
 }
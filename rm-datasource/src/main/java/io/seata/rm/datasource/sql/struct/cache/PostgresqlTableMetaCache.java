@@ -19,6 +19,8 @@ import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 
 import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.exception.ShouldNeverHappenException;
@@ -38,6 +40,13 @@ import io.seata.sqlparser.util.JdbcConstants;
 @LoadLevel(name = JdbcConstants.POSTGRESQL)
 public class PostgresqlTableMetaCache extends AbstractTableMetaCache {
 
+    private static final List<String> SCHEMA_FINGERPRINT_SQLS = Arrays.asList(
+        "SELECT table_name, column_name, data_type, is_nullable, column_default, ordinal_position"
+            + " FROM information_schema.columns WHERE table_schema = current_schema()"
+            + " ORDER BY table_name, ordinal_position",
+        "SELECT tablename, indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema()"
+            + " ORDER BY tablename, indexname");
+
     @Override
     protected String getCacheKey(Connection connection, String tableName, String resourceId) {
         StringBuilder cacheKey = new StringBuilder(resourceId);
@@ -186,4 +195,9 @@ public class PostgresqlTableMetaCache extends AbstractTableMetaCache {
 
         return tm;
     }
+
+    @Override
+    protected List<String> getSchemaFingerprintSqls() {
+        return SCHEMA_FINGERPRINT_SQLS;
+    }
 }
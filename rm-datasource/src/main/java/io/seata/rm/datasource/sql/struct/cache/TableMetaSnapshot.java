@@ -0,0 +1,236 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.sql.struct.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.sqlparser.struct.ColumnMeta;
+import io.seata.sqlparser.struct.IndexMeta;
+import io.seata.sqlparser.struct.IndexType;
+import io.seata.sqlparser.struct.TableMeta;
+
+/**
+ * The on-disk snapshot of the table metas of a resource, with the schema fingerprints they were fetched with,
+ * so that a restarted client can reuse the table metas whose fingerprints haven't changed.
+ *
+ * @author agent
+ */
+class TableMetaSnapshot {
+
+    private static final int MAGIC = 0x53544d53;
+
+    private static final byte VERSION = 1;
+
+    /**
+     * key: cache key
+     */
+    private final Map<String, TableMeta> tableMetas = new HashMap<>();
+
+    /**
+     * key: cache key
+     */
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    void put(String cacheKey, TableMeta tableMeta, String fingerprint) {
+        tableMetas.put(cacheKey, tableMeta);
+        fingerprints.put(cacheKey, fingerprint);
+    }
+
+    Map<String, TableMeta> getTableMetas() {
+        return tableMetas;
+    }
+
+    Map<String, String> getFingerprints() {
+        return fingerprints;
+    }
+
+    boolean isEmpty() {
+        return tableMetas.isEmpty();
+    }
+
+    /**
+     * write the snapshot to a temp file first and then move it, so that the snapshot is never half written
+     */
+    void writeTo(File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("can not create the table meta snapshot dir " + dir);
+        }
+        File tmp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(tableMetas.size());
+            for (Map.Entry<String, TableMeta> entry : tableMetas.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(fingerprints.get(entry.getKey()));
+                writeTableMeta(out, entry.getValue());
+            }
+        }
+        Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static TableMetaSnapshot readFrom(File file) throws IOException {
+        TableMetaSnapshot snapshot = new TableMetaSnapshot();
+        if (!file.isFile()) {
+            return snapshot;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("unknown table meta snapshot " + file);
+            }
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                String cacheKey = in.readUTF();
+                String fingerprint = in.readUTF();
+                snapshot.put(cacheKey, readTableMeta(in), fingerprint);
+            }
+        }
+        return snapshot;
+    }
+
+    private static void writeTableMeta(DataOutputStream out, TableMeta tableMeta) throws IOException {
+        writeString(out, tableMeta.getTableName());
+        out.writeBoolean(tableMeta.isCaseSensitive());
+        out.writeInt(tableMeta.getAllColumns().size());
+        for (ColumnMeta col : tableMeta.getAllColumns().values()) {
+            writeColumnMeta(out, col);
+        }
+        out.writeInt(tableMeta.getAllIndexes().size());
+        for (IndexMeta index : tableMeta.getAllIndexes().values()) {
+            writeString(out, index.getIndexName());
+            writeString(out, index.getIndexQualifier());
+            out.writeBoolean(index.isNonUnique());
+            out.writeShort(index.getType());
+            out.writeInt(index.getIndextype() == null ? -1 : index.getIndextype().value());
+            writeString(out, index.getAscOrDesc());
+            out.writeLong(index.getCardinality());
+            out.writeInt(index.getOrdinalPosition());
+            out.writeInt(index.getValues().size());
+            for (ColumnMeta col : index.getValues()) {
+                writeColumnMeta(out, col);
+            }
+        }
+    }
+
+    private static TableMeta readTableMeta(DataInputStream in) throws IOException {
+        TableMeta tableMeta = new TableMeta();
+        tableMeta.setTableName(readString(in));
+        tableMeta.setCaseSensitive(in.readBoolean());
+        int columnSize = in.readInt();
+        for (int i = 0; i < columnSize; i++) {
+            ColumnMeta col = readColumnMeta(in);
+            tableMeta.getAllColumns().put(col.getColumnName(), col);
+        }
+        int indexSize = in.readInt();
+        for (int i = 0; i < indexSize; i++) {
+            IndexMeta index = new IndexMeta();
+            index.setIndexName(readString(in));
+            index.setIndexQualifier(readString(in));
+            index.setNonUnique(in.readBoolean());
+            index.setType(in.readShort());
+            int indexType = in.readInt();
+            index.setIndextype(indexType < 0 ? null : IndexType.valueOf(indexType));
+            index.setAscOrDesc(readString(in));
+            index.setCardinality(in.readLong());
+            index.setOrdinalPosition(in.readInt());
+            int valueSize = in.readInt();
+            List<ColumnMeta> values = new ArrayList<>(valueSize);
+            for (int j = 0; j < valueSize; j++) {
+                values.add(readColumnMeta(in));
+            }
+            index.setValues(values);
+            tableMeta.getAllIndexes().put(index.getIndexName(), index);
+        }
+        return tableMeta;
+    }
+
+    private static void writeColumnMeta(DataOutputStream out, ColumnMeta col) throws IOException {
+        writeString(out, col.getTableCat());
+        writeString(out, col.getTableSchemaName());
+        writeString(out, col.getTableName());
+        writeString(out, col.getColumnName());
+        out.writeInt(col.getDataType());
+        writeString(out, col.getDataTypeName());
+        out.writeInt(col.getColumnSize());
+        out.writeInt(col.getDecimalDigits());
+        out.writeInt(col.getNumPrecRadix());
+        out.writeInt(col.getNullAble());
+        writeString(out, col.getRemarks());
+        writeString(out, col.getColumnDef());
+        out.writeInt(col.getSqlDataType());
+        out.writeInt(col.getSqlDatetimeSub());
+        Object charOctetLength = col.getCharOctetLength();
+        out.writeBoolean(charOctetLength instanceof Integer);
+        if (charOctetLength instanceof Integer) {
+            out.writeInt((Integer) charOctetLength);
+        } else {
+            writeString(out, charOctetLength == null ? null : charOctetLength.toString());
+        }
+        out.writeInt(col.getOrdinalPosition());
+        writeString(out, col.getIsNullAble());
+        writeString(out, col.getIsAutoincrement());
+        out.writeBoolean(col.isOnUpdate());
+        out.writeBoolean(col.isCaseSensitive());
+    }
+
+    private static ColumnMeta readColumnMeta(DataInputStream in) throws IOException {
+        ColumnMeta col = new ColumnMeta();
+        col.setTableCat(readString(in));
+        col.setTableSchemaName(readString(in));
+        col.setTableName(readString(in));
+        col.setColumnName(readString(in));
+        col.setDataType(in.readInt());
+        col.setDataTypeName(readString(in));
+        col.setColumnSize(in.readInt());
+        col.setDecimalDigits(in.readInt());
+        col.setNumPrecRadix(in.readInt());
+        col.setNullAble(in.readInt());
+        col.setRemarks(readString(in));
+        col.setColumnDef(readString(in));
+        col.setSqlDataType(in.readInt());
+        col.setSqlDatetimeSub(in.readInt());
+        col.setCharOctetLength(in.readBoolean() ? (Object) in.readInt() : readString(in));
+        col.setOrdinalPosition(in.readInt());
+        col.setIsNullAble(readString(in));
+        col.setIsAutoincrement(readString(in));
+        col.setOnUpdate(in.readBoolean());
+        col.setCaseSensitive(in.readBoolean());
+        return col;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
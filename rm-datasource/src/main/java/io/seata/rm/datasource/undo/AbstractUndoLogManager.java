@@ -20,7 +20,12 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +41,8 @@ import io.seata.core.constants.ClientTableColumnsName;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.exception.BranchTransactionException;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.metrics.ClientMeter;
+import io.seata.core.metrics.ClientMetrics;
 import io.seata.rm.datasource.ConnectionContext;
 import io.seata.rm.datasource.ConnectionProxy;
 import io.seata.rm.datasource.DataSourceProxy;
@@ -48,6 +55,7 @@ import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_TYPE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_THRESHOLD;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE_PARTITION;
 import static io.seata.core.exception.TransactionExceptionCode.BranchRollbackFailed_Retriable;
 import static io.seata.core.exception.TransactionExceptionCode.BranchRollbackFailed_Unretriable;
 
@@ -101,6 +109,19 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
     protected static final long ROLLBACK_INFO_COMPRESS_THRESHOLD = SizeUtil.size2Long(ConfigurationFactory.getInstance().getConfig(
             ConfigurationKeys.CLIENT_UNDO_COMPRESS_THRESHOLD, DEFAULT_CLIENT_UNDO_COMPRESS_THRESHOLD));
 
+    /**
+     * whether the undo log table is partitioned by day, see script/client/at/db/partition
+     */
+    protected static final boolean UNDO_LOG_TABLE_PARTITION = ConfigurationFactory.getInstance().getBoolean(
+            ConfigurationKeys.TRANSACTION_UNDO_LOG_TABLE_PARTITION, DEFAULT_TRANSACTION_UNDO_LOG_TABLE_PARTITION);
+
+    /**
+     * the days of the undo log partitions created ahead
+     */
+    protected static final int UNDO_LOG_PARTITION_AHEAD_DAYS = 3;
+
+    private static final DateTimeFormatter PARTITION_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
     private static final ThreadLocal<String> SERIALIZER_LOCAL = new ThreadLocal<>();
 
     public static String getCurrentSerializer() {
@@ -221,6 +242,7 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
             return;
         }
 
+        long start = ClientMetrics.start();
         String xid = connectionContext.getXid();
         long branchId = connectionContext.getBranchId();
 
@@ -243,6 +265,8 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         }
 
         insertUndoLogWithNormal(xid, branchId, buildContext(parser.getName(), compressorType), undoLogContent, cp.getTargetConnection());
+        ClientMetrics.increase(ClientMeter.RM_UNDO_LOG_SIZE, undoLogContent.length);
+        ClientMetrics.recordTime(ClientMeter.RM_UNDO_LOG_FLUSH, start);
     }
 
     /**
@@ -457,4 +481,72 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
     protected String getCheckUndoLogTableExistSql() {
         return CHECK_UNDO_LOG_TABLE_EXIST_SQL;
     }
+
+    @Override
+    public int purgeUndoLogByLogCreated(Date logCreated, Connection conn) throws SQLException {
+        if (!isUndoLogTablePartitioned()) {
+            return 0;
+        }
+        int dropped = dropUndoLogPartitions(toLocalDate(logCreated), conn);
+        createUndoLogPartitions(LocalDate.now().plusDays(UNDO_LOG_PARTITION_AHEAD_DAYS + 1), conn);
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("dropped {} partitions of {} before {}", dropped, UNDO_LOG_TABLE_NAME, logCreated);
+        }
+        return dropped;
+    }
+
+    protected boolean isUndoLogTablePartitioned() {
+        return UNDO_LOG_TABLE_PARTITION;
+    }
+
+    /**
+     * Drop the daily partitions whose rows are all created before the bound.
+     * Only the databases supporting the partitioned undo log table need to override it.
+     *
+     * @param bound the exclusive upper bound of log_created
+     * @param conn  the connection
+     * @return the dropped partitions count
+     * @throws SQLException the sql exception
+     */
+    protected int dropUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        return 0;
+    }
+
+    /**
+     * Create the daily partitions in advance, up to the bound.
+     * Nothing to do by default, such as the databases creating partitions automatically.
+     *
+     * @param bound the exclusive upper bound of the last partition
+     * @param conn  the connection
+     * @throws SQLException the sql exception
+     */
+    protected void createUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+    }
+
+    /**
+     * the daily partition is named by its exclusive upper bound, such as undo_log_p20210101 holds the rows
+     * created before 2021-01-01
+     */
+    protected static String toPartitionName(String prefix, LocalDate upperBound) {
+        return prefix + PARTITION_DATE_FORMATTER.format(upperBound);
+    }
+
+    /**
+     * @return the upper bound of the daily partition, or null if it's not a daily partition with the prefix
+     */
+    protected static LocalDate parsePartitionBound(String prefix, String partitionName) {
+        if (partitionName == null || partitionName.length() != prefix.length() + 8
+            || !partitionName.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partitionName.substring(prefix.length()), PARTITION_DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    protected static LocalDate toLocalDate(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
 }
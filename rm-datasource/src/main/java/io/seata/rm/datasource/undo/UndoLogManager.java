@@ -79,6 +79,17 @@ public interface UndoLogManager {
      */
     int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException;
 
+    /**
+     * drop the partitions of undolog created before the time, works only when the undolog table is partitioned
+     * @param logCreated the created time
+     * @param conn the connection
+     * @return the dropped partitions count
+     * @throws SQLException the sql exception
+     */
+    default int purgeUndoLogByLogCreated(Date logCreated, Connection conn) throws SQLException {
+        return 0;
+    }
+
     /**
      * does this resource have undolog table?(some may not have, if they don't use AT mode at all)
      * @param conn connection of the resource
@@ -17,8 +17,13 @@ package io.seata.rm.datasource.undo.mysql;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import io.seata.common.loader.LoadLevel;
 import io.seata.core.compressor.CompressorType;
@@ -50,6 +55,13 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
     private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME +
             " WHERE " + ClientTableColumnsName.UNDO_LOG_LOG_CREATED + " <= ? LIMIT ?";
 
+    private static final String PARTITION_PREFIX = "p";
+
+    private static final String MAX_PARTITION_NAME = "pmax";
+
+    private static final String SELECT_UNDO_LOG_PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS"
+            + " WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+
     @Override
     public int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException {
         try (PreparedStatement deletePST = conn.prepareStatement(DELETE_UNDO_LOG_BY_CREATE_SQL)) {
@@ -68,6 +80,71 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
         }
     }
 
+    @Override
+    protected int dropUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        List<String> expiredPartitions = new ArrayList<>();
+        for (String partitionName : selectUndoLogPartitions(conn)) {
+            LocalDate upperBound = parsePartitionBound(PARTITION_PREFIX, partitionName);
+            if (upperBound != null && !upperBound.isAfter(bound)) {
+                expiredPartitions.add(partitionName);
+            }
+        }
+        if (expiredPartitions.isEmpty()) {
+            return 0;
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute("ALTER TABLE " + UNDO_LOG_TABLE_NAME + " DROP PARTITION " + String.join(",", expiredPartitions));
+        }
+        return expiredPartitions.size();
+    }
+
+    @Override
+    protected void createUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        String sql = buildCreateUndoLogPartitionsSql(selectUndoLogPartitions(conn), bound);
+        if (sql == null) {
+            return;
+        }
+        try (Statement st = conn.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    /**
+     * split the daily partitions out of the max partition, which is empty as long as the partitions are created ahead
+     */
+    static String buildCreateUndoLogPartitionsSql(List<String> partitionNames, LocalDate bound) {
+        LocalDate latest = LocalDate.now();
+        for (String partitionName : partitionNames) {
+            LocalDate upperBound = parsePartitionBound(PARTITION_PREFIX, partitionName);
+            if (upperBound != null && upperBound.isAfter(latest)) {
+                latest = upperBound;
+            }
+        }
+        if (!latest.isBefore(bound)) {
+            return null;
+        }
+        StringBuilder sql = new StringBuilder("ALTER TABLE ").append(UNDO_LOG_TABLE_NAME)
+            .append(" REORGANIZE PARTITION ").append(MAX_PARTITION_NAME).append(" INTO (");
+        for (LocalDate upperBound = latest.plusDays(1); !upperBound.isAfter(bound); upperBound = upperBound.plusDays(1)) {
+            sql.append("PARTITION ").append(toPartitionName(PARTITION_PREFIX, upperBound))
+                .append(" VALUES LESS THAN ('").append(upperBound).append("'), ");
+        }
+        return sql.append("PARTITION ").append(MAX_PARTITION_NAME).append(" VALUES LESS THAN (MAXVALUE))").toString();
+    }
+
+    private List<String> selectUndoLogPartitions(Connection conn) throws SQLException {
+        List<String> partitionNames = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement(SELECT_UNDO_LOG_PARTITIONS_SQL)) {
+            pst.setString(1, UNDO_LOG_TABLE_NAME.substring(UNDO_LOG_TABLE_NAME.lastIndexOf('.') + 1));
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    partitionNames.add(rs.getString(1));
+                }
+            }
+        }
+        return partitionNames;
+    }
+
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchId, String rollbackCtx, byte[] undoLogContent,
                                            Connection conn) throws SQLException {
@@ -17,7 +17,11 @@ package io.seata.rm.datasource.undo.oracle;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.Date;
 
 import io.seata.common.loader.LoadLevel;
@@ -47,6 +51,19 @@ public class OracleUndoLogManager extends AbstractUndoLogManager {
             + ClientTableColumnsName.UNDO_LOG_LOG_CREATED + ", " + ClientTableColumnsName.UNDO_LOG_LOG_MODIFIED + ")"
             + "VALUES (UNDO_LOG_SEQ.nextval, ?, ?, ?, ?, ?, sysdate, sysdate)";
 
+    private static final String SELECT_MIN_LOG_CREATED_SQL = "SELECT MIN(" + ClientTableColumnsName.UNDO_LOG_LOG_CREATED
+            + ") FROM " + UNDO_LOG_TABLE_NAME;
+
+    /**
+     * ORA-02149: Specified partition does not exist
+     */
+    private static final int PARTITION_NOT_EXIST_ERROR_CODE = 2149;
+
+    /**
+     * ORA-14758: Last partition in the range section cannot be dropped
+     */
+    private static final int LAST_RANGE_PARTITION_ERROR_CODE = 14758;
+
     private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME + " WHERE " + ClientTableColumnsName.UNDO_LOG_LOG_CREATED + " <= to_date(?,'yyyy-mm-dd hh24:mi:ss') and ROWNUM <= ?";
 
     @Override
@@ -68,6 +85,39 @@ public class OracleUndoLogManager extends AbstractUndoLogManager {
         }
     }
 
+    /**
+     * the undo log table is interval partitioned by day, so only the partitions of the days between the earliest
+     * log_created and the bound are to be dropped, and there is no need to create partitions ahead.
+     */
+    @Override
+    protected int dropUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        LocalDate earliest;
+        try (PreparedStatement pst = conn.prepareStatement(SELECT_MIN_LOG_CREATED_SQL);
+             ResultSet rs = pst.executeQuery()) {
+            Timestamp minLogCreated = rs.next() ? rs.getTimestamp(1) : null;
+            if (minLogCreated == null) {
+                return 0;
+            }
+            earliest = minLogCreated.toLocalDateTime().toLocalDate();
+        }
+        int dropped = 0;
+        try (Statement st = conn.createStatement()) {
+            for (LocalDate day = earliest; day.isBefore(bound); day = day.plusDays(1)) {
+                try {
+                    st.execute("ALTER TABLE " + UNDO_LOG_TABLE_NAME + " DROP PARTITION FOR (TO_DATE('" + day
+                        + "', 'yyyy-mm-dd')) UPDATE GLOBAL INDEXES");
+                    dropped++;
+                } catch (SQLException e) {
+                    if (e.getErrorCode() != PARTITION_NOT_EXIST_ERROR_CODE
+                        && e.getErrorCode() != LAST_RANGE_PARTITION_ERROR_CODE) {
+                        throw e;
+                    }
+                }
+            }
+        }
+        return dropped;
+    }
+
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchId, String rollbackCtx, byte[] undoLogContent,
                                            Connection conn) throws SQLException {
@@ -17,8 +17,13 @@ package io.seata.rm.datasource.undo.postgresql;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import io.seata.common.loader.LoadLevel;
 import io.seata.core.compressor.CompressorType;
@@ -49,6 +54,12 @@ public class PostgresqlUndoLogManager extends AbstractUndoLogManager {
             + "SELECT " + ClientTableColumnsName.UNDO_LOG_ID + " FROM " + UNDO_LOG_TABLE_NAME
             + " WHERE " + ClientTableColumnsName.UNDO_LOG_LOG_CREATED + " <= ? LIMIT ?" + ")";
 
+    private static final String PARTITION_PREFIX = UNDO_LOG_TABLE_NAME.substring(UNDO_LOG_TABLE_NAME.lastIndexOf('.') + 1) + "_p";
+
+    private static final String SELECT_UNDO_LOG_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i"
+            + " JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent"
+            + " WHERE p.relname = ? AND pg_table_is_visible(p.oid)";
+
     @Override
     public int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException {
         PreparedStatement deletePST = null;
@@ -73,6 +84,55 @@ public class PostgresqlUndoLogManager extends AbstractUndoLogManager {
         }
     }
 
+    @Override
+    protected int dropUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        int dropped = 0;
+        try (Statement st = conn.createStatement()) {
+            for (String partitionName : selectUndoLogPartitions(conn)) {
+                LocalDate upperBound = parsePartitionBound(PARTITION_PREFIX, partitionName);
+                if (upperBound != null && !upperBound.isAfter(bound)) {
+                    st.execute("DROP TABLE IF EXISTS " + partitionName);
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * the partitions are created from tomorrow on, the rows out of the daily partitions are kept in the default
+     * partition and deleted by log_created.
+     */
+    @Override
+    protected void createUndoLogPartitions(LocalDate bound, Connection conn) throws SQLException {
+        LocalDate latest = LocalDate.now().plusDays(1);
+        for (String partitionName : selectUndoLogPartitions(conn)) {
+            LocalDate upperBound = parsePartitionBound(PARTITION_PREFIX, partitionName);
+            if (upperBound != null && upperBound.isAfter(latest)) {
+                latest = upperBound;
+            }
+        }
+        try (Statement st = conn.createStatement()) {
+            for (LocalDate upperBound = latest.plusDays(1); !upperBound.isAfter(bound); upperBound = upperBound.plusDays(1)) {
+                st.execute("CREATE TABLE IF NOT EXISTS " + toPartitionName(PARTITION_PREFIX, upperBound) + " PARTITION OF "
+                    + UNDO_LOG_TABLE_NAME + " FOR VALUES FROM ('" + upperBound.minusDays(1) + "') TO ('" + upperBound + "')");
+            }
+        }
+    }
+
+    private List<String> selectUndoLogPartitions(Connection conn) throws SQLException {
+        List<String> partitionNames = new ArrayList<>();
+        try (PreparedStatement pst = conn.prepareStatement(SELECT_UNDO_LOG_PARTITIONS_SQL)) {
+            pst.setString(1, UNDO_LOG_TABLE_NAME.substring(UNDO_LOG_TABLE_NAME.lastIndexOf('.') + 1));
+            try (ResultSet rs = pst.executeQuery()) {
+                while (rs.next()) {
+                    partitionNames.add(rs.getString(1));
+                }
+            }
+        }
+        return partitionNames;
+    }
+
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchID, String rollbackCtx, byte[] undoLogContent,
                                            Connection conn) throws SQLException {
@@ -58,6 +58,11 @@ public abstract class AbstractConnectionProxyXA implements Connection {
 
     protected String xid;
 
+    /**
+     * Whether the current XA branch has executed a statement that may change or lock data.
+     */
+    protected volatile boolean branchWritten = false;
+
     public AbstractConnectionProxyXA(Connection originalConnection, XAConnection xaConnection, BaseDataSourceResource resource, String xid) {
         this.originalConnection = originalConnection;
         this.xaConnection = xaConnection;
@@ -65,6 +70,13 @@ public abstract class AbstractConnectionProxyXA implements Connection {
         this.xid = xid;
     }
 
+    /**
+     * Mark the current XA branch as one that may have changed or locked data, so it can NOT be finished as read-only.
+     */
+    void markBranchWritten() {
+        this.branchWritten = true;
+    }
+
     public XAConnection getWrappedXAConnection() {
         return xaConnection;
     }
@@ -82,7 +94,7 @@ public abstract class AbstractConnectionProxyXA implements Connection {
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
         PreparedStatement targetStatement = originalConnection.prepareStatement(sql);
-        return new PreparedStatementProxyXA(this, targetStatement);
+        return new PreparedStatementProxyXA(this, targetStatement, sql);
     }
 
     @Override
@@ -205,7 +217,7 @@ public abstract class AbstractConnectionProxyXA implements Connection {
         throws SQLException {
         PreparedStatement preparedStatement = originalConnection.prepareStatement(sql, resultSetType,
             resultSetConcurrency);
-        return new PreparedStatementProxyXA(this, preparedStatement);
+        return new PreparedStatementProxyXA(this, preparedStatement, sql);
     }
 
     @Override
@@ -227,7 +239,7 @@ public abstract class AbstractConnectionProxyXA implements Connection {
                                               int resultSetHoldability) throws SQLException {
         PreparedStatement preparedStatement = originalConnection.prepareStatement(sql, resultSetType,
                 resultSetConcurrency, resultSetHoldability);
-        return new PreparedStatementProxyXA(this, preparedStatement);
+        return new PreparedStatementProxyXA(this, preparedStatement, sql);
     }
 
     @Override
@@ -240,19 +252,19 @@ public abstract class AbstractConnectionProxyXA implements Connection {
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
         PreparedStatement preparedStatement = originalConnection.prepareStatement(sql, autoGeneratedKeys);
-        return new PreparedStatementProxyXA(this, preparedStatement);
+        return new PreparedStatementProxyXA(this, preparedStatement, sql);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
         PreparedStatement preparedStatement = originalConnection.prepareStatement(sql, columnIndexes);
-        return new PreparedStatementProxyXA(this, preparedStatement);
+        return new PreparedStatementProxyXA(this, preparedStatement, sql);
     }
 
     @Override
     public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
         PreparedStatement preparedStatement = originalConnection.prepareStatement(sql, columnNames);
-        return new PreparedStatementProxyXA(this, preparedStatement);
+        return new PreparedStatementProxyXA(this, preparedStatement, sql);
     }
 
     @Override
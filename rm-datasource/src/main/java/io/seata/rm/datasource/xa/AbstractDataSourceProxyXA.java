@@ -17,8 +17,17 @@ package io.seata.rm.datasource.xa;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.PooledConnection;
+import io.seata.common.DefaultValues;
+import io.seata.config.ConfigurationFactory;
 import io.seata.rm.BaseDataSourceResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.common.ConfigurationKeys.XA_CONNECTION_TWO_PHASE_POOL_SIZE;
 
 /**
  * Abstract DataSource proxy for XA mode.
@@ -27,8 +36,25 @@ import io.seata.rm.BaseDataSourceResource;
  */
 public abstract class AbstractDataSourceProxyXA extends BaseDataSourceResource<ConnectionProxyXA> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDataSourceProxyXA.class);
+
     protected static final String DEFAULT_RESOURCE_GROUP_ID = "DEFAULT_XA";
 
+    /**
+     * max idle connections kept for finishing XA branches, 0 to close the connection after every branch
+     */
+    private static final int TWO_PHASE_POOL_SIZE = ConfigurationFactory.getInstance().getInt(
+        XA_CONNECTION_TWO_PHASE_POOL_SIZE, DefaultValues.DEFAULT_XA_CONNECTION_TWO_PHASE_POOL_SIZE);
+
+    private static final long TWO_PHASE_POOL_IDLE_TIMEOUT = 30 * 1000L;
+
+    /**
+     * idle connections for finishing XA branches, the most recently used first
+     */
+    private final Deque<IdleConnection> idleConnectionsForXAFinish = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger idleConnectionCount = new AtomicInteger();
+
     /**
      * Get a ConnectionProxyXA instance for finishing XA branch(XA commit/XA rollback)
      * @return ConnectionProxyXA instance
@@ -44,9 +70,60 @@ public abstract class AbstractDataSourceProxyXA extends BaseDataSourceResource<C
                 return connectionProxyXA;
             }
         }
+        // XA commit/rollback by the XID works on any connection once the branch is not kept by its own
+        IdleConnection idle;
+        while ((idle = idleConnectionsForXAFinish.pollFirst()) != null) {
+            idleConnectionCount.decrementAndGet();
+            if (System.currentTimeMillis() - idle.idleSince <= TWO_PHASE_POOL_IDLE_TIMEOUT
+                && !idle.connection.getWrappedConnection().isClosed()) {
+                return idle.connection;
+            }
+            closeQuietly(idle.connection);
+        }
         return (ConnectionProxyXA)getConnectionProxyXA();
     }
 
+    /**
+     * Release the ConnectionProxyXA instance used for finishing XA branch.
+     * The reusable connection is kept for the following branches while the pool is not full, otherwise it is closed.
+     * @param connectionProxyXA the ConnectionProxyXA instance
+     * @param reusable whether the XA branch finished normally on the connection
+     * @throws SQLException exception
+     */
+    public void releaseConnectionForXAFinish(ConnectionProxyXA connectionProxyXA, boolean reusable) throws SQLException {
+        if (reusable && TWO_PHASE_POOL_SIZE > 0 && !connectionProxyXA.isHeld()
+            && !connectionProxyXA.getWrappedConnection().isClosed()) {
+            if (idleConnectionCount.incrementAndGet() <= TWO_PHASE_POOL_SIZE) {
+                connectionProxyXA.recycle();
+                long now = System.currentTimeMillis();
+                idleConnectionsForXAFinish.offerFirst(new IdleConnection(connectionProxyXA, now));
+                evictIdleConnections(now);
+                return;
+            }
+            idleConnectionCount.decrementAndGet();
+        }
+        connectionProxyXA.close();
+    }
+
+    private void evictIdleConnections(long now) {
+        IdleConnection eldest;
+        while ((eldest = idleConnectionsForXAFinish.peekLast()) != null
+            && now - eldest.idleSince > TWO_PHASE_POOL_IDLE_TIMEOUT) {
+            if (idleConnectionsForXAFinish.removeLastOccurrence(eldest)) {
+                idleConnectionCount.decrementAndGet();
+                closeQuietly(eldest.connection);
+            }
+        }
+    }
+
+    private void closeQuietly(ConnectionProxyXA connectionProxyXA) {
+        try {
+            connectionProxyXA.close();
+        } catch (SQLException e) {
+            LOGGER.warn("Close the idle xa connection fail", e);
+        }
+    }
+
     protected abstract Connection getConnectionProxyXA() throws SQLException;
 
     /**
@@ -68,4 +145,16 @@ public abstract class AbstractDataSourceProxyXA extends BaseDataSourceResource<C
 
 
     }
+
+    private static class IdleConnection {
+
+        private final ConnectionProxyXA connection;
+
+        private final long idleSince;
+
+        IdleConnection(ConnectionProxyXA connection, long idleSince) {
+            this.connection = connection;
+            this.idleSince = idleSince;
+        }
+    }
 }
@@ -25,6 +25,7 @@ import javax.transaction.xa.XAResource;
 import io.seata.common.DefaultValues;
 import io.seata.common.util.StringUtils;
 import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationHandle;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
@@ -36,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.seata.common.ConfigurationKeys.XA_BRANCH_EXECUTION_TIMEOUT;
+import static io.seata.common.ConfigurationKeys.XA_READ_ONLY_ONE_PHASE;
 
 /**
  * Connection proxy for XA mode.
@@ -49,6 +51,9 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
     private static final int BRANCH_EXECUTION_TIMEOUT = ConfigurationFactory.getInstance().getInt(XA_BRANCH_EXECUTION_TIMEOUT,
             DefaultValues.DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT);
 
+    private static final ConfigurationHandle<Boolean> READ_ONLY_ONE_PHASE = ConfigurationHandle.ofBoolean(
+            XA_READ_ONLY_ONE_PHASE, DefaultValues.DEFAULT_XA_READ_ONLY_ONE_PHASE);
+
     private volatile boolean currentAutoCommitStatus = true;
 
     private volatile XAXid xaBranchXid;
@@ -174,6 +179,7 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
             }
             // 2. build XA-Xid with xid and branchId
             this.xaBranchXid = XAXidBuilder.build(xid, branchId);
+            this.branchWritten = false;
             // Keep the Connection if necessary
             keepIfNecessary();
             try {
@@ -209,8 +215,27 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
             end(XAResource.TMSUCCESS);
             long now = System.currentTimeMillis();
             checkTimeout(now);
-            setPrepareTime(now);
-            xaResource.prepare(xaBranchXid);
+            boolean readOnlyOnePhase = READ_ONLY_ONE_PHASE.get();
+            boolean readOnly;
+            if (readOnlyOnePhase && !branchWritten && originalConnection.isReadOnly()) {
+                // Nothing to keep durable till phase two: finish the branch in one phase, without the prepare log.
+                // The sql text alone can not tell a query with side effects, so the connection must be read-only.
+                xaResource.commit(xaBranchXid, true);
+                readOnly = true;
+            } else {
+                setPrepareTime(now);
+                // an older TC does not know the read-only status, the vote is only reported once enabled
+                readOnly = xaResource.prepare(xaBranchXid) == XAResource.XA_RDONLY && readOnlyOnePhase;
+                if (!readOnly && isHeld()) {
+                    // index the kept connection by prepare time for the two phase hold timeout check
+                    resource.setHoldTime(xaBranchXid.toString(), now);
+                }
+            }
+            if (readOnly) {
+                // The branch is already finished on the database, let TC skip its phase two
+                releaseIfNecessary();
+                reportStatusToTC(BranchStatus.PhaseOne_RDONLY);
+            }
         } catch (XAException xe) {
             // Branch Report to TC: Failed
             reportStatusToTC(BranchStatus.PhaseOne_Failed);
@@ -300,6 +325,18 @@ public class ConnectionProxyXA extends AbstractConnectionProxyXA implements Hold
         originalConnection.close();
     }
 
+    /**
+     * Reset the state left by the finished XA branch, so the connection can finish another one.
+     */
+    synchronized void recycle() {
+        rollBacked = false;
+        xaActive = false;
+        branchWritten = false;
+        branchRegisterTime = null;
+        prepareTime = null;
+        xaBranchXid = null;
+    }
+
     protected synchronized void closeForce() throws SQLException {
         Connection physicalConn = getWrappedConnection();
         if (physicalConn instanceof PooledConnection) {
@@ -19,8 +19,10 @@ import io.seata.rm.datasource.exec.StatementCallback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.regex.Pattern;
 
 /**
  * The type Execute template.
@@ -31,15 +33,56 @@ public class ExecuteTemplateXA {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExecuteTemplateXA.class);
 
+    /**
+     * Queries which take row locks or create objects, they keep the branch from being finished as read-only.
+     */
+    private static final Pattern LOCKING_QUERY = Pattern.compile(
+        "\\bFOR\\s+(NO\\s+KEY\\s+)?UPDATE\\b|\\bFOR\\s+(KEY\\s+)?SHARE\\b|\\bLOCK\\s+IN\\s+SHARE\\s+MODE\\b"
+            + "|\\b(UPDLOCK|XLOCK|HOLDLOCK|TABLOCKX)\\b|\\bINTO\\b",
+        Pattern.CASE_INSENSITIVE);
+
     public static <T, S extends Statement> T execute(AbstractConnectionProxyXA connectionProxyXA,
                                                      StatementCallback<T, S> statementCallback,
                                                      S targetStatement,
                                                      Object... args) throws SQLException {
+        return doExecute(connectionProxyXA, statementCallback, targetStatement, false, args);
+    }
+
+    /**
+     * Execute a query, which keeps the branch read-only unless the sql locks rows. The sql text can not show side
+     * effects of the query, so a read-only branch is only finished in one phase on a read-only connection.
+     *
+     * @param connectionProxyXA the connection proxy
+     * @param statementCallback the statement callback
+     * @param targetStatement the target statement
+     * @param sql the query sql, null if unknown
+     * @param args the args
+     * @return the result set
+     * @throws SQLException the sql exception
+     */
+    public static <S extends Statement> ResultSet executeQuery(AbstractConnectionProxyXA connectionProxyXA,
+                                                               StatementCallback<ResultSet, S> statementCallback,
+                                                               S targetStatement, String sql,
+                                                               Object... args) throws SQLException {
+        return doExecute(connectionProxyXA, statementCallback, targetStatement, !isLockingQuery(sql), args);
+    }
+
+    static boolean isLockingQuery(String sql) {
+        return sql == null || LOCKING_QUERY.matcher(sql).find();
+    }
+
+    private static <T, S extends Statement> T doExecute(AbstractConnectionProxyXA connectionProxyXA,
+                                                        StatementCallback<T, S> statementCallback,
+                                                        S targetStatement, boolean readOnly,
+                                                        Object... args) throws SQLException {
         boolean autoCommitStatus = connectionProxyXA.getAutoCommit();
         if (autoCommitStatus) {
             // XA Start
             connectionProxyXA.setAutoCommit(false);
         }
+        if (!readOnly) {
+            connectionProxyXA.markBranchWritten();
+        }
         try {
             T res = null;
             try {
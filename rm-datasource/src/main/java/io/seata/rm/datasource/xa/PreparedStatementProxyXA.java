@@ -43,8 +43,16 @@ import java.util.Calendar;
  */
 public class PreparedStatementProxyXA extends StatementProxyXA implements PreparedStatement {
 
+    private final String targetSql;
+
     public PreparedStatementProxyXA(AbstractConnectionProxyXA connectionProxyXA, PreparedStatement targetStatement) {
+        this(connectionProxyXA, targetStatement, null);
+    }
+
+    public PreparedStatementProxyXA(AbstractConnectionProxyXA connectionProxyXA, PreparedStatement targetStatement,
+                                    String targetSql) {
         super(connectionProxyXA, targetStatement);
+        this.targetSql = targetSql;
     }
 
     private PreparedStatement getTargetStatement() {
@@ -53,7 +61,7 @@ public class PreparedStatementProxyXA extends StatementProxyXA implements Prepar
 
     @Override
     public ResultSet executeQuery() throws SQLException {
-        return ExecuteTemplateXA.execute(connectionProxyXA, (statement, args) -> statement.executeQuery(), getTargetStatement());
+        return ExecuteTemplateXA.executeQuery(connectionProxyXA, (statement, args) -> statement.executeQuery(), getTargetStatement(), targetSql);
     }
 
     @Override
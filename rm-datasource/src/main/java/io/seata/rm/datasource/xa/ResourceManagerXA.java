@@ -15,6 +15,7 @@
  */
 package io.seata.rm.datasource.xa;
 
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -73,23 +74,22 @@ public class ResourceManagerXA extends AbstractDataSourceCacheResourceManager {
                         xaTwoPhaseTimeoutChecker = new ScheduledThreadPoolExecutor(1,
                             new NamedThreadFactory("xaTwoPhaseTimeoutChecker", 1, true));
                         xaTwoPhaseTimeoutChecker.scheduleAtFixedRate(() -> {
+                            long heldBefore = System.currentTimeMillis() - TWO_PHASE_HOLD_TIMEOUT;
                             for (Map.Entry<String, Resource> entry : dataSourceCache.entrySet()) {
                                 BaseDataSourceResource resource = (BaseDataSourceResource)entry.getValue();
-                                if (resource.isShouldBeHeld()) {
-                                    if (resource instanceof DataSourceProxyXA) {
-                                        Map<String, ConnectionProxyXA> keeper = resource.getKeeper();
-                                        for (Map.Entry<String, ConnectionProxyXA> connectionEntry : keeper.entrySet()) {
-                                            ConnectionProxyXA connection = connectionEntry.getValue();
-                                            long now = System.currentTimeMillis();
-                                            synchronized (connection) {
-                                                if (connection.getPrepareTime() != null
-                                                    && now - connection.getPrepareTime() > TWO_PHASE_HOLD_TIMEOUT) {
-                                                    try {
-                                                        connection.closeForce();
-                                                    } catch (SQLException e) {
-                                                        LOGGER.warn("Force close the xa physical connection fail", e);
-                                                    }
-                                                }
+                                if (resource.isShouldBeHeld() && resource instanceof DataSourceProxyXA) {
+                                    // only the connections prepared before the timeout are polled from the keeper
+                                    List<ConnectionProxyXA> timeouts = resource.pollHeldBefore(heldBefore);
+                                    for (ConnectionProxyXA connection : timeouts) {
+                                        synchronized (connection) {
+                                            // skip the connection released by phase two in the meantime
+                                            if (!connection.isHeld()) {
+                                                continue;
+                                            }
+                                            try {
+                                                connection.closeForce();
+                                            } catch (SQLException e) {
+                                                LOGGER.warn("Force close the xa physical connection fail", e);
                                             }
                                         }
                                     }
@@ -124,14 +124,19 @@ public class ResourceManagerXA extends AbstractDataSourceCacheResourceManager {
         XAXid xaBranchXid = XAXidBuilder.build(xid, branchId);
         Resource resource = dataSourceCache.get(resourceId);
         if (resource instanceof AbstractDataSourceProxyXA) {
-            try (ConnectionProxyXA connectionProxyXA =
-                ((AbstractDataSourceProxyXA)resource).getConnectionForXAFinish(xaBranchXid)) {
+            AbstractDataSourceProxyXA dataSourceProxyXA = (AbstractDataSourceProxyXA)resource;
+            ConnectionProxyXA connectionProxyXA = null;
+            boolean reusable = false;
+            try {
+                connectionProxyXA = dataSourceProxyXA.getConnectionForXAFinish(xaBranchXid);
                 if (committed) {
                     connectionProxyXA.xaCommit(xid, branchId, applicationData);
+                    reusable = true;
                     LOGGER.info(xaBranchXid + " was committed.");
                     return BranchStatus.PhaseTwo_Committed;
                 } else {
                     connectionProxyXA.xaRollback(xid, branchId, applicationData);
+                    reusable = true;
                     LOGGER.info(xaBranchXid + " was rollbacked");
                     return BranchStatus.PhaseTwo_Rollbacked;
                 }
@@ -159,6 +164,14 @@ public class ResourceManagerXA extends AbstractDataSourceCacheResourceManager {
                     // FIXME: case of PhaseTwo_RollbackFailed_Unretryable
                     return BranchStatus.PhaseTwo_RollbackFailed_Retryable;
                 }
+            } finally {
+                if (connectionProxyXA != null) {
+                    try {
+                        dataSourceProxyXA.releaseConnectionForXAFinish(connectionProxyXA, reusable);
+                    } catch (SQLException e) {
+                        LOGGER.warn("Release the xa connection of {} fail", xaBranchXid, e);
+                    }
+                }
             }
         } else {
             LOGGER.error("Unknown Resource for XA resource " + resourceId + " " + resource);
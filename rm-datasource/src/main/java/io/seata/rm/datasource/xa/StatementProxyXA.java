@@ -80,7 +80,7 @@ public class StatementProxyXA implements Statement {
 
     @Override
     public ResultSet executeQuery(String sql) throws SQLException {
-        return ExecuteTemplateXA.execute(connectionProxyXA, (statement, args) -> statement.executeQuery((String)args[0]), targetStatement, sql);
+        return ExecuteTemplateXA.executeQuery(connectionProxyXA, (statement, args) -> statement.executeQuery((String)args[0]), targetStatement, sql, sql);
     }
 
     @Override
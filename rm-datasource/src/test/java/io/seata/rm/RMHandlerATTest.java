@@ -49,6 +49,7 @@ class RMHandlerATTest {
             handler.handle(request);
         }
         verify(handler, times(1)).checkUndoLogTableExist(any());
+        verify(handler, times(testTimes)).purgeUndoLog(any(), any(), any());
         verify(handler, times(testTimes)).deleteUndoLog(any(), any(), any());
     }
 
@@ -61,6 +62,7 @@ class RMHandlerATTest {
             handler.handle(request);
         }
         verify(handler, times(1)).checkUndoLogTableExist(any());
+        verify(handler, never()).purgeUndoLog(any(), any(), any());
         verify(handler, never()).deleteUndoLog(any(), any(), any());
     }
 
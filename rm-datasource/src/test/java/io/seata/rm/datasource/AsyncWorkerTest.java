@@ -25,6 +25,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
@@ -46,17 +47,49 @@ class AsyncWorkerTest {
     }
 
     @Test
-    void groupedByResourceId() {
+    void shardedByResourceId() {
         List<AsyncWorker.Phase2Context> contexts = getRandomContexts();
-        Map<String, List<AsyncWorker.Phase2Context>> groupedContexts = worker.groupedByResourceId(contexts);
-        groupedContexts.forEach((resourceId, group) -> group.forEach(context -> {
-            String message = "each context in the group should has the same resourceId";
-            assertEquals(resourceId, context.resourceId, message);
-        }));
+        contexts.forEach(context -> worker.branchCommit(context.xid, context.branchId, context.resourceId));
+        Map<String, Long> expected = contexts.stream()
+                .collect(Collectors.groupingBy(context -> context.resourceId, Collectors.counting()));
+
+        // no resource could be found, so every context should be kept in the queue of its resource
+        Map<String, Integer> backlog = worker.getBacklogSizeByResource();
+        expected.forEach((resourceId, size) -> assertEquals(size.intValue(), backlog.get(resourceId),
+                "each context should be queued by its resourceId"));
+        assertEquals(contexts.size(), worker.getBacklogSize());
+        assertEquals(0, worker.getCommittedCount());
+        assertEquals(0, worker.getOverflowCount());
+    }
+
+    @Test
+    void branchCommitWithoutResource() {
+        worker.branchCommit("test", 0, "");
+        assertEquals(0, worker.getBacklogSize(), "context without resourceId should not be queued");
+    }
+
+    @Test
+    void overflowRetriesAreBounded() throws InterruptedException {
+        int limit = DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+        int overflow = 5;
+        for (int i = 0; i < limit + overflow; i++) {
+            worker.branchCommit("test", i, "overflow");
+        }
+        assertEquals(overflow, worker.getOverflowCount());
+
+        // no resource could be found, so the queue stays full and the overflowed contexts are given up in the end
+        long deadline = System.currentTimeMillis() + 10000;
+        while (worker.getDroppedCount() < overflow && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(overflow, worker.getDroppedCount());
+        assertEquals(limit, worker.getBacklogSize());
+        // the first try and the retries on the flusher
+        assertEquals(overflow * 4L, worker.getOverflowCount());
     }
 
     private List<AsyncWorker.Phase2Context> getRandomContexts() {
-        return random.ints().limit(16)
+        return random.ints(0, Integer.MAX_VALUE).limit(16)
                 .mapToObj(String::valueOf)
                 .flatMap(this::generateContextStream)
                 .collect(Collectors.toList());
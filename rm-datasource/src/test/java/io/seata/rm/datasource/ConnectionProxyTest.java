@@ -16,6 +16,8 @@
 package io.seata.rm.datasource;
 
 import io.seata.common.LockStrategyMode;
+import io.seata.config.ConfigurationChangeEvent;
+import io.seata.config.ConfigurationHandle;
 import io.seata.core.context.GlobalLockConfigHolder;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
@@ -31,19 +33,15 @@ import io.seata.rm.datasource.undo.SQLUndoLog;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.EnabledOnJre;
-import org.junit.jupiter.api.condition.JRE;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 
 /**
  * ConnectionProxy test
  *
  * @author ggndnn
  */
-@EnabledOnJre({JRE.JAVA_8, JRE.JAVA_11}) // `ReflectionUtil.modifyStaticFinalField` does not supported java17 and above versions
 public class ConnectionProxyTest {
     private DataSourceProxy dataSourceProxy;
 
@@ -55,17 +53,14 @@ public class ConnectionProxyTest {
 
     private final static String DB_TYPE = "mysql";
 
-    private Field branchRollbackFlagField;
+    private ConfigurationHandle<Boolean> branchRollbackFlag;
 
     @BeforeEach
     public void initBeforeEach() throws Exception {
-        branchRollbackFlagField = ConnectionProxy.LockRetryPolicy.class.getDeclaredField("LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT");
-        Field modifiersField = Field.class.getDeclaredField("modifiers");
-        modifiersField.setAccessible(true);
-        modifiersField.setInt(branchRollbackFlagField, branchRollbackFlagField.getModifiers() & ~Modifier.FINAL);
+        Field branchRollbackFlagField = ConnectionProxy.LockRetryPolicy.class.getDeclaredField("LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT");
         branchRollbackFlagField.setAccessible(true);
-        boolean branchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        Assertions.assertTrue(branchRollbackFlag);
+        branchRollbackFlag = (ConfigurationHandle<Boolean>) branchRollbackFlagField.get(null);
+        Assertions.assertTrue(branchRollbackFlag.get());
 
         dataSourceProxy = Mockito.mock(DataSourceProxy.class);
         Mockito.when(dataSourceProxy.getResourceId())
@@ -82,8 +77,8 @@ public class ConnectionProxyTest {
 
     @Test
     public void testLockRetryPolicyRollbackOnConflict() throws Exception {
-        boolean oldBranchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        branchRollbackFlagField.set(null, true);
+        boolean oldBranchRollbackFlag = branchRollbackFlag.get();
+        setBranchRollbackFlag(true);
         GlobalLockConfig preGlobalLockConfig = new GlobalLockConfig();
         preGlobalLockConfig.setLockRetryTimes(0);
         preGlobalLockConfig.setLockRetryInterval(10);
@@ -99,13 +94,13 @@ public class ConnectionProxyTest {
         connectionProxy.appendUndoLog(new SQLUndoLog());
         connectionProxy.appendLockKey(lockKey);
         Assertions.assertThrows(LockWaitTimeoutException.class, connectionProxy::commit);
-        branchRollbackFlagField.set(null, oldBranchRollbackFlag);
+        setBranchRollbackFlag(oldBranchRollbackFlag);
     }
 
     @Test
     public void testLockRetryPolicyNotRollbackOnConflict() throws Exception {
-        boolean oldBranchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        branchRollbackFlagField.set(null, false);
+        boolean oldBranchRollbackFlag = branchRollbackFlag.get();
+        setBranchRollbackFlag(false);
         GlobalLockConfig preGlobalLockConfig = new GlobalLockConfig();
         preGlobalLockConfig.setLockRetryTimes(30);
         preGlobalLockConfig.setLockRetryInterval(10);
@@ -121,6 +116,10 @@ public class ConnectionProxyTest {
         sqlUndoLog.setBeforeImage(beforeImage);
         connectionProxy.getContext().appendUndoItem(sqlUndoLog);
         Assertions.assertThrows(LockWaitTimeoutException.class, connectionProxy::commit);
-        branchRollbackFlagField.set(null, oldBranchRollbackFlag);
+        setBranchRollbackFlag(oldBranchRollbackFlag);
+    }
+
+    private void setBranchRollbackFlag(boolean value) {
+        branchRollbackFlag.onChangeEvent(new ConfigurationChangeEvent(branchRollbackFlag.getDataId(), String.valueOf(value)));
     }
 }
@@ -29,6 +29,7 @@ import java.sql.Timestamp;
 import java.sql.Types;
 import java.sql.ResultSet;
 import java.util.Calendar;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -131,6 +132,34 @@ public class PreparedStatementProxyTest {
         Assertions.assertEquals("xxx",  preparedStatementProxy.getParamsByIndex(1).get(0));
     }
 
+    @Test
+    public void testBatchParams() throws SQLException {
+        preparedStatementProxy.clearBatch();
+        preparedStatementProxy.setObject(1, "a");
+        preparedStatementProxy.setObject(2, 1);
+        preparedStatementProxy.addBatch();
+        // the second parameter is not bound again, it keeps the value of the previous row
+        preparedStatementProxy.setObject(1, "b");
+        preparedStatementProxy.addBatch();
+        preparedStatementProxy.setObject(1, "c");
+        preparedStatementProxy.setObject(1, "d");
+        Assertions.assertEquals(Arrays.asList("a", "b", "d"), preparedStatementProxy.getParamsByIndex(1));
+        Assertions.assertEquals(Arrays.asList(1, 1), preparedStatementProxy.getParamsByIndex(2));
+
+        preparedStatementProxy.clearParameters();
+        Assertions.assertEquals(Arrays.asList("a", "b"), preparedStatementProxy.getParamsByIndex(1));
+
+        preparedStatementProxy.executeBatch();
+        Assertions.assertTrue(preparedStatementProxy.getParameters().isEmpty());
+        Assertions.assertNotNull(preparedStatementProxy.getTargetSQL());
+
+        preparedStatementProxy.setObject(1, "e");
+        preparedStatementProxy.addBatch();
+        preparedStatementProxy.clearBatch();
+        Assertions.assertTrue(preparedStatementProxy.getParameters().isEmpty());
+        Assertions.assertNotNull(preparedStatementProxy.getTargetSQL());
+    }
+
     @Test
     public void testSetParam() throws SQLException, MalformedURLException {
         preparedStatementProxy.clearParameters();
@@ -16,6 +16,8 @@
 package io.seata.rm.datasource.exec;
 
 
+import io.seata.config.ConfigurationChangeEvent;
+import io.seata.config.ConfigurationHandle;
 import io.seata.rm.datasource.ConnectionContext;
 import io.seata.rm.datasource.ConnectionProxy;
 import io.seata.rm.datasource.PreparedStatementProxy;
@@ -29,12 +31,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.EnabledOnJre;
-import org.junit.jupiter.api.condition.JRE;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.sql.Connection;
 import java.util.Arrays;
 import java.util.Collections;
@@ -44,23 +43,19 @@ import java.util.Collections;
  *
  * @author ggndnn
  */
-@EnabledOnJre({JRE.JAVA_8, JRE.JAVA_11}) // `ReflectionUtil.modifyStaticFinalField` does not supported java17 and above versions
 public class AbstractDMLBaseExecutorTest {
     private ConnectionProxy connectionProxy;
 
     private AbstractDMLBaseExecutor executor;
 
-    private Field branchRollbackFlagField;
+    private ConfigurationHandle<Boolean> branchRollbackFlag;
 
     @BeforeEach
     public void initBeforeEach() throws Exception {
-        branchRollbackFlagField = ConnectionProxy.LockRetryPolicy.class.getDeclaredField("LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT");
-        Field modifiersField = Field.class.getDeclaredField("modifiers");
-        modifiersField.setAccessible(true);
-        modifiersField.setInt(branchRollbackFlagField, branchRollbackFlagField.getModifiers() & ~Modifier.FINAL);
+        Field branchRollbackFlagField = ConnectionProxy.LockRetryPolicy.class.getDeclaredField("LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT");
         branchRollbackFlagField.setAccessible(true);
-        boolean branchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        Assertions.assertTrue(branchRollbackFlag);
+        branchRollbackFlag = (ConfigurationHandle<Boolean>) branchRollbackFlagField.get(null);
+        Assertions.assertTrue(branchRollbackFlag.get());
 
         Connection targetConnection = Mockito.mock(Connection.class);
         connectionProxy = Mockito.mock(ConnectionProxy.class);
@@ -90,23 +85,23 @@ public class AbstractDMLBaseExecutorTest {
 
     @Test
     public void testLockRetryPolicyRollbackOnConflict() throws Exception {
-        boolean oldBranchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        branchRollbackFlagField.set(null, true);
+        boolean oldBranchRollbackFlag = branchRollbackFlag.get();
+        setBranchRollbackFlag(true);
         Assertions.assertThrows(LockWaitTimeoutException.class, executor::execute);
         Mockito.verify(connectionProxy.getTargetConnection(), Mockito.atLeastOnce())
                 .rollback();
         Mockito.verify(connectionProxy, Mockito.never()).rollback();
-        branchRollbackFlagField.set(null, oldBranchRollbackFlag);
+        setBranchRollbackFlag(oldBranchRollbackFlag);
     }
 
     @Test
     public void testLockRetryPolicyNotRollbackOnConflict() throws Throwable {
-        boolean oldBranchRollbackFlag = (boolean) branchRollbackFlagField.get(null);
-        branchRollbackFlagField.set(null, false);
+        boolean oldBranchRollbackFlag = branchRollbackFlag.get();
+        setBranchRollbackFlag(false);
         Assertions.assertThrows(LockConflictException.class, executor::execute);
         Mockito.verify(connectionProxy.getTargetConnection(), Mockito.times(1)).rollback();
         Mockito.verify(connectionProxy, Mockito.never()).rollback();
-        branchRollbackFlagField.set(null, oldBranchRollbackFlag);
+        setBranchRollbackFlag(oldBranchRollbackFlag);
     }
 
     @Test
@@ -149,4 +144,8 @@ public class AbstractDMLBaseExecutorTest {
     }
 
 
+
+    private void setBranchRollbackFlag(boolean value) {
+        branchRollbackFlag.onChangeEvent(new ConfigurationChangeEvent(branchRollbackFlag.getDataId(), String.valueOf(value)));
+    }
 }
@@ -64,6 +64,17 @@ public class LockRetryControllerTest {
         }, "should throw LockWaitTimeoutException when retry exceeded");
     }
 
+    @Test
+    void testRetryWaitTimeWithJitter() {
+        LockRetryController controller = new LockRetryController();
+        for (int times = 0; times < 10; times++) {
+            long waitTime = controller.nextWaitTime();
+            // the max interval defaults to the retry interval, so the mean of the wait time is kept
+            assertTrue(waitTime >= config.getLockRetryInterval() / 2 && waitTime < config.getLockRetryInterval() * 3 / 2,
+                "wait time should be jittered around the retry interval");
+        }
+    }
+
     @Test
     void testNoCustomizedConfig() {
         GlobalLockConfigHolder.remove();
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.exec;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Lock wait manager test.
+ *
+ * @author agent
+ */
+public class LockWaitManagerTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    @Test
+    public void testToRowKeys() {
+        Assertions.assertEquals(3, LockWaitManager.toRowKeys(RESOURCE_ID, "t:1,2;t2:3").size());
+        Assertions.assertTrue(LockWaitManager.toRowKeys(RESOURCE_ID, "").isEmpty());
+        Assertions.assertTrue(LockWaitManager.toRowKeys(RESOURCE_ID, "t").isEmpty());
+    }
+
+    @Test
+    public void testWakeupOnRelease() throws Exception {
+        LockWaitManager manager = new LockWaitManager(true);
+        LockWaitManager.LockWaiter waiter = manager.register(RESOURCE_ID, "t:1,2");
+        Assertions.assertEquals(2, manager.getWaitingRowCount());
+
+        CompletableFuture<Boolean> notified = CompletableFuture.supplyAsync(() -> waiter.await(10000));
+        manager.onLockReleased("jdbc:mysql://other", "t:2");
+        manager.onLockReleased(RESOURCE_ID, "t:3");
+        Assertions.assertFalse(waiter.isReleased());
+
+        manager.onLockReleased(RESOURCE_ID, "t:2");
+        Assertions.assertTrue(notified.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0, manager.getWaitingRowCount());
+    }
+
+    @Test
+    public void testWaitTimeout() {
+        LockWaitManager manager = new LockWaitManager(true);
+        LockWaitManager.LockWaiter waiter = manager.register(RESOURCE_ID, "t:1");
+        Assertions.assertFalse(waiter.await(10));
+        Assertions.assertEquals(0, manager.getWaitingRowCount());
+
+        manager.register(RESOURCE_ID, "t:1").cancel();
+        Assertions.assertEquals(0, manager.getWaitingRowCount());
+    }
+}
@@ -23,6 +23,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -192,6 +193,31 @@ public class MySQLInsertExecutorTest {
         Assertions.assertIterableEquals(pkValuesList.get(ID_COLUMN), pkValues);
     }
 
+    @Test
+    public void testGetPkValuesByColumn_MultiRowAndBatch() throws SQLException {
+        mockInsertColumns();
+        doReturn(tableMeta).when(insertExecutor).getTableMeta();
+        when(tableMeta.getPrimaryKeyOnlyName()).thenReturn(Arrays.asList(new String[]{ID_COLUMN}));
+        Map<String, Integer> pkIndexes = Collections.singletonMap(ID_COLUMN, 1);
+        doReturn(pkIndexes).when(insertExecutor).getPkIndex();
+        // values ('name1', ?, ?, 'status1'), (?, ?, 'userId2', ?), (?, 102, ?, ?) executed as a batch of 2
+        List<List<Object>> rows = new ArrayList<>();
+        rows.add(Arrays.asList("name1", "?", "?", "status1"));
+        rows.add(Arrays.asList("?", "?", "userId2", "?"));
+        rows.add(Arrays.asList("?", 102, "?", "?"));
+        when(sqlInsertRecognizer.getInsertRows(pkIndexes.values())).thenReturn(rows);
+        Map<Integer, ArrayList<Object>> parameters = new HashMap<>();
+        Object[][] values = new Object[][] {
+            {100, 200}, {"userId1", "userId1"}, {"name2", "name2"}, {101, 201}, {"status2", "status2"},
+            {"name3", "name3"}, {"userId3", "userId3"}, {"status3", "status3"}};
+        for (int i = 0; i < values.length; i++) {
+            parameters.put(i + 1, new ArrayList<>(Arrays.asList(values[i])));
+        }
+        when(((PreparedStatementProxy) statementProxy).getParameters()).thenReturn(parameters);
+        Map<String, List<Object>> pkValuesMap = insertExecutor.getPkValuesByColumn();
+        Assertions.assertIterableEquals(Arrays.asList(100, 200, 101, 201, 102), pkValuesMap.get(ID_COLUMN));
+    }
+
     @Test
     public void testGetPkValuesByColumn_Exception() {
         Assertions.assertThrows(ShouldNeverHappenException.class, () -> {
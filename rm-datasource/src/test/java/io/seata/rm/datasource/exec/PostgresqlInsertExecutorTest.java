@@ -19,6 +19,7 @@ import io.seata.rm.datasource.ConnectionProxy;
 import io.seata.rm.datasource.PreparedStatementProxy;
 import io.seata.rm.datasource.StatementProxy;
 import io.seata.rm.datasource.exec.postgresql.PostgresqlInsertExecutor;
+import io.seata.rm.datasource.sql.struct.TableRecords;
 import io.seata.sqlparser.struct.ColumnMeta;
 import io.seata.sqlparser.struct.TableMeta;
 import io.seata.sqlparser.SQLInsertRecognizer;
@@ -29,6 +30,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +39,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -290,6 +296,40 @@ public class PostgresqlInsertExecutorTest {
         Assertions.assertTrue(insertExecutor.containsAnyPk());
     }
 
+    @Test
+    public void testGeneratedKeysOfRetriedExecution() throws Exception {
+        doReturn(tableMeta).when(insertExecutor).getTableMeta();
+        doReturn(Collections.singletonList(ID_COLUMN)).when(tableMeta).getPrimaryKeyOnlyName();
+        when(sqlInsertRecognizer.getInsertColumns()).thenReturn(Collections.singletonList(USER_NAME_COLUMN));
+        when(sqlInsertRecognizer.insertColumnsIsEmpty()).thenReturn(false);
+
+        ResultSet firstKeys = mockGeneratedKeys(PK_VALUE_ID);
+        ResultSet retriedKeys = mockGeneratedKeys(PK_VALUE_ID + 1);
+        when(statementProxy.getGeneratedKeys()).thenReturn(firstKeys, retriedKeys);
+
+        List<Map<String, List<Object>>> afterImagePks = new ArrayList<>();
+        doAnswer(invocation -> {
+            afterImagePks.add(invocation.getArgument(0));
+            return TableRecords.empty(tableMeta);
+        }).when(insertExecutor).buildTableRecords(anyMap());
+        doNothing().when(insertExecutor).prepareUndoLog(any(), any());
+
+        // a lock conflict retry runs the insert again on the same executor
+        insertExecutor.executeAutoCommitFalse(null);
+        insertExecutor.executeAutoCommitFalse(null);
+
+        Assertions.assertEquals(2, afterImagePks.size());
+        Assertions.assertEquals(Collections.singletonList(PK_VALUE_ID), afterImagePks.get(0).get(ID_COLUMN));
+        Assertions.assertEquals(Collections.singletonList(PK_VALUE_ID + 1), afterImagePks.get(1).get(ID_COLUMN));
+    }
+
+    private ResultSet mockGeneratedKeys(Object pkValue) throws SQLException {
+        ResultSet generatedKeys = mock(ResultSet.class);
+        when(generatedKeys.next()).thenReturn(true, false);
+        when(generatedKeys.getObject(ID_COLUMN)).thenReturn(pkValue);
+        return generatedKeys;
+    }
+
     private void mockParametersPkWithDefault() {
         Map<Integer, ArrayList<Object>> parameters = new HashMap<>(4);
         ArrayList arrayList0 = new ArrayList<>();
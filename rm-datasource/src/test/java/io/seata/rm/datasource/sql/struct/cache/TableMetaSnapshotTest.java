@@ -0,0 +1,88 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.sql.struct.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.seata.rm.datasource.DataSourceProxy;
+import io.seata.rm.datasource.mock.MockDriver;
+import io.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
+import io.seata.sqlparser.struct.TableMeta;
+import io.seata.sqlparser.util.JdbcConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author agent
+ */
+public class TableMetaSnapshotTest {
+
+    private static final Object[][] COLUMN_METAS = new Object[][] {
+        new Object[] {"", "", "mt1", "id", Types.INTEGER, "INTEGER", 64, 0, 10, 1, "", "", 0, 0, 64, 1, "NO", "YES"},
+        new Object[] {"", "", "mt1", "name1", Types.VARCHAR, "VARCHAR", 64, 0, 10, 0, "", "", 0, 0, 64, 2, "YES", "NO"}
+    };
+
+    private static final Object[][] INDEX_METAS = new Object[][] {
+        new Object[] {"PRIMARY", "id", false, "", 3, 0, "A", 34L},
+        new Object[] {"name1", "name1", true, "", 3, 1, "A", 34L}
+    };
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testWriteAndRead() throws SQLException, IOException {
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:mock:xxx");
+        dataSource.setDriver(new MockDriver(COLUMN_METAS, INDEX_METAS));
+        DataSourceProxy proxy = new DataSourceProxy(dataSource);
+        TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(JdbcConstants.MYSQL)
+            .getTableMeta(proxy.getPlainConnection(), "mt1", proxy.getResourceId());
+
+        TableMetaSnapshot snapshot = new TableMetaSnapshot();
+        snapshot.put("resource.mt1", tableMeta, "fingerprint");
+        File file = new File(tempDir, "resource.meta");
+        snapshot.writeTo(file);
+
+        TableMetaSnapshot read = TableMetaSnapshot.readFrom(file);
+        Assertions.assertEquals(tableMeta, read.getTableMetas().get("resource.mt1"));
+        Assertions.assertEquals("fingerprint", read.getFingerprints().get("resource.mt1"));
+        Assertions.assertEquals(tableMeta.getPrimaryKeyOnlyName(),
+            read.getTableMetas().get("resource.mt1").getPrimaryKeyOnlyName());
+    }
+
+    @Test
+    public void testReadMissingFile() throws IOException {
+        Assertions.assertTrue(TableMetaSnapshot.readFrom(new File(tempDir, "missing.meta")).isEmpty());
+    }
+
+    @Test
+    public void testGetFingerprint() {
+        Map<String, String> fingerprints = new HashMap<>();
+        fingerprints.put("mt1", "fingerprint");
+        Assertions.assertEquals("fingerprint", AbstractTableMetaCache.getFingerprint(fingerprints, "MT1"));
+        Assertions.assertEquals("fingerprint", AbstractTableMetaCache.getFingerprint(fingerprints, "`mt1`"));
+        Assertions.assertNull(AbstractTableMetaCache.getFingerprint(fingerprints, "other.mt1"));
+        Assertions.assertNull(AbstractTableMetaCache.getFingerprint(null, "mt1"));
+    }
+}
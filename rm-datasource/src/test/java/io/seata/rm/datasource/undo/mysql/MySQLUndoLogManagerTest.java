@@ -20,6 +20,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -111,6 +112,36 @@ public class MySQLUndoLogManagerTest {
         Assertions.assertDoesNotThrow(() -> undoLogManager.deleteUndoLogByLogCreated(new Date(), 3000, connectionProxy));
     }
 
+    @Test
+    public void testPurgeUndoLogByLogCreated() throws SQLException {
+        // the undo log table is not partitioned by default
+        Assertions.assertEquals(0, undoLogManager.purgeUndoLogByLogCreated(new Date(), dataSource.getConnection()));
+    }
+
+    @Test
+    public void testBuildCreateUndoLogPartitionsSql() {
+        LocalDate today = LocalDate.now();
+        LocalDate bound = today.plusDays(2);
+        Assertions.assertEquals("ALTER TABLE undo_log REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION " + partitionName(today.plusDays(1)) + " VALUES LESS THAN ('" + today.plusDays(1) + "'), "
+                + "PARTITION " + partitionName(bound) + " VALUES LESS THAN ('" + bound + "'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+            MySQLUndoLogManager.buildCreateUndoLogPartitionsSql(Lists.newArrayList("pmax"), bound));
+
+        Assertions.assertEquals("ALTER TABLE undo_log REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION " + partitionName(bound) + " VALUES LESS THAN ('" + bound + "'), "
+                + "PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+            MySQLUndoLogManager.buildCreateUndoLogPartitionsSql(
+                Lists.newArrayList("p20000101", partitionName(today.plusDays(1)), "pmax"), bound));
+
+        Assertions.assertNull(MySQLUndoLogManager.buildCreateUndoLogPartitionsSql(
+            Lists.newArrayList(partitionName(bound), "pmax"), bound));
+    }
+
+    private String partitionName(LocalDate upperBound) {
+        return "p" + upperBound.toString().replace("-", "");
+    }
+
     @Test
     public void testInsertUndoLog() throws SQLException {
         Assertions.assertDoesNotThrow(() -> undoLogManager.insertUndoLogWithGlobalFinished("xid", 1L, new JacksonUndoLogParser(),
@@ -15,7 +15,10 @@
  */
 package io.seata.rm.xa;
 
+import io.seata.config.ConfigurationChangeEvent;
+import io.seata.config.ConfigurationHandle;
 import io.seata.core.context.RootContext;
+import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.core.model.ResourceManager;
@@ -31,10 +34,14 @@ import org.mockito.Mockito;
 import javax.sql.XAConnection;
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.Statement;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.times;
 
 /**
@@ -84,12 +91,135 @@ public class ConnectionProxyXATest {
         // Assert XA start was invoked
         Mockito.verify(xaResource).start(any(Xid.class), any(Integer.class));
 
+        Mockito.when(connection.createStatement()).thenReturn(Mockito.mock(Statement.class));
+        connectionProxyXA.createStatement().executeUpdate("update t set a = 1");
         connectionProxyXA.commit();
 
         Mockito.verify(xaResource).end(any(Xid.class), any(Integer.class));
         Mockito.verify(xaResource).prepare(any(Xid.class));
     }
 
+    @Test
+    public void testReadOnlyXABranchCommitInOnePhase() throws Throwable {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Mockito.when(connection.isReadOnly()).thenReturn(true);
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+
+        commitQuery(connection, xaResource, resourceManager, true);
+
+        Mockito.verify(xaResource, times(0)).prepare(any(Xid.class));
+        Mockito.verify(xaResource).commit(any(Xid.class), eq(true));
+        Mockito.verify(resourceManager).branchReport(eq(BranchType.XA), eq("xxx"), anyLong(),
+            eq(BranchStatus.PhaseOne_RDONLY), isNull());
+    }
+
+    @Test
+    public void testQueryXABranchPreparedByDefault() throws Throwable {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Mockito.when(connection.isReadOnly()).thenReturn(true);
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+
+        commitQuery(connection, xaResource, resourceManager, false);
+
+        Mockito.verify(xaResource).prepare(any(Xid.class));
+        Mockito.verify(xaResource, times(0)).commit(any(Xid.class), any(Boolean.class));
+    }
+
+    @Test
+    public void testQueryOnWritableConnectionXABranchPrepared() throws Throwable {
+        // the query may call a function with side effects, it must wait for the global decision
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Mockito.when(connection.isReadOnly()).thenReturn(false);
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+
+        commitQuery(connection, xaResource, resourceManager, true);
+
+        Mockito.verify(xaResource).prepare(any(Xid.class));
+        Mockito.verify(xaResource, times(0)).commit(any(Xid.class), any(Boolean.class));
+        Mockito.verify(resourceManager, times(0)).branchReport(eq(BranchType.XA), eq("xxx"), anyLong(),
+            eq(BranchStatus.PhaseOne_RDONLY), isNull());
+    }
+
+    private void commitQuery(Connection connection, XAResource xaResource, ResourceManager resourceManager,
+                             boolean readOnlyOnePhase) throws Throwable {
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+        XAConnection xaConnection = Mockito.mock(XAConnection.class);
+        Mockito.when(xaConnection.getXAResource()).thenReturn(xaResource);
+        BaseDataSourceResource<ConnectionProxyXA> baseDataSourceResource = Mockito.mock(BaseDataSourceResource.class);
+        DefaultResourceManager.get();
+        DefaultResourceManager.mockResourceManager(BranchType.XA, resourceManager);
+
+        Field readOnlyOnePhaseField = ConnectionProxyXA.class.getDeclaredField("READ_ONLY_ONE_PHASE");
+        readOnlyOnePhaseField.setAccessible(true);
+        ConfigurationHandle<Boolean> readOnlyOnePhaseHandle = (ConfigurationHandle<Boolean>) readOnlyOnePhaseField.get(null);
+        boolean oldReadOnlyOnePhase = readOnlyOnePhaseHandle.get();
+        readOnlyOnePhaseHandle.onChangeEvent(
+            new ConfigurationChangeEvent(readOnlyOnePhaseHandle.getDataId(), String.valueOf(readOnlyOnePhase)));
+        try {
+            ConnectionProxyXA connectionProxyXA = new ConnectionProxyXA(connection, xaConnection, baseDataSourceResource, "xxx");
+            connectionProxyXA.init();
+            connectionProxyXA.setAutoCommit(false);
+            connectionProxyXA.createStatement().executeQuery("select a from t where id = 1");
+            connectionProxyXA.commit();
+        } finally {
+            readOnlyOnePhaseHandle.onChangeEvent(
+                new ConfigurationChangeEvent(readOnlyOnePhaseHandle.getDataId(), String.valueOf(oldReadOnlyOnePhase)));
+        }
+    }
+
+    @Test
+    public void testLockingQueryXABranchCommit() throws Throwable {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Statement statement = Mockito.mock(Statement.class);
+        Mockito.when(connection.createStatement()).thenReturn(statement);
+
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        Mockito.when(xaResource.prepare(any(Xid.class))).thenReturn(XAResource.XA_RDONLY);
+        XAConnection xaConnection = Mockito.mock(XAConnection.class);
+        Mockito.when(xaConnection.getXAResource()).thenReturn(xaResource);
+        BaseDataSourceResource<ConnectionProxyXA> baseDataSourceResource = Mockito.mock(BaseDataSourceResource.class);
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+        DefaultResourceManager.get();
+        DefaultResourceManager.mockResourceManager(BranchType.XA, resourceManager);
+
+        ConnectionProxyXA connectionProxyXA = new ConnectionProxyXA(connection, xaConnection, baseDataSourceResource, "xxx");
+        connectionProxyXA.init();
+        connectionProxyXA.setAutoCommit(false);
+        connectionProxyXA.createStatement().executeQuery("select a from t where id = 1 for update");
+        connectionProxyXA.commit();
+
+        // prepared, the database voted read-only but an older TC may not know the status
+        Mockito.verify(xaResource).prepare(any(Xid.class));
+        Mockito.verify(xaResource, times(0)).commit(any(Xid.class), any(Boolean.class));
+        Mockito.verify(resourceManager, times(0)).branchReport(eq(BranchType.XA), eq("xxx"), anyLong(),
+            eq(BranchStatus.PhaseOne_RDONLY), isNull());
+    }
+
+    @Test
+    public void testReadOnlyVoteReportedWhenEnabled() throws Throwable {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(connection.getAutoCommit()).thenReturn(true);
+        Mockito.when(connection.isReadOnly()).thenReturn(false);
+        XAResource xaResource = Mockito.mock(XAResource.class);
+        Mockito.when(xaResource.prepare(any(Xid.class))).thenReturn(XAResource.XA_RDONLY);
+        ResourceManager resourceManager = Mockito.mock(ResourceManager.class);
+
+        commitQuery(connection, xaResource, resourceManager, true);
+
+        Mockito.verify(xaResource).prepare(any(Xid.class));
+        Mockito.verify(xaResource, times(0)).commit(any(Xid.class), any(Boolean.class));
+        Mockito.verify(resourceManager).branchReport(eq(BranchType.XA), eq("xxx"), anyLong(),
+            eq(BranchStatus.PhaseOne_RDONLY), isNull());
+    }
+
     @Test
     public void testXABranchRollback() throws Throwable {
         Connection connection = Mockito.mock(Connection.class);
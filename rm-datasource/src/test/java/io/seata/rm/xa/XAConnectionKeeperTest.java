@@ -0,0 +1,63 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.xa;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.seata.rm.datasource.mock.MockDataSource;
+import io.seata.rm.datasource.xa.ConnectionProxyXA;
+import io.seata.rm.datasource.xa.DataSourceProxyXA;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for the hold time index of the XA connection keeper
+ *
+ * @author agent
+ */
+public class XAConnectionKeeperTest {
+
+    @Test
+    public void testPollHeldBefore() {
+        DataSourceProxyXA dataSourceProxyXA = new DataSourceProxyXA(new MockDataSource());
+        ConnectionProxyXA first = Mockito.mock(ConnectionProxyXA.class);
+        ConnectionProxyXA second = Mockito.mock(ConnectionProxyXA.class);
+        ConnectionProxyXA third = Mockito.mock(ConnectionProxyXA.class);
+        dataSourceProxyXA.hold("first", first);
+        dataSourceProxyXA.hold("second", second);
+        dataSourceProxyXA.hold("third", third);
+
+        dataSourceProxyXA.setHoldTime("first", 100L);
+        dataSourceProxyXA.setHoldTime("second", 50L);
+        dataSourceProxyXA.setHoldTime("third", 200L);
+        // the kept connection released by phase two is no longer indexed
+        dataSourceProxyXA.release("third", third);
+
+        Assertions.assertTrue(dataSourceProxyXA.pollHeldBefore(50L).isEmpty());
+        List<ConnectionProxyXA> polled = dataSourceProxyXA.pollHeldBefore(150L);
+        Assertions.assertEquals(Arrays.asList(second, first), polled);
+        Assertions.assertTrue(dataSourceProxyXA.pollHeldBefore(150L).isEmpty());
+        Assertions.assertTrue(dataSourceProxyXA.pollHeldBefore(Long.MAX_VALUE).isEmpty());
+
+        // a new hold time replaces the former one of the same key
+        dataSourceProxyXA.setHoldTime("first", 300L);
+        dataSourceProxyXA.setHoldTime("first", 400L);
+        Assertions.assertTrue(dataSourceProxyXA.pollHeldBefore(400L).isEmpty());
+        Assertions.assertEquals(Arrays.asList(first), dataSourceProxyXA.pollHeldBefore(401L));
+    }
+}
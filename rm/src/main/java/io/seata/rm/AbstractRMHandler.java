@@ -27,6 +27,7 @@ import io.seata.core.protocol.transaction.BranchCommitRequest;
 import io.seata.core.protocol.transaction.BranchCommitResponse;
 import io.seata.core.protocol.transaction.BranchRollbackRequest;
 import io.seata.core.protocol.transaction.BranchRollbackResponse;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
 import io.seata.core.protocol.transaction.RMInboundHandler;
 import io.seata.core.protocol.transaction.UndoLogDeleteRequest;
 import io.seata.core.rpc.RpcContext;
@@ -79,6 +80,15 @@ public abstract class AbstractRMHandler extends AbstractExceptionHandler
         // https://github.com/seata/seata/issues/2226
     }
 
+    /**
+     * global lock release notify
+     * @param request the request
+     */
+    @Override
+    public void handle(LockReleaseNotifyRequest request) {
+        // only the branch type which holds global locks cares about it
+    }
+
     /**
      * Do branch commit.
      *
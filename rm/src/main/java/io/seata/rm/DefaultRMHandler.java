@@ -25,6 +25,7 @@ import io.seata.core.protocol.transaction.BranchCommitRequest;
 import io.seata.core.protocol.transaction.BranchCommitResponse;
 import io.seata.core.protocol.transaction.BranchRollbackRequest;
 import io.seata.core.protocol.transaction.BranchRollbackResponse;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
 import io.seata.core.protocol.transaction.UndoLogDeleteRequest;
 import org.slf4j.MDC;
 
@@ -73,6 +74,14 @@ public class DefaultRMHandler extends AbstractRMHandler {
         getRMHandler(request.getBranchType()).handle(request);
     }
 
+    @Override
+    public void handle(LockReleaseNotifyRequest request) {
+        AbstractRMHandler rmHandler = getRMHandler(request.getBranchType());
+        if (rmHandler != null) {
+            rmHandler.handle(request);
+        }
+    }
+
     protected AbstractRMHandler getRMHandler(BranchType branchType) {
         return allRMHandlersMap.get(branchType);
     }
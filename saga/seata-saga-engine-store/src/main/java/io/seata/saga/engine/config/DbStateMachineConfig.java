@@ -38,6 +38,8 @@ import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND;
 import static io.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
 
 /**
@@ -59,6 +61,8 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
     private SagaTransactionalTemplate sagaTransactionalTemplate;
     private boolean rmReportSuccessEnable = DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
     private boolean sagaBranchRegisterEnable = DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
+    private boolean sagaStateLogWriteBehind = DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND;
+    private long sagaStateLogFlushInterval = DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL;
 
 
     public DbStateMachineConfig() {
@@ -76,6 +80,10 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
                     DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE));
                 setSagaCompensatePersistModeUpdate(configuration.getBoolean(ConfigurationKeys.CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE,
                     DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE));
+                this.sagaStateLogWriteBehind = configuration.getBoolean(ConfigurationKeys.CLIENT_SAGA_STATE_LOG_WRITE_BEHIND,
+                    DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND);
+                this.sagaStateLogFlushInterval = configuration.getLong(ConfigurationKeys.CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL,
+                    DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL);
             }
         } catch (Exception e) {
             LOGGER.warn("Load SEATA configuration failed, use default configuration instead.", e);
@@ -101,6 +109,8 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
             dbStateLogStore.setDbType(dbType);
             dbStateLogStore.setDefaultTenantId(getDefaultTenantId());
             dbStateLogStore.setSeqGenerator(getSeqGenerator());
+            dbStateLogStore.setWriteBehind(sagaStateLogWriteBehind);
+            dbStateLogStore.setFlushInterval(sagaStateLogFlushInterval);
 
             if (StringUtils.hasLength(getSagaJsonParser())) {
                 ParamsSerializer paramsSerializer = new ParamsSerializer();
@@ -139,6 +149,9 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
 
     @Override
     public void destroy() throws Exception {
+        if (getStateLogStore() instanceof DbAndReportTcStateLogStore) {
+            ((DbAndReportTcStateLogStore) getStateLogStore()).destroy();
+        }
         if ((sagaTransactionalTemplate != null) && (sagaTransactionalTemplate instanceof DisposableBean)) {
             ((DisposableBean) sagaTransactionalTemplate).destroy();
         }
@@ -219,4 +232,20 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
     public void setRmReportSuccessEnable(boolean rmReportSuccessEnable) {
         this.rmReportSuccessEnable = rmReportSuccessEnable;
     }
+
+    public boolean isSagaStateLogWriteBehind() {
+        return sagaStateLogWriteBehind;
+    }
+
+    public void setSagaStateLogWriteBehind(boolean sagaStateLogWriteBehind) {
+        this.sagaStateLogWriteBehind = sagaStateLogWriteBehind;
+    }
+
+    public long getSagaStateLogFlushInterval() {
+        return sagaStateLogFlushInterval;
+    }
+
+    public void setSagaStateLogFlushInterval(long sagaStateLogFlushInterval) {
+        this.sagaStateLogFlushInterval = sagaStateLogFlushInterval;
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.config;
+
+import java.io.File;
+
+import io.seata.saga.engine.impl.DefaultStateMachineConfig;
+import io.seata.saga.engine.serializer.impl.ParamsSerializer;
+import io.seata.saga.engine.store.memory.MemoryStateLangStore;
+import io.seata.saga.engine.store.memory.MemoryStateLogStore;
+import io.seata.saga.engine.store.memory.StoreJournal;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.StringUtils;
+
+/**
+ * State machine configuration with the stores in memory, for the state machines that need neither a database nor a
+ * global transaction. If the journalDir is set, the state logs are also appended to journal files in it and are
+ * loaded again after a restart.
+ *
+ * @author agent
+ */
+public class MemoryStateMachineConfig extends DefaultStateMachineConfig implements DisposableBean {
+
+    private static final String STATE_LOG_JOURNAL_FILE = "state_log.journal";
+    private static final String STATE_LANG_JOURNAL_FILE = "state_lang.journal";
+
+    private String journalDir;
+    private boolean journalForceOnWrite = false;
+    private int finishedInstanceCapacity = 10000;
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+
+        if (getStateLogStore() == null) {
+            MemoryStateLogStore memoryStateLogStore = new MemoryStateLogStore();
+            memoryStateLogStore.setDefaultTenantId(getDefaultTenantId());
+            memoryStateLogStore.setSeqGenerator(getSeqGenerator());
+            memoryStateLogStore.setFinishedInstanceCapacity(finishedInstanceCapacity);
+
+            if (StringUtils.hasLength(getSagaJsonParser())) {
+                ParamsSerializer paramsSerializer = new ParamsSerializer();
+                paramsSerializer.setJsonParserName(getSagaJsonParser());
+                memoryStateLogStore.setParamsSerializer(paramsSerializer);
+            }
+            if (StringUtils.hasLength(journalDir)) {
+                memoryStateLogStore.setJournal(createJournal(STATE_LOG_JOURNAL_FILE));
+            }
+            memoryStateLogStore.init();
+
+            setStateLogStore(memoryStateLogStore);
+        }
+
+        if (getStateLangStore() == null) {
+            MemoryStateLangStore memoryStateLangStore = new MemoryStateLangStore();
+            if (StringUtils.hasLength(journalDir)) {
+                memoryStateLangStore.setJournal(createJournal(STATE_LANG_JOURNAL_FILE));
+            }
+            memoryStateLangStore.init();
+
+            setStateLangStore(memoryStateLangStore);
+        }
+
+        super.afterPropertiesSet();//must execute after StateLangStore initialized
+    }
+
+    private StoreJournal createJournal(String fileName) {
+        return new StoreJournal(new File(journalDir, fileName), getSagaJsonParser(), journalForceOnWrite);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (getStateLogStore() instanceof MemoryStateLogStore) {
+            ((MemoryStateLogStore) getStateLogStore()).destroy();
+        }
+        if (getStateLangStore() instanceof MemoryStateLangStore) {
+            ((MemoryStateLangStore) getStateLangStore()).destroy();
+        }
+    }
+
+    public String getJournalDir() {
+        return journalDir;
+    }
+
+    public void setJournalDir(String journalDir) {
+        this.journalDir = journalDir;
+    }
+
+    public boolean isJournalForceOnWrite() {
+        return journalForceOnWrite;
+    }
+
+    public void setJournalForceOnWrite(boolean journalForceOnWrite) {
+        this.journalForceOnWrite = journalForceOnWrite;
+    }
+
+    public int getFinishedInstanceCapacity() {
+        return finishedInstanceCapacity;
+    }
+
+    public void setFinishedInstanceCapacity(int finishedInstanceCapacity) {
+        this.finishedInstanceCapacity = finishedInstanceCapacity;
+    }
+}
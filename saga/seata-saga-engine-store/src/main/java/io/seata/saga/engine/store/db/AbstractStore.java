@@ -186,6 +186,75 @@ public class AbstractStore {
         }
     }
 
+    /**
+     * Execute the batch, then the statement, in one local transaction
+     *
+     * @param batchSql the batch sql
+     * @param batchToStatement the batch object to statement
+     * @param batch the batch objects
+     * @param sql the statement sql, skipped if null
+     * @param objectToStatement the object to statement
+     * @param o the object
+     * @return the update count of the statement
+     */
+    protected <B, T> int executeBatchAndUpdate(String batchSql, ObjectToStatement<B> batchToStatement, List<B> batch,
+                                               String sql, ObjectToStatement<T> objectToStatement, T o) {
+        Connection connection = null;
+        PreparedStatement batchStmt = null;
+        PreparedStatement stmt = null;
+        boolean originalAutoCommit = true;
+        try {
+            connection = dataSource.getConnection();
+            originalAutoCommit = connection.getAutoCommit();
+            if (originalAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Preparing batch SQL: {}, size: {}", batchSql, batch.size());
+            }
+
+            batchStmt = connection.prepareStatement(batchSql);
+            for (B b : batch) {
+                batchToStatement.toStatement(b, batchStmt);
+                batchStmt.addBatch();
+            }
+            batchStmt.executeBatch();
+
+            int count = 0;
+            if (sql != null) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Preparing SQL: {}", sql);
+                }
+                stmt = connection.prepareStatement(sql);
+                objectToStatement.toStatement(o, stmt);
+                count = stmt.executeUpdate();
+            }
+            connection.commit();
+            return count;
+        } catch (SQLException e) {
+            if (connection != null) {
+                try {
+                    connection.rollback();
+                } catch (SQLException re) {
+                    LOGGER.warn("Rollback batch failed: {}", re.getMessage(), re);
+                }
+            }
+            throw new StoreException(e);
+        } finally {
+            closeSilent(stmt);
+            closeSilent(batchStmt);
+            if (connection != null && originalAutoCommit) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.info(e.getMessage(), e);
+                }
+            }
+            closeSilent(connection);
+        }
+    }
+
     public void setDataSource(DataSource dataSource) {
         this.dataSource = dataSource;
     }
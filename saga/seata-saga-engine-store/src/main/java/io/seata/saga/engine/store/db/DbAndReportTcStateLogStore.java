@@ -19,15 +19,20 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import io.seata.common.Constants;
+import io.seata.common.DefaultValues;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.StoreException;
-import io.seata.common.util.CollectionUtils;
+import io.seata.common.thread.NamedThreadFactory;
 import io.seata.core.context.RootContext;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
@@ -81,6 +86,13 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
     private static final StateInstanceToStatementForUpdate        STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE
                                                                                                = new StateInstanceToStatementForUpdate();
     private static final ResultSetToStateInstance                 RESULT_SET_TO_STATE_INSTANCE = new ResultSetToStateInstance();
+    private static final StateFinishedLogToStatement              STATE_FINISHED_LOG_TO_STATEMENT
+                                                                                               = new StateFinishedLogToStatement();
+    private static final ObjectToStatement<Object[]>              ARGS_TO_STATEMENT            = (args, statement) -> {
+        for (int i = 0; i < args.length; i++) {
+            statement.setObject(i + 1, args[i]);
+        }
+    };
     private SagaTransactionalTemplate sagaTransactionalTemplate;
     private Serializer<Object, String>    paramsSerializer    = new ParamsSerializer();
     private Serializer<Exception, byte[]> exceptionSerializer = new ExceptionSerializer();
@@ -88,6 +100,16 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
     private String            defaultTenantId;
     private SeqGenerator      seqGenerator;
 
+    /**
+     * Write-behind mode: the finished records of states are buffered per state machine instance, and written in a
+     * batch together with the next record of the same state machine instance, or by the flush timer.
+     * Started records are always written synchronously, so recovery still finds every executed state.
+     */
+    private boolean writeBehind = DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND;
+    private long flushInterval = DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL;
+    private final Map<String, PendingStateLogs> pendingStateLogsMap = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService flushExecutor;
+
     @Override
     public void recordStateMachineStarted(StateMachineInstance machineInstance, ProcessContext context) {
         if (machineInstance != null) {
@@ -174,7 +196,8 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
                 machineInstance.setSerializedEndParams(paramsSerializer.serialize(machineInstance.getEndParams()));
                 machineInstance.setSerializedException(exceptionSerializer.serialize(machineInstance.getException()));
-                int effect = executeUpdate(stateLogStoreSqls.getRecordStateMachineFinishedSql(dbType),
+                int effect = executeWithPendingStateLogs(machineInstance.getId(),
+                        stateLogStoreSqls.getRecordStateMachineFinishedSql(dbType),
                         STATE_MACHINE_INSTANCE_TO_STATEMENT_FOR_UPDATE, machineInstance);
                 if (effect < 1) {
                     LOGGER.warn("StateMachineInstance[{}] is recovery by server, skip recordStateMachineFinished.", machineInstance.getId());
@@ -284,13 +307,15 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
             stateInstance.setSerializedInputParams(paramsSerializer.serialize(stateInstance.getInputParams()));
             if (!isUpdateMode) {
-                executeUpdate(stateLogStoreSqls.getRecordStateStartedSql(dbType),
-                    STATE_INSTANCE_TO_STATEMENT_FOR_INSERT, stateInstance);
+                executeWithPendingStateLogs(stateInstance.getMachineInstanceId(),
+                    stateLogStoreSqls.getRecordStateStartedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_INSERT,
+                    stateInstance);
             } else {
                 // if this retry/compensate state do not need persist, just update last inst
-                executeUpdate(stateLogStoreSqls.getUpdateStateExecutionStatusSql(dbType),
-                    stateInstance.getStatus().name(), new Timestamp(System.currentTimeMillis()),
-                    stateInstance.getMachineInstanceId(), stateInstance.getId());
+                executeWithPendingStateLogs(stateInstance.getMachineInstanceId(),
+                    stateLogStoreSqls.getUpdateStateExecutionStatusSql(dbType), ARGS_TO_STATEMENT,
+                    new Object[] {stateInstance.getStatus().name(), new Timestamp(System.currentTimeMillis()),
+                        stateInstance.getMachineInstanceId(), stateInstance.getId()});
             }
         }
     }
@@ -459,8 +484,12 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
             stateInstance.setSerializedOutputParams(paramsSerializer.serialize(stateInstance.getOutputParams()));
             stateInstance.setSerializedException(exceptionSerializer.serialize(stateInstance.getException()));
-            executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
-                    stateInstance);
+            if (writeBehind) {
+                bufferStateFinished(stateInstance);
+            } else {
+                executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType),
+                    STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE, stateInstance);
+            }
 
             //A switch to skip branch report on branch success, in order to optimize performance
             StateMachineConfig stateMachineConfig = (StateMachineConfig) context.getVariable(
@@ -576,6 +605,144 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         }
     }
 
+    private void bufferStateFinished(StateInstance stateInstance) {
+        StateFinishedLog stateFinishedLog = new StateFinishedLog(stateInstance);
+        while (true) {
+            PendingStateLogs pendingStateLogs = pendingStateLogsMap.computeIfAbsent(
+                stateInstance.getMachineInstanceId(), k -> new PendingStateLogs());
+            synchronized (pendingStateLogs) {
+                if (pendingStateLogs.released) {
+                    continue;
+                }
+                if (pendingStateLogs.stateFinishedLogs.isEmpty()) {
+                    pendingStateLogs.firstPendingTime = System.currentTimeMillis();
+                }
+                pendingStateLogs.stateFinishedLogs.add(stateFinishedLog);
+                break;
+            }
+        }
+        startFlushExecutorIfNecessary();
+    }
+
+    /**
+     * Execute the statement, together with the pending state logs of the state machine instance in one transaction
+     */
+    private <T> int executeWithPendingStateLogs(String machineInstId, String sql,
+                                                ObjectToStatement<T> objectToStatement, T o) {
+        PendingStateLogs pendingStateLogs = writeBehind && machineInstId != null
+            ? pendingStateLogsMap.get(machineInstId) : null;
+        if (pendingStateLogs == null) {
+            return executeUpdate(sql, objectToStatement, o);
+        }
+        return writePendingStateLogs(machineInstId, pendingStateLogs, sql, objectToStatement, o);
+    }
+
+    private void flushPendingStateLogs(String machineInstId) {
+        PendingStateLogs pendingStateLogs = writeBehind && machineInstId != null
+            ? pendingStateLogsMap.get(machineInstId) : null;
+        if (pendingStateLogs != null) {
+            writePendingStateLogs(machineInstId, pendingStateLogs, null, null, null);
+        }
+    }
+
+    /**
+     * Write the pending state logs taken out of the buffer, followed by the statement if any. The writes of a state
+     * machine instance are serialized by its write lock, the buffer itself is only locked to take the logs, so the
+     * states finishing meanwhile are not blocked by the database. The buffer is released once it is written empty.
+     */
+    private <T> int writePendingStateLogs(String machineInstId, PendingStateLogs pendingStateLogs, String sql,
+                                          ObjectToStatement<T> objectToStatement, T o) {
+        synchronized (pendingStateLogs.writeLock) {
+            List<StateFinishedLog> stateFinishedLogs;
+            synchronized (pendingStateLogs) {
+                stateFinishedLogs = pendingStateLogs.stateFinishedLogs;
+                pendingStateLogs.stateFinishedLogs = new ArrayList<>();
+            }
+            int effect = 0;
+            try {
+                if (!stateFinishedLogs.isEmpty()) {
+                    effect = executeBatchAndUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType),
+                        STATE_FINISHED_LOG_TO_STATEMENT, stateFinishedLogs, sql, objectToStatement, o);
+                } else if (sql != null) {
+                    effect = executeUpdate(sql, objectToStatement, o);
+                }
+            } catch (RuntimeException e) {
+                synchronized (pendingStateLogs) {
+                    // keep them for the next write, before the ones buffered meanwhile
+                    stateFinishedLogs.addAll(pendingStateLogs.stateFinishedLogs);
+                    pendingStateLogs.stateFinishedLogs = stateFinishedLogs;
+                }
+                throw e;
+            }
+            synchronized (pendingStateLogs) {
+                if (pendingStateLogs.stateFinishedLogs.isEmpty()) {
+                    pendingStateLogs.released = true;
+                    pendingStateLogsMap.remove(machineInstId, pendingStateLogs);
+                }
+            }
+            return effect;
+        }
+    }
+
+    private void flushExpiredStateLogs() {
+        long expireTime = System.currentTimeMillis() - flushInterval;
+        for (Map.Entry<String, PendingStateLogs> entry : pendingStateLogsMap.entrySet()) {
+            PendingStateLogs pendingStateLogs = entry.getValue();
+            boolean expired;
+            synchronized (pendingStateLogs) {
+                expired = pendingStateLogs.firstPendingTime <= expireTime;
+            }
+            if (!expired) {
+                continue;
+            }
+            try {
+                writePendingStateLogs(entry.getKey(), pendingStateLogs, null, null, null);
+            } catch (Exception e) {
+                LOGGER.error("Flush state logs of StateMachineInstance[{}] error, will retry later: {}", entry.getKey(),
+                    e.getMessage(), e);
+            }
+        }
+    }
+
+    private void startFlushExecutorIfNecessary() {
+        if (flushExecutor == null && flushInterval > 0) {
+            synchronized (this) {
+                if (flushExecutor == null) {
+                    ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1,
+                        new NamedThreadFactory("SagaStateLogFlush", 1, true));
+                    executor.scheduleAtFixedRate(this::flushExpiredStateLogs, flushInterval, flushInterval,
+                        TimeUnit.MILLISECONDS);
+                    flushExecutor = executor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stop the flush timer and write all the pending state logs
+     */
+    public void destroy() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        for (Map.Entry<String, PendingStateLogs> entry : pendingStateLogsMap.entrySet()) {
+            try {
+                writePendingStateLogs(entry.getKey(), entry.getValue(), null, null, null);
+            } catch (Exception e) {
+                LOGGER.error("Flush state logs of StateMachineInstance[{}] error: {}", entry.getKey(), e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Gets the count of the state machine instances with state logs waiting to be written
+     *
+     * @return the count
+     */
+    int getPendingInstanceCount() {
+        return pendingStateLogsMap.size();
+    }
+
     private StateInstance findOutOriginalStateInstanceOfRetryState(StateInstance stateInstance) {
         StateInstance originalStateInst;
         Map<String, StateInstance> stateInstanceMap = stateInstance.getStateMachineInstance().getStateMap();
@@ -658,6 +825,7 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
     @Override
     public StateInstance getStateInstance(String stateInstanceId, String machineInstId) {
+        flushPendingStateLogs(machineInstId);
         StateInstance stateInstance = selectOne(
                 stateLogStoreSqls.getGetStateInstanceByIdAndMachineInstanceIdSql(dbType), RESULT_SET_TO_STATE_INSTANCE,
                 machineInstId, stateInstanceId);
@@ -684,46 +852,15 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
     @Override
     public List<StateInstance> queryStateInstanceListByMachineInstanceId(String stateMachineInstanceId) {
+        flushPendingStateLogs(stateMachineInstanceId);
         List<StateInstance> stateInstanceList = selectList(
                 stateLogStoreSqls.getQueryStateInstancesByMachineInstanceIdSql(dbType), RESULT_SET_TO_STATE_INSTANCE,
                 stateMachineInstanceId);
 
-        if (CollectionUtils.isEmpty(stateInstanceList)) {
-            return stateInstanceList;
-        }
-        StateInstance lastStateInstance = CollectionUtils.getLast(stateInstanceList);
-        if (lastStateInstance.getGmtEnd() == null) {
-            lastStateInstance.setStatus(ExecutionStatus.RU);
-        }
-        Map<String, StateInstance> originStateMap = new HashMap<>();
-        Map<String/* originStateId */, StateInstance/* compensatedState */> compensatedStateMap = new HashMap<>();
-        Map<String/* originStateId */, StateInstance/* retriedState */> retriedStateMap = new HashMap<>();
         for (StateInstance tempStateInstance : stateInstanceList) {
             deserializeParamsAndException(tempStateInstance);
-
-            if (StringUtils.hasText(tempStateInstance.getStateIdCompensatedFor())) {
-                putLastStateToMap(compensatedStateMap, tempStateInstance, tempStateInstance.getStateIdCompensatedFor());
-            } else {
-                if (StringUtils.hasText(tempStateInstance.getStateIdRetriedFor())) {
-                    putLastStateToMap(retriedStateMap, tempStateInstance, tempStateInstance.getStateIdRetriedFor());
-                }
-                originStateMap.put(tempStateInstance.getId(), tempStateInstance);
-            }
-        }
-
-        if (compensatedStateMap.size() != 0) {
-            for (StateInstance origState : originStateMap.values()) {
-                origState.setCompensationState(compensatedStateMap.get(origState.getId()));
-            }
-        }
-
-        if (retriedStateMap.size() != 0) {
-            for (StateInstance origState : originStateMap.values()) {
-                if (retriedStateMap.containsKey(origState.getId())) {
-                    origState.setIgnoreStatus(true);
-                }
-            }
         }
+        EngineUtils.restoreStateInstanceRelations(stateInstanceList);
         return stateInstanceList;
     }
 
@@ -736,19 +873,6 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         }
     }
 
-    private void putLastStateToMap(Map<String, StateInstance> resultMap, StateInstance newState, String key) {
-        if (!resultMap.containsKey(key)) {
-            resultMap.put(key, newState);
-        } else if (newState.getGmtEnd().after(resultMap.get(key).getGmtEnd())) {
-            StateInstance oldState = resultMap.remove(key);
-            oldState.setIgnoreStatus(true);
-
-            resultMap.put(key, newState);
-        } else {
-            newState.setIgnoreStatus(true);
-        }
-    }
-
     public void setExceptionSerializer(Serializer<Exception, byte[]> exceptionSerializer) {
         this.exceptionSerializer = exceptionSerializer;
     }
@@ -781,12 +905,73 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
         this.seqGenerator = seqGenerator;
     }
 
+    public boolean isWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(boolean writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
     @Override
     public void setTablePrefix(String tablePrefix) {
         super.setTablePrefix(tablePrefix);
         this.stateLogStoreSqls = new StateLogStoreSqls(tablePrefix);
     }
 
+    /**
+     * The state logs of a state machine instance waiting to be written
+     */
+    private static class PendingStateLogs {
+        private final Object writeLock = new Object();
+        private List<StateFinishedLog> stateFinishedLogs = new ArrayList<>();
+        private long firstPendingTime;
+        private boolean released;
+    }
+
+    /**
+     * The values of a state finished record, taken when the state finished
+     */
+    private static class StateFinishedLog {
+        private final Timestamp gmtEnd;
+        private final byte[] serializedException;
+        private final String status;
+        private final Object serializedOutputParams;
+        private final String id;
+        private final String machineInstanceId;
+
+        StateFinishedLog(StateInstance stateInstance) {
+            this.gmtEnd = new Timestamp(stateInstance.getGmtEnd().getTime());
+            this.serializedException = stateInstance.getException() != null
+                ? (byte[]) stateInstance.getSerializedException() : null;
+            this.status = stateInstance.getStatus().name();
+            this.serializedOutputParams = stateInstance.getSerializedOutputParams();
+            this.id = stateInstance.getId();
+            this.machineInstanceId = stateInstance.getMachineInstanceId();
+        }
+    }
+
+    private static class StateFinishedLogToStatement implements ObjectToStatement<StateFinishedLog> {
+        @Override
+        public void toStatement(StateFinishedLog stateFinishedLog, PreparedStatement statement) throws SQLException {
+            statement.setTimestamp(1, stateFinishedLog.gmtEnd);
+            statement.setBytes(2, stateFinishedLog.serializedException);
+            statement.setString(3, stateFinishedLog.status);
+            statement.setObject(4, stateFinishedLog.serializedOutputParams);
+            statement.setTimestamp(5, stateFinishedLog.gmtEnd);
+            statement.setString(6, stateFinishedLog.id);
+            statement.setString(7, stateFinishedLog.machineInstanceId);
+        }
+    }
+
     private static class StateMachineInstanceToStatementForInsert implements ObjectToStatement<StateMachineInstance> {
         @Override
         public void toStatement(StateMachineInstance stateMachineInstance, PreparedStatement statement)
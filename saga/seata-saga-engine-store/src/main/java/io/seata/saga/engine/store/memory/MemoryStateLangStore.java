@@ -0,0 +1,135 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.memory;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.seata.common.util.StringUtils;
+import io.seata.saga.engine.store.StateLangStore;
+import io.seata.saga.statelang.domain.RecoverStrategy;
+import io.seata.saga.statelang.domain.StateMachine;
+import io.seata.saga.statelang.domain.StateMachine.Status;
+import io.seata.saga.statelang.domain.impl.StateMachineImpl;
+
+/**
+ * State language definition store in memory, optionally backed by a journal file
+ *
+ * @author agent
+ */
+public class MemoryStateLangStore implements StateLangStore {
+
+    private final Map<String/* Id */, Map<String, Object>> stateMachineRowMapById = new ConcurrentHashMap<>();
+
+    private final Map<String/* Name_Tenant */, Map<String, Object>> lastVersionRowMap = new ConcurrentHashMap<>();
+
+    private StoreJournal journal;
+
+    /**
+     * Load the state machines from the journal
+     */
+    public void init() {
+        if (journal != null) {
+            journal.replay(this::putRow);
+        }
+    }
+
+    @Override
+    public StateMachine getStateMachineById(String stateMachineId) {
+        return toStateMachine(stateMachineRowMapById.get(stateMachineId));
+    }
+
+    @Override
+    public StateMachine getLastVersionStateMachine(String stateMachineName, String tenantId) {
+        return toStateMachine(lastVersionRowMap.get(stateMachineName + "_" + tenantId));
+    }
+
+    @Override
+    public boolean storeStateMachine(StateMachine stateMachine) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", stateMachine.getId());
+        row.put("tenant_id", stateMachine.getTenantId());
+        row.put("app_name", stateMachine.getAppName());
+        row.put("name", stateMachine.getName());
+        row.put("status", stateMachine.getStatus().name());
+        row.put("gmt_create", stateMachine.getGmtCreate().getTime());
+        row.put("ver", stateMachine.getVersion());
+        row.put("type", stateMachine.getType());
+        row.put("content", stateMachine.getContent());
+        row.put("recover_strategy",
+            stateMachine.getRecoverStrategy() != null ? stateMachine.getRecoverStrategy().name() : null);
+        row.put("comment_", stateMachine.getComment());
+        if (stateMachineRowMapById.putIfAbsent(stateMachine.getId(), row) != null) {
+            return false;
+        }
+        if (journal != null) {
+            journal.append(row);
+        }
+        putRow(row);
+        return true;
+    }
+
+    /**
+     * Close the journal
+     */
+    public void destroy() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void putRow(Map<String, Object> row) {
+        stateMachineRowMapById.put((String)row.get("id"), row);
+        lastVersionRowMap.merge(row.get("name") + "_" + row.get("tenant_id"), row,
+            (oldRow, newRow) -> toLong(newRow.get("gmt_create")) >= toLong(oldRow.get("gmt_create")) ? newRow : oldRow);
+    }
+
+    private static StateMachine toStateMachine(Map<String, Object> row) {
+        if (row == null) {
+            return null;
+        }
+        StateMachineImpl stateMachine = new StateMachineImpl();
+        stateMachine.setId((String)row.get("id"));
+        stateMachine.setName((String)row.get("name"));
+        stateMachine.setComment((String)row.get("comment_"));
+        stateMachine.setVersion((String)row.get("ver"));
+        stateMachine.setAppName((String)row.get("app_name"));
+        stateMachine.setContent((String)row.get("content"));
+        stateMachine.setGmtCreate(new Date(toLong(row.get("gmt_create"))));
+        stateMachine.setType((String)row.get("type"));
+        String recoverStrategy = (String)row.get("recover_strategy");
+        if (StringUtils.isNotBlank(recoverStrategy)) {
+            stateMachine.setRecoverStrategy(RecoverStrategy.valueOf(recoverStrategy));
+        }
+        stateMachine.setTenantId((String)row.get("tenant_id"));
+        stateMachine.setStatus(Status.valueOf((String)row.get("status")));
+        return stateMachine;
+    }
+
+    static long toLong(Object value) {
+        return value != null ? ((Number)value).longValue() : 0L;
+    }
+
+    public StoreJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(StoreJournal journal) {
+        this.journal = journal;
+    }
+}
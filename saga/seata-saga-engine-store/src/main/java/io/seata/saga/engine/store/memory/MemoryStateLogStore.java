@@ -0,0 +1,692 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.memory;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.common.exception.StoreException;
+import io.seata.common.util.StringUtils;
+import io.seata.saga.engine.exception.EngineExecutionException;
+import io.seata.saga.engine.pcext.utils.EngineUtils;
+import io.seata.saga.engine.sequence.SeqGenerator;
+import io.seata.saga.engine.serializer.Serializer;
+import io.seata.saga.engine.serializer.impl.ExceptionSerializer;
+import io.seata.saga.engine.serializer.impl.ParamsSerializer;
+import io.seata.saga.engine.store.StateLogStore;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.StateMachineInstance;
+import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import io.seata.saga.statelang.domain.impl.StateMachineInstanceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * State log store in memory, optionally backed by an append-only journal file, so the state machine instances can be
+ * forwarded or compensated after a restart.
+ * It does not begin global transactions or register branches on the TC, and it keeps a bounded number of finished
+ * state machine instances.
+ *
+ * @author agent
+ */
+public class MemoryStateLogStore implements StateLogStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryStateLogStore.class);
+
+    private static final String OP = "_op";
+    private static final String OP_STATE_MACHINE_STARTED = "MS";
+    private static final String OP_STATE_MACHINE_UPDATED = "MU";
+    private static final String OP_STATE_MACHINE_DELETED = "MD";
+    private static final String OP_STATE_STARTED = "SS";
+    private static final String OP_STATE_UPDATED = "SU";
+
+    private static final Comparator<StateInstance> STATE_INSTANCE_COMPARATOR = Comparator.comparing(
+        StateInstance::getGmtStarted).thenComparing(StateInstance::getId);
+
+    private final Map<String/* machineInstId */, InstanceLog> instanceLogMap = new ConcurrentHashMap<>();
+    private final Map<String/* BusinessKey_Tenant */, String/* machineInstId */> businessKeyMap
+        = new ConcurrentHashMap<>();
+    private final Queue<String> finishedInstanceIds = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger finishedInstanceCount = new AtomicInteger();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private Serializer<Object, String> paramsSerializer = new ParamsSerializer();
+    private Serializer<Exception, byte[]> exceptionSerializer = new ExceptionSerializer();
+    private String defaultTenantId;
+    private SeqGenerator seqGenerator;
+    private StoreJournal journal;
+    /**
+     * the number of finished state machine instances kept, a negative value keeps all of them
+     */
+    private int finishedInstanceCapacity = 10000;
+    /**
+     * the journal is compacted when it grows over this size
+     */
+    private long journalCompactSize = 64L * 1024 * 1024;
+
+    /**
+     * Load the state logs from the journal, and compact the journal
+     */
+    public void init() {
+        if (journal != null) {
+            journal.replay(this::applyRecord);
+            for (InstanceLog instanceLog : instanceLogMap.values()) {
+                if (StringUtils.isEmpty((String)instanceLog.machineRow.get("parent_id"))
+                    && isFinished(instanceLog.machineRow)) {
+                    markFinished((String)instanceLog.machineRow.get("id"));
+                }
+            }
+            compact();
+        }
+    }
+
+    @Override
+    public void recordStateMachineStarted(StateMachineInstance machineInstance, ProcessContext context) {
+        if (machineInstance != null) {
+            if (StringUtils.isEmpty(machineInstance.getId()) && seqGenerator != null) {
+                machineInstance.setId(seqGenerator.generate(DomainConstants.SEQ_ENTITY_STATE_MACHINE_INST));
+            }
+            machineInstance.setSerializedStartParams(paramsSerializer.serialize(machineInstance.getStartParams()));
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", machineInstance.getId());
+            row.put("machine_id", machineInstance.getMachineId());
+            row.put("tenant_id", machineInstance.getTenantId());
+            row.put("parent_id", machineInstance.getParentId());
+            row.put("gmt_started", machineInstance.getGmtStarted().getTime());
+            row.put("business_key", machineInstance.getBusinessKey());
+            row.put("start_params", machineInstance.getSerializedStartParams());
+            row.put("is_running", machineInstance.isRunning());
+            row.put("status", machineInstance.getStatus().name());
+            row.put("gmt_updated", machineInstance.getGmtUpdated().getTime());
+            if (!putInstanceLog(row)) {
+                throw new StoreException("StateMachineInstance record start error, Xid: " + machineInstance.getId(),
+                    FrameworkErrorCode.OperationDenied);
+            }
+            appendRecord(OP_STATE_MACHINE_STARTED, row);
+        }
+    }
+
+    @Override
+    public void recordStateMachineFinished(StateMachineInstance machineInstance, ProcessContext context) {
+        if (machineInstance != null) {
+            Map<String, Object> endParams = machineInstance.getEndParams();
+            if (endParams != null) {
+                endParams.remove(DomainConstants.VAR_NAME_GLOBAL_TX);
+            }
+
+            // if success, clear exception
+            if (ExecutionStatus.SU.equals(machineInstance.getStatus()) && machineInstance.getException() != null) {
+                machineInstance.setException(null);
+            }
+
+            machineInstance.setSerializedEndParams(paramsSerializer.serialize(machineInstance.getEndParams()));
+            machineInstance.setSerializedException(exceptionSerializer.serialize(machineInstance.getException()));
+
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("id", machineInstance.getId());
+            changes.put("gmt_end", machineInstance.getGmtEnd().getTime());
+            changes.put("excep", machineInstance.getSerializedException());
+            changes.put("end_params", machineInstance.getSerializedEndParams());
+            changes.put("status", machineInstance.getStatus().name());
+            changes.put("compensation_status",
+                machineInstance.getCompensationStatus() != null ? machineInstance.getCompensationStatus().name() : null);
+            changes.put("is_running", machineInstance.isRunning());
+            changes.put("gmt_updated", System.currentTimeMillis());
+            if (!updateMachineRow(machineInstance, changes)) {
+                LOGGER.warn("StateMachineInstance[{}] is recovered by an other execution, skip recordStateMachineFinished.",
+                    machineInstance.getId());
+                return;
+            }
+            appendRecord(OP_STATE_MACHINE_UPDATED, changes);
+
+            if (StringUtils.isEmpty(machineInstance.getParentId()) && isFinished(changes)) {
+                markFinished(machineInstance.getId());
+            }
+        }
+    }
+
+    @Override
+    public void recordStateMachineRestarted(StateMachineInstance machineInstance, ProcessContext context) {
+        if (machineInstance != null) {
+            Date gmtUpdated = new Date();
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("id", machineInstance.getId());
+            changes.put("is_running", machineInstance.isRunning());
+            changes.put("gmt_updated", gmtUpdated.getTime());
+            if (!updateMachineRow(machineInstance, changes)) {
+                throw new EngineExecutionException("StateMachineInstance [id:" + machineInstance.getId()
+                    + "] is recovered by an other execution, restart denied", FrameworkErrorCode.OperationDenied);
+            }
+            appendRecord(OP_STATE_MACHINE_UPDATED, changes);
+            machineInstance.setGmtUpdated(gmtUpdated);
+        }
+    }
+
+    @Override
+    public void recordStateStarted(StateInstance stateInstance, ProcessContext context) {
+        if (stateInstance != null) {
+            if (StringUtils.isEmpty(stateInstance.getId()) && seqGenerator != null) {
+                stateInstance.setId(seqGenerator.generate(DomainConstants.SEQ_ENTITY_STATE_INST));
+            }
+            stateInstance.setSerializedInputParams(paramsSerializer.serialize(stateInstance.getInputParams()));
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", stateInstance.getId());
+            row.put("machine_inst_id", stateInstance.getMachineInstanceId());
+            row.put("name", stateInstance.getName());
+            row.put("type", stateInstance.getType());
+            row.put("gmt_started", stateInstance.getGmtStarted().getTime());
+            row.put("service_name", stateInstance.getServiceName());
+            row.put("service_method", stateInstance.getServiceMethod());
+            row.put("service_type", stateInstance.getServiceType());
+            row.put("is_for_update", stateInstance.isForUpdate());
+            row.put("input_params", stateInstance.getSerializedInputParams());
+            row.put("status", stateInstance.getStatus().name());
+            row.put("business_key", stateInstance.getBusinessKey());
+            row.put("state_id_compensated_for", stateInstance.getStateIdCompensatedFor());
+            row.put("state_id_retried_for", stateInstance.getStateIdRetriedFor());
+            row.put("gmt_updated", stateInstance.getGmtUpdated().getTime());
+
+            InstanceLog instanceLog = getInstanceLog(stateInstance.getMachineInstanceId());
+            synchronized (instanceLog) {
+                instanceLog.stateRows.put(stateInstance.getId(), row);
+            }
+            appendRecord(OP_STATE_STARTED, row);
+        }
+    }
+
+    @Override
+    public void recordStateFinished(StateInstance stateInstance, ProcessContext context) {
+        if (stateInstance != null) {
+            stateInstance.setSerializedOutputParams(paramsSerializer.serialize(stateInstance.getOutputParams()));
+            stateInstance.setSerializedException(exceptionSerializer.serialize(stateInstance.getException()));
+
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("id", stateInstance.getId());
+            changes.put("machine_inst_id", stateInstance.getMachineInstanceId());
+            changes.put("gmt_end", stateInstance.getGmtEnd().getTime());
+            changes.put("excep", stateInstance.getException() != null ? stateInstance.getSerializedException() : null);
+            changes.put("status", stateInstance.getStatus().name());
+            changes.put("output_params", stateInstance.getSerializedOutputParams());
+            changes.put("gmt_updated", stateInstance.getGmtEnd().getTime());
+
+            InstanceLog instanceLog = getInstanceLog(stateInstance.getMachineInstanceId());
+            synchronized (instanceLog) {
+                Map<String, Object> row = instanceLog.stateRows.get(stateInstance.getId());
+                if (row == null) {
+                    return;
+                }
+                row.putAll(changes);
+            }
+            appendRecord(OP_STATE_UPDATED, changes);
+        }
+    }
+
+    @Override
+    public StateMachineInstance getStateMachineInstance(String stateMachineInstanceId) {
+        InstanceLog instanceLog = instanceLogMap.get(stateMachineInstanceId);
+        if (instanceLog == null) {
+            return null;
+        }
+        StateMachineInstance stateMachineInstance;
+        synchronized (instanceLog) {
+            stateMachineInstance = toStateMachineInstance(instanceLog.machineRow, true);
+        }
+        List<StateInstance> stateInstanceList = queryStateInstanceListByMachineInstanceId(stateMachineInstanceId);
+        for (StateInstance stateInstance : stateInstanceList) {
+            stateMachineInstance.putStateInstance(stateInstance.getId(), stateInstance);
+        }
+        deserializeParamsAndException(stateMachineInstance);
+        return stateMachineInstance;
+    }
+
+    @Override
+    public StateMachineInstance getStateMachineInstanceByBusinessKey(String businessKey, String tenantId) {
+        if (StringUtils.isEmpty(tenantId)) {
+            tenantId = defaultTenantId;
+        }
+        String machineInstId = businessKeyMap.get(businessKey + "_" + tenantId);
+        return machineInstId != null ? getStateMachineInstance(machineInstId) : null;
+    }
+
+    @Override
+    public List<StateMachineInstance> queryStateMachineInstanceByParentId(String parentId) {
+        List<StateMachineInstance> stateMachineInstances = new ArrayList<>();
+        int index = parentId.lastIndexOf(DomainConstants.SEPERATOR_PARENT_ID);
+        InstanceLog parentInstanceLog = index > 0 ? instanceLogMap.get(parentId.substring(0, index)) : null;
+        if (parentInstanceLog == null) {
+            return stateMachineInstances;
+        }
+        List<String> childInstanceIds;
+        synchronized (parentInstanceLog) {
+            childInstanceIds = new ArrayList<>(parentInstanceLog.childInstanceIds);
+        }
+        for (String childInstanceId : childInstanceIds) {
+            InstanceLog instanceLog = instanceLogMap.get(childInstanceId);
+            if (instanceLog != null) {
+                synchronized (instanceLog) {
+                    if (parentId.equals(instanceLog.machineRow.get("parent_id"))) {
+                        stateMachineInstances.add(toStateMachineInstance(instanceLog.machineRow, false));
+                    }
+                }
+            }
+        }
+        stateMachineInstances.sort(Comparator.comparing(StateMachineInstance::getGmtStarted).reversed());
+        return stateMachineInstances;
+    }
+
+    @Override
+    public StateInstance getStateInstance(String stateInstanceId, String machineInstId) {
+        InstanceLog instanceLog = instanceLogMap.get(machineInstId);
+        if (instanceLog == null) {
+            return null;
+        }
+        StateInstance stateInstance;
+        synchronized (instanceLog) {
+            Map<String, Object> row = instanceLog.stateRows.get(stateInstanceId);
+            if (row == null) {
+                return null;
+            }
+            stateInstance = toStateInstance(row);
+        }
+        deserializeParamsAndException(stateInstance);
+        return stateInstance;
+    }
+
+    @Override
+    public List<StateInstance> queryStateInstanceListByMachineInstanceId(String stateMachineInstanceId) {
+        List<StateInstance> stateInstanceList = new ArrayList<>();
+        InstanceLog instanceLog = instanceLogMap.get(stateMachineInstanceId);
+        if (instanceLog == null) {
+            return stateInstanceList;
+        }
+        synchronized (instanceLog) {
+            for (Map<String, Object> row : instanceLog.stateRows.values()) {
+                stateInstanceList.add(toStateInstance(row));
+            }
+        }
+        stateInstanceList.sort(STATE_INSTANCE_COMPARATOR);
+        for (StateInstance stateInstance : stateInstanceList) {
+            deserializeParamsAndException(stateInstance);
+        }
+        EngineUtils.restoreStateInstanceRelations(stateInstanceList);
+        return stateInstanceList;
+    }
+
+    @Override
+    public void clearUp() {
+    }
+
+    /**
+     * Close the journal
+     */
+    public void destroy() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private boolean putInstanceLog(Map<String, Object> machineRow) {
+        String machineInstId = (String)machineRow.get("id");
+        InstanceLog instanceLog = new InstanceLog(machineRow);
+        if (instanceLogMap.putIfAbsent(machineInstId, instanceLog) != null) {
+            return false;
+        }
+        String businessKey = (String)machineRow.get("business_key");
+        if (StringUtils.isNotEmpty(businessKey)) {
+            businessKeyMap.put(businessKey + "_" + machineRow.get("tenant_id"), machineInstId);
+        }
+        String parentId = (String)machineRow.get("parent_id");
+        int index = parentId != null ? parentId.lastIndexOf(DomainConstants.SEPERATOR_PARENT_ID) : -1;
+        InstanceLog parentInstanceLog = index > 0 ? instanceLogMap.get(parentId.substring(0, index)) : null;
+        if (parentInstanceLog != null) {
+            synchronized (parentInstanceLog) {
+                parentInstanceLog.childInstanceIds.add(machineInstId);
+            }
+        }
+        return true;
+    }
+
+    private InstanceLog getInstanceLog(String machineInstId) {
+        InstanceLog instanceLog = instanceLogMap.get(machineInstId);
+        if (instanceLog == null) {
+            throw new StoreException("StateMachineInstance[" + machineInstId + "] not exists",
+                FrameworkErrorCode.ObjectNotExists);
+        }
+        return instanceLog;
+    }
+
+    /**
+     * update the row if it is not updated by an other execution since the instance was loaded
+     */
+    private boolean updateMachineRow(StateMachineInstance machineInstance, Map<String, Object> changes) {
+        InstanceLog instanceLog = instanceLogMap.get(machineInstance.getId());
+        if (instanceLog == null) {
+            return false;
+        }
+        synchronized (instanceLog) {
+            if (MemoryStateLangStore.toLong(instanceLog.machineRow.get("gmt_updated"))
+                != machineInstance.getGmtUpdated().getTime()) {
+                return false;
+            }
+            instanceLog.machineRow.putAll(changes);
+            return true;
+        }
+    }
+
+    /**
+     * A root instance is finished when the TC would treat its global transaction as finished
+     */
+    private static boolean isFinished(Map<String, Object> machineRow) {
+        if (Boolean.TRUE.equals(machineRow.get("is_running")) || machineRow.get("gmt_end") == null) {
+            return false;
+        }
+        Object compensationStatus = machineRow.get("compensation_status");
+        if (compensationStatus == null) {
+            Object status = machineRow.get("status");
+            return ExecutionStatus.SU.name().equals(status) || ExecutionStatus.FA.name().equals(status);
+        }
+        return ExecutionStatus.SU.name().equals(compensationStatus);
+    }
+
+    private void markFinished(String machineInstId) {
+        if (finishedInstanceCapacity < 0) {
+            return;
+        }
+        finishedInstanceIds.offer(machineInstId);
+        if (finishedInstanceCount.incrementAndGet() > finishedInstanceCapacity) {
+            String evictedInstId = finishedInstanceIds.poll();
+            if (evictedInstId != null) {
+                finishedInstanceCount.decrementAndGet();
+                InstanceLog instanceLog = instanceLogMap.get(evictedInstId);
+                if (instanceLog != null && isFinished(instanceLog.machineRow)) {
+                    removeInstanceLog(evictedInstId, true);
+                }
+            }
+        }
+    }
+
+    private void removeInstanceLog(String machineInstId, boolean appendRecord) {
+        InstanceLog instanceLog = instanceLogMap.remove(machineInstId);
+        if (instanceLog == null) {
+            return;
+        }
+        List<String> childInstanceIds;
+        synchronized (instanceLog) {
+            String businessKey = (String)instanceLog.machineRow.get("business_key");
+            if (StringUtils.isNotEmpty(businessKey)) {
+                businessKeyMap.remove(businessKey + "_" + instanceLog.machineRow.get("tenant_id"), machineInstId);
+            }
+            childInstanceIds = new ArrayList<>(instanceLog.childInstanceIds);
+        }
+        if (appendRecord) {
+            Map<String, Object> record = new HashMap<>();
+            record.put("id", machineInstId);
+            appendRecord(OP_STATE_MACHINE_DELETED, record);
+        }
+        for (String childInstanceId : childInstanceIds) {
+            removeInstanceLog(childInstanceId, appendRecord);
+        }
+    }
+
+    private void appendRecord(String op, Map<String, Object> row) {
+        if (journal == null) {
+            return;
+        }
+        journal.append(toRecord(op, row));
+        if (journal.size() > journalCompactSize) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            journal.rewrite(this::snapshot);
+            long size = journal.size();
+            if (size > journalCompactSize / 2) {
+                // the live state logs take most of the journal, compacting again soon would not help
+                journalCompactSize = size * 2;
+            }
+        } catch (StoreException e) {
+            LOGGER.error("Compact state log journal failed: {}", e.getMessage(), e);
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void snapshot(Consumer<Map<String, Object>> consumer) {
+        for (InstanceLog instanceLog : instanceLogMap.values()) {
+            List<Map<String, Object>> records = new ArrayList<>(instanceLog.stateRows.size() + 1);
+            synchronized (instanceLog) {
+                records.add(toRecord(OP_STATE_MACHINE_STARTED, instanceLog.machineRow));
+                for (Map<String, Object> stateRow : instanceLog.stateRows.values()) {
+                    records.add(toRecord(OP_STATE_STARTED, stateRow));
+                }
+            }
+            records.forEach(consumer);
+        }
+    }
+
+    private static Map<String, Object> toRecord(String op, Map<String, Object> row) {
+        Map<String, Object> record = new HashMap<>(row);
+        record.put(OP, op);
+        Object excep = record.get("excep");
+        if (excep instanceof byte[]) {
+            record.put("excep", Base64.getEncoder().encodeToString((byte[])excep));
+        }
+        return record;
+    }
+
+    private void applyRecord(Map<String, Object> record) {
+        Object op = record.remove(OP);
+        Object excep = record.get("excep");
+        if (excep instanceof String) {
+            record.put("excep", Base64.getDecoder().decode((String)excep));
+        }
+        String id = (String)record.get("id");
+        if (OP_STATE_MACHINE_STARTED.equals(op)) {
+            instanceLogMap.remove(id);
+            putInstanceLog(record);
+        } else if (OP_STATE_MACHINE_UPDATED.equals(op)) {
+            InstanceLog instanceLog = instanceLogMap.get(id);
+            if (instanceLog != null) {
+                instanceLog.machineRow.putAll(record);
+            }
+        } else if (OP_STATE_MACHINE_DELETED.equals(op)) {
+            removeInstanceLog(id, false);
+        } else if (OP_STATE_STARTED.equals(op) || OP_STATE_UPDATED.equals(op)) {
+            InstanceLog instanceLog = instanceLogMap.get((String)record.get("machine_inst_id"));
+            if (instanceLog != null) {
+                Map<String, Object> row = instanceLog.stateRows.get(id);
+                if (row == null || OP_STATE_STARTED.equals(op)) {
+                    instanceLog.stateRows.put(id, record);
+                } else {
+                    row.putAll(record);
+                }
+            }
+        }
+    }
+
+    private static StateMachineInstance toStateMachineInstance(Map<String, Object> row, boolean withParams) {
+        StateMachineInstanceImpl stateMachineInstance = new StateMachineInstanceImpl();
+        stateMachineInstance.setId((String)row.get("id"));
+        stateMachineInstance.setMachineId((String)row.get("machine_id"));
+        stateMachineInstance.setTenantId((String)row.get("tenant_id"));
+        stateMachineInstance.setParentId((String)row.get("parent_id"));
+        stateMachineInstance.setBusinessKey((String)row.get("business_key"));
+        stateMachineInstance.setGmtStarted(toDate(row.get("gmt_started")));
+        stateMachineInstance.setGmtEnd(toDate(row.get("gmt_end")));
+        stateMachineInstance.setStatus(ExecutionStatus.valueOf((String)row.get("status")));
+        String compensationStatusName = (String)row.get("compensation_status");
+        if (StringUtils.isNotEmpty(compensationStatusName)) {
+            stateMachineInstance.setCompensationStatus(ExecutionStatus.valueOf(compensationStatusName));
+        }
+        stateMachineInstance.setRunning(Boolean.TRUE.equals(row.get("is_running")));
+        stateMachineInstance.setGmtUpdated(toDate(row.get("gmt_updated")));
+        if (withParams) {
+            stateMachineInstance.setSerializedStartParams(row.get("start_params"));
+            stateMachineInstance.setSerializedEndParams(row.get("end_params"));
+            stateMachineInstance.setSerializedException(row.get("excep"));
+        }
+        return stateMachineInstance;
+    }
+
+    private static StateInstance toStateInstance(Map<String, Object> row) {
+        StateInstanceImpl stateInstance = new StateInstanceImpl();
+        stateInstance.setId((String)row.get("id"));
+        stateInstance.setMachineInstanceId((String)row.get("machine_inst_id"));
+        stateInstance.setName((String)row.get("name"));
+        stateInstance.setType((String)row.get("type"));
+        stateInstance.setBusinessKey((String)row.get("business_key"));
+        stateInstance.setStatus(ExecutionStatus.valueOf((String)row.get("status")));
+        stateInstance.setGmtStarted(toDate(row.get("gmt_started")));
+        stateInstance.setGmtEnd(toDate(row.get("gmt_end")));
+        stateInstance.setServiceName((String)row.get("service_name"));
+        stateInstance.setServiceMethod((String)row.get("service_method"));
+        stateInstance.setServiceType((String)row.get("service_type"));
+        stateInstance.setForUpdate(Boolean.TRUE.equals(row.get("is_for_update")));
+        stateInstance.setStateIdCompensatedFor((String)row.get("state_id_compensated_for"));
+        stateInstance.setStateIdRetriedFor((String)row.get("state_id_retried_for"));
+        stateInstance.setSerializedInputParams(row.get("input_params"));
+        stateInstance.setSerializedOutputParams(row.get("output_params"));
+        stateInstance.setSerializedException(row.get("excep"));
+        return stateInstance;
+    }
+
+    private static Date toDate(Object value) {
+        return value != null ? new Date(((Number)value).longValue()) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deserializeParamsAndException(StateMachineInstance stateMachineInstance) {
+        byte[] serializedException = (byte[])stateMachineInstance.getSerializedException();
+        if (serializedException != null) {
+            stateMachineInstance.setException(exceptionSerializer.deserialize(serializedException));
+        }
+        String serializedStartParams = (String)stateMachineInstance.getSerializedStartParams();
+        if (StringUtils.isNotEmpty(serializedStartParams)) {
+            stateMachineInstance.setStartParams((Map<String, Object>)paramsSerializer.deserialize(serializedStartParams));
+        }
+        String serializedEndParams = (String)stateMachineInstance.getSerializedEndParams();
+        if (StringUtils.isNotEmpty(serializedEndParams)) {
+            stateMachineInstance.setEndParams((Map<String, Object>)paramsSerializer.deserialize(serializedEndParams));
+        }
+    }
+
+    private void deserializeParamsAndException(StateInstance stateInstance) {
+        String inputParams = (String)stateInstance.getSerializedInputParams();
+        if (StringUtils.isNotEmpty(inputParams)) {
+            stateInstance.setInputParams(paramsSerializer.deserialize(inputParams));
+        }
+        String outputParams = (String)stateInstance.getSerializedOutputParams();
+        if (StringUtils.isNotEmpty(outputParams)) {
+            stateInstance.setOutputParams(paramsSerializer.deserialize(outputParams));
+        }
+        byte[] serializedException = (byte[])stateInstance.getSerializedException();
+        if (serializedException != null) {
+            stateInstance.setException(exceptionSerializer.deserialize(serializedException));
+        }
+    }
+
+    public Serializer<Object, String> getParamsSerializer() {
+        return paramsSerializer;
+    }
+
+    public void setParamsSerializer(Serializer<Object, String> paramsSerializer) {
+        this.paramsSerializer = paramsSerializer;
+    }
+
+    public Serializer<Exception, byte[]> getExceptionSerializer() {
+        return exceptionSerializer;
+    }
+
+    public void setExceptionSerializer(Serializer<Exception, byte[]> exceptionSerializer) {
+        this.exceptionSerializer = exceptionSerializer;
+    }
+
+    public String getDefaultTenantId() {
+        return defaultTenantId;
+    }
+
+    public void setDefaultTenantId(String defaultTenantId) {
+        this.defaultTenantId = defaultTenantId;
+    }
+
+    public SeqGenerator getSeqGenerator() {
+        return seqGenerator;
+    }
+
+    public void setSeqGenerator(SeqGenerator seqGenerator) {
+        this.seqGenerator = seqGenerator;
+    }
+
+    public StoreJournal getJournal() {
+        return journal;
+    }
+
+    public void setJournal(StoreJournal journal) {
+        this.journal = journal;
+    }
+
+    public int getFinishedInstanceCapacity() {
+        return finishedInstanceCapacity;
+    }
+
+    public void setFinishedInstanceCapacity(int finishedInstanceCapacity) {
+        this.finishedInstanceCapacity = finishedInstanceCapacity;
+    }
+
+    public long getJournalCompactSize() {
+        return journalCompactSize;
+    }
+
+    public void setJournalCompactSize(long journalCompactSize) {
+        this.journalCompactSize = journalCompactSize;
+    }
+
+    /**
+     * The rows of a state machine instance and its states, guarded by itself
+     */
+    private static class InstanceLog {
+        private final Map<String, Object> machineRow;
+        private final Map<String/* stateInstId */, Map<String, Object>> stateRows = new LinkedHashMap<>();
+        private final List<String> childInstanceIds = new ArrayList<>();
+
+        InstanceLog(Map<String, Object> machineRow) {
+            this.machineRow = machineRow;
+        }
+    }
+}
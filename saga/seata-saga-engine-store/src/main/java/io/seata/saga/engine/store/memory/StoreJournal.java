@@ -0,0 +1,186 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.memory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.common.exception.StoreException;
+import io.seata.saga.statelang.parser.JsonParser;
+import io.seata.saga.statelang.parser.JsonParserFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only journal file of a memory store, one JSON record per line.
+ * Records are flushed to the OS on every append, so they survive a crash of the process,
+ * and optionally forced to the disk.
+ *
+ * @author agent
+ */
+public class StoreJournal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StoreJournal.class);
+
+    private final File file;
+
+    private final JsonParser jsonParser;
+
+    private final boolean forceOnWrite;
+
+    private FileOutputStream outputStream;
+
+    private Writer writer;
+
+    private long size;
+
+    public StoreJournal(File file, String jsonParserName, boolean forceOnWrite) {
+        this.file = file;
+        this.jsonParser = JsonParserFactory.getJsonParser(jsonParserName);
+        if (this.jsonParser == null) {
+            throw new IllegalArgumentException("Cannot find JsonParer by name: " + jsonParserName);
+        }
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    /**
+     * Read all the records of the journal, a broken record, e.g. the last one written during a crash, is skipped
+     *
+     * @param consumer the record consumer
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void replay(Consumer<Map<String, Object>> consumer) {
+        if (!file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                Map<String, Object> record;
+                try {
+                    record = jsonParser.parse(line, Map.class, true);
+                } catch (Exception e) {
+                    LOGGER.warn("Skip broken record of journal[{}]: {}", file, line, e);
+                    continue;
+                }
+                consumer.accept(record);
+            }
+        } catch (IOException e) {
+            throw new StoreException(e, "Replay journal[" + file + "] failed", FrameworkErrorCode.UnknownAppError);
+        }
+    }
+
+    public synchronized void append(Map<String, Object> record) {
+        try {
+            ensureOpen();
+            String line = jsonParser.toJsonString(record, true, false);
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+            if (forceOnWrite) {
+                outputStream.getChannel().force(false);
+            }
+            size += line.length() + 1;
+        } catch (IOException e) {
+            throw new StoreException(e, "Append journal[" + file + "] failed", FrameworkErrorCode.UnknownAppError);
+        }
+    }
+
+    /**
+     * Replace the journal with the records of the current state of the store
+     *
+     * @param snapshot writes the records to the given consumer
+     */
+    public synchronized void rewrite(Consumer<Consumer<Map<String, Object>>> snapshot) {
+        File tmpFile = new File(file.getPath() + ".tmp");
+        try {
+            ensureParentDirectory();
+        } catch (IOException e) {
+            throw new StoreException(e, "Rewrite journal[" + file + "] failed", FrameworkErrorCode.UnknownAppError);
+        }
+        try (FileOutputStream tmpOutputStream = new FileOutputStream(tmpFile);
+             Writer tmpWriter = new BufferedWriter(new OutputStreamWriter(tmpOutputStream, StandardCharsets.UTF_8))) {
+            snapshot.accept(record -> {
+                try {
+                    tmpWriter.write(jsonParser.toJsonString(record, true, false));
+                    tmpWriter.write('\n');
+                } catch (IOException e) {
+                    throw new StoreException(e, "Write journal[" + tmpFile + "] failed",
+                        FrameworkErrorCode.UnknownAppError);
+                }
+            });
+            tmpWriter.flush();
+            tmpOutputStream.getChannel().force(true);
+        } catch (IOException e) {
+            throw new StoreException(e, "Rewrite journal[" + file + "] failed", FrameworkErrorCode.UnknownAppError);
+        }
+        close();
+        try {
+            Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new StoreException(e, "Rewrite journal[" + file + "] failed", FrameworkErrorCode.UnknownAppError);
+        }
+    }
+
+    public synchronized long size() {
+        return writer != null ? size : file.length();
+    }
+
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("Close journal[{}] failed", file, e);
+            }
+            writer = null;
+            outputStream = null;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (writer == null) {
+            ensureParentDirectory();
+            outputStream = new FileOutputStream(file, true);
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            size = file.length();
+        }
+    }
+
+    private void ensureParentDirectory() throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory: " + parent);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+
+import io.seata.common.exception.StoreException;
+import io.seata.saga.engine.StateMachineConfig;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import io.seata.saga.statelang.domain.impl.StateMachineInstanceImpl;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * The write-behind mode of DbAndReportTcStateLogStore
+ *
+ * @author agent
+ */
+public class DbAndReportTcStateLogStoreTest {
+
+    private static final String MACHINE_INST_ID = "machineInst1";
+
+    private JdbcDataSource dataSource;
+
+    private DbAndReportTcStateLogStore store;
+
+    private ProcessContext context;
+
+    private StateMachineInstanceImpl machineInstance;
+
+    @BeforeEach
+    public void init() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:saga_state_log;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        createTables();
+
+        store = new DbAndReportTcStateLogStore();
+        store.setDataSource(dataSource);
+        store.setDbType("h2");
+        store.setTablePrefix("seata_");
+        store.setWriteBehind(true);
+        store.setFlushInterval(60000L);
+
+        context = new ProcessContextImpl();
+        context.setVariable(DomainConstants.VAR_NAME_STATEMACHINE_CONFIG, Mockito.mock(StateMachineConfig.class));
+
+        machineInstance = new StateMachineInstanceImpl();
+        machineInstance.setId(MACHINE_INST_ID);
+        machineInstance.setMachineId("machine1");
+        machineInstance.setTenantId("000001");
+        machineInstance.setParentId("parent");
+        machineInstance.setStatus(ExecutionStatus.RU);
+        machineInstance.setRunning(true);
+        Date now = new Date();
+        machineInstance.setGmtStarted(now);
+        machineInstance.setGmtUpdated(now);
+        store.recordStateMachineStarted(machineInstance, context);
+        insertState("state1");
+        insertState("state2");
+    }
+
+    @AfterEach
+    public void destroy() throws SQLException {
+        store.destroy();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("drop table if exists seata_state_inst");
+            st.execute("drop table if exists seata_state_machine_inst");
+        }
+    }
+
+    @Test
+    public void testBatchWithStateMachineFinished() throws SQLException {
+        store.recordStateFinished(finishedState("state1"), context);
+        store.recordStateFinished(finishedState("state2"), context);
+        Assertions.assertEquals("RU", queryStateStatus("state1"));
+        Assertions.assertEquals(1, store.getPendingInstanceCount());
+
+        finishMachine();
+        store.recordStateMachineFinished(machineInstance, context);
+        Assertions.assertEquals("SU", queryStateStatus("state1"));
+        Assertions.assertEquals("SU", queryStateStatus("state2"));
+        Assertions.assertEquals("SU", queryMachineStatus());
+        Assertions.assertEquals(0, store.getPendingInstanceCount());
+    }
+
+    @Test
+    public void testBatchFailureKeepsPendingStateLogs() throws SQLException {
+        store.recordStateFinished(finishedState("state1"), context);
+        finishMachine();
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("alter table seata_state_machine_inst rename to seata_state_machine_inst_bak");
+        }
+        Assertions.assertThrows(StoreException.class, () -> store.recordStateMachineFinished(machineInstance, context));
+        // the batch is rolled back together with the failed statement, and kept for the next write
+        Assertions.assertEquals("RU", queryStateStatus("state1"));
+        Assertions.assertEquals(1, store.getPendingInstanceCount());
+
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("alter table seata_state_machine_inst_bak rename to seata_state_machine_inst");
+        }
+        store.recordStateMachineFinished(machineInstance, context);
+        Assertions.assertEquals("SU", queryStateStatus("state1"));
+        Assertions.assertEquals("SU", queryMachineStatus());
+        Assertions.assertEquals(0, store.getPendingInstanceCount());
+    }
+
+    @Test
+    public void testTimerFlush() throws Exception {
+        store.setFlushInterval(50L);
+        store.recordStateFinished(finishedState("state1"), context);
+        waitForStatus("state1", "SU");
+        // the instance suspended after the flush does not keep its buffer
+        waitForPendingInstanceCount(0);
+
+        store.recordStateFinished(finishedState("state2"), context);
+        Assertions.assertEquals(1, store.getPendingInstanceCount());
+        waitForStatus("state2", "SU");
+        waitForPendingInstanceCount(0);
+    }
+
+    @Test
+    public void testQueryReleasesPendingStateLogs() throws SQLException {
+        store.recordStateFinished(finishedState("state1"), context);
+        StateInstance stateInstance = store.getStateInstance("state1", MACHINE_INST_ID);
+        Assertions.assertEquals(ExecutionStatus.SU, stateInstance.getStatus());
+        Assertions.assertEquals(0, store.getPendingInstanceCount());
+    }
+
+    @Test
+    public void testDestroyFlushes() throws SQLException {
+        store.recordStateFinished(finishedState("state1"), context);
+        store.recordStateFinished(finishedState("state2"), context);
+        store.destroy();
+        Assertions.assertEquals("SU", queryStateStatus("state1"));
+        Assertions.assertEquals("SU", queryStateStatus("state2"));
+        Assertions.assertEquals(0, store.getPendingInstanceCount());
+    }
+
+    private void finishMachine() {
+        machineInstance.setStatus(ExecutionStatus.SU);
+        machineInstance.setRunning(false);
+        machineInstance.setGmtEnd(new Date());
+    }
+
+    private StateInstance finishedState(String id) {
+        StateInstanceImpl stateInstance = new StateInstanceImpl();
+        stateInstance.setId(id);
+        stateInstance.setMachineInstanceId(MACHINE_INST_ID);
+        stateInstance.setStatus(ExecutionStatus.SU);
+        stateInstance.setGmtEnd(new Date());
+        return stateInstance;
+    }
+
+    private void waitForStatus(String id, String status) throws Exception {
+        for (int i = 0; i < 100 && !status.equals(queryStateStatus(id)); i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(status, queryStateStatus(id));
+    }
+
+    private void waitForPendingInstanceCount(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && store.getPendingInstanceCount() != count; i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(count, store.getPendingInstanceCount());
+    }
+
+    private void createTables() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("create table seata_state_machine_inst (id varchar(128) not null, machine_id varchar(32) not null,"
+                + " tenant_id varchar(32) not null, parent_id varchar(128), gmt_started timestamp(3) not null,"
+                + " business_key varchar(48), start_params clob, gmt_end timestamp(3), excep blob, end_params clob,"
+                + " status varchar(2), compensation_status varchar(2), is_running tinyint(1),"
+                + " gmt_updated timestamp(3) not null, primary key (id))");
+            st.execute("create table seata_state_inst (id varchar(48) not null, machine_inst_id varchar(128) not null,"
+                + " name varchar(128) not null, type varchar(20), service_name varchar(128),"
+                + " service_method varchar(128), service_type varchar(16), business_key varchar(48),"
+                + " state_id_compensated_for varchar(50), state_id_retried_for varchar(50),"
+                + " gmt_started timestamp(3) not null, is_for_update tinyint(1), input_params clob, output_params clob,"
+                + " status varchar(2) not null, excep blob, gmt_updated timestamp(3), gmt_end timestamp(3),"
+                + " primary key (id, machine_inst_id))");
+        }
+    }
+
+    private void insertState(String id) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(
+            "insert into seata_state_inst (id, machine_inst_id, name, gmt_started, status, gmt_updated)"
+                + " values (?, ?, ?, ?, 'RU', ?)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            ps.setString(1, id);
+            ps.setString(2, MACHINE_INST_ID);
+            ps.setString(3, id);
+            ps.setTimestamp(4, now);
+            ps.setTimestamp(5, now);
+            ps.executeUpdate();
+        }
+    }
+
+    private String queryStateStatus(String id) throws SQLException {
+        return queryString("select status from seata_state_inst where id = '" + id + "'");
+    }
+
+    private String queryMachineStatus() throws SQLException {
+        return queryString("select status from seata_state_machine_inst where id = '" + MACHINE_INST_ID + "'");
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.expression.spel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.seata.saga.engine.expression.Expression;
+
+/**
+ * Expression of a path of map keys, such as "[a]" or "[a]['b']", which is the most common form of the parameter
+ * mappings and conditions. It reads the keys from the maps directly instead of going through the SpEL interpreter,
+ * and delegates to the SpEL expression when a step of the path is not a map.
+ *
+ * @author agent
+ */
+public class MapPathExpression implements Expression {
+
+    private static final String KEY = "\\[(?:([A-Za-z_][A-Za-z0-9_]*)|'([^'\\\\]*)')\\]";
+
+    private static final Pattern MAP_PATH_PATTERN = Pattern.compile("^(?:" + KEY + ")+$");
+
+    private static final Pattern KEY_PATTERN = Pattern.compile(KEY);
+
+    private final String[] keys;
+
+    private final Expression delegate;
+
+    public MapPathExpression(String expression, Expression delegate) {
+        List<String> keyList = new ArrayList<>();
+        Matcher matcher = KEY_PATTERN.matcher(expression.trim());
+        while (matcher.find()) {
+            keyList.add(matcher.group(1) != null ? matcher.group(1) : matcher.group(2));
+        }
+        this.keys = keyList.toArray(new String[0]);
+        this.delegate = delegate;
+    }
+
+    public static boolean isMapPath(String expression) {
+        return expression != null && MAP_PATH_PATTERN.matcher(expression.trim()).matches();
+    }
+
+    @Override
+    public Object getValue(Object elContext) {
+        Object value = elContext;
+        for (String key : keys) {
+            if (!(value instanceof Map)) {
+                return delegate.getValue(elContext);
+            }
+            value = ((Map<?, ?>)value).get(key);
+        }
+        return value;
+    }
+
+    @Override
+    public void setValue(Object value, Object elContext) {
+        delegate.setValue(value, elContext);
+    }
+
+    @Override
+    public String getExpressionString() {
+        return delegate.getExpressionString();
+    }
+}
@@ -15,6 +15,10 @@
  */
 package io.seata.saga.engine.expression.spel;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
 import io.seata.saga.engine.expression.Expression;
 import io.seata.saga.engine.expression.ExpressionFactory;
 import org.springframework.beans.BeansException;
@@ -24,6 +28,8 @@ import org.springframework.expression.AccessException;
 import org.springframework.expression.BeanResolver;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -35,15 +41,49 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
  */
 public class SpringELExpressionFactory implements ExpressionFactory, ApplicationContextAware {
 
+    /**
+     * Assignment, increment and decrement operators
+     */
+    private static final Pattern SIDE_EFFECT_OPERATOR_PATTERN = Pattern.compile("(?<![=!<>])=(?!=)|\\+\\+|--");
+
     ExpressionParser parser = new SpelExpressionParser();
+    /**
+     * Parser for the expressions without any method invocation or bean reference, they are compiled to bytecode
+     * after a few interpreted runs, and fall back to be interpreted if the compiled code fails
+     */
+    ExpressionParser compilingParser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, null));
     ApplicationContext applicationContext;
 
+    /**
+     * Parsed expressions are immutable and thread safe, so the states of all the state machine versions share them
+     */
+    private final Map<String, Expression> expressionCache = new ConcurrentHashMap<>();
+
     @Override
     public Expression createExpression(String expression) {
-        org.springframework.expression.Expression defaultExpression = parser.parseExpression(expression);
+        return expressionCache.computeIfAbsent(expression, this::parseExpression);
+    }
+
+    protected Expression parseExpression(String expression) {
+        ExpressionParser expressionParser = isSideEffectFree(expression) ? compilingParser : parser;
+        org.springframework.expression.Expression defaultExpression = expressionParser.parseExpression(expression);
         EvaluationContext evaluationContext = ((SpelExpression)defaultExpression).getEvaluationContext();
         ((StandardEvaluationContext)evaluationContext).setBeanResolver(new AppContextBeanResolver());
-        return new SpringELExpression(defaultExpression);
+        SpringELExpression springELExpression = new SpringELExpression(defaultExpression);
+        if (MapPathExpression.isMapPath(expression)) {
+            return new MapPathExpression(expression, springELExpression);
+        }
+        return springELExpression;
+    }
+
+    /**
+     * A compiled expression that fails is evaluated again by the interpreter in MIXED mode, so only the expressions
+     * that cannot invoke any method are compiled.
+     */
+    private static boolean isSideEffectFree(String expression) {
+        return expression.indexOf('(') < 0 && expression.indexOf('@') < 0
+            && !SIDE_EFFECT_OPERATOR_PATTERN.matcher(expression).find();
     }
 
     @Override
@@ -82,6 +82,7 @@ public class LoopStartStateHandler implements StateHandler {
                 LoopTaskUtils.createLoopCounterContext(context);
                 totalInstances = loopContextHolder.getNrOfInstances().get();
             }
+            LoopTaskUtils.indexExecutedStateInstances(context, instruction.getState(context).getName());
             maxInstances = Math.min(loop.getParallel(), totalInstances);
             semaphore = new Semaphore(maxInstances);
             context.setVariable(DomainConstants.LOOP_SEMAPHORE, semaphore);
@@ -124,7 +124,7 @@ public class ServiceTaskHandlerInterceptor implements StateHandlerInterceptor {
         Object isForCompensation = state.isForCompensation();
         if (context.hasVariable(DomainConstants.VAR_NAME_IS_LOOP_STATE) && !Boolean.TRUE.equals(isForCompensation)) {
             stateInstance.setName(LoopTaskUtils.generateLoopStateName(context, state.getName()));
-            StateInstance lastRetriedStateInstance = LoopTaskUtils.findOutLastRetriedStateInstance(stateMachineInstance,
+            StateInstance lastRetriedStateInstance = LoopTaskUtils.findOutLastRetriedStateInstance(context,
                 stateInstance.getName());
             stateInstance.setStateIdRetriedFor(
                 lastRetriedStateInstance == null ? null : lastRetriedStateInstance.getId());
@@ -17,6 +17,7 @@ package io.seata.saga.engine.pcext.utils;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Semaphore;
@@ -30,6 +31,7 @@ import io.seata.saga.engine.pcext.handlers.ScriptTaskStateHandler;
 import io.seata.saga.proctrl.HierarchicalProcessContext;
 import io.seata.saga.proctrl.ProcessContext;
 import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.ExecutionStatus;
 import io.seata.saga.statelang.domain.StateInstance;
 import io.seata.saga.statelang.domain.StateMachineInstance;
 import io.seata.saga.statelang.domain.TaskState;
@@ -55,6 +57,61 @@ public class EngineUtils {
         return stateInstance.getMachineInstanceId() + DomainConstants.SEPERATOR_PARENT_ID + stateInstance.getId();
     }
 
+    /**
+     * restore the relations of the state instances loaded from a state log store
+     *
+     * @param stateInstanceList the state instances ordered by started time
+     */
+    public static void restoreStateInstanceRelations(List<StateInstance> stateInstanceList) {
+        if (CollectionUtils.isEmpty(stateInstanceList)) {
+            return;
+        }
+        StateInstance lastStateInstance = CollectionUtils.getLast(stateInstanceList);
+        if (lastStateInstance.getGmtEnd() == null) {
+            lastStateInstance.setStatus(ExecutionStatus.RU);
+        }
+        Map<String, StateInstance> originStateMap = new HashMap<>();
+        Map<String/* originStateId */, StateInstance/* compensatedState */> compensatedStateMap = new HashMap<>();
+        Map<String/* originStateId */, StateInstance/* retriedState */> retriedStateMap = new HashMap<>();
+        for (StateInstance tempStateInstance : stateInstanceList) {
+            if (StringUtils.isNotBlank(tempStateInstance.getStateIdCompensatedFor())) {
+                putLastStateToMap(compensatedStateMap, tempStateInstance, tempStateInstance.getStateIdCompensatedFor());
+            } else {
+                if (StringUtils.isNotBlank(tempStateInstance.getStateIdRetriedFor())) {
+                    putLastStateToMap(retriedStateMap, tempStateInstance, tempStateInstance.getStateIdRetriedFor());
+                }
+                originStateMap.put(tempStateInstance.getId(), tempStateInstance);
+            }
+        }
+
+        if (compensatedStateMap.size() != 0) {
+            for (StateInstance origState : originStateMap.values()) {
+                origState.setCompensationState(compensatedStateMap.get(origState.getId()));
+            }
+        }
+
+        if (retriedStateMap.size() != 0) {
+            for (StateInstance origState : originStateMap.values()) {
+                if (retriedStateMap.containsKey(origState.getId())) {
+                    origState.setIgnoreStatus(true);
+                }
+            }
+        }
+    }
+
+    private static void putLastStateToMap(Map<String, StateInstance> resultMap, StateInstance newState, String key) {
+        if (!resultMap.containsKey(key)) {
+            resultMap.put(key, newState);
+        } else if (newState.getGmtEnd().after(resultMap.get(key).getGmtEnd())) {
+            StateInstance oldState = resultMap.remove(key);
+            oldState.setIgnoreStatus(true);
+
+            resultMap.put(key, newState);
+        } else {
+            newState.setIgnoreStatus(true);
+        }
+    }
+
     /**
      * get origin state name without suffix like fork
      *
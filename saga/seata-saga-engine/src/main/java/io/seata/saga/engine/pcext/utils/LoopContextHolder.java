@@ -15,12 +15,18 @@
  */
 package io.seata.saga.engine.pcext.utils;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.seata.saga.proctrl.ProcessContext;
 import io.seata.saga.statelang.domain.DomainConstants;
+import io.seata.saga.statelang.domain.StateInstance;
 
 /**
  * Loop Context Holder for Loop Attributes
@@ -36,7 +42,8 @@ public class LoopContextHolder {
     private volatile boolean completionConditionSatisfied = false;
     private final Stack<Integer> loopCounterStack = new Stack<>();
     private final Stack<Integer> forwardCounterStack = new Stack<>();
-    private Collection collection;
+    private List collection;
+    private Map<String, StateInstance> executedStateInstances = Collections.emptyMap();
 
     public static LoopContextHolder getCurrent(ProcessContext context, boolean forceCreate) {
         LoopContextHolder loopContextHolder = (LoopContextHolder)context.getVariable(
@@ -99,7 +106,33 @@ public class LoopContextHolder {
         return collection;
     }
 
+    /**
+     * Keep the collection as a random access list, so each loop instance gets its element in constant time
+     *
+     * @param collection the loop collection
+     */
     public void setCollection(Collection collection) {
-        this.collection = collection;
+        if (collection instanceof List && collection instanceof RandomAccess) {
+            this.collection = (List)collection;
+        } else {
+            this.collection = new ArrayList(collection);
+        }
+    }
+
+    public Object getElement(int loopCounter) {
+        return collection.get(loopCounter);
+    }
+
+    /**
+     * Last executed state instances of the loop state before this loop started, keyed by loop state name
+     *
+     * @return the executed state instances
+     */
+    public Map<String, StateInstance> getExecutedStateInstances() {
+        return executedStateInstances;
+    }
+
+    public void setExecutedStateInstances(Map<String, StateInstance> executedStateInstances) {
+        this.executedStateInstances = executedStateInstances;
     }
 }
@@ -0,0 +1,94 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.pcext.utils;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Context variables of a loop instance.
+ * Reads fall through to the shared state machine context, writes stay local to the loop instance,
+ * so starting a loop instance does not copy the whole context.
+ *
+ * @author agent
+ */
+public class LoopContextVariables extends AbstractMap<String, Object> {
+
+    private final Map<String, Object> parent;
+
+    private final Map<String, Object> local = new ConcurrentHashMap<>();
+
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+
+    public LoopContextVariables(Map<String, Object> parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = local.get(key);
+        if (value != null || removed.contains(key)) {
+            return value;
+        }
+        return parent.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return local.containsKey(key) || (!removed.contains(key) && parent.containsKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Object previous = get(key);
+        local.put(key, value);
+        removed.remove(key);
+        return previous;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        Object previous = get(key);
+        local.remove(key);
+        if (key instanceof String && parent.containsKey(key)) {
+            removed.add((String)key);
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        removed.addAll(parent.keySet());
+    }
+
+    /**
+     * A snapshot of the merged variables, iterating the context is rare compared with looking values up
+     *
+     * @return the entry set
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> merged = new HashMap<>(parent);
+        merged.keySet().removeAll(removed);
+        merged.putAll(local);
+        return Collections.unmodifiableMap(merged).entrySet();
+    }
+}
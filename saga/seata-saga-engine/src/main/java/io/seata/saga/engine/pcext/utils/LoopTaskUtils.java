@@ -18,6 +18,7 @@ package io.seata.saga.engine.pcext.utils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EmptyStackException;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -140,21 +141,27 @@ public class LoopTaskUtils {
         LoopContextHolder loopContextHolder = LoopContextHolder.getCurrent(context, true);
         Collection collection = loopContextHolder.getCollection();
 
-        LinkedList<Integer> list = new LinkedList<>();
-        for (int i = 0; i < collection.size(); i++) {
-            list.addFirst(i);
-        }
+        boolean[] executed = new boolean[collection.size()];
         int executedNumber = 0;
         LinkedList<Integer> failEndList = new LinkedList<>();
         for (StateInstance stateInstance : forwardStateList) {
             if (!stateInstance.isIgnoreStatus()) {
+                int loopCounter = reloadLoopCounter(stateInstance.getName());
                 if (ExecutionStatus.SU.equals(stateInstance.getStatus())) {
                     executedNumber += 1;
                 } else {
                     stateInstance.setIgnoreStatus(true);
-                    failEndList.addFirst(reloadLoopCounter(stateInstance.getName()));
+                    failEndList.addFirst(loopCounter);
+                }
+                if (loopCounter >= 0 && loopCounter < executed.length) {
+                    executed[loopCounter] = true;
                 }
-                list.remove(Integer.valueOf(reloadLoopCounter(stateInstance.getName())));
+            }
+        }
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = 0; i < executed.length; i++) {
+            if (!executed[i]) {
+                list.addFirst(i);
             }
         }
 
@@ -195,6 +202,44 @@ public class LoopTaskUtils {
         return lastForwardState;
     }
 
+    /**
+     * index the last executed state instance of each loop instance, so loop instances need not scan the state list
+     *
+     * @param context the process context
+     * @param loopStateName the loop state name
+     */
+    public static void indexExecutedStateInstances(ProcessContext context, String loopStateName) {
+        StateMachineInstance stateMachineInstance = (StateMachineInstance)context.getVariable(
+            DomainConstants.VAR_NAME_STATEMACHINE_INST);
+
+        Map<String, StateInstance> executedStateInstances = new HashMap<>();
+        List<StateInstance> actList = stateMachineInstance.getStateList();
+        synchronized (actList) {
+            for (StateInstance stateInstance : actList) {
+                if (loopStateName.equals(EngineUtils.getOriginStateName(stateInstance))) {
+                    executedStateInstances.put(stateInstance.getName(), stateInstance);
+                }
+            }
+        }
+        LoopContextHolder.getCurrent(context, true).setExecutedStateInstances(executedStateInstances);
+    }
+
+    /**
+     * find out the last executed state instance of a loop instance
+     *
+     * @param context the process context
+     * @param stateName the loop state name
+     * @return the state instance, {@literal null} if not executed before
+     */
+    public static StateInstance findOutLastRetriedStateInstance(ProcessContext context, String stateName) {
+        LoopContextHolder loopContextHolder = LoopContextHolder.getCurrent(context, false);
+        if (null != loopContextHolder) {
+            return loopContextHolder.getExecutedStateInstances().get(stateName);
+        }
+        return findOutLastRetriedStateInstance(
+            (StateMachineInstance)context.getVariable(DomainConstants.VAR_NAME_STATEMACHINE_INST), stateName);
+    }
+
     public static StateInstance findOutLastRetriedStateInstance(StateMachineInstance stateMachineInstance,
                                                                 String stateName) {
         List<StateInstance> actList = stateMachineInstance.getStateList();
@@ -0,0 +1,21 @@
+-- the undo_log table partitioned by day, used with client.undo.logTablePartition = true.
+-- the expired partitions are dropped instead of deleting the rows, and the partitions of the next days are split out of
+-- the pmax partition by the RM when the TC triggers the undo log delete.
+-- NOTE: the unique key has to include the partition column log_date, so the defense of the undo log is guaranteed only
+-- when the branch and its rollback happen on the same day.
+CREATE TABLE IF NOT EXISTS `undo_log`
+(
+    `branch_id`     BIGINT       NOT NULL COMMENT 'branch transaction id',
+    `xid`           VARCHAR(128) NOT NULL COMMENT 'global transaction id',
+    `context`       VARCHAR(128) NOT NULL COMMENT 'undo_log context,such as serialization',
+    `rollback_info` LONGBLOB     NOT NULL COMMENT 'rollback info',
+    `log_status`    INT(11)      NOT NULL COMMENT '0:normal status,1:defense status',
+    `log_created`   DATETIME(6)  NOT NULL COMMENT 'create datetime',
+    `log_modified`  DATETIME(6)  NOT NULL COMMENT 'modify datetime',
+    `log_date`      DATE AS (DATE(`log_created`)) STORED COMMENT 'create date, the partition column',
+    UNIQUE KEY `ux_undo_log` (`xid`, `branch_id`, `log_date`),
+    KEY `ix_log_created` (`log_created`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COMMENT ='AT transaction mode undo table'
+PARTITION BY RANGE COLUMNS (`log_date`) (
+    PARTITION `pmax` VALUES LESS THAN (MAXVALUE)
+);
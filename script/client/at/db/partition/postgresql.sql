@@ -0,0 +1,33 @@
+-- the undo_log table partitioned by day, used with client.undo.logTablePartition = true.
+-- the expired partitions undo_log_pyyyyMMdd are dropped instead of deleting the rows, and the partitions of the next
+-- days are created by the RM when the TC triggers the undo log delete, the other rows are kept in undo_log_default.
+-- NOTE: the unique constraint has to include the partition column log_date, so the defense of the undo log is
+-- guaranteed only when the branch and its rollback happen on the same day.
+CREATE TABLE IF NOT EXISTS public.undo_log
+(
+    id            SERIAL       NOT NULL,
+    branch_id     BIGINT       NOT NULL,
+    xid           VARCHAR(128) NOT NULL,
+    context       VARCHAR(128) NOT NULL,
+    rollback_info BYTEA        NOT NULL,
+    log_status    INT          NOT NULL,
+    log_created   TIMESTAMP(0) NOT NULL,
+    log_modified  TIMESTAMP(0) NOT NULL,
+    log_date      DATE         NOT NULL DEFAULT CURRENT_DATE,
+    CONSTRAINT pk_undo_log PRIMARY KEY (id, log_date),
+    CONSTRAINT ux_undo_log UNIQUE (xid, branch_id, log_date)
+) PARTITION BY RANGE (log_date);
+CREATE TABLE IF NOT EXISTS public.undo_log_default PARTITION OF public.undo_log DEFAULT;
+CREATE INDEX ix_log_created ON undo_log(log_created);
+
+COMMENT ON TABLE public.undo_log IS 'AT transaction mode undo table';
+COMMENT ON COLUMN public.undo_log.branch_id IS 'branch transaction id';
+COMMENT ON COLUMN public.undo_log.xid IS 'global transaction id';
+COMMENT ON COLUMN public.undo_log.context IS 'undo_log context,such as serialization';
+COMMENT ON COLUMN public.undo_log.rollback_info IS 'rollback info';
+COMMENT ON COLUMN public.undo_log.log_status IS '0:normal status,1:defense status';
+COMMENT ON COLUMN public.undo_log.log_created IS 'create datetime';
+COMMENT ON COLUMN public.undo_log.log_modified IS 'modify datetime';
+COMMENT ON COLUMN public.undo_log.log_date IS 'create date, the partition column';
+
+CREATE SEQUENCE IF NOT EXISTS undo_log_id_seq INCREMENT BY 1 MINVALUE 1 ;
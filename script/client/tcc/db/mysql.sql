@@ -4,6 +4,7 @@ CREATE TABLE IF NOT EXISTS `tcc_fence_log`
     `xid`           VARCHAR(128)  NOT NULL COMMENT 'global id',
     `branch_id`     BIGINT        NOT NULL COMMENT 'branch id',
     `action_name`   VARCHAR(64)   NOT NULL COMMENT 'action name',
+    `action_context` TEXT         NULL COMMENT 'action context, only recorded by the deferred registered branch',
     `status`        TINYINT       NOT NULL COMMENT 'status(tried:1;committed:2;rollbacked:3;suspended:4)',
     `gmt_create`    DATETIME(3)   NOT NULL COMMENT 'create time',
     `gmt_modified`  DATETIME(3)   NOT NULL COMMENT 'update time',
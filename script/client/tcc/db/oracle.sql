@@ -3,6 +3,7 @@ CREATE TABLE tcc_fence_log
     xid              VARCHAR2(128)  NOT NULL,
     branch_id        NUMBER(19)     NOT NULL,
     action_name      VARCHAR2(64)   NOT NULL,
+    action_context   CLOB,
     status           NUMBER(3)      NOT NULL,
     gmt_create       TIMESTAMP(3)   NOT NULL,
     gmt_modified     TIMESTAMP(3)   NOT NULL,
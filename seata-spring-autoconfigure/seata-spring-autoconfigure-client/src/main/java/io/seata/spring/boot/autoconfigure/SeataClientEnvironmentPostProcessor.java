@@ -20,8 +20,10 @@ import io.seata.rm.tcc.config.TCCFenceConfig;
 import io.seata.saga.engine.StateMachineConfig;
 import io.seata.spring.boot.autoconfigure.properties.SagaAsyncThreadPoolProperties;
 import io.seata.spring.boot.autoconfigure.properties.SeataProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.ClientMetricsProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LoadBalanceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LockProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.RegistrySnapshotProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.RmProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ServiceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.TmProperties;
@@ -33,12 +35,14 @@ import org.springframework.core.Ordered;
 import org.springframework.core.env.ConfigurableEnvironment;
 
 import static io.seata.common.Constants.OBJECT_KEY_SPRING_CONFIGURABLE_ENVIRONMENT;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_METRICS_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_TM_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.COMPRESS_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.LOAD_BALANCE_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.LOCK_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.PROPERTY_BEAN_MAP;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.REGISTRY_SNAPSHOT_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SAGA_ASYNC_THREAD_POOL_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SAGA_STATE_MACHINE_PREFIX;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.SEATA_PREFIX;
@@ -59,6 +63,8 @@ public class SeataClientEnvironmentPostProcessor implements EnvironmentPostProce
 
         PROPERTY_BEAN_MAP.put(CLIENT_RM_PREFIX, RmProperties.class);
         PROPERTY_BEAN_MAP.put(CLIENT_TM_PREFIX, TmProperties.class);
+        PROPERTY_BEAN_MAP.put(CLIENT_METRICS_PREFIX, ClientMetricsProperties.class);
+        PROPERTY_BEAN_MAP.put(REGISTRY_SNAPSHOT_PREFIX, RegistrySnapshotProperties.class);
         PROPERTY_BEAN_MAP.put(LOCK_PREFIX, LockProperties.class);
         PROPERTY_BEAN_MAP.put(SERVICE_PREFIX, ServiceProperties.class);
         PROPERTY_BEAN_MAP.put(UNDO_PREFIX, UndoProperties.class);
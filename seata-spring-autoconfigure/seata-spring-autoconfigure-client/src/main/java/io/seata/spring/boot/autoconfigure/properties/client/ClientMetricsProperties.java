@@ -0,0 +1,71 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_METRICS_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_METRICS_EXPORTER_LIST;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_PROMETHEUS_PORT;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_METRICS_PREFIX;
+
+/**
+ * @author agent
+ */
+@Component
+@ConfigurationProperties(prefix = CLIENT_METRICS_PREFIX)
+public class ClientMetricsProperties {
+    /**
+     * whether to record the TM and RM meters, the registry and exporters are configured by seata.metrics
+     */
+    private boolean enabled = DEFAULT_CLIENT_METRICS_ENABLED;
+    /**
+     * the exporters of the client meters, none by default so that no port is opened in the application
+     */
+    private String exporterList = DEFAULT_CLIENT_METRICS_EXPORTER_LIST;
+    /**
+     * the port of the client prometheus exporter, apart from the one of the server
+     */
+    private int exporterPrometheusPort = DEFAULT_CLIENT_PROMETHEUS_PORT;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ClientMetricsProperties setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+
+    public String getExporterList() {
+        return exporterList;
+    }
+
+    public ClientMetricsProperties setExporterList(String exporterList) {
+        this.exporterList = exporterList;
+        return this;
+    }
+
+    public int getExporterPrometheusPort() {
+        return exporterPrometheusPort;
+    }
+
+    public ClientMetricsProperties setExporterPrometheusPort(int exporterPrometheusPort) {
+        this.exporterPrometheusPort = exporterPrometheusPort;
+        return this;
+    }
+}
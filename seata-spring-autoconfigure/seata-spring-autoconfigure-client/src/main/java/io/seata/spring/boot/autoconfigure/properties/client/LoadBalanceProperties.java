@@ -19,6 +19,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.common.DefaultValues.DEFAULT_LOAD_BALANCE;
+import static io.seata.common.DefaultValues.DEFAULT_LOAD_BALANCE_DECAY_TIME;
 import static io.seata.common.DefaultValues.VIRTUAL_NODES_DEFAULT;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.LOAD_BALANCE_PREFIX_KEBAB_STYLE;
 
@@ -36,6 +37,10 @@ public class LoadBalanceProperties {
      * the load balance virtual nodes
      */
     private int virtualNodes = VIRTUAL_NODES_DEFAULT;
+    /**
+     * the decay time in milliseconds of the round trip time average of the latency aware load balance
+     */
+    private int decayTime = DEFAULT_LOAD_BALANCE_DECAY_TIME;
 
 
     public String getType() {
@@ -55,4 +60,13 @@ public class LoadBalanceProperties {
         this.virtualNodes = virtualNodes;
         return this;
     }
+
+    public int getDecayTime() {
+        return decayTime;
+    }
+
+    public LoadBalanceProperties setDecayTime(int decayTime) {
+        this.decayTime = decayTime;
+        return this;
+    }
 }
@@ -19,8 +19,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_MAX_INTERVAL;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_TIMES;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_LOCK_WAIT_NOTIFY_ENABLE;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.LOCK_PREFIX;
 
 /**
@@ -32,6 +34,8 @@ public class LockProperties {
     private int retryInterval = DEFAULT_CLIENT_LOCK_RETRY_INTERVAL;
     private int retryTimes = DEFAULT_CLIENT_LOCK_RETRY_TIMES;
     private boolean retryPolicyBranchRollbackOnConflict = DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
+    private int retryMaxInterval = DEFAULT_CLIENT_LOCK_RETRY_MAX_INTERVAL;
+    private boolean waitNotifyEnable = DEFAULT_CLIENT_LOCK_WAIT_NOTIFY_ENABLE;
 
     public int getRetryInterval() {
         return retryInterval;
@@ -59,4 +63,22 @@ public class LockProperties {
         this.retryPolicyBranchRollbackOnConflict = retryPolicyBranchRollbackOnConflict;
         return this;
     }
+
+    public int getRetryMaxInterval() {
+        return retryMaxInterval;
+    }
+
+    public LockProperties setRetryMaxInterval(int retryMaxInterval) {
+        this.retryMaxInterval = retryMaxInterval;
+        return this;
+    }
+
+    public boolean isWaitNotifyEnable() {
+        return waitNotifyEnable;
+    }
+
+    public LockProperties setWaitNotifyEnable(boolean waitNotifyEnable) {
+        this.waitNotifyEnable = waitNotifyEnable;
+        return this;
+    }
 }
@@ -0,0 +1,57 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.REGISTRY_SNAPSHOT_PREFIX_KEBAB_STYLE;
+
+/**
+ * @author agent
+ */
+@Component
+@ConfigurationProperties(prefix = REGISTRY_SNAPSHOT_PREFIX_KEBAB_STYLE)
+public class RegistrySnapshotProperties {
+    /**
+     * whether to keep the last TC addresses on disk and connect to them at startup
+     */
+    private boolean enable = DEFAULT_CLIENT_REGISTRY_SNAPSHOT_ENABLE;
+    /**
+     * the directory of the snapshot files
+     */
+    private String dir = DEFAULT_CLIENT_REGISTRY_SNAPSHOT_DIR;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public RegistrySnapshotProperties setEnable(boolean enable) {
+        this.enable = enable;
+        return this;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public RegistrySnapshotProperties setDir(String dir) {
+        this.dir = dir;
+        return this;
+    }
+}
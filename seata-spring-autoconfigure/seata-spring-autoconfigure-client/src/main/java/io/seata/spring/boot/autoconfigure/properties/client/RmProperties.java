@@ -20,17 +20,29 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_THREAD_SIZE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND;
 import static io.seata.common.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
 import static io.seata.common.DefaultValues.DEFAULT_SAGA_JSON_PARSER;
 import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_CHECKER_INTERVAL;
+import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_SNAPSHOT_DIR;
+import static io.seata.common.DefaultValues.DEFAULT_TABLE_META_SNAPSHOT_ENABLE;
+import static io.seata.common.DefaultValues.DEFAULT_TCC_CONTEXT_CODEC;
+import static io.seata.common.DefaultValues.DEFAULT_TCC_CONTEXT_COMPRESS_THRESHOLD;
+import static io.seata.common.DefaultValues.DEFAULT_TCC_DEFERRED_BRANCH_REGISTER;
+import static io.seata.common.DefaultValues.DEFAULT_TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE;
 import static io.seata.common.DefaultValues.TCC_ACTION_INTERCEPTOR_ORDER;
 import static io.seata.common.DefaultValues.DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
 import static io.seata.common.DefaultValues.DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT;
+import static io.seata.common.DefaultValues.DEFAULT_XA_CONNECTION_TWO_PHASE_POOL_SIZE;
+import static io.seata.common.DefaultValues.DEFAULT_XA_READ_ONLY_ONE_PHASE;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREFIX;
 
 /**
@@ -40,17 +52,30 @@ import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREF
 @ConfigurationProperties(prefix = CLIENT_RM_PREFIX)
 public class RmProperties {
     private int asyncCommitBufferLimit = DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+    private long asyncCommitFlushInterval = DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+    private int asyncCommitThreadSize = DEFAULT_CLIENT_ASYNC_COMMIT_THREAD_SIZE;
     private int reportRetryCount = DEFAULT_CLIENT_REPORT_RETRY_COUNT;
     private boolean tableMetaCheckEnable = DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
     private long tableMetaCheckerInterval = DEFAULT_TABLE_META_CHECKER_INTERVAL;
+    private String tableMetaPreloadTables;
+    private boolean tableMetaSnapshotEnable = DEFAULT_TABLE_META_SNAPSHOT_ENABLE;
+    private String tableMetaSnapshotDir = DEFAULT_TABLE_META_SNAPSHOT_DIR;
     private boolean reportSuccessEnable = DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
     private boolean sagaBranchRegisterEnable = DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
     private String sagaJsonParser = DEFAULT_SAGA_JSON_PARSER;
     private boolean sagaRetryPersistModeUpdate = DEFAULT_CLIENT_SAGA_RETRY_PERSIST_MODE_UPDATE;
     private boolean sagaCompensatePersistModeUpdate = DEFAULT_CLIENT_SAGA_COMPENSATE_PERSIST_MODE_UPDATE;
+    private boolean sagaStateLogWriteBehind = DEFAULT_CLIENT_SAGA_STATE_LOG_WRITE_BEHIND;
+    private long sagaStateLogFlushInterval = DEFAULT_CLIENT_SAGA_STATE_LOG_FLUSH_INTERVAL;
     private int tccActionInterceptorOrder = TCC_ACTION_INTERCEPTOR_ORDER;
+    private boolean tccDeferredBranchRegister = DEFAULT_TCC_DEFERRED_BRANCH_REGISTER;
+    private int tccDeferredBranchRegisterMaxSize = DEFAULT_TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE;
+    private String tccContextCodec = DEFAULT_TCC_CONTEXT_CODEC;
+    private int tccContextCompressThreshold = DEFAULT_TCC_CONTEXT_COMPRESS_THRESHOLD;
     private int branchExecutionTimeoutXA = DEFAULT_XA_BRANCH_EXECUTION_TIMEOUT;
     private int connectionTwoPhaseHoldTimeoutXA = DEFAULT_XA_CONNECTION_TWO_PHASE_HOLD_TIMEOUT;
+    private int connectionTwoPhasePoolSizeXA = DEFAULT_XA_CONNECTION_TWO_PHASE_POOL_SIZE;
+    private boolean readOnlyOnePhaseXA = DEFAULT_XA_READ_ONLY_ONE_PHASE;
     private String sqlParserType = SqlParserType.SQL_PARSER_TYPE_DRUID;
 
     public int getAsyncCommitBufferLimit() {
@@ -62,6 +87,24 @@ public class RmProperties {
         return this;
     }
 
+    public long getAsyncCommitFlushInterval() {
+        return asyncCommitFlushInterval;
+    }
+
+    public RmProperties setAsyncCommitFlushInterval(long asyncCommitFlushInterval) {
+        this.asyncCommitFlushInterval = asyncCommitFlushInterval;
+        return this;
+    }
+
+    public int getAsyncCommitThreadSize() {
+        return asyncCommitThreadSize;
+    }
+
+    public RmProperties setAsyncCommitThreadSize(int asyncCommitThreadSize) {
+        this.asyncCommitThreadSize = asyncCommitThreadSize;
+        return this;
+    }
+
     public int getReportRetryCount() {
         return reportRetryCount;
     }
@@ -114,6 +157,30 @@ public class RmProperties {
         this.tableMetaCheckerInterval = tableMetaCheckerInterval;
     }
 
+    public String getTableMetaPreloadTables() {
+        return tableMetaPreloadTables;
+    }
+
+    public void setTableMetaPreloadTables(String tableMetaPreloadTables) {
+        this.tableMetaPreloadTables = tableMetaPreloadTables;
+    }
+
+    public boolean isTableMetaSnapshotEnable() {
+        return tableMetaSnapshotEnable;
+    }
+
+    public void setTableMetaSnapshotEnable(boolean tableMetaSnapshotEnable) {
+        this.tableMetaSnapshotEnable = tableMetaSnapshotEnable;
+    }
+
+    public String getTableMetaSnapshotDir() {
+        return tableMetaSnapshotDir;
+    }
+
+    public void setTableMetaSnapshotDir(String tableMetaSnapshotDir) {
+        this.tableMetaSnapshotDir = tableMetaSnapshotDir;
+    }
+
     public boolean isSagaRetryPersistModeUpdate() {
         return sagaRetryPersistModeUpdate;
     }
@@ -130,6 +197,22 @@ public class RmProperties {
         this.sagaCompensatePersistModeUpdate = sagaCompensatePersistModeUpdate;
     }
 
+    public boolean isSagaStateLogWriteBehind() {
+        return sagaStateLogWriteBehind;
+    }
+
+    public void setSagaStateLogWriteBehind(boolean sagaStateLogWriteBehind) {
+        this.sagaStateLogWriteBehind = sagaStateLogWriteBehind;
+    }
+
+    public long getSagaStateLogFlushInterval() {
+        return sagaStateLogFlushInterval;
+    }
+
+    public void setSagaStateLogFlushInterval(long sagaStateLogFlushInterval) {
+        this.sagaStateLogFlushInterval = sagaStateLogFlushInterval;
+    }
+
     public int getTccActionInterceptorOrder() {
         return tccActionInterceptorOrder;
     }
@@ -139,6 +222,42 @@ public class RmProperties {
         return this;
     }
 
+    public boolean isTccDeferredBranchRegister() {
+        return tccDeferredBranchRegister;
+    }
+
+    public RmProperties setTccDeferredBranchRegister(boolean tccDeferredBranchRegister) {
+        this.tccDeferredBranchRegister = tccDeferredBranchRegister;
+        return this;
+    }
+
+    public int getTccDeferredBranchRegisterMaxSize() {
+        return tccDeferredBranchRegisterMaxSize;
+    }
+
+    public RmProperties setTccDeferredBranchRegisterMaxSize(int tccDeferredBranchRegisterMaxSize) {
+        this.tccDeferredBranchRegisterMaxSize = tccDeferredBranchRegisterMaxSize;
+        return this;
+    }
+
+    public String getTccContextCodec() {
+        return tccContextCodec;
+    }
+
+    public RmProperties setTccContextCodec(String tccContextCodec) {
+        this.tccContextCodec = tccContextCodec;
+        return this;
+    }
+
+    public int getTccContextCompressThreshold() {
+        return tccContextCompressThreshold;
+    }
+
+    public RmProperties setTccContextCompressThreshold(int tccContextCompressThreshold) {
+        this.tccContextCompressThreshold = tccContextCompressThreshold;
+        return this;
+    }
+
     public String getSqlParserType() {
         return sqlParserType;
     }
@@ -164,4 +283,20 @@ public class RmProperties {
         this.connectionTwoPhaseHoldTimeoutXA = connectionTwoPhaseHoldTimeoutXA;
     }
 
+    public int getConnectionTwoPhasePoolSizeXA() {
+        return connectionTwoPhasePoolSizeXA;
+    }
+
+    public void setConnectionTwoPhasePoolSizeXA(int connectionTwoPhasePoolSizeXA) {
+        this.connectionTwoPhasePoolSizeXA = connectionTwoPhasePoolSizeXA;
+    }
+
+    public boolean isReadOnlyOnePhaseXA() {
+        return readOnlyOnePhaseXA;
+    }
+
+    public void setReadOnlyOnePhaseXA(boolean readOnlyOnePhaseXA) {
+        this.readOnlyOnePhaseXA = readOnlyOnePhaseXA;
+    }
+
 }
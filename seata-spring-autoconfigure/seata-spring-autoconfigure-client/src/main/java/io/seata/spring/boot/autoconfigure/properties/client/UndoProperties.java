@@ -22,6 +22,7 @@ import static io.seata.common.DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COLUMNS;
 import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
 import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
 import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
+import static io.seata.common.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE_PARTITION;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.UNDO_PREFIX;
 
 /**
@@ -33,6 +34,7 @@ public class UndoProperties {
     private boolean dataValidation = DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
     private String logSerialization = DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
     private String logTable = DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
+    private boolean logTablePartition = DEFAULT_TRANSACTION_UNDO_LOG_TABLE_PARTITION;
     private boolean onlyCareUpdateColumns = DEFAULT_ONLY_CARE_UPDATE_COLUMNS;
 
     public boolean isDataValidation() {
@@ -62,6 +64,15 @@ public class UndoProperties {
         return this;
     }
 
+    public boolean isLogTablePartition() {
+        return logTablePartition;
+    }
+
+    public UndoProperties setLogTablePartition(boolean logTablePartition) {
+        this.logTablePartition = logTablePartition;
+        return this;
+    }
+
     public boolean isOnlyCareUpdateColumns() {
         return onlyCareUpdateColumns;
     }
@@ -59,6 +59,8 @@ public class LoadBalancePropertiesTest {
             EnhancedServiceLoader.load(ExtConfigurationProvider.class).provide(configuration);
         System.setProperty("seata.client.loadBalance.virtualNodes", "30");
         assertEquals(30, currentConfiguration.getInt("client.loadBalance.virtualNodes"));
+        System.setProperty("seata.client.loadBalance.decayTime", "5000");
+        assertEquals(5000, currentConfiguration.getInt("client.loadBalance.decayTime"));
         System.setProperty("seata.client.loadBalance.type", "test");
         assertEquals("test", currentConfiguration.getConfig("client.loadBalance.type"));
     }
@@ -0,0 +1,71 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.client;
+
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.config.Configuration;
+import io.seata.config.ExtConfigurationProvider;
+import io.seata.config.FileConfiguration;
+import io.seata.config.springcloud.SpringApplicationContextProvider;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import static io.seata.spring.boot.autoconfigure.StarterConstants.PROPERTY_BEAN_MAP;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.REGISTRY_SNAPSHOT_PREFIX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ */
+@Import(SpringApplicationContextProvider.class)
+@org.springframework.context.annotation.Configuration
+public class RegistrySnapshotPropertiesTest {
+    private static AnnotationConfigApplicationContext applicationContext;
+
+    @BeforeAll
+    public static void initContext() {
+        applicationContext = new AnnotationConfigApplicationContext(RegistrySnapshotPropertiesTest.class);
+    }
+
+    @Bean
+    RegistrySnapshotProperties registrySnapshotProperties() {
+        RegistrySnapshotProperties registrySnapshotProperties = new RegistrySnapshotProperties();
+        PROPERTY_BEAN_MAP.put(REGISTRY_SNAPSHOT_PREFIX, RegistrySnapshotProperties.class);
+        return registrySnapshotProperties;
+    }
+
+    @Test
+    public void testRegistrySnapshotProperties() {
+        FileConfiguration configuration = mock(FileConfiguration.class);
+        Configuration currentConfiguration =
+            EnhancedServiceLoader.load(ExtConfigurationProvider.class).provide(configuration);
+        System.setProperty("seata.client.registrySnapshot.enable", "true");
+        assertTrue(currentConfiguration.getBoolean("client.registrySnapshot.enable"));
+        System.setProperty("seata.client.registrySnapshot.dir", "test");
+        assertEquals("test", currentConfiguration.getConfig("client.registrySnapshot.dir"));
+    }
+
+    @AfterAll
+    public static void closeContext() {
+        applicationContext.close();
+    }
+}
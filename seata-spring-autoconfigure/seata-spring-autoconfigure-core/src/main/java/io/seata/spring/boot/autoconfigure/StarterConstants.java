@@ -34,6 +34,9 @@ public interface StarterConstants {
     String SAGA_PREFIX = SEATA_PREFIX + ".saga";
     String CLIENT_RM_PREFIX = CLIENT_PREFIX + ".rm";
     String CLIENT_TM_PREFIX = CLIENT_PREFIX + ".tm";
+    String CLIENT_METRICS_PREFIX = CLIENT_PREFIX + ".metrics";
+    String REGISTRY_SNAPSHOT_PREFIX_KEBAB_STYLE = CLIENT_PREFIX + ".registry-snapshot";
+    String REGISTRY_SNAPSHOT_PREFIX = CLIENT_PREFIX + ".registrySnapshot";
     String LOCK_PREFIX = CLIENT_RM_PREFIX + ".lock";
     String UNDO_PREFIX = CLIENT_PREFIX + ".undo";
     String LOAD_BALANCE_PREFIX_KEBAB_STYLE = CLIENT_PREFIX + ".load-balance";
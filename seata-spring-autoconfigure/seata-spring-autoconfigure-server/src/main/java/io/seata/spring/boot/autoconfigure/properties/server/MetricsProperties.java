@@ -21,6 +21,7 @@ import org.springframework.stereotype.Component;
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_ENABLED;
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_EXPORTER_LIST;
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_REGISTRY_TYPE;
+import static io.seata.common.DefaultValues.DEFAULT_METRICS_STAGE_ENABLED;
 import static io.seata.common.DefaultValues.DEFAULT_PROMETHEUS_PORT;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.METRICS_PREFIX;
 
@@ -34,6 +35,7 @@ public class MetricsProperties {
     private String registryType = DEFAULT_METRICS_REGISTRY_TYPE;
     private String exporterList = DEFAULT_METRICS_EXPORTER_LIST;
     private int exporterPrometheusPort = DEFAULT_PROMETHEUS_PORT;
+    private boolean stageEnabled = DEFAULT_METRICS_STAGE_ENABLED;
 
 
     public Boolean getEnabled() {
@@ -71,4 +73,13 @@ public class MetricsProperties {
         this.exporterPrometheusPort = exporterPrometheusPort;
         return this;
     }
+
+    public boolean isStageEnabled() {
+        return stageEnabled;
+    }
+
+    public MetricsProperties setStageEnabled(boolean stageEnabled) {
+        this.stageEnabled = stageEnabled;
+        return this;
+    }
 }
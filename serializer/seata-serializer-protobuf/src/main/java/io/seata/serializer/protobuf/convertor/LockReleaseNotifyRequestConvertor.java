@@ -0,0 +1,59 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.serializer.protobuf.convertor;
+
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
+import io.seata.serializer.protobuf.generated.AbstractMessageProto;
+import io.seata.serializer.protobuf.generated.AbstractTransactionRequestProto;
+import io.seata.serializer.protobuf.generated.BranchTypeProto;
+import io.seata.serializer.protobuf.generated.LockReleaseNotifyRequestProto;
+import io.seata.serializer.protobuf.generated.MessageTypeProto;
+
+/**
+ * @author agent
+ */
+public class LockReleaseNotifyRequestConvertor
+    implements PbConvertor<LockReleaseNotifyRequest, LockReleaseNotifyRequestProto> {
+    @Override
+    public LockReleaseNotifyRequestProto convert2Proto(LockReleaseNotifyRequest lockReleaseNotifyRequest) {
+        final short typeCode = lockReleaseNotifyRequest.getTypeCode();
+
+        final AbstractMessageProto abstractMessage = AbstractMessageProto.newBuilder().setMessageType(
+            MessageTypeProto.forNumber(typeCode)).build();
+
+        final AbstractTransactionRequestProto abstractTransactionRequestProto = AbstractTransactionRequestProto
+            .newBuilder().setAbstractMessage(abstractMessage).build();
+
+        final String resourceId = lockReleaseNotifyRequest.getResourceId();
+        final String lockKey = lockReleaseNotifyRequest.getLockKey();
+        return LockReleaseNotifyRequestProto.newBuilder()
+            .setAbstractTransactionRequest(abstractTransactionRequestProto)
+            .setBranchType(BranchTypeProto.valueOf(lockReleaseNotifyRequest.getBranchType().name()))
+            .setResourceId(resourceId == null ? "" : resourceId)
+            .setLockKey(lockKey == null ? "" : lockKey).build();
+    }
+
+    @Override
+    public LockReleaseNotifyRequest convert2Model(LockReleaseNotifyRequestProto lockReleaseNotifyRequestProto) {
+        LockReleaseNotifyRequest lockReleaseNotifyRequest = new LockReleaseNotifyRequest();
+        lockReleaseNotifyRequest.setResourceId(lockReleaseNotifyRequestProto.getResourceId());
+        lockReleaseNotifyRequest.setLockKey(lockReleaseNotifyRequestProto.getLockKey());
+        lockReleaseNotifyRequest.setBranchType(
+            BranchType.valueOf(lockReleaseNotifyRequestProto.getBranchType().name()));
+        return lockReleaseNotifyRequest;
+    }
+}
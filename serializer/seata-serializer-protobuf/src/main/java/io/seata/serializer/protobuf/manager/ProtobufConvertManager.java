@@ -55,6 +55,7 @@ import io.seata.core.protocol.RegisterRMRequest;
 import io.seata.core.protocol.RegisterRMResponse;
 import io.seata.core.protocol.RegisterTMRequest;
 import io.seata.core.protocol.RegisterTMResponse;
+import io.seata.serializer.protobuf.convertor.LockReleaseNotifyRequestConvertor;
 import io.seata.serializer.protobuf.convertor.UndoLogDeleteRequestConvertor;
 import io.seata.serializer.protobuf.generated.BranchCommitRequestProto;
 import io.seata.serializer.protobuf.generated.BranchCommitResponseProto;
@@ -81,6 +82,7 @@ import io.seata.serializer.protobuf.generated.RegisterRMRequestProto;
 import io.seata.serializer.protobuf.generated.RegisterRMResponseProto;
 import io.seata.serializer.protobuf.generated.RegisterTMRequestProto;
 import io.seata.serializer.protobuf.generated.RegisterTMResponseProto;
+import io.seata.serializer.protobuf.generated.LockReleaseNotifyRequestProto;
 import io.seata.serializer.protobuf.generated.UndoLogDeleteRequestProto;
 import io.seata.core.protocol.transaction.BranchCommitRequest;
 import io.seata.core.protocol.transaction.BranchCommitResponse;
@@ -102,6 +104,7 @@ import io.seata.core.protocol.transaction.GlobalRollbackRequest;
 import io.seata.core.protocol.transaction.GlobalRollbackResponse;
 import io.seata.core.protocol.transaction.GlobalStatusRequest;
 import io.seata.core.protocol.transaction.GlobalStatusResponse;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
 import io.seata.core.protocol.transaction.UndoLogDeleteRequest;
 
 import java.util.Map;
@@ -165,6 +168,8 @@ public class ProtobufConvertManager {
                 new GlobalReportResponseConvertor());
             protobufConvertManager.convertorMap.put(UndoLogDeleteRequest.class.getName(),
                 new UndoLogDeleteRequestConvertor());
+            protobufConvertManager.convertorMap.put(LockReleaseNotifyRequest.class.getName(),
+                new LockReleaseNotifyRequestConvertor());
 
             protobufConvertManager.convertorMap.put(MergedWarpMessage.class.getName(),
                 new MergedWarpMessageConvertor());
@@ -224,6 +229,8 @@ public class ProtobufConvertManager {
                 GlobalReportResponseProto.class);
             protobufConvertManager.protoClazzMap.put(UndoLogDeleteRequestProto.getDescriptor().getFullName(),
                 UndoLogDeleteRequestProto.class);
+            protobufConvertManager.protoClazzMap.put(LockReleaseNotifyRequestProto.getDescriptor().getFullName(),
+                LockReleaseNotifyRequestProto.class);
 
             protobufConvertManager.protoClazzMap.put(MergedWarpMessageProto.getDescriptor().getFullName(),
                 MergedWarpMessageProto.class);
@@ -284,6 +291,8 @@ public class ProtobufConvertManager {
                 new GlobalReportResponseConvertor());
             protobufConvertManager.reverseConvertorMap.put(UndoLogDeleteRequestProto.class.getName(),
                 new UndoLogDeleteRequestConvertor());
+            protobufConvertManager.reverseConvertorMap.put(LockReleaseNotifyRequestProto.class.getName(),
+                new LockReleaseNotifyRequestConvertor());
 
             protobufConvertManager.reverseConvertorMap.put(MergedWarpMessageProto.class.getName(),
                 new MergedWarpMessageConvertor());
@@ -45,6 +45,7 @@ import io.seata.serializer.seata.protocol.transaction.GlobalRollbackRequestCodec
 import io.seata.serializer.seata.protocol.transaction.GlobalRollbackResponseCodec;
 import io.seata.serializer.seata.protocol.transaction.GlobalStatusRequestCodec;
 import io.seata.serializer.seata.protocol.transaction.GlobalStatusResponseCodec;
+import io.seata.serializer.seata.protocol.transaction.LockReleaseNotifyRequestCodec;
 import io.seata.serializer.seata.protocol.transaction.UndoLogDeleteRequestCodec;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.BatchResultMessage;
@@ -75,6 +76,7 @@ import io.seata.core.protocol.transaction.GlobalRollbackRequest;
 import io.seata.core.protocol.transaction.GlobalRollbackResponse;
 import io.seata.core.protocol.transaction.GlobalStatusRequest;
 import io.seata.core.protocol.transaction.GlobalStatusResponse;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
 import io.seata.core.protocol.transaction.UndoLogDeleteRequest;
 
 /**
@@ -217,6 +219,8 @@ public class MessageCodecFactory {
                 return new BranchRollbackResponseCodec();
             case MessageType.TYPE_RM_DELETE_UNDOLOG:
                 return new UndoLogDeleteRequestCodec();
+            case MessageType.TYPE_RM_LOCK_RELEASE_NOTIFY:
+                return new LockReleaseNotifyRequestCodec();
             case MessageType.TYPE_GLOBAL_REPORT_RESULT:
                 return new GlobalReportResponseCodec();
             default:
@@ -260,6 +264,9 @@ public class MessageCodecFactory {
             case MessageType.TYPE_RM_DELETE_UNDOLOG:
                 abstractMessage = new UndoLogDeleteRequest();
                 break;
+            case MessageType.TYPE_RM_LOCK_RELEASE_NOTIFY:
+                abstractMessage = new LockReleaseNotifyRequest();
+                break;
             case MessageType.TYPE_GLOBAL_REPORT:
                 abstractMessage = new GlobalReportRequest();
                 break;
@@ -0,0 +1,99 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.serializer.seata.protocol.transaction;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
+
+/**
+ * The type Lock release notify request codec.
+ *
+ * @author agent
+ */
+public class LockReleaseNotifyRequestCodec extends AbstractTransactionRequestToRMCodec {
+
+    @Override
+    public Class<?> getMessageClassType() {
+        return LockReleaseNotifyRequest.class;
+    }
+
+    @Override
+    public <T> void encode(T t, ByteBuf out) {
+        LockReleaseNotifyRequest lockReleaseNotifyRequest = (LockReleaseNotifyRequest)t;
+        BranchType branchType = lockReleaseNotifyRequest.getBranchType();
+        String resourceId = lockReleaseNotifyRequest.getResourceId();
+        String lockKey = lockReleaseNotifyRequest.getLockKey();
+
+        // 1. Branch Type
+        out.writeByte((byte)branchType.ordinal());
+
+        // 2. Resource Id
+        if (resourceId != null) {
+            byte[] bs = resourceId.getBytes(UTF8);
+            out.writeShort((short)bs.length);
+            if (bs.length > 0) {
+                out.writeBytes(bs);
+            }
+        } else {
+            out.writeShort((short)0);
+        }
+
+        // 3. Lock Key
+        if (lockKey != null) {
+            byte[] lockKeyBytes = lockKey.getBytes(UTF8);
+            out.writeInt(lockKeyBytes.length);
+            if (lockKeyBytes.length > 0) {
+                out.writeBytes(lockKeyBytes);
+            }
+        } else {
+            out.writeInt(0);
+        }
+    }
+
+    @Override
+    public <T> void decode(T t, ByteBuffer in) {
+        LockReleaseNotifyRequest lockReleaseNotifyRequest = (LockReleaseNotifyRequest)t;
+
+        if (in.remaining() < 1) {
+            return;
+        }
+        lockReleaseNotifyRequest.setBranchType(BranchType.get(in.get()));
+
+        if (in.remaining() < 2) {
+            return;
+        }
+        int resourceIdLen = in.getShort();
+        if (resourceIdLen > 0 && in.remaining() >= resourceIdLen) {
+            byte[] bs = new byte[resourceIdLen];
+            in.get(bs);
+            lockReleaseNotifyRequest.setResourceId(new String(bs, UTF8));
+        }
+
+        if (in.remaining() < 4) {
+            return;
+        }
+        int lockKeyLen = in.getInt();
+        if (lockKeyLen > 0 && in.remaining() >= lockKeyLen) {
+            byte[] bs = new byte[lockKeyLen];
+            in.get(bs);
+            lockReleaseNotifyRequest.setLockKey(new String(bs, UTF8));
+        }
+    }
+
+}
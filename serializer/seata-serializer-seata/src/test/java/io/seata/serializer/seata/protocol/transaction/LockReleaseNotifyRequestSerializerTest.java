@@ -0,0 +1,56 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.serializer.seata.protocol.transaction;
+
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
+import io.seata.serializer.seata.SeataSerializer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Lock release notify request codec test.
+ *
+ * @author agent
+ */
+public class LockReleaseNotifyRequestSerializerTest {
+
+    /**
+     * The Seata codec.
+     */
+    SeataSerializer seataSerializer = new SeataSerializer();
+
+    /**
+     * Test codec.
+     */
+    @Test
+    public void test_codec() {
+        LockReleaseNotifyRequest request1 = new LockReleaseNotifyRequest();
+        request1.setBranchType(BranchType.AT);
+        request1.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        request1.setLockKey("t_order:1,2;t_stock:3");
+
+        byte[] bytes = seataSerializer.serialize(request1);
+
+        LockReleaseNotifyRequest request2 = seataSerializer.deserialize(bytes);
+
+        assertThat(request2.getBranchType()).isEqualTo(request1.getBranchType());
+        assertThat(request2.getResourceId()).isEqualTo(request1.getResourceId());
+        assertThat(request2.getLockKey()).isEqualTo(request1.getLockKey());
+    }
+
+}
@@ -29,6 +29,7 @@ import io.seata.core.rpc.netty.NettyServerConfig;
 import io.seata.server.coordinator.DefaultCoordinator;
 import io.seata.server.lock.LockerManagerFactory;
 import io.seata.server.metrics.MetricsManager;
+import io.seata.server.metrics.StageMetrics;
 import io.seata.server.session.SessionHolder;
 
 import static io.seata.spring.boot.autoconfigure.StarterConstants.REGEX_SPLIT_CHAR;
@@ -72,6 +73,9 @@ public class Server {
         }
 
         NettyRemotingServer nettyRemotingServer = new NettyRemotingServer(workingThreads);
+        if (StageMetrics.isEnabled()) {
+            nettyRemotingServer.setQueueWaitListener(StageMetrics::recordQueueWait);
+        }
         XID.setPort(nettyRemotingServer.getListenPort());
         UUIDGenerator.init(parameterParser.getServerNode());
         //log store mode : file, db, redis
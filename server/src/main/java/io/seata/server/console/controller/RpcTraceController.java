@@ -0,0 +1,74 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.console.controller;
+
+import java.util.List;
+
+import io.seata.common.util.StringUtils;
+import io.seata.console.result.SingleResult;
+import io.seata.core.rpc.processor.server.RpcTraceDecoder;
+import io.seata.core.rpc.processor.server.RpcTraceRecorder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Rpc Trace Controller
+ *
+ * @author agent
+ */
+@RestController
+@RequestMapping("/api/v1/console/rpcTrace")
+public class RpcTraceController {
+
+    /**
+     * the max number of records returned by a query
+     */
+    private static final int MAX_QUERY_LIMIT = 1000;
+
+    /**
+     * Dump the binary rpc trace records, to be decoded offline by {@link RpcTraceDecoder}
+     *
+     * @return the dump
+     */
+    @GetMapping("dump")
+    public ResponseEntity<StreamingResponseBody> dump() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=rpc-trace.bin")
+            .body(RpcTraceRecorder.INSTANCE::dump);
+    }
+
+    /**
+     * Query the latest decoded rpc trace records
+     *
+     * @param xid   the xid of the records, all records if absent
+     * @param limit the max number of records, at most {@value #MAX_QUERY_LIMIT}
+     * @return the records, oldest first
+     */
+    @GetMapping("query")
+    public SingleResult<List<RpcTraceDecoder.Record>> query(@RequestParam(required = false) String xid,
+                                                            @RequestParam(defaultValue = "100") int limit) {
+        return SingleResult.success(RpcTraceRecorder.INSTANCE.query(StringUtils.isBlank(xid) ? null : xid,
+            Math.min(limit, MAX_QUERY_LIMIT)));
+    }
+
+}
@@ -33,6 +33,8 @@ import io.seata.server.lock.LockerManagerFactory;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionHolder;
+import io.seata.server.session.SessionManager;
+import io.seata.server.storage.file.session.FileSessionManager;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
@@ -56,19 +58,28 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
     public PageResult<GlobalLockVO> query(GlobalLockParam param) {
         checkParam(param);
 
-        final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
+        final SessionManager sessionManager = SessionHolder.getRootSessionManager();
+        // the begin time index narrows the sessions to the requested range
+        final Collection<GlobalSession> sessions = sessionManager instanceof FileSessionManager
+                ? ((FileSessionManager) sessionManager).getSessionIndex().range(param.getTimeStart(), param.getTimeEnd())
+                : sessionManager.allSessions();
 
+        // only the row locks of the requested page are kept and converted
+        final int offset = param.getPageSize() * (param.getPageNum() - 1);
         final AtomicInteger total = new AtomicInteger();
-        List<RowLock> result = allSessions
-                .parallelStream()
+        List<RowLock> result = sessions
+                .stream()
                 .filter(obtainGlobalSessionPredicate(param))
                 .flatMap(globalSession -> globalSession.getBranchSessions().stream())
                 .filter(obtainBranchSessionPredicate(param))
                 .flatMap(branchSession -> filterAndMap(param, branchSession))
-                .peek(globalSession -> total.incrementAndGet())
+                .filter(rowLock -> {
+                    int index = total.getAndIncrement();
+                    return index >= offset && index < offset + param.getPageSize();
+                })
                 .collect(Collectors.toList());
 
-        return PageResult.build(convert(result), param.getPageNum(), param.getPageSize());
+        return PageResult.success(convert(result), total.get(), param.getPageNum(), param.getPageSize());
 
     }
 
@@ -90,7 +101,7 @@ public class GlobalLockFileServiceImpl implements GlobalLockService {
         final List<RowLock> rowLocks = LockerManagerFactory.getLockManager().collectRowLocks(branchSession);
 
         if (StringUtils.isNotBlank(tableName)) {
-            return rowLocks.parallelStream().filter(rowLock -> rowLock.getTableName().contains(param.getTableName()));
+            return rowLocks.stream().filter(rowLock -> rowLock.getTableName().contains(param.getTableName()));
         }
 
         return rowLocks.stream();
@@ -26,8 +26,11 @@ import io.seata.console.result.PageResult;
 import io.seata.server.console.vo.GlobalSessionVO;
 import io.seata.server.console.service.GlobalSessionService;
 import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionPage;
 import io.seata.server.session.SessionHolder;
+import io.seata.server.session.SessionManager;
 import io.seata.server.storage.SessionConverter;
+import io.seata.server.storage.file.session.FileSessionManager;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
@@ -51,7 +54,19 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
             throw new IllegalArgumentException("wrong pageSize or pageNum");
         }
 
-        final Collection<GlobalSession> allSessions = SessionHolder.getRootSessionManager().allSessions();
+        final SessionManager sessionManager = SessionHolder.getRootSessionManager();
+        if (sessionManager instanceof FileSessionManager) {
+            // only the sessions of the requested page are converted
+            final GlobalSessionPage page = ((FileSessionManager) sessionManager).getSessionIndex()
+                    .query(param, obtainPredicate(param));
+            final PageResult<GlobalSessionVO> result = PageResult.success(
+                    SessionConverter.convertGlobalSession(page.getSessions()), page.getTotal(),
+                    param.getPageNum(), param.getPageSize());
+            result.setNextCursor(page.getNextCursor());
+            return result;
+        }
+
+        final Collection<GlobalSession> allSessions = sessionManager.allSessions();
 
         final List<GlobalSession> filteredSessions = allSessions
                 .parallelStream()
@@ -69,7 +84,7 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
      * @param param condition for query global session
      * @return the filter condition
      */
-    private Predicate<? super GlobalSession> obtainPredicate(GlobalSessionParam param) {
+    private Predicate<GlobalSession> obtainPredicate(GlobalSessionParam param) {
 
         return session -> {
             return
@@ -78,7 +93,8 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
 
                 &&
                 // applicationId
-                (isBlank(param.getApplicationId()) || session.getApplicationId().contains(param.getApplicationId()))
+                (isBlank(param.getApplicationId()) || (session.getApplicationId() != null
+                    && session.getApplicationId().contains(param.getApplicationId())))
 
                 &&
                 // status
@@ -86,7 +102,8 @@ public class GlobalSessionFileServiceImpl implements GlobalSessionService {
 
                 &&
                 // transactionName
-                (isBlank(param.getTransactionName()) || session.getTransactionName().contains(param.getTransactionName()))
+                (isBlank(param.getTransactionName()) || (session.getTransactionName() != null
+                    && session.getTransactionName().contains(param.getTransactionName())))
 
                 &&
                 // timeStart
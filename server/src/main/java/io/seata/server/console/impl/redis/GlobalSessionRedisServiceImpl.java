@@ -25,13 +25,13 @@ import io.seata.server.console.vo.GlobalSessionVO;
 import io.seata.core.model.GlobalStatus;
 import io.seata.server.console.service.GlobalSessionService;
 import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionPage;
 import io.seata.server.session.SessionCondition;
 import io.seata.server.storage.redis.store.RedisTransactionStoreManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
-import static io.seata.common.exception.FrameworkErrorCode.ParameterRequired;
 import static io.seata.common.util.StringUtils.isBlank;
 import static io.seata.common.util.StringUtils.isNotBlank;
 import static io.seata.console.result.PageResult.checkPage;
@@ -53,17 +53,23 @@ public class GlobalSessionRedisServiceImpl implements GlobalSessionService {
     public PageResult<GlobalSessionVO> query(GlobalSessionParam param) {
         List<GlobalSessionVO> result = new ArrayList<>();
         Long total = 0L;
-        if (param.getTimeStart() != null || param.getTimeEnd() != null) {
-            //not support time range query
-            LOGGER.debug("not supported according to time range query");
-            return PageResult.failure(ParameterRequired.getErrCode(),"not supported according to time range query");
-        }
         List<GlobalSession> globalSessions = new ArrayList<>();
 
         RedisTransactionStoreManager instance = RedisTransactionStoreManager.getInstance();
 
         checkPage(param);
 
+        if (param.getTimeStart() != null || param.getTimeEnd() != null || isNotBlank(param.getApplicationId())
+            || isNotBlank(param.getTransactionName()) || isNotBlank(param.getCursor())) {
+            // the begin time indexes resolve the time range, applicationId and transactionName
+            GlobalSessionPage page = instance.readSessionByIndex(param);
+            convertToGlobalSessionVo(result, page.getSessions());
+            PageResult<GlobalSessionVO> pageResult = PageResult.success(result, page.getTotal(),
+                param.getPageNum(), param.getPageSize());
+            pageResult.setNextCursor(page.getNextCursor());
+            return pageResult;
+        }
+
         if (isBlank(param.getXid()) && param.getStatus() == null) {
             total = instance.countByGlobalSessions(GlobalStatus.values());
             globalSessions = instance.findGlobalSessionByPage(param.getPageNum(), param.getPageSize(),param.isWithBranch());
@@ -87,16 +93,6 @@ public class GlobalSessionRedisServiceImpl implements GlobalSessionService {
                 }
             }
 
-            if (LOGGER.isDebugEnabled()) {
-                if (isNotBlank(param.getApplicationId())) {
-                    //not support
-                    LOGGER.debug("not supported according to applicationId query");
-                }
-                if (isNotBlank(param.getTransactionName())) {
-                    //not support
-                    LOGGER.debug("not supported according to transactionName query");
-                }
-            }
             globalSessions = globalSessionsNew.size() > 0 ? globalSessionsNew : globalSessions;
         }
 
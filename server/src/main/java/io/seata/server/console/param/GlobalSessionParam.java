@@ -48,6 +48,11 @@ public class GlobalSessionParam extends BaseParam implements Serializable {
      * false: no branch session
      */
     private boolean withBranch;
+    /**
+     * the nextCursor of the previous page, to page after it instead of by pageNum;
+     * the total of a page queried by cursor is not counted
+     */
+    private String cursor;
 
     public String getXid() {
         return xid;
@@ -89,6 +94,14 @@ public class GlobalSessionParam extends BaseParam implements Serializable {
         this.withBranch = withBranch;
     }
 
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
     @Override
     public String toString() {
         return "GlobalSessionParam{" +
@@ -97,6 +110,7 @@ public class GlobalSessionParam extends BaseParam implements Serializable {
                 ", status=" + status +
                 ", transactionName='" + transactionName + '\'' +
                 ", withBranch=" + withBranch +
+                ", cursor='" + cursor + '\'' +
                 '}';
     }
 }
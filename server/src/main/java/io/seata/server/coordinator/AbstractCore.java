@@ -33,6 +33,8 @@ import io.seata.core.protocol.transaction.BranchRollbackResponse;
 import io.seata.core.rpc.RemotingServer;
 import io.seata.server.lock.LockManager;
 import io.seata.server.lock.LockerManagerFactory;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionHelper;
@@ -162,7 +164,12 @@ public abstract class AbstractCore implements Core {
             request.setResourceId(branchSession.getResourceId());
             request.setApplicationData(branchSession.getApplicationData());
             request.setBranchType(branchSession.getBranchType());
-            return branchCommitSend(request, globalSession, branchSession);
+            long start = StageMetrics.start();
+            try {
+                return branchCommitSend(request, globalSession, branchSession);
+            } finally {
+                StageMetrics.record(Stage.BRANCH_COMMIT, start);
+            }
         } catch (IOException | TimeoutException e) {
             throw new BranchTransactionException(FailedToSendBranchCommitRequest,
                     String.format("Send branch commit failed, xid = %s branchId = %s", branchSession.getXid(),
@@ -192,7 +199,12 @@ public abstract class AbstractCore implements Core {
             request.setResourceId(branchSession.getResourceId());
             request.setApplicationData(branchSession.getApplicationData());
             request.setBranchType(branchSession.getBranchType());
-            return branchRollbackSend(request, globalSession, branchSession);
+            long start = StageMetrics.start();
+            try {
+                return branchRollbackSend(request, globalSession, branchSession);
+            } finally {
+                StageMetrics.record(Stage.BRANCH_ROLLBACK, start);
+            }
         } catch (IOException | TimeoutException e) {
             throw new BranchTransactionException(FailedToSendBranchRollbackRequest,
                     String.format("Send branch rollback failed, xid = %s branchId = %s",
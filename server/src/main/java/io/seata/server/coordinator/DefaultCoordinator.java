@@ -58,6 +58,7 @@ import io.seata.core.rpc.TransactionMessageHandler;
 import io.seata.core.rpc.netty.ChannelManager;
 import io.seata.core.rpc.netty.NettyRemotingServer;
 import io.seata.server.AbstractTCInboundHandler;
+import io.seata.server.lock.LockWaiterRegistry;
 import io.seata.server.metrics.MetricsPublisher;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
@@ -189,6 +190,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         }
         this.remotingServer = remotingServer;
         this.core = new DefaultCore(remotingServer);
+        LockWaiterRegistry.getInstance().setRemotingServer(remotingServer);
         boolean enableBranchAsyncRemove = CONFIG.getBoolean(
                 ConfigurationKeys.ENABLE_BRANCH_ASYNC_REMOVE, DEFAULT_ENABLE_BRANCH_ASYNC_REMOVE);
         // create branchRemoveExecutor
@@ -569,6 +571,7 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
      */
     public void setRemotingServer(RemotingServer remotingServer) {
         this.remotingServer = remotingServer;
+        LockWaiterRegistry.getInstance().setRemotingServer(remotingServer);
     }
 
     /**
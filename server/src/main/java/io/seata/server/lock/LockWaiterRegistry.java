@@ -0,0 +1,237 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import io.netty.channel.Channel;
+import io.seata.common.util.StringUtils;
+import io.seata.core.protocol.transaction.LockReleaseNotifyRequest;
+import io.seata.core.rpc.RemotingServer;
+import io.seata.core.rpc.netty.ChannelManager;
+import io.seata.server.session.BranchSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registry of the RMs waiting on global lock conflicts.
+ * <p>
+ * A waiter is registered per row key when a branch register fails on lock conflict and the RM asks for it,
+ * the waiters of the rows are notified by {@link LockReleaseNotifyRequest} once the rows are released.
+ * Notifications are best effort: the RM always bounds its wait by the retry interval, so a waiter registered
+ * on another TC node (db/redis mode) or a lost notify only degrades to the backoff retry.
+ *
+ * @author agent
+ */
+public class LockWaiterRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockWaiterRegistry.class);
+
+    private static final String ROW_KEY_SPLIT_CHAR = "^^^";
+
+    /**
+     * the waiters are expected to retry within the lock retry interval, keep them a bit longer
+     */
+    private static final long WAITER_EXPIRE_MILLIS = 30000L;
+
+    private static final LockWaiterRegistry INSTANCE = new LockWaiterRegistry();
+
+    /**
+     * row key -> (waiter -> expire time)
+     */
+    private final Map<String, Map<Waiter, Long>> rowWaiters = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPurgeTime = new AtomicLong(System.currentTimeMillis());
+
+    private volatile RemotingServer remotingServer;
+
+    LockWaiterRegistry() {
+    }
+
+    public static LockWaiterRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    public void setRemotingServer(RemotingServer remotingServer) {
+        this.remotingServer = remotingServer;
+    }
+
+    /**
+     * Register the client of the branch as a waiter of all the rows it tried to lock.
+     *
+     * @param branchSession the branch session which failed to acquire the lock
+     */
+    public void register(BranchSession branchSession) {
+        String lockKey = branchSession.getLockKey();
+        if (StringUtils.isBlank(lockKey) || StringUtils.isBlank(branchSession.getClientId())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        purgeExpiredIfNecessary(now);
+        Waiter waiter = new Waiter(branchSession.getResourceId(), branchSession.getClientId());
+        Long expireTime = now + WAITER_EXPIRE_MILLIS;
+        String resourceId = branchSession.getResourceId();
+        forEachRow(lockKey, (tableName, pk) -> rowWaiters
+            .computeIfAbsent(toRowKey(resourceId, tableName, pk), key -> new ConcurrentHashMap<>())
+            .put(waiter, expireTime));
+    }
+
+    /**
+     * Notify the waiters of the rows released by the branches.
+     *
+     * @param branchSessions the branch sessions whose locks are released
+     */
+    public void notifyReleased(Collection<BranchSession> branchSessions) {
+        if (rowWaiters.isEmpty() || branchSessions == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        // waiter -> released lock key, grouped by table
+        Map<Waiter, Map<String, Set<String>>> notifies = new HashMap<>();
+        for (BranchSession branchSession : branchSessions) {
+            if (!branchSession.isAT() || StringUtils.isBlank(branchSession.getLockKey())) {
+                continue;
+            }
+            String resourceId = branchSession.getResourceId();
+            forEachRow(branchSession.getLockKey(), (tableName, pk) -> {
+                Map<Waiter, Long> waiters = rowWaiters.remove(toRowKey(resourceId, tableName, pk));
+                if (waiters == null) {
+                    return;
+                }
+                waiters.forEach((waiter, expireTime) -> {
+                    if (expireTime > now) {
+                        notifies.computeIfAbsent(waiter, key -> new LinkedHashMap<>())
+                            .computeIfAbsent(tableName, key -> new LinkedHashSet<>()).add(pk);
+                    }
+                });
+            });
+        }
+        notifies.forEach(this::sendNotify);
+    }
+
+    /**
+     * Notify the waiters of the rows released by the branch.
+     *
+     * @param branchSession the branch session whose locks are released
+     */
+    public void notifyReleased(BranchSession branchSession) {
+        if (rowWaiters.isEmpty() || branchSession == null) {
+            return;
+        }
+        notifyReleased(Collections.singletonList(branchSession));
+    }
+
+    int getWaitingRowCount() {
+        return rowWaiters.size();
+    }
+
+    private void sendNotify(Waiter waiter, Map<String, Set<String>> releasedRows) {
+        RemotingServer server = remotingServer;
+        if (server == null) {
+            return;
+        }
+        StringBuilder lockKey = new StringBuilder();
+        releasedRows.forEach((tableName, pks) -> {
+            if (lockKey.length() > 0) {
+                lockKey.append(';');
+            }
+            lockKey.append(tableName).append(':').append(String.join(",", pks));
+        });
+        try {
+            Channel channel = ChannelManager.getChannel(waiter.resourceId, waiter.clientId, false);
+            if (channel == null) {
+                return;
+            }
+            LockReleaseNotifyRequest request = new LockReleaseNotifyRequest();
+            request.setResourceId(waiter.resourceId);
+            request.setLockKey(lockKey.toString());
+            server.sendAsyncRequest(channel, request);
+        } catch (Exception e) {
+            // the waiter falls back to its retry interval
+            LOGGER.warn("Failed to notify lock release to {} on {}: {}", waiter.clientId, waiter.resourceId,
+                e.getMessage());
+        }
+    }
+
+    private void purgeExpiredIfNecessary(long now) {
+        long lastPurge = lastPurgeTime.get();
+        if (now - lastPurge < WAITER_EXPIRE_MILLIS || !lastPurgeTime.compareAndSet(lastPurge, now)) {
+            return;
+        }
+        rowWaiters.forEach((rowKey, waiters) -> {
+            waiters.values().removeIf(expireTime -> expireTime <= now);
+            rowWaiters.remove(rowKey, Collections.emptyMap());
+        });
+    }
+
+    private static String toRowKey(String resourceId, String tableName, String pk) {
+        return resourceId + ROW_KEY_SPLIT_CHAR + tableName + ROW_KEY_SPLIT_CHAR + pk;
+    }
+
+    private static void forEachRow(String lockKey, BiConsumer<String, String> consumer) {
+        for (String tableGroupedLockKey : lockKey.split(";")) {
+            int idx = tableGroupedLockKey.indexOf(':');
+            if (idx < 0) {
+                continue;
+            }
+            String tableName = tableGroupedLockKey.substring(0, idx);
+            for (String pk : tableGroupedLockKey.substring(idx + 1).split(",")) {
+                if (StringUtils.isNotBlank(pk)) {
+                    consumer.accept(tableName, pk);
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final String resourceId;
+
+        private final String clientId;
+
+        Waiter(String resourceId, String clientId) {
+            this.resourceId = resourceId;
+            this.clientId = clientId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Waiter)) {
+                return false;
+            }
+            Waiter waiter = (Waiter)o;
+            return Objects.equals(resourceId, waiter.resourceId) && Objects.equals(clientId, waiter.clientId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceId, clientId);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.logging.logback.appender;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import io.seata.common.thread.NamedThreadFactory;
+
+/**
+ * The type Batch async appender.
+ * <p>
+ * The events are handed over through a lock-free bounded queue and written by a single worker in batches, the
+ * attached {@link OutputStreamAppender}s are flushed once per batch instead of once per event. When the remaining
+ * capacity of the queue drops under a fifth, the events at or below {@code discardLevel} are dropped; when the queue
+ * is full, the other events wait for room unless {@code neverBlock} is set. The queued and discarded events are
+ * exposed as the {@code seata.log} gauges when metrics are enabled.
+ *
+ * @author agent
+ */
+public class BatchAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+    implements AppenderAttachable<ILoggingEvent> {
+
+    private static final Set<BatchAsyncAppender> STARTED_APPENDERS = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicLong DISCARDED = new AtomicLong();
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AppenderAttachableImpl<ILoggingEvent> aai = new AppenderAttachableImpl<>();
+
+    private final Queue<ILoggingEvent> queue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final List<OutputStreamAppender<ILoggingEvent>> batchFlushAppenders = new ArrayList<>();
+
+    private int queueSize = 8192;
+
+    private int batchSize = 256;
+
+    private Level discardLevel = Level.INFO;
+
+    private boolean neverBlock = false;
+
+    private boolean includeCallerData = false;
+
+    private boolean batchFlush = true;
+
+    private int maxFlushTime = 1000;
+
+    private int discardingThreshold;
+
+    private volatile boolean workerParked;
+
+    private volatile Thread worker;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!aai.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for [" + name + "].");
+            return;
+        }
+        if (queueSize < 1 || batchSize < 1) {
+            addError("Invalid queueSize [" + queueSize + "] or batchSize [" + batchSize + "]");
+            return;
+        }
+        discardingThreshold = queueSize / 5;
+        if (batchFlush) {
+            Iterator<Appender<ILoggingEvent>> it = aai.iteratorForAppenders();
+            while (it.hasNext()) {
+                Appender<ILoggingEvent> appender = it.next();
+                if (!(appender instanceof OutputStreamAppender)) {
+                    continue;
+                }
+                @SuppressWarnings("unchecked")
+                OutputStreamAppender<ILoggingEvent> outputStreamAppender = (OutputStreamAppender<ILoggingEvent>)appender;
+                if (outputStreamAppender.isImmediateFlush()) {
+                    outputStreamAppender.setImmediateFlush(false);
+                    batchFlushAppenders.add(outputStreamAppender);
+                }
+            }
+        }
+        super.start();
+        Thread thread = new NamedThreadFactory("BatchAsyncAppender-" + name, 1, true).newThread(this::work);
+        worker = thread;
+        thread.start();
+        STARTED_APPENDERS.add(this);
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        STARTED_APPENDERS.remove(this);
+        Thread thread = worker;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(maxFlushTime);
+            if (thread.isAlive()) {
+                addWarn("Max flush time [" + maxFlushTime + "ms] exceeded, " + queued.get()
+                    + " queued events may be discarded.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            addError("Failed to join the worker thread of [" + name + "]", e);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queued.get() >= queueSize - discardingThreshold && event.getLevel().toInt() <= discardLevel.toInt()) {
+            DISCARDED.incrementAndGet();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        while (!offer(event)) {
+            if (neverBlock || !isStarted()) {
+                DISCARDED.incrementAndGet();
+                return;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        if (workerParked) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        if (queued.incrementAndGet() > queueSize) {
+            queued.decrementAndGet();
+            return false;
+        }
+        queue.offer(event);
+        return true;
+    }
+
+    private void work() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        while (isStarted()) {
+            if (drain(batch) == 0) {
+                workerParked = true;
+                if (queue.isEmpty() && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                workerParked = false;
+            }
+        }
+        // write the remaining events before the attached appenders are stopped
+        while (drain(batch) > 0) {
+            // continue
+        }
+        aai.detachAndStopAllAppenders();
+    }
+
+    private int drain(List<ILoggingEvent> batch) {
+        ILoggingEvent event;
+        while (batch.size() < batchSize && (event = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(event);
+        }
+        int size = batch.size();
+        if (size == 0) {
+            return 0;
+        }
+        for (ILoggingEvent e : batch) {
+            aai.appendLoopOnAppenders(e);
+        }
+        batch.clear();
+        for (OutputStreamAppender<ILoggingEvent> appender : batchFlushAppenders) {
+            // only this worker writes to the attached appenders, so the stream is not swapped by a rollover meanwhile
+            OutputStream outputStream = appender.getOutputStream();
+            if (appender.isStarted() && outputStream != null) {
+                try {
+                    outputStream.flush();
+                } catch (IOException e) {
+                    addError("Failed to flush the appender [" + appender.getName() + "]", e);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of events queued in all the started appenders.
+     *
+     * @return the queued count
+     */
+    public static long getQueuedCount() {
+        long count = 0;
+        for (BatchAsyncAppender appender : STARTED_APPENDERS) {
+            count += appender.queued.get();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of events discarded since startup.
+     *
+     * @return the discarded count
+     */
+    public static long getDiscardedCount() {
+        return DISCARDED.get();
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public void setDiscardLevel(String discardLevel) {
+        this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+    }
+
+    public void setNeverBlock(boolean neverBlock) {
+        this.neverBlock = neverBlock;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public void setBatchFlush(boolean batchFlush) {
+        this.batchFlush = batchFlush;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        aai.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return aai.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return aai.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return aai.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        aai.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return aai.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return aai.detachAppender(name);
+    }
+}
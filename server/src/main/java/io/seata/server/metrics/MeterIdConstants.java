@@ -105,4 +105,14 @@ public interface MeterIdConstants {
         .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
         .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_AFTER_COMMITTED_KEY);
 
+    Id GAUGE_LOG_QUEUED = new Id(IdConstants.SEATA_LOG)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+        .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_QUEUED);
+
+    Id GAUGE_LOG_DISCARDED = new Id(IdConstants.SEATA_LOG)
+        .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+        .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_GAUGE)
+        .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_DISCARDED);
+
 }
@@ -23,9 +23,10 @@ import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.exporter.ExporterFactory;
 import io.seata.metrics.registry.Registry;
 import io.seata.metrics.registry.RegistryFactory;
-import io.seata.server.event.EventBusManager;
+import io.seata.server.logging.logback.appender.BatchAsyncAppender;
 
 import static io.seata.common.DefaultValues.DEFAULT_METRICS_ENABLED;
+import static io.seata.common.DefaultValues.DEFAULT_METRICS_STAGE_ENABLED;
 
 /**
  * Metrics manager for init
@@ -54,10 +55,18 @@ public class MetricsManager {
             registry = RegistryFactory.getInstance();
             if (registry != null) {
                 List<Exporter> exporters = ExporterFactory.getInstanceList();
-                //only at least one metrics exporter implement had imported in pom then need register MetricsSubscriber
+                //only at least one metrics exporter implement had imported in pom then need set MetricsSubscriber,
+                //it is called by MetricsPublisher directly instead of through the event bus
                 if (exporters.size() != 0) {
                     exporters.forEach(exporter -> exporter.setRegistry(registry));
-                    EventBusManager.get().register(new MetricsSubscriber(registry));
+                    MetricsPublisher.setMetricsSubscriber(new MetricsSubscriber(registry));
+                    if (ConfigurationFactory.getInstance().getBoolean(
+                        ConfigurationKeys.METRICS_PREFIX + ConfigurationKeys.METRICS_STAGE_ENABLED,
+                        DEFAULT_METRICS_STAGE_ENABLED)) {
+                        StageMetrics.init(registry);
+                    }
+                    registry.getGauge(MeterIdConstants.GAUGE_LOG_QUEUED, BatchAsyncAppender::getQueuedCount);
+                    registry.getGauge(MeterIdConstants.GAUGE_LOG_DISCARDED, BatchAsyncAppender::getDiscardedCount);
                 }
             }
         }
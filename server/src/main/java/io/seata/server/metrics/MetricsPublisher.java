@@ -22,7 +22,8 @@ import io.seata.server.event.EventBusManager;
 import io.seata.server.session.GlobalSession;
 
 /**
- * The type Metrics publisher.
+ * The type Metrics publisher. The metrics subscriber is called directly, an event is only allocated and posted
+ * when other subscribers are registered to the event bus.
  *
  * @author slievrly
  */
@@ -30,6 +31,17 @@ public class MetricsPublisher {
 
     private static final EventBus EVENT_BUS = EventBusManager.get();
 
+    private static volatile MetricsSubscriber metricsSubscriber;
+
+    /**
+     * Sets metrics subscriber.
+     *
+     * @param subscriber the metrics subscriber, null to stop recording metrics
+     */
+    static void setMetricsSubscriber(MetricsSubscriber subscriber) {
+        metricsSubscriber = subscriber;
+    }
+
     /**
      * post end event
      *
@@ -65,9 +77,17 @@ public class MetricsPublisher {
      * @param retryBranch   the retry branch
      */
     public static void postSessionDoneEvent(final GlobalSession globalSession, String status, boolean retryGlobal, long beginTime, boolean retryBranch) {
-        EVENT_BUS.post(new GlobalTransactionEvent(globalSession.getTransactionId(), GlobalTransactionEvent.ROLE_TC,
-            globalSession.getTransactionName(), globalSession.getApplicationId(),
-            globalSession.getTransactionServiceGroup(), beginTime, System.currentTimeMillis(), status, retryGlobal, retryBranch));
+        long endTime = System.currentTimeMillis();
+        MetricsSubscriber subscriber = metricsSubscriber;
+        if (subscriber != null) {
+            subscriber.record(status, globalSession.getApplicationId(), globalSession.getTransactionServiceGroup(),
+                beginTime, endTime, retryGlobal, retryBranch);
+        }
+        if (!EVENT_BUS.getSubscribers().isEmpty()) {
+            EVENT_BUS.post(new GlobalTransactionEvent(globalSession.getTransactionId(), GlobalTransactionEvent.ROLE_TC,
+                globalSession.getTransactionName(), globalSession.getApplicationId(),
+                globalSession.getTransactionServiceGroup(), beginTime, endTime, status, retryGlobal, retryBranch));
+        }
     }
 
     /**
@@ -90,8 +110,15 @@ public class MetricsPublisher {
      */
     public static void postSessionDoingEvent(final GlobalSession globalSession, String status, boolean retryGlobal,
                                              boolean retryBranch) {
-        EVENT_BUS.post(new GlobalTransactionEvent(globalSession.getTransactionId(), GlobalTransactionEvent.ROLE_TC,
-            globalSession.getTransactionName(), globalSession.getApplicationId(),
-            globalSession.getTransactionServiceGroup(), globalSession.getBeginTime(), null, status, retryGlobal, retryBranch));
+        MetricsSubscriber subscriber = metricsSubscriber;
+        if (subscriber != null) {
+            subscriber.record(status, globalSession.getApplicationId(), globalSession.getTransactionServiceGroup(),
+                globalSession.getBeginTime(), 0, retryGlobal, retryBranch);
+        }
+        if (!EVENT_BUS.getSubscribers().isEmpty()) {
+            EVENT_BUS.post(new GlobalTransactionEvent(globalSession.getTransactionId(), GlobalTransactionEvent.ROLE_TC,
+                globalSession.getTransactionName(), globalSession.getApplicationId(),
+                globalSession.getTransactionServiceGroup(), globalSession.getBeginTime(), null, status, retryGlobal, retryBranch));
+        }
     }
 }
@@ -17,14 +17,19 @@ package io.seata.server.metrics;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.function.Consumer;
 
 import com.google.common.eventbus.Subscribe;
+import io.seata.common.util.CollectionUtils;
 import io.seata.core.event.GlobalTransactionEvent;
 import io.seata.core.model.GlobalStatus;
+import io.seata.metrics.Counter;
+import io.seata.metrics.Id;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
 import io.seata.metrics.registry.Registry;
-import io.seata.server.event.EventBusManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,170 +39,167 @@ import static io.seata.metrics.IdConstants.STATUS_VALUE_AFTER_COMMITTED_KEY;
 import static io.seata.metrics.IdConstants.STATUS_VALUE_AFTER_ROLLBACKED_KEY;
 
 /**
- * Event subscriber for metrics
+ * Subscriber for metrics, it is called directly by {@link MetricsPublisher} and can still be registered to an event
+ * bus. The meters of an applicationId and group are resolved from the registry once and cached, so recording a
+ * transaction status only updates the meters.
  *
  * @author zhengyangyong
  */
 public class MetricsSubscriber {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsSubscriber.class);
+
+    private static final String NULL_KEY = "\u0000";
+
     private final Registry registry;
 
-    private final Map<String, Consumer<GlobalTransactionEvent>> consumers;
+    private final Map<String, StatusProcessor> processors;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, TransactionMeters>> metersMap =
+        new ConcurrentHashMap<>();
 
     public MetricsSubscriber(Registry registry) {
         this.registry = registry;
-        consumers = new HashMap<>();
-        consumers.put(GlobalStatus.Begin.name(), this::processGlobalStatusBegin);
-        consumers.put(GlobalStatus.Committed.name(), this::processGlobalStatusCommitted);
-        consumers.put(GlobalStatus.Rollbacked.name(), this::processGlobalStatusRollbacked);
+        processors = new HashMap<>();
+        processors.put(GlobalStatus.Begin.name(), this::processGlobalStatusBegin);
+        processors.put(GlobalStatus.Committed.name(), this::processGlobalStatusCommitted);
+        processors.put(GlobalStatus.Rollbacked.name(), this::processGlobalStatusRollbacked);
 
-        consumers.put(GlobalStatus.CommitFailed.name(), this::processGlobalStatusCommitFailed);
-        consumers.put(GlobalStatus.RollbackFailed.name(), this::processGlobalStatusRollbackFailed);
-        consumers.put(GlobalStatus.TimeoutRollbacked.name(), this::processGlobalStatusTimeoutRollbacked);
-        consumers.put(GlobalStatus.TimeoutRollbackFailed.name(), this::processGlobalStatusTimeoutRollbackFailed);
+        processors.put(GlobalStatus.CommitFailed.name(), this::processGlobalStatusCommitFailed);
+        processors.put(GlobalStatus.RollbackFailed.name(), this::processGlobalStatusRollbackFailed);
+        processors.put(GlobalStatus.TimeoutRollbacked.name(), this::processGlobalStatusTimeoutRollbacked);
+        processors.put(GlobalStatus.TimeoutRollbackFailed.name(), this::processGlobalStatusTimeoutRollbackFailed);
 
-        consumers.put(GlobalStatus.CommitRetryTimeout.name(), this::processGlobalStatusCommitRetryTimeout);
-        consumers.put(GlobalStatus.RollbackRetryTimeout.name(), this::processGlobalStatusTimeoutRollbackRetryTimeout);
+        processors.put(GlobalStatus.CommitRetryTimeout.name(), this::processGlobalStatusCommitRetryTimeout);
+        processors.put(GlobalStatus.RollbackRetryTimeout.name(), this::processGlobalStatusTimeoutRollbackRetryTimeout);
 
-        consumers.put(STATUS_VALUE_AFTER_COMMITTED_KEY, this::processAfterGlobalCommitted);
-        consumers.put(STATUS_VALUE_AFTER_ROLLBACKED_KEY, this::processAfterGlobalRollbacked);
+        processors.put(STATUS_VALUE_AFTER_COMMITTED_KEY, this::processAfterGlobalCommitted);
+        processors.put(STATUS_VALUE_AFTER_ROLLBACKED_KEY, this::processAfterGlobalRollbacked);
     }
 
-    private void processGlobalStatusBegin(GlobalTransactionEvent event) {
+    /**
+     * Record a global transaction status.
+     *
+     * @param status        the status
+     * @param applicationId the application id
+     * @param group         the transaction service group
+     * @param beginTime     the begin time
+     * @param endTime       the end time, 0 if the transaction is not ended
+     * @param retryGlobal   the retry global
+     * @param retryBranch   the retry branch
+     */
+    public void record(String status, String applicationId, String group, long beginTime, long endTime,
+                       boolean retryGlobal, boolean retryBranch) {
+        StatusProcessor processor = processors.get(status);
+        if (registry == null || processor == null) {
+            return;
+        }
         if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("accept new event,xid:{},event:{}", event.getId(), event);
-            for (Object object : EventBusManager.get().getSubscribers()) {
-                LOGGER.debug("subscribe:{},threadName:{}", object.toString(), Thread.currentThread().getName());
-            }
+            LOGGER.debug("record metrics,status:{},applicationId:{},group:{},threadName:{}", status, applicationId,
+                group, Thread.currentThread().getName());
         }
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE.withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
+        processor.process(getTransactionMeters(applicationId, group), endTime - beginTime, retryGlobal, retryBranch);
     }
 
-    private void processGlobalStatusCommitted(GlobalTransactionEvent event) {
-        if (event.isRetryGlobal()) {
+    private TransactionMeters getTransactionMeters(String applicationId, String group) {
+        ConcurrentMap<String, TransactionMeters> groupMeters = CollectionUtils.computeIfAbsent(metersMap,
+            applicationId == null ? NULL_KEY : applicationId, key -> new ConcurrentHashMap<>());
+        return CollectionUtils.computeIfAbsent(groupMeters, group == null ? NULL_KEY : group,
+            key -> new TransactionMeters(registry, applicationId, group));
+    }
+
+    private void processGlobalStatusBegin(TransactionMeters meters, long duration, boolean retryGlobal,
+                                          boolean retryBranch) {
+        meters.counterActive.increase(1);
+    }
+
+    private void processGlobalStatusCommitted(TransactionMeters meters, long duration, boolean retryGlobal,
+                                              boolean retryBranch) {
+        if (retryGlobal) {
             return;
         }
-        decreaseActive(event);
-        registry.getCounter(MeterIdConstants.COUNTER_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_COMMITTED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup()))
-                .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
-    }
-
-    private void processGlobalStatusRollbacked(GlobalTransactionEvent event) {
-        if (event.isRetryGlobal()) {
+        meters.counterActive.decrease(1);
+        meters.counterCommitted.increase(1);
+        meters.summaryCommitted.increase(1);
+        meters.timerCommitted.record(duration, TimeUnit.MILLISECONDS);
+    }
+
+    private void processGlobalStatusRollbacked(TransactionMeters meters, long duration, boolean retryGlobal,
+                                               boolean retryBranch) {
+        if (retryGlobal) {
             return;
         }
-        decreaseActive(event);
-        registry.getCounter(MeterIdConstants.COUNTER_ROLLBACKED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_ROLLBACKED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_ROLLBACK
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup()))
-                .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
-    }
-
-    private void processAfterGlobalRollbacked(GlobalTransactionEvent event) {
-        if (event.isRetryGlobal() && event.isRetryBranch()) {
-            decreaseActive(event);
-        }
-        registry.getCounter(MeterIdConstants.COUNTER_AFTER_ROLLBACKED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_AFTER_ROLLBACKED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_AFTER_ROLLBACKED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup()))
-            .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
-    }
-
-    private void processAfterGlobalCommitted(GlobalTransactionEvent event) {
-        if (event.isRetryGlobal() && event.isRetryBranch()) {
-            decreaseActive(event);
-        }
-        registry.getCounter(MeterIdConstants.COUNTER_AFTER_COMMITTED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getSummary(MeterIdConstants.SUMMARY_AFTER_COMMITTED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_AFTER_COMMITTED
-            .withTag(APP_ID_KEY, event.getApplicationId())
-            .withTag(GROUP_KEY, event.getGroup()))
-            .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
+        meters.counterActive.decrease(1);
+        meters.counterRollbacked.increase(1);
+        meters.summaryRollbacked.increase(1);
+        meters.timerRollbacked.record(duration, TimeUnit.MILLISECONDS);
     }
 
-    private void processGlobalStatusCommitFailed(GlobalTransactionEvent event) {
-        decreaseActive(event);
-        reportFailed(event);
+    private void processAfterGlobalRollbacked(TransactionMeters meters, long duration, boolean retryGlobal,
+                                              boolean retryBranch) {
+        if (retryGlobal && retryBranch) {
+            meters.counterActive.decrease(1);
+        }
+        meters.counterAfterRollbacked.increase(1);
+        meters.summaryAfterRollbacked.increase(1);
+        meters.timerAfterRollbacked.record(duration, TimeUnit.MILLISECONDS);
     }
 
-    private void processGlobalStatusRollbackFailed(GlobalTransactionEvent event) {
-        decreaseActive(event);
-        reportFailed(event);
+    private void processAfterGlobalCommitted(TransactionMeters meters, long duration, boolean retryGlobal,
+                                             boolean retryBranch) {
+        if (retryGlobal && retryBranch) {
+            meters.counterActive.decrease(1);
+        }
+        meters.counterAfterCommitted.increase(1);
+        meters.summaryAfterCommitted.increase(1);
+        meters.timerAfterCommitted.record(duration, TimeUnit.MILLISECONDS);
     }
 
-    private void processGlobalStatusTimeoutRollbacked(GlobalTransactionEvent event) {
-        decreaseActive(event);
+    private void processGlobalStatusCommitFailed(TransactionMeters meters, long duration, boolean retryGlobal,
+                                                 boolean retryBranch) {
+        meters.counterActive.decrease(1);
+        reportFailed(meters, duration);
     }
 
-    private void processGlobalStatusTimeoutRollbackFailed(GlobalTransactionEvent event) {
-        decreaseActive(event);
-        reportTwoPhaseTimeout(event);
+    private void processGlobalStatusRollbackFailed(TransactionMeters meters, long duration, boolean retryGlobal,
+                                                   boolean retryBranch) {
+        meters.counterActive.decrease(1);
+        reportFailed(meters, duration);
     }
 
-    private void processGlobalStatusCommitRetryTimeout(GlobalTransactionEvent event) {
-        decreaseActive(event);
-        reportTwoPhaseTimeout(event);
+    private void processGlobalStatusTimeoutRollbacked(TransactionMeters meters, long duration, boolean retryGlobal,
+                                                      boolean retryBranch) {
+        meters.counterActive.decrease(1);
     }
 
-    private void processGlobalStatusTimeoutRollbackRetryTimeout(GlobalTransactionEvent event) {
-        decreaseActive(event);
+    private void processGlobalStatusTimeoutRollbackFailed(TransactionMeters meters, long duration,
+                                                          boolean retryGlobal, boolean retryBranch) {
+        meters.counterActive.decrease(1);
+        meters.summaryTwoPhaseTimeout.increase(1);
     }
 
-    private void decreaseActive(GlobalTransactionEvent event) {
-        registry.getCounter(MeterIdConstants.COUNTER_ACTIVE
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).decrease(1);
+    private void processGlobalStatusCommitRetryTimeout(TransactionMeters meters, long duration, boolean retryGlobal,
+                                                       boolean retryBranch) {
+        meters.counterActive.decrease(1);
+        meters.summaryTwoPhaseTimeout.increase(1);
     }
 
-    private void reportFailed(GlobalTransactionEvent event) {
-        registry.getSummary(MeterIdConstants.SUMMARY_FAILED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_FAILED
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup()))
-                .record(event.getEndTime() - event.getBeginTime(), TimeUnit.MILLISECONDS);
+    private void processGlobalStatusTimeoutRollbackRetryTimeout(TransactionMeters meters, long duration,
+                                                                boolean retryGlobal, boolean retryBranch) {
+        meters.counterActive.decrease(1);
     }
 
-    private void reportTwoPhaseTimeout(GlobalTransactionEvent event) {
-        registry.getSummary(MeterIdConstants.SUMMARY_TWO_PHASE_TIMEOUT
-                .withTag(APP_ID_KEY, event.getApplicationId())
-                .withTag(GROUP_KEY, event.getGroup())).increase(1);
+    private void reportFailed(TransactionMeters meters, long duration) {
+        meters.summaryFailed.increase(1);
+        meters.timerFailed.record(duration, TimeUnit.MILLISECONDS);
     }
 
-
-
     @Subscribe
     public void recordGlobalTransactionEventForMetrics(GlobalTransactionEvent event) {
-        if (registry != null && consumers.containsKey(event.getStatus())) {
-            consumers.get(event.getStatus()).accept(event);
-        }
+        Long beginTime = event.getBeginTime();
+        Long endTime = event.getEndTime();
+        record(event.getStatus(), event.getApplicationId(), event.getGroup(), beginTime == null ? 0 : beginTime,
+            endTime == null ? 0 : endTime, event.isRetryGlobal(), event.isRetryBranch());
     }
 
     @Override
@@ -214,4 +216,67 @@ public class MetricsSubscriber {
     public int hashCode() {
         return super.hashCode();
     }
+
+    @FunctionalInterface
+    private interface StatusProcessor {
+        void process(TransactionMeters meters, long duration, boolean retryGlobal, boolean retryBranch);
+    }
+
+    /**
+     * The meters of one applicationId and group
+     */
+    private static class TransactionMeters {
+        private final Counter counterActive;
+        private final Counter counterCommitted;
+        private final Counter counterRollbacked;
+        private final Counter counterAfterCommitted;
+        private final Counter counterAfterRollbacked;
+        private final Summary summaryCommitted;
+        private final Summary summaryRollbacked;
+        private final Summary summaryFailed;
+        private final Summary summaryTwoPhaseTimeout;
+        private final Summary summaryAfterCommitted;
+        private final Summary summaryAfterRollbacked;
+        private final Timer timerCommitted;
+        private final Timer timerRollbacked;
+        private final Timer timerFailed;
+        private final Timer timerAfterCommitted;
+        private final Timer timerAfterRollbacked;
+
+        TransactionMeters(Registry registry, String applicationId, String group) {
+            counterActive = registry.getCounter(withTags(MeterIdConstants.COUNTER_ACTIVE, applicationId, group));
+            counterCommitted = registry.getCounter(withTags(MeterIdConstants.COUNTER_COMMITTED, applicationId,
+                group));
+            counterRollbacked = registry.getCounter(withTags(MeterIdConstants.COUNTER_ROLLBACKED, applicationId,
+                group));
+            counterAfterCommitted = registry.getCounter(withTags(MeterIdConstants.COUNTER_AFTER_COMMITTED,
+                applicationId, group));
+            counterAfterRollbacked = registry.getCounter(withTags(MeterIdConstants.COUNTER_AFTER_ROLLBACKED,
+                applicationId, group));
+            summaryCommitted = registry.getSummary(withTags(MeterIdConstants.SUMMARY_COMMITTED, applicationId,
+                group));
+            summaryRollbacked = registry.getSummary(withTags(MeterIdConstants.SUMMARY_ROLLBACKED, applicationId,
+                group));
+            summaryFailed = registry.getSummary(withTags(MeterIdConstants.SUMMARY_FAILED, applicationId, group));
+            summaryTwoPhaseTimeout = registry.getSummary(withTags(MeterIdConstants.SUMMARY_TWO_PHASE_TIMEOUT,
+                applicationId, group));
+            summaryAfterCommitted = registry.getSummary(withTags(MeterIdConstants.SUMMARY_AFTER_COMMITTED,
+                applicationId, group));
+            summaryAfterRollbacked = registry.getSummary(withTags(MeterIdConstants.SUMMARY_AFTER_ROLLBACKED,
+                applicationId, group));
+            timerCommitted = registry.getTimer(withTags(MeterIdConstants.TIMER_COMMITTED, applicationId, group));
+            timerRollbacked = registry.getTimer(withTags(MeterIdConstants.TIMER_ROLLBACK, applicationId, group));
+            timerFailed = registry.getTimer(withTags(MeterIdConstants.TIMER_FAILED, applicationId, group));
+            timerAfterCommitted = registry.getTimer(withTags(MeterIdConstants.TIMER_AFTER_COMMITTED, applicationId,
+                group));
+            timerAfterRollbacked = registry.getTimer(withTags(MeterIdConstants.TIMER_AFTER_ROLLBACKED,
+                applicationId, group));
+        }
+
+        private static Id withTags(Id id, String applicationId, String group) {
+            //copy the constant id, it is shared by all the threads resolving meters
+            return new Id(id.getName()).withTag(id.getTags()).withTag(APP_ID_KEY, applicationId)
+                .withTag(GROUP_KEY, group);
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.seata.core.protocol.MessageTypeAware;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Timer;
+import io.seata.metrics.registry.Registry;
+
+/**
+ * Timers of the stages inside a TC request, they tell where the time goes when the TC is saturated. Nothing is
+ * measured unless enabled by {@code metrics.stageEnabled}, callers only read the start time through {@link #start()}
+ * and hand it back to {@link #record(Stage, long)}.
+ *
+ * @author agent
+ */
+public final class StageMetrics {
+
+    /**
+     * The stages of a TC request
+     */
+    public enum Stage {
+        /**
+         * acquire the row locks of a branch
+         */
+        LOCK_ACQUIRE("lockAcquire"),
+        /**
+         * wait for the lock of a global session
+         */
+        SESSION_LOCK("sessionLock"),
+        /**
+         * write a session to the transaction store
+         */
+        STORE_WRITE("storeWrite"),
+        /**
+         * send a branch commit request and wait for the response
+         */
+        BRANCH_COMMIT("branchCommit"),
+        /**
+         * send a branch rollback request and wait for the response
+         */
+        BRANCH_ROLLBACK("branchRollback");
+
+        private final String value;
+
+        Stage(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    private static final String STAGE_QUEUE_WAIT = "queueWait";
+
+    private static final int MAX_TYPE_CODE = 256;
+
+    private static volatile Registry registry;
+
+    private static volatile Timer[] stageTimers;
+
+    private static final AtomicReferenceArray<Timer> QUEUE_WAIT_TIMERS = new AtomicReferenceArray<>(MAX_TYPE_CODE);
+
+    private StageMetrics() {
+    }
+
+    /**
+     * Resolve the stage timers from the registry, the stages are measured from now on.
+     *
+     * @param registry the registry
+     */
+    static void init(Registry registry) {
+        Timer[] timers = new Timer[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = registry.getTimer(stageId(stage.getValue()));
+        }
+        StageMetrics.registry = registry;
+        StageMetrics.stageTimers = timers;
+    }
+
+    public static boolean isEnabled() {
+        return stageTimers != null;
+    }
+
+    /**
+     * Start a stage.
+     *
+     * @return the start time in nanoseconds, 0 if disabled
+     */
+    public static long start() {
+        return stageTimers == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * End a stage started by {@link #start()}.
+     *
+     * @param stage     the stage
+     * @param startTime the start time returned by {@link #start()}
+     */
+    public static void record(Stage stage, long startTime) {
+        Timer[] timers = stageTimers;
+        if (timers != null && startTime != 0L) {
+            timers[stage.ordinal()].record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Record how long a request waited in the queue of the server message executor.
+     *
+     * @param message      the request
+     * @param waitNanos    the waiting time in nanoseconds
+     */
+    public static void recordQueueWait(MessageTypeAware message, long waitNanos) {
+        int typeCode = message.getTypeCode();
+        Registry registry = StageMetrics.registry;
+        if (registry == null || typeCode < 0 || typeCode >= MAX_TYPE_CODE) {
+            return;
+        }
+        Timer timer = QUEUE_WAIT_TIMERS.get(typeCode);
+        if (timer == null) {
+            timer = registry.getTimer(stageId(STAGE_QUEUE_WAIT)
+                .withTag(IdConstants.REQUEST_KEY, message.getClass().getSimpleName()));
+            QUEUE_WAIT_TIMERS.lazySet(typeCode, timer);
+        }
+        timer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Id stageId(String stage) {
+        return new Id(IdConstants.SEATA_STAGE)
+            .withTag(IdConstants.ROLE_KEY, IdConstants.ROLE_VALUE_TC)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER)
+            .withTag(IdConstants.STAGE_KEY, stage);
+    }
+}
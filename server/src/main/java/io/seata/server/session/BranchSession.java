@@ -26,7 +26,10 @@ import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.LockStatus;
+import io.seata.server.lock.LockWaiterRegistry;
 import io.seata.server.lock.LockerManagerFactory;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.storage.file.lock.FileLocker;
 import io.seata.server.store.SessionStorable;
 import io.seata.server.store.StoreConfig;
@@ -266,7 +269,16 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
     }
 
     public boolean canBeCommittedAsync() {
-        return branchType == BranchType.AT || status == BranchStatus.PhaseOne_Failed;
+        return branchType == BranchType.AT || isPhaseTwoUnnecessary();
+    }
+
+    /**
+     * Whether the branch is already finished at phase one, so it can be removed without phase two.
+     *
+     * @return the boolean
+     */
+    public boolean isPhaseTwoUnnecessary() {
+        return status == BranchStatus.PhaseOne_Failed || status == BranchStatus.PhaseOne_RDONLY;
     }
 
     /**
@@ -285,7 +297,12 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
 
     public boolean lock(boolean autoCommit, boolean skipCheckLock) throws TransactionException {
         if (this.getBranchType().equals(BranchType.AT)) {
-            return LockerManagerFactory.getLockManager().acquireLock(this, autoCommit, skipCheckLock);
+            long start = StageMetrics.start();
+            try {
+                return LockerManagerFactory.getLockManager().acquireLock(this, autoCommit, skipCheckLock);
+            } finally {
+                StageMetrics.record(Stage.LOCK_ACQUIRE, start);
+            }
         }
         return true;
     }
@@ -293,7 +310,11 @@ public class BranchSession implements Lockable, Comparable<BranchSession>, Sessi
     @Override
     public boolean unlock() throws TransactionException {
         if (this.getBranchType() == BranchType.AT) {
-            return LockerManagerFactory.getLockManager().releaseLock(this);
+            boolean released = LockerManagerFactory.getLockManager().releaseLock(this);
+            if (released) {
+                LockWaiterRegistry.getInstance().notifyReleased(this);
+            }
+            return released;
         }
         return true;
     }
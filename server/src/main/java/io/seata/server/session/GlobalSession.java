@@ -41,7 +41,10 @@ import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
 import io.seata.core.model.LockStatus;
 import io.seata.server.UUIDGenerator;
+import io.seata.server.lock.LockWaiterRegistry;
 import io.seata.server.lock.LockerManagerFactory;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.store.SessionStorable;
 import io.seata.server.store.StoreConfig;
 import org.slf4j.Logger;
@@ -252,6 +255,7 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         if (!LockerManagerFactory.getLockManager().releaseGlobalSessionLock(this)) {
             throw new TransactionException("UnLock globalSession error, xid = " + this.xid);
         }
+        LockWaiterRegistry.getInstance().notifyReleased(getBranchSessions());
     }
 
     /**
@@ -713,12 +717,15 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
         private static final int GLOBAL_SESSION_LOCK_TIME_OUT_MILLS = 2 * 1000;
 
         public void lock() throws TransactionException {
+            long start = StageMetrics.start();
             try {
                 if (globalSessionLock.tryLock(GLOBAL_SESSION_LOCK_TIME_OUT_MILLS, TimeUnit.MILLISECONDS)) {
                     return;
                 }
             } catch (InterruptedException e) {
                 LOGGER.error("Interrupted error", e);
+            } finally {
+                StageMetrics.record(Stage.SESSION_LOCK, start);
             }
             throw new GlobalTransactionException(TransactionExceptionCode.FailedLockGlobalTranscation, "Lock global session failed");
         }
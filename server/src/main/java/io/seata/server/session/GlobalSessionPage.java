@@ -0,0 +1,56 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.session;
+
+import java.util.List;
+
+/**
+ * A page of the global sessions read by an indexed console query.
+ *
+ * @author agent
+ */
+public class GlobalSessionPage {
+
+    private final List<GlobalSession> sessions;
+
+    private final int total;
+
+    private final String nextCursor;
+
+    public GlobalSessionPage(List<GlobalSession> sessions, int total, String nextCursor) {
+        this.sessions = sessions;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<GlobalSession> getSessions() {
+        return sessions;
+    }
+
+    /**
+     * @return the number of matched sessions, only those of this page when it was read by cursor
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @return the cursor of the next page, null if this is the last page
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
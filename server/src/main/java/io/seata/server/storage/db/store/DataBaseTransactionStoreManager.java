@@ -36,6 +36,8 @@ import io.seata.core.store.BranchTransactionDO;
 import io.seata.core.store.GlobalTransactionDO;
 import io.seata.core.store.LogStore;
 import io.seata.core.store.db.DataSourceProvider;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionCondition;
 import io.seata.server.storage.SessionConverter;
@@ -97,6 +99,15 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long start = StageMetrics.start();
+        try {
+            return doWriteSession(logOperation, session);
+        } finally {
+            StageMetrics.record(Stage.STORE_WRITE, start);
+        }
+    }
+
+    private boolean doWriteSession(LogOperation logOperation, SessionStorable session) {
         if (LogOperation.GLOBAL_ADD.equals(logOperation)) {
             return logStore.insertGlobalTransactionDO(SessionConverter.convertGlobalTransactionDO(session));
         } else if (LogOperation.GLOBAL_UPDATE.equals(logOperation)) {
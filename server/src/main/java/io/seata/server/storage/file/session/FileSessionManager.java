@@ -67,6 +67,11 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
      */
     private Map<String, GlobalSession> sessionMap = new ConcurrentHashMap<>();
 
+    /**
+     * The secondary indexes of the session map.
+     */
+    private final GlobalSessionIndex sessionIndex = new GlobalSessionIndex();
+
     /**
      * Instantiates a new File based session manager.
      *
@@ -102,8 +107,11 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
             } catch (TransactionException e) {
                 LOGGER.error("addGlobalSession fail, msg: {}", e.getMessage());
             }
+            sessionIndex.add(session);
             return session;
         });
+        // the session queued to async commit or retry is added again after its status changed
+        sessionIndex.updateStatus(session);
     }
 
     @Override
@@ -120,15 +128,31 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
         if (sessionMap.remove(session.getXid()) != null) {
+            sessionIndex.remove(session);
             super.removeGlobalSession(session);
         }
     }
 
+    @Override
+    public void updateGlobalSessionStatus(GlobalSession session, GlobalStatus status) throws TransactionException {
+        sessionIndex.updateStatus(session);
+        super.updateGlobalSessionStatus(session, status);
+    }
+
     @Override
     public Collection<GlobalSession> allSessions() {
         return sessionMap.values();
     }
 
+    /**
+     * Gets the secondary indexes of the sessions held by this manager.
+     *
+     * @return the session index
+     */
+    public GlobalSessionIndex getSessionIndex() {
+        return sessionIndex;
+    }
+
     @Override
     public List<GlobalSession> findGlobalSessions(SessionCondition condition) {
         List<GlobalSession> found = new ArrayList<>();
@@ -274,6 +298,7 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                     if (foundGlobalSession == null) {
                         if (this.checkSessionStatus(globalSession)) {
                             sessionMap.put(globalSession.getXid(), globalSession);
+                            sessionIndex.add(globalSession);
                         } else {
                             removedGlobalBuffer.add(globalSession.getXid());
                             unhandledBranchBuffer.remove(globalSession.getXid());
@@ -281,8 +306,10 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                     } else {
                         if (this.checkSessionStatus(globalSession)) {
                             foundGlobalSession.setStatus(globalSession.getStatus());
+                            sessionIndex.updateStatus(foundGlobalSession);
                         } else {
                             sessionMap.remove(globalSession.getXid());
+                            sessionIndex.remove(globalSession);
                             removedGlobalBuffer.add(globalSession.getXid());
                             unhandledBranchBuffer.remove(globalSession.getXid());
                         }
@@ -304,6 +331,8 @@ public class FileSessionManager extends AbstractSessionManager implements Reload
                         if (LOGGER.isInfoEnabled()) {
                             LOGGER.info("GlobalSession To Be Removed Does Not Exists [" + globalSession.getXid() + "]");
                         }
+                    } else {
+                        sessionIndex.remove(globalSession);
                     }
                     removedGlobalBuffer.add(globalSession.getXid());
                     unhandledBranchBuffer.remove(globalSession.getXid());
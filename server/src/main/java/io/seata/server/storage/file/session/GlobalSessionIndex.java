@@ -0,0 +1,338 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.storage.file.session;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import io.seata.common.util.StringUtils;
+import io.seata.core.model.GlobalStatus;
+import io.seata.server.console.param.GlobalSessionParam;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionPage;
+
+/**
+ * The secondary indexes (status, applicationId, transactionName and beginTime) of the global sessions held by
+ * the {@link FileSessionManager}, so that console queries only visit the sessions that can match instead of
+ * filtering and sorting the whole session map on every request.
+ * <p>
+ * All indexed keys are ordered newest first, which is also the order of the query results.
+ *
+ * @author agent
+ */
+public class GlobalSessionIndex {
+
+    private static final String CURSOR_SEPARATOR = ":";
+
+    private final ConcurrentSkipListMap<IndexKey, GlobalSession> byBeginTime = new ConcurrentSkipListMap<>();
+
+    private final Map<String, IndexEntry> entries = new ConcurrentHashMap<>();
+
+    private final Map<GlobalStatus, Set<IndexKey>> byStatus = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<IndexKey>> byApplicationId = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<IndexKey>> byTransactionName = new ConcurrentHashMap<>();
+
+    /**
+     * Index the global session, a session already indexed only gets its status refreshed.
+     *
+     * @param session the global session
+     */
+    public void add(GlobalSession session) {
+        entries.compute(session.getXid(), (xid, entry) -> {
+            if (entry != null) {
+                return moveStatus(entry, session.getStatus());
+            }
+            IndexKey key = new IndexKey(session.getBeginTime(), session.getTransactionId());
+            byBeginTime.put(key, session);
+            addToBucket(byStatus, session.getStatus(), key);
+            addToBucket(byApplicationId, session.getApplicationId(), key);
+            addToBucket(byTransactionName, session.getTransactionName(), key);
+            return new IndexEntry(key, session);
+        });
+    }
+
+    /**
+     * Drop the global session from all indexes.
+     *
+     * @param session the global session
+     */
+    public void remove(GlobalSession session) {
+        entries.computeIfPresent(session.getXid(), (xid, entry) -> {
+            byBeginTime.remove(entry.key);
+            removeFromBucket(byStatus, entry.status, entry.key);
+            removeFromBucket(byApplicationId, entry.applicationId, entry.key);
+            removeFromBucket(byTransactionName, entry.transactionName, entry.key);
+            return null;
+        });
+    }
+
+    /**
+     * Move the global session to the bucket of its current status.
+     *
+     * @param session the global session
+     */
+    public void updateStatus(GlobalSession session) {
+        entries.computeIfPresent(session.getXid(), (xid, entry) -> moveStatus(entry, session.getStatus()));
+    }
+
+    /**
+     * Gets the indexed sessions whose begin time is within the given range, newest first.
+     *
+     * @param timeStart the inclusive lower bound, null for unbounded
+     * @param timeEnd   the inclusive upper bound, null for unbounded
+     * @return the sessions
+     */
+    public Collection<GlobalSession> range(Long timeStart, Long timeEnd) {
+        return rangeOf(timeStart, timeEnd).values();
+    }
+
+    /**
+     * Query a page of the global sessions matching the param.
+     * <p>
+     * The narrowest of the status, applicationId and transactionName indexes drives the scan (falling back to the
+     * begin time range), the filter is only evaluated on those candidates and nothing is converted here. When the
+     * param carries a cursor, the page starts right after it and the scan stops once the page is full, so the
+     * total is not counted.
+     *
+     * @param param  the query param
+     * @param filter the full condition every returned session satisfies
+     * @return the page
+     */
+    public GlobalSessionPage query(GlobalSessionParam param, Predicate<GlobalSession> filter) {
+        IndexKey cursor = parseCursor(param.getCursor());
+        NavigableMap<IndexKey, GlobalSession> range = rangeOf(param.getTimeStart(), param.getTimeEnd());
+        if (cursor != null) {
+            range = range.tailMap(cursor, false);
+        }
+        Collection<IndexKey> keys = range.keySet();
+        List<IndexKey> candidates = candidates(param);
+        if (candidates != null) {
+            Collections.sort(candidates);
+            if (cursor != null) {
+                int index = Collections.binarySearch(candidates, cursor);
+                candidates = candidates.subList(index >= 0 ? index + 1 : -index - 1, candidates.size());
+            }
+            keys = candidates;
+        }
+
+        int pageSize = param.getPageSize();
+        int offset = cursor != null ? 0 : pageSize * (param.getPageNum() - 1);
+        List<GlobalSession> sessions = new ArrayList<>(pageSize);
+        IndexKey last = null;
+        int total = 0;
+        boolean hasMore = false;
+        for (IndexKey key : keys) {
+            GlobalSession session = byBeginTime.get(key);
+            if (session == null || !filter.test(session)) {
+                continue;
+            }
+            if (total >= offset) {
+                if (sessions.size() < pageSize) {
+                    sessions.add(session);
+                    last = key;
+                } else {
+                    hasMore = true;
+                    if (cursor != null) {
+                        break;
+                    }
+                }
+            }
+            total++;
+        }
+        if (cursor != null) {
+            total = sessions.size();
+        }
+        return new GlobalSessionPage(sessions, total, hasMore ? last.toCursor() : null);
+    }
+
+    private NavigableMap<IndexKey, GlobalSession> rangeOf(Long timeStart, Long timeEnd) {
+        NavigableMap<IndexKey, GlobalSession> range = byBeginTime;
+        if (timeEnd != null) {
+            range = range.tailMap(new IndexKey(timeEnd, Long.MAX_VALUE), true);
+        }
+        if (timeStart != null) {
+            range = range.headMap(new IndexKey(timeStart, Long.MIN_VALUE), true);
+        }
+        return range;
+    }
+
+    /**
+     * the keys of the most selective index the param can use, null if it can use none
+     */
+    private List<IndexKey> candidates(GlobalSessionParam param) {
+        List<Set<IndexKey>> narrowest = null;
+        if (param.getStatus() != null) {
+            Set<IndexKey> bucket = null;
+            if (param.getStatus() >= 0 && param.getStatus() < GlobalStatus.values().length) {
+                bucket = byStatus.get(GlobalStatus.get(param.getStatus()));
+            }
+            narrowest = bucket == null ? Collections.emptyList() : Collections.singletonList(bucket);
+        }
+        if (StringUtils.isNotBlank(param.getApplicationId())) {
+            narrowest = narrower(narrowest, containing(byApplicationId, param.getApplicationId()));
+        }
+        if (StringUtils.isNotBlank(param.getTransactionName())) {
+            narrowest = narrower(narrowest, containing(byTransactionName, param.getTransactionName()));
+        }
+        if (narrowest == null) {
+            return null;
+        }
+        List<IndexKey> keys = new ArrayList<>(sizeOf(narrowest));
+        narrowest.forEach(keys::addAll);
+        return keys;
+    }
+
+    /**
+     * the buckets whose indexed value contains the given one, matching the console's fuzzy condition
+     */
+    private static List<Set<IndexKey>> containing(Map<String, Set<IndexKey>> index, String value) {
+        List<Set<IndexKey>> buckets = new ArrayList<>();
+        index.forEach((indexed, bucket) -> {
+            if (indexed.contains(value)) {
+                buckets.add(bucket);
+            }
+        });
+        return buckets;
+    }
+
+    private static List<Set<IndexKey>> narrower(List<Set<IndexKey>> current, List<Set<IndexKey>> buckets) {
+        return current == null || sizeOf(buckets) < sizeOf(current) ? buckets : current;
+    }
+
+    private static int sizeOf(List<Set<IndexKey>> buckets) {
+        int size = 0;
+        for (Set<IndexKey> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private IndexEntry moveStatus(IndexEntry entry, GlobalStatus status) {
+        if (entry.status != status) {
+            removeFromBucket(byStatus, entry.status, entry.key);
+            addToBucket(byStatus, status, entry.key);
+            entry.status = status;
+        }
+        return entry;
+    }
+
+    private static <K> void addToBucket(Map<K, Set<IndexKey>> index, K value, IndexKey key) {
+        if (value == null) {
+            return;
+        }
+        index.compute(value, (k, bucket) -> {
+            if (bucket == null) {
+                bucket = ConcurrentHashMap.newKeySet();
+            }
+            bucket.add(key);
+            return bucket;
+        });
+    }
+
+    private static <K> void removeFromBucket(Map<K, Set<IndexKey>> index, K value, IndexKey key) {
+        if (value == null) {
+            return;
+        }
+        index.computeIfPresent(value, (k, bucket) -> {
+            bucket.remove(key);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private static IndexKey parseCursor(String cursor) {
+        if (StringUtils.isBlank(cursor)) {
+            return null;
+        }
+        int index = cursor.indexOf(CURSOR_SEPARATOR);
+        try {
+            return new IndexKey(Long.parseLong(cursor.substring(0, index)),
+                Long.parseLong(cursor.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("wrong cursor: " + cursor);
+        }
+    }
+
+    private static class IndexEntry {
+
+        private final IndexKey key;
+
+        private final String applicationId;
+
+        private final String transactionName;
+
+        private GlobalStatus status;
+
+        IndexEntry(IndexKey key, GlobalSession session) {
+            this.key = key;
+            this.applicationId = session.getApplicationId();
+            this.transactionName = session.getTransactionName();
+            this.status = session.getStatus();
+        }
+    }
+
+    /**
+     * The immutable sort key, newest begin time first and the transaction id breaking ties.
+     */
+    private static final class IndexKey implements Comparable<IndexKey> {
+
+        private final long beginTime;
+
+        private final long transactionId;
+
+        IndexKey(long beginTime, long transactionId) {
+            this.beginTime = beginTime;
+            this.transactionId = transactionId;
+        }
+
+        String toCursor() {
+            return beginTime + CURSOR_SEPARATOR + transactionId;
+        }
+
+        @Override
+        public int compareTo(IndexKey other) {
+            int result = Long.compare(other.beginTime, beginTime);
+            return result != 0 ? result : Long.compare(other.transactionId, transactionId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IndexKey)) {
+                return false;
+            }
+            IndexKey other = (IndexKey)o;
+            return beginTime == other.beginTime && transactionId == other.transactionId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(beginTime, transactionId);
+        }
+    }
+}
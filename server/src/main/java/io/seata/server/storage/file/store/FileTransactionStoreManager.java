@@ -35,6 +35,8 @@ import io.seata.common.exception.StoreException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.BufferUtils;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionCondition;
@@ -172,6 +174,15 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long start = StageMetrics.start();
+        try {
+            return doWriteSession(logOperation, session);
+        } finally {
+            StageMetrics.record(Stage.STORE_WRITE, start);
+        }
+    }
+
+    private boolean doWriteSession(LogOperation logOperation, SessionStorable session) {
         long curFileTrxNum;
         writeSessionLock.lock();
         try {
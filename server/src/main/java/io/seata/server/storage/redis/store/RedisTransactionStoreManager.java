@@ -43,7 +43,10 @@ import io.seata.core.model.GlobalStatus;
 import io.seata.core.store.BranchTransactionDO;
 import io.seata.core.store.GlobalTransactionDO;
 import io.seata.server.console.param.GlobalSessionParam;
+import io.seata.server.metrics.StageMetrics;
+import io.seata.server.metrics.StageMetrics.Stage;
 import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionPage;
 import io.seata.server.session.SessionCondition;
 import io.seata.server.session.SessionStatusValidator;
 import io.seata.server.storage.SessionConverter;
@@ -56,6 +59,7 @@ import org.slf4j.LoggerFactory;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.Pipeline;
 import redis.clients.jedis.Transaction;
+import redis.clients.jedis.Tuple;
 
 import static io.seata.common.ConfigurationKeys.STORE_REDIS_QUERY_LIMIT;
 import static io.seata.common.DefaultValues.DEFAULT_QUERY_LIMIT;
@@ -63,8 +67,10 @@ import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_APPLICA
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_GMT_MODIFIED;
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_STATUS;
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_BRANCH_XID;
+import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_APPLICATION_ID;
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_GMT_MODIFIED;
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_STATUS;
+import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_TRANSACTION_NAME;
 import static io.seata.core.constants.RedisKeyConstants.REDIS_KEY_GLOBAL_XID;
 
 /**
@@ -93,6 +99,18 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
     /**the key of global transaction status for begin*/
     private static final String REDIS_SEATA_BEGIN_TRANSACTIONS_KEY = "SEATA_BEGIN_TRANSACTIONS";
 
+    /**the key of the begin time index of all global transactions*/
+    private static final String REDIS_SEATA_INDEX_BEGIN_TIME_KEY = "SEATA_INDEX_BEGIN_TIME";
+
+    /**the prefix of the begin time index of the global transactions by application id*/
+    private static final String REDIS_SEATA_INDEX_APPLICATION_PREFIX = "SEATA_INDEX_APPLICATION_";
+
+    /**the prefix of the begin time index of the global transactions by transaction name*/
+    private static final String REDIS_SEATA_INDEX_TRANSACTION_NAME_PREFIX = "SEATA_INDEX_TRANSACTION_NAME_";
+
+    /**the separator of the begin time and the transaction id in a page cursor*/
+    private static final String CURSOR_SEPARATOR = ":";
+
     private static volatile RedisTransactionStoreManager instance;
 
     private static final String OK = "OK";
@@ -173,6 +191,15 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long start = StageMetrics.start();
+        try {
+            return doWriteSession(logOperation, session);
+        } finally {
+            StageMetrics.record(Stage.STORE_WRITE, start);
+        }
+    }
+
+    private boolean doWriteSession(LogOperation logOperation, SessionStorable session) {
         if (globalMap.containsKey(logOperation) || branchMap.containsKey(logOperation)) {
             return globalMap.containsKey(logOperation) ?
                     globalMap.get(logOperation).apply(SessionConverter.convertGlobalTransactionDO(session)) :
@@ -254,6 +281,7 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
 
     /**
      * Insert the global transaction.
+     * Besides the global session map and the status list, the global key is added to the begin time indexes.
      * @param globalTransactionDO
      * @return
      */
@@ -268,6 +296,9 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
             pipelined.rpush(buildGlobalStatus(globalTransactionDO.getStatus()), xid);
             pipelined.zadd(REDIS_SEATA_BEGIN_TRANSACTIONS_KEY,
                 globalTransactionDO.getBeginTime() + globalTransactionDO.getTimeout(), globalKey);
+            for (String indexKey : buildIndexKeys(globalTransactionDO)) {
+                pipelined.zadd(indexKey, globalTransactionDO.getBeginTime(), globalKey);
+            }
             pipelined.sync();
             return true;
         } catch (Exception ex) {
@@ -280,6 +311,7 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
      * It will operate two parts:
      *  1.delete the global session map
      *  2.remove the xid from the global status list
+     *  3.remove the global key from the begin time indexes
      * If the operate failed,the succeed operates will rollback
      * @param globalTransactionDO
      * @return
@@ -300,6 +332,9 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
                     || GlobalStatus.UnKnown.getCode() == globalTransactionDO.getStatus()) {
                     pipelined.zrem(REDIS_SEATA_BEGIN_TRANSACTIONS_KEY, globalKey);
                 }
+                for (String indexKey : buildIndexKeys(globalTransactionDO)) {
+                    pipelined.zrem(indexKey, globalKey);
+                }
                 pipelined.sync();
             }
             return true;
@@ -572,6 +607,153 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         return globalSessions;
     }
 
+    /**
+     * Query a page of the global sessions by the begin time indexes, newest first.
+     * The index of the applicationId or transactionName (both matched exactly) drives the scan, falling back to the
+     * index of all global transactions, and only the begin time range is resolved by redis. Any other condition is
+     * checked on the session fields read by a pipeline per {@code logQueryLimit} members, which is skipped entirely
+     * when there is none. When the param carries a cursor, the page starts right after it and the total is not
+     * counted.
+     *
+     * @param param the query param
+     * @return the page
+     */
+    public GlobalSessionPage readSessionByIndex(GlobalSessionParam param) {
+        int pageSize = param.getPageSize();
+        String min = String.valueOf(param.getTimeStart() == null ? 0L : param.getTimeStart());
+        String max = String.valueOf(param.getTimeEnd() == null ? Long.MAX_VALUE : param.getTimeEnd());
+        long cursorTime = 0;
+        String cursorKey = null;
+        if (StringUtils.isNotBlank(param.getCursor())) {
+            int index = param.getCursor().indexOf(CURSOR_SEPARATOR);
+            try {
+                cursorTime = Long.parseLong(param.getCursor().substring(0, index));
+                cursorKey = buildGlobalKeyByTransactionId(Long.parseLong(param.getCursor().substring(index + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("wrong cursor: " + param.getCursor());
+            }
+            if (param.getTimeEnd() == null || cursorTime < param.getTimeEnd()) {
+                max = String.valueOf(cursorTime);
+            }
+        }
+        boolean filtered = param.getStatus() != null || StringUtils.isNotBlank(param.getXid())
+            || (StringUtils.isNotBlank(param.getApplicationId()) && StringUtils.isNotBlank(param.getTransactionName()));
+
+        List<String> pageKeys = new ArrayList<>(pageSize);
+        int total = 0;
+        boolean hasMore = false;
+        Tuple last = null;
+        try (Jedis jedis = JedisPooledFactory.getJedisInstance()) {
+            String indexKey = chooseIndexKey(jedis, param);
+            int offset = cursorKey != null ? 0 : pageSize * (param.getPageNum() - 1);
+            if (!filtered && cursorKey == null) {
+                total = jedis.zcount(indexKey, min, max).intValue();
+                for (Tuple tuple : jedis.zrevrangeByScoreWithScores(indexKey, max, min, offset, pageSize)) {
+                    pageKeys.add(tuple.getElement());
+                    last = tuple;
+                }
+                hasMore = offset + pageSize < total;
+            } else {
+                int start = 0;
+                scan:
+                while (true) {
+                    List<Tuple> tuples = new ArrayList<>(
+                        jedis.zrevrangeByScoreWithScores(indexKey, max, min, start, logQueryLimit));
+                    int fetched = tuples.size();
+                    start += fetched;
+                    if (cursorKey != null) {
+                        final long time = cursorTime;
+                        final String key = cursorKey;
+                        // members of the same score are returned in descending lexicographical order
+                        tuples.removeIf(tuple -> (long)tuple.getScore() == time && tuple.getElement().compareTo(key) >= 0);
+                    }
+                    List<Boolean> matches = matches(jedis, tuples, param, filtered);
+                    for (int i = 0; i < tuples.size(); i++) {
+                        if (!matches.get(i)) {
+                            continue;
+                        }
+                        if (total >= offset) {
+                            if (pageKeys.size() < pageSize) {
+                                pageKeys.add(tuples.get(i).getElement());
+                                last = tuples.get(i);
+                            } else {
+                                hasMore = true;
+                                if (cursorKey != null) {
+                                    break scan;
+                                }
+                            }
+                        }
+                        total++;
+                    }
+                    if (fetched < logQueryLimit) {
+                        break;
+                    }
+                }
+                if (cursorKey != null) {
+                    total = pageKeys.size();
+                }
+            }
+        }
+
+        List<GlobalSession> globalSessions = new ArrayList<>(pageKeys.size());
+        for (String globalKey : pageKeys) {
+            GlobalSession globalSession = readSessionByTransactionId(
+                globalKey.substring(REDIS_SEATA_GLOBAL_PREFIX.length()), param.isWithBranch());
+            if (globalSession != null) {
+                globalSessions.add(globalSession);
+            }
+        }
+        String nextCursor = hasMore && last != null ? (long)last.getScore() + CURSOR_SEPARATOR
+            + last.getElement().substring(REDIS_SEATA_GLOBAL_PREFIX.length()) : null;
+        return new GlobalSessionPage(globalSessions, total, nextCursor);
+    }
+
+    /**
+     * the narrowest begin time index the param can use
+     */
+    private String chooseIndexKey(Jedis jedis, GlobalSessionParam param) {
+        String applicationIndexKey = StringUtils.isNotBlank(param.getApplicationId())
+            ? REDIS_SEATA_INDEX_APPLICATION_PREFIX + param.getApplicationId() : null;
+        String transactionNameIndexKey = StringUtils.isNotBlank(param.getTransactionName())
+            ? REDIS_SEATA_INDEX_TRANSACTION_NAME_PREFIX + param.getTransactionName() : null;
+        if (applicationIndexKey != null && transactionNameIndexKey != null) {
+            return jedis.zcard(applicationIndexKey) <= jedis.zcard(transactionNameIndexKey)
+                ? applicationIndexKey : transactionNameIndexKey;
+        }
+        if (applicationIndexKey != null) {
+            return applicationIndexKey;
+        }
+        return transactionNameIndexKey != null ? transactionNameIndexKey : REDIS_SEATA_INDEX_BEGIN_TIME_KEY;
+    }
+
+    /**
+     * check the conditions the chosen index can not resolve, reading the fields of all the members in one pipeline
+     */
+    private List<Boolean> matches(Jedis jedis, List<Tuple> tuples, GlobalSessionParam param, boolean filtered) {
+        if (!filtered) {
+            return Collections.nCopies(tuples.size(), Boolean.TRUE);
+        }
+        List<Boolean> matches = new ArrayList<>(tuples.size());
+        try (Pipeline pipelined = jedis.pipelined()) {
+            for (Tuple tuple : tuples) {
+                pipelined.hmget(tuple.getElement(), REDIS_KEY_GLOBAL_XID, REDIS_KEY_GLOBAL_STATUS,
+                    REDIS_KEY_GLOBAL_APPLICATION_ID, REDIS_KEY_GLOBAL_TRANSACTION_NAME);
+            }
+            for (Object response : pipelined.syncAndReturnAll()) {
+                @SuppressWarnings("unchecked")
+                List<String> fields = (List<String>)response;
+                String xid = fields.get(0);
+                matches.add(xid != null
+                    && (StringUtils.isBlank(param.getXid()) || xid.contains(param.getXid()))
+                    && (param.getStatus() == null || String.valueOf(param.getStatus()).equals(fields.get(1)))
+                    && (StringUtils.isBlank(param.getApplicationId()) || param.getApplicationId().equals(fields.get(2)))
+                    && (StringUtils.isBlank(param.getTransactionName())
+                        || param.getTransactionName().equals(fields.get(3))));
+            }
+        }
+        return matches;
+    }
+
     /**
      * assemble the global session and branch session
      * @param globalTransactionDO the global transactionDo
@@ -836,6 +1018,18 @@ public class RedisTransactionStoreManager extends AbstractTransactionStoreManage
         return REDIS_SEATA_BRANCH_PREFIX + branchId;
     }
 
+    private List<String> buildIndexKeys(GlobalTransactionDO globalTransactionDO) {
+        List<String> indexKeys = new ArrayList<>(3);
+        indexKeys.add(REDIS_SEATA_INDEX_BEGIN_TIME_KEY);
+        if (StringUtils.isNotBlank(globalTransactionDO.getApplicationId())) {
+            indexKeys.add(REDIS_SEATA_INDEX_APPLICATION_PREFIX + globalTransactionDO.getApplicationId());
+        }
+        if (StringUtils.isNotBlank(globalTransactionDO.getTransactionName())) {
+            indexKeys.add(REDIS_SEATA_INDEX_TRANSACTION_NAME_PREFIX + globalTransactionDO.getTransactionName());
+        }
+        return indexKeys;
+    }
+
     private String buildGlobalStatus(Integer status) {
         return REDIS_SEATA_STATUS_PREFIX + status;
     }
@@ -26,11 +26,13 @@ import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchType;
 import io.seata.core.rpc.RemotingServer;
 import io.seata.server.coordinator.AbstractCore;
+import io.seata.server.lock.LockWaiterRegistry;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 
 
 import static io.seata.common.Constants.AUTO_COMMIT;
+import static io.seata.common.Constants.LOCK_WAIT_NOTIFY;
 import static io.seata.common.Constants.SKIP_CHECK_LOCK;
 import static io.seata.core.exception.TransactionExceptionCode.LockKeyConflict;
 
@@ -58,6 +60,7 @@ public class ATCore extends AbstractCore {
         String applicationData = branchSession.getApplicationData();
         boolean autoCommit = true;
         boolean skipCheckLock = false;
+        boolean lockWaitNotify = false;
         if (StringUtils.isNotBlank(applicationData)) {
             try {
                 Map<String, Object> data = objectMapper.readValue(applicationData, HashMap.class);
@@ -69,12 +72,19 @@ public class ATCore extends AbstractCore {
                 if (clientSkipCheckLock instanceof Boolean) {
                     skipCheckLock = (boolean)clientSkipCheckLock;
                 }
+                Object clientLockWaitNotify = data.get(LOCK_WAIT_NOTIFY);
+                if (clientLockWaitNotify instanceof Boolean) {
+                    lockWaitNotify = (boolean)clientLockWaitNotify;
+                }
             } catch (IOException e) {
                 LOGGER.error("failed to get application data: {}", e.getMessage(), e);
             }
         }
         try {
             if (!branchSession.lock(autoCommit, skipCheckLock)) {
+                if (lockWaitNotify) {
+                    LockWaiterRegistry.getInstance().register(branchSession);
+                }
                 throw new BranchTransactionException(LockKeyConflict,
                     String.format("Global lock acquire failed xid = %s branchId = %s", globalSession.getXid(),
                         branchSession.getBranchId()));
@@ -89,7 +89,7 @@ public class DefaultCoordinatorMetricsTest {
 
             MetricsManager.get().getRegistry().measure().forEach(
                 measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(9, measurements.size());
+            Assertions.assertEquals(26, measurements.size());
             Assertions.assertEquals(0,
                 measurements.get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)")
                     .getValue(), 0);
@@ -123,7 +123,7 @@ public class DefaultCoordinatorMetricsTest {
             Thread.sleep(2000);
             MetricsManager.get().getRegistry().measure().forEach(
                 measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(17, measurements.size());
+            Assertions.assertEquals(51, measurements.size());
             Assertions.assertEquals(0,
                 measurements.get("seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)")
                     .getValue(), 0);
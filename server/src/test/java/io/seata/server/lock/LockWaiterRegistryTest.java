@@ -0,0 +1,74 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import io.seata.core.model.BranchType;
+import io.seata.server.session.BranchSession;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The type Lock waiter registry test.
+ *
+ * @author agent
+ */
+@SpringBootTest
+public class LockWaiterRegistryTest {
+
+    @Test
+    public void testRegisterAndNotify() {
+        LockWaiterRegistry registry = new LockWaiterRegistry();
+        registry.register(newBranchSession("127.0.0.1:8091:1", "app:127.0.0.1:1", "t:1,2;t2:3"));
+        registry.register(newBranchSession("127.0.0.1:8091:2", "app:127.0.0.1:2", "t:2"));
+        Assertions.assertEquals(3, registry.getWaitingRowCount());
+
+        // released rows of another resource should not wake anything
+        BranchSession otherResource = newBranchSession("127.0.0.1:8091:3", "app:127.0.0.1:3", "t:1");
+        otherResource.setResourceId("jdbc:mysql://other");
+        registry.notifyReleased(otherResource);
+        Assertions.assertEquals(3, registry.getWaitingRowCount());
+
+        registry.notifyReleased(newBranchSession("127.0.0.1:8091:4", "app:127.0.0.1:4", "t:2;t2:3"));
+        Assertions.assertEquals(1, registry.getWaitingRowCount());
+
+        registry.notifyReleased(newBranchSession("127.0.0.1:8091:4", "app:127.0.0.1:4", "t:1"));
+        Assertions.assertEquals(0, registry.getWaitingRowCount());
+    }
+
+    @Test
+    public void testIgnoreBranchWithoutLockKey() {
+        LockWaiterRegistry registry = new LockWaiterRegistry();
+        registry.register(newBranchSession("127.0.0.1:8091:1", "app:127.0.0.1:1", ""));
+        Assertions.assertEquals(0, registry.getWaitingRowCount());
+
+        registry.register(newBranchSession("127.0.0.1:8091:1", "app:127.0.0.1:1", "t:1"));
+        BranchSession tccBranch = newBranchSession("127.0.0.1:8091:2", "app:127.0.0.1:2", "t:1");
+        tccBranch.setBranchType(BranchType.TCC);
+        registry.notifyReleased(tccBranch);
+        Assertions.assertEquals(1, registry.getWaitingRowCount());
+    }
+
+    private BranchSession newBranchSession(String xid, String clientId, String lockKey) {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setXid(xid);
+        branchSession.setBranchType(BranchType.AT);
+        branchSession.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        branchSession.setClientId(clientId);
+        branchSession.setLockKey(lockKey);
+        return branchSession;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.logging;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.seata.server.logging.logback.appender.BatchAsyncAppender;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class BatchAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Logger logger = context.getLogger(BatchAsyncAppenderTest.class);
+
+    @Test
+    public void testAppendInBatches() {
+        ListAppender<ILoggingEvent> listAppender = startListAppender(null);
+        BatchAsyncAppender appender = startAsyncAppender(listAppender, 1024, true);
+        for (int i = 0; i < 1000; i++) {
+            appender.doAppend(event(Level.WARN, "message " + i));
+        }
+        appender.stop();
+        Assertions.assertEquals(1000, listAppender.list.size());
+        Assertions.assertEquals("message 999", listAppender.list.get(999).getFormattedMessage());
+        Assertions.assertFalse(listAppender.isStarted());
+    }
+
+    @Test
+    public void testDiscardByLevel() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ListAppender<ILoggingEvent> listAppender = startListAppender(() -> {
+            written.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BatchAsyncAppender appender = startAsyncAppender(listAppender, 10, true);
+        long discarded = BatchAsyncAppender.getDiscardedCount();
+
+        appender.doAppend(event(Level.INFO, "blocking"));
+        Assertions.assertTrue(written.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.INFO, "info " + i));
+        }
+        // the info events are dropped once the remaining capacity is under a fifth
+        Assertions.assertEquals(8, BatchAsyncAppender.getQueuedCount());
+        Assertions.assertEquals(discarded + 12, BatchAsyncAppender.getDiscardedCount());
+        appender.doAppend(event(Level.ERROR, "error"));
+        Assertions.assertEquals(9, BatchAsyncAppender.getQueuedCount());
+
+        release.countDown();
+        appender.stop();
+        Assertions.assertEquals(10, listAppender.list.size());
+        Assertions.assertEquals("error", listAppender.list.get(9).getFormattedMessage());
+    }
+
+    private ListAppender<ILoggingEvent> startListAppender(Runnable onAppend) {
+        ListAppender<ILoggingEvent> listAppender = new ListAppender<ILoggingEvent>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                super.append(event);
+                if (onAppend != null && list.size() == 1) {
+                    onAppend.run();
+                }
+            }
+        };
+        listAppender.setContext(context);
+        listAppender.start();
+        return listAppender;
+    }
+
+    private BatchAsyncAppender startAsyncAppender(ListAppender<ILoggingEvent> listAppender, int queueSize,
+                                                  boolean neverBlock) {
+        BatchAsyncAppender appender = new BatchAsyncAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setQueueSize(queueSize);
+        appender.setNeverBlock(neverBlock);
+        appender.addAppender(listAppender);
+        appender.start();
+        Assertions.assertTrue(appender.isStarted());
+        return appender;
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(BatchAsyncAppenderTest.class.getName(), logger, level, message, null, null);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.core.model.GlobalStatus;
+import io.seata.metrics.registry.Registry;
+import io.seata.metrics.registry.compact.CompactRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * test {@link MetricsSubscriber}
+ *
+ * @author agent
+ */
+public class MetricsSubscriberTest {
+
+    private final Registry registry = new CompactRegistry();
+
+    @AfterEach
+    public void clearUp() {
+        registry.clearUp();
+    }
+
+    @Test
+    public void testRecord() {
+        registry.clearUp();
+        MetricsSubscriber subscriber = new MetricsSubscriber(registry);
+        subscriber.record(GlobalStatus.Begin.name(), "app", "group", 1000, 0, false, false);
+        subscriber.record(GlobalStatus.Begin.name(), "app", "group", 1000, 0, false, false);
+        subscriber.record(GlobalStatus.Begin.name(), null, null, 1000, 0, false, false);
+        subscriber.record(GlobalStatus.Committed.name(), "app", "group", 1000, 1010, false, false);
+        subscriber.record(GlobalStatus.Committing.name(), "app", "group", 1000, 0, false, false);
+
+        Map<String, Double> measurements = new HashMap<>();
+        registry.measure().forEach(
+            measurement -> measurements.put(measurement.getId().toString(), measurement.getValue()));
+        Assertions.assertEquals(1, measurements.get(
+            "seata.transaction(applicationId=app,group=group,meter=counter,role=tc,status=active)"), 0);
+        Assertions.assertEquals(1, measurements.get(
+            "seata.transaction(applicationId=null,group=null,meter=counter,role=tc,status=active)"), 0);
+        Assertions.assertEquals(1, measurements.get(
+            "seata.transaction(applicationId=app,group=group,meter=counter,role=tc,status=committed)"), 0);
+        Assertions.assertEquals(10, measurements.get(
+            "seata.transaction(applicationId=app,group=group,meter=timer,role=tc,statistic=max,status=committed)"),
+            0);
+    }
+}
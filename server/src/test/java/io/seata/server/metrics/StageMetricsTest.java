@@ -0,0 +1,62 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.core.protocol.transaction.GlobalBeginRequest;
+import io.seata.metrics.registry.Registry;
+import io.seata.metrics.registry.compact.CompactRegistry;
+import io.seata.server.metrics.StageMetrics.Stage;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * test {@link StageMetrics}
+ *
+ * @author agent
+ */
+public class StageMetricsTest {
+
+    @Test
+    public void testRecord() {
+        Registry registry = new CompactRegistry();
+        registry.clearUp();
+        if (!StageMetrics.isEnabled()) {
+            Assertions.assertEquals(0L, StageMetrics.start());
+        }
+        StageMetrics.init(registry);
+        Assertions.assertTrue(StageMetrics.isEnabled());
+
+        long start = StageMetrics.start();
+        Assertions.assertNotEquals(0L, start);
+        StageMetrics.record(Stage.STORE_WRITE, start);
+        StageMetrics.record(Stage.STORE_WRITE, start);
+        StageMetrics.recordQueueWait(new GlobalBeginRequest(), 2_000_000L);
+
+        Map<String, Double> measurements = new HashMap<>();
+        registry.measure().forEach(
+            measurement -> measurements.put(measurement.getId().toString(), measurement.getValue()));
+        Assertions.assertEquals(2, measurements.get(
+            "seata.stage(meter=timer,role=tc,stage=storeWrite,statistic=count)"), 0);
+        Assertions.assertEquals(0, measurements.get(
+            "seata.stage(meter=timer,role=tc,stage=lockAcquire,statistic=count)"), 0);
+        Assertions.assertEquals(2, measurements.get(
+            "seata.stage(meter=timer,request=GlobalBeginRequest,role=tc,stage=queueWait,statistic=max)"), 0);
+        registry.clearUp();
+    }
+}
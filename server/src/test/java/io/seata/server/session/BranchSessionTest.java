@@ -17,10 +17,12 @@ package io.seata.server.session;
 
 import java.util.stream.Stream;
 
+import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.server.UUIDGenerator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -69,6 +71,20 @@ public class BranchSessionTest {
      *
      * @return the object [ ] [ ]
      */
+    @Test
+    public void phaseTwoUnnecessaryTest() {
+        BranchSession branchSession = new BranchSession();
+        branchSession.setBranchType(BranchType.XA);
+        branchSession.setStatus(BranchStatus.PhaseOne_Done);
+        Assertions.assertFalse(branchSession.isPhaseTwoUnnecessary());
+        Assertions.assertFalse(branchSession.canBeCommittedAsync());
+        branchSession.setStatus(BranchStatus.PhaseOne_RDONLY);
+        Assertions.assertTrue(branchSession.isPhaseTwoUnnecessary());
+        Assertions.assertTrue(branchSession.canBeCommittedAsync());
+        branchSession.setStatus(BranchStatus.PhaseOne_Failed);
+        Assertions.assertTrue(branchSession.isPhaseTwoUnnecessary());
+    }
+
      static Stream<Arguments> branchSessionProvider() {
         BranchSession branchSession = new BranchSession();
         branchSession.setTransactionId(UUIDGenerator.generateUUID());
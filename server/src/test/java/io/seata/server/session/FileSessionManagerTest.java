@@ -21,7 +21,9 @@ import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import javax.annotation.Resource;
@@ -309,6 +311,20 @@ public class FileSessionManagerTest {
             Assertions.assertEquals(1, sizeAndNumTestResult.getData().size());
             Assertions.assertEquals(3, sizeAndNumTestResult.getTotal());
 
+            // cursor
+            final Set<String> cursorTestXids = new HashSet<>();
+            String cursor = sizeAndNumTestResult.getNextCursor();
+            cursorTestXids.add(sizeAndNumTestResult.getData().get(0).getXid());
+            while (cursor != null) {
+                globalSessionParam.setCursor(cursor);
+                final PageResult<GlobalSessionVO> cursorTestResult = globalSessionService.query(globalSessionParam);
+                Assertions.assertEquals(1, cursorTestResult.getData().size());
+                cursorTestXids.add(cursorTestResult.getData().get(0).getXid());
+                cursor = cursorTestResult.getNextCursor();
+            }
+            Assertions.assertEquals(3, cursorTestXids.size());
+            globalSessionParam.setCursor(null);
+
             // xid
             final GlobalSession firstGlobalSession = globalSessions.get(0);
             globalSessionParam.setXid(firstGlobalSession.getXid());
@@ -345,6 +361,16 @@ public class FileSessionManagerTest {
             globalSessionParam.setStatus(GlobalStatus.CommitFailed.getCode());
             final PageResult<GlobalSessionVO> statusTestResult = globalSessionService.query(globalSessionParam);
             Assertions.assertEquals(0, statusTestResult.getData().size());
+            globalSessionParam.setStatus(GlobalStatus.Begin.getCode());
+            Assertions.assertEquals(3, globalSessionService.query(globalSessionParam).getData().size());
+            globalSessions.get(0).changeGlobalStatus(GlobalStatus.Committing);
+            Assertions.assertEquals(2, globalSessionService.query(globalSessionParam).getData().size());
+            globalSessions.get(1).asyncCommit();
+            Assertions.assertEquals(1, globalSessionService.query(globalSessionParam).getData().size());
+            globalSessionParam.setStatus(GlobalStatus.AsyncCommitting.getCode());
+            final PageResult<GlobalSessionVO> asyncCommittingTestResult = globalSessionService.query(globalSessionParam);
+            Assertions.assertEquals(1, asyncCommittingTestResult.getData().size());
+            Assertions.assertEquals(globalSessions.get(1).getXid(), asyncCommittingTestResult.getData().get(0).getXid());
 
             // with branch
             globalSessionParam.setStatus(null);
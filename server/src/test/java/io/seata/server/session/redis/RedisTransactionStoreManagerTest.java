@@ -32,6 +32,7 @@ import io.seata.server.console.vo.GlobalLockVO;
 import io.seata.core.model.GlobalStatus;
 import io.seata.server.console.vo.GlobalSessionVO;
 import io.seata.server.session.GlobalSession;
+import io.seata.server.session.GlobalSessionPage;
 import io.seata.server.session.SessionCondition;
 import io.seata.server.session.SessionManager;
 import io.seata.server.storage.redis.JedisPooledFactory;
@@ -224,6 +225,58 @@ public class RedisTransactionStoreManagerTest {
         sessionManager.removeGlobalSession(session);
     }
 
+    @Test
+    public synchronized void testReadSessionByIndex() throws TransactionException {
+        long now = System.currentTimeMillis();
+        List<GlobalSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            GlobalSession session = GlobalSession.createGlobalSession(i < 2 ? "index-app" : "index-other-app",
+                "test-group", "index-tx-" + i, 60000);
+            session.setXid(XID.generateXID(session.getTransactionId()));
+            session.setBeginTime(now - i * 1000L);
+            session.setStatus(GlobalStatus.Begin);
+            sessionManager.addGlobalSession(session);
+            sessions.add(session);
+        }
+        try {
+            GlobalSessionParam param = new GlobalSessionParam();
+            param.setPageNum(1);
+            param.setPageSize(1);
+            param.setTimeStart(now - 1500);
+            GlobalSessionPage page = redisTransactionStoreManager.readSessionByIndex(param);
+            Assertions.assertEquals(2, page.getTotal());
+            Assertions.assertEquals(sessions.get(0).getXid(), page.getSessions().get(0).getXid());
+
+            param.setCursor(page.getNextCursor());
+            page = redisTransactionStoreManager.readSessionByIndex(param);
+            Assertions.assertEquals(sessions.get(1).getXid(), page.getSessions().get(0).getXid());
+            Assertions.assertNull(page.getNextCursor());
+
+            param.setCursor(null);
+            param.setTimeStart(null);
+            param.setPageSize(5);
+            param.setApplicationId("index-other-app");
+            page = redisTransactionStoreManager.readSessionByIndex(param);
+            Assertions.assertEquals(1, page.getTotal());
+            Assertions.assertEquals(sessions.get(2).getXid(), page.getSessions().get(0).getXid());
+
+            param.setApplicationId("index-app");
+            param.setTransactionName("index-tx-1");
+            page = redisTransactionStoreManager.readSessionByIndex(param);
+            Assertions.assertEquals(1, page.getTotal());
+            Assertions.assertEquals(sessions.get(1).getXid(), page.getSessions().get(0).getXid());
+        } finally {
+            for (GlobalSession session : sessions) {
+                sessionManager.removeGlobalSession(session);
+            }
+        }
+        GlobalSessionParam param = new GlobalSessionParam();
+        param.setPageNum(1);
+        param.setPageSize(5);
+        param.setApplicationId("index-app");
+        Assertions.assertEquals(0, redisTransactionStoreManager.readSessionByIndex(param).getTotal());
+    }
+
     @Test
     public void testInsertGlobalLockData() {
         String GLOBAL_LOCK_KEY = "SEATA_GLOBAL_LOCK_192.168.158.80:8091:37621364385185792";
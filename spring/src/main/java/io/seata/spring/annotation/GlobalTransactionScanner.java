@@ -297,9 +297,6 @@ public class GlobalTransactionScanner extends AbstractAutoProxyCreator
 
                     if (globalTransactionalInterceptor == null) {
                         globalTransactionalInterceptor = new GlobalTransactionalInterceptor(failureHandlerHook);
-                        ConfigurationCache.addConfigListener(
-                                ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION,
-                                (ConfigurationChangeListener)globalTransactionalInterceptor);
                     }
                     interceptor = globalTransactionalInterceptor;
                 }
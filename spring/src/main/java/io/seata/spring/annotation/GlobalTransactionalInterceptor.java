@@ -31,6 +31,7 @@ import io.seata.config.ConfigurationCache;
 import io.seata.config.ConfigurationChangeEvent;
 import io.seata.config.ConfigurationChangeListener;
 import io.seata.config.ConfigurationFactory;
+import io.seata.config.ConfigurationHandle;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.event.EventBus;
 import io.seata.core.event.GuavaEventBus;
@@ -80,7 +81,8 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
     private final TransactionalTemplate transactionalTemplate = new TransactionalTemplate();
     private final GlobalLockTemplate globalLockTemplate = new GlobalLockTemplate();
     private final FailureHandler failureHandler;
-    private volatile boolean disable;
+    private static final ConfigurationHandle<Boolean> DISABLE_GLOBAL_TRANSACTION_HANDLE =
+        ConfigurationHandle.ofBoolean(ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION, DEFAULT_DISABLE_GLOBAL_TRANSACTION);
     private int order;
     protected AspectTransactional aspectTransactional;
     private static int degradeCheckPeriod;
@@ -92,26 +94,14 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
     private static volatile ScheduledThreadPoolExecutor executor;
     //region DEFAULT_GLOBAL_TRANSACTION_TIMEOUT
 
-    private static int defaultGlobalTransactionTimeout = 0;
-
-    private void initDefaultGlobalTransactionTimeout() {
-        if (GlobalTransactionalInterceptor.defaultGlobalTransactionTimeout <= 0) {
-            int defaultGlobalTransactionTimeout;
-            try {
-                defaultGlobalTransactionTimeout = ConfigurationFactory.getInstance().getInt(
-                        ConfigurationKeys.DEFAULT_GLOBAL_TRANSACTION_TIMEOUT, DEFAULT_GLOBAL_TRANSACTION_TIMEOUT);
-            } catch (Exception e) {
-                LOGGER.error("Illegal global transaction timeout value: " + e.getMessage());
-                defaultGlobalTransactionTimeout = DEFAULT_GLOBAL_TRANSACTION_TIMEOUT;
-            }
-            if (defaultGlobalTransactionTimeout <= 0) {
-                LOGGER.warn("Global transaction timeout value '{}' is illegal, and has been reset to the default value '{}'",
-                        defaultGlobalTransactionTimeout, DEFAULT_GLOBAL_TRANSACTION_TIMEOUT);
-                defaultGlobalTransactionTimeout = DEFAULT_GLOBAL_TRANSACTION_TIMEOUT;
+    private static final ConfigurationHandle<Integer> DEFAULT_GLOBAL_TRANSACTION_TIMEOUT_HANDLE = ConfigurationHandle.of(
+        ConfigurationKeys.DEFAULT_GLOBAL_TRANSACTION_TIMEOUT, DEFAULT_GLOBAL_TRANSACTION_TIMEOUT, value -> {
+            int timeout = Integer.parseInt(value);
+            if (timeout <= 0) {
+                throw new IllegalArgumentException("global transaction timeout must be positive");
             }
-            GlobalTransactionalInterceptor.defaultGlobalTransactionTimeout = defaultGlobalTransactionTimeout;
-        }
-    }
+            return timeout;
+        });
 
     public GlobalTransactionalInterceptor() {
         this(null);
@@ -127,8 +117,6 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
      */
     public GlobalTransactionalInterceptor(FailureHandler failureHandler) {
         this.failureHandler = failureHandler == null ? DEFAULT_FAIL_HANDLER : failureHandler;
-        this.disable = ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION,
-            DEFAULT_DISABLE_GLOBAL_TRANSACTION);
         this.order =
             ConfigurationFactory.getInstance().getInt(ConfigurationKeys.TM_INTERCEPTOR_ORDER, TM_INTERCEPTOR_ORDER);
         boolean degradeCheck = ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.CLIENT_DEGRADE_CHECK,
@@ -142,7 +130,6 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
             startDegradeCheck();
         }
         ConfigurationCache.addConfigListener(ConfigurationKeys.CLIENT_DEGRADE_CHECK, this);
-        this.initDefaultGlobalTransactionTimeout();
     }
 
     @Override
@@ -155,7 +142,7 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
             final GlobalTransactional globalTransactionalAnnotation =
                 getAnnotation(method, targetClass, GlobalTransactional.class);
             final GlobalLock globalLockAnnotation = getAnnotation(method, targetClass, GlobalLock.class);
-            boolean localDisable = disable || (ATOMIC_DEGRADE_CHECK.get() && degradeNum >= degradeCheckAllowTimes);
+            boolean localDisable = DISABLE_GLOBAL_TRANSACTION_HANDLE.get() || (ATOMIC_DEGRADE_CHECK.get() && degradeNum >= degradeCheckAllowTimes);
             if (!localDisable) {
                 if (globalTransactionalAnnotation != null || this.aspectTransactional != null) {
                     AspectTransactional transactional;
@@ -221,7 +208,7 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
                     // reset the value of timeout
                     int timeout = aspectTransactional.getTimeoutMills();
                     if (timeout <= 0 || timeout == DEFAULT_GLOBAL_TRANSACTION_TIMEOUT) {
-                        timeout = defaultGlobalTransactionTimeout;
+                        timeout = DEFAULT_GLOBAL_TRANSACTION_TIMEOUT_HANDLE.get();
                     }
 
                     TransactionInfo transactionInfo = new TransactionInfo();
@@ -314,11 +301,7 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
 
     @Override
     public void onChangeEvent(ConfigurationChangeEvent event) {
-        if (ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION.equals(event.getDataId())) {
-            LOGGER.info("{} config changed, old value:{}, new value:{}", ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION,
-                    disable, event.getNewValue());
-            disable = Boolean.parseBoolean(event.getNewValue().trim());
-        } else if (ConfigurationKeys.CLIENT_DEGRADE_CHECK.equals(event.getDataId())) {
+        if (ConfigurationKeys.CLIENT_DEGRADE_CHECK.equals(event.getDataId())) {
             boolean degradeCheck = Boolean.parseBoolean(event.getNewValue());
             if (!degradeCheck) {
                 degradeNum = 0;
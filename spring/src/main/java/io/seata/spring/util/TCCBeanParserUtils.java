@@ -159,6 +159,7 @@ public class TCCBeanParserUtils {
                     if (tccFenceConfig.getInitialized().compareAndSet(false, true)) {
                         // init tcc fence clean task if enable useTccFence
                         tccFenceConfig.initCleanTask();
+                        tccFenceConfig.initRecoverTask();
                         break;
                     }
                 }
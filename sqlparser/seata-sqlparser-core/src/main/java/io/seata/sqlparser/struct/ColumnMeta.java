@@ -119,7 +119,7 @@ public class ColumnMeta {
      *
      * @return table schema name
      */
-    protected String getTableSchemaName() {
+    public String getTableSchemaName() {
         return tableSchemaName;
     }
 
@@ -137,7 +137,7 @@ public class ColumnMeta {
      *
      * @return table name
      */
-    protected String getTableName() {
+    public String getTableName() {
         return tableName;
     }
 
@@ -0,0 +1,408 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.Constants;
+import io.seata.common.DefaultValues;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.IdWorker;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.context.RootContext;
+import io.seata.core.exception.TransactionException;
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.core.model.GlobalStatus;
+import io.seata.rm.DefaultResourceManager;
+import io.seata.rm.tcc.api.TwoPhaseBusinessAction;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
+import io.seata.rm.tcc.store.TCCFenceDO;
+import io.seata.tm.api.GlobalTransactionContext;
+import io.seata.tm.api.transaction.TransactionHookAdapter;
+import io.seata.tm.api.transaction.TransactionHookManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the TCC branches of the global transaction launched by the current thread locally, and registers them
+ * with the TC only when they are needed:
+ * <ul>
+ *     <li>before the global transaction commits, all of them are registered at once;</li>
+ *     <li>before the global transaction rollbacks, they are rolled back locally without being registered;</li>
+ *     <li>when the count of the branches reaches the max size, they are registered at once.</li>
+ * </ul>
+ * Only the actions using TCC fence are deferred, the fence log records every branch with the locally allocated
+ * branch id and its action context in the same local transaction as the try method. The local branch ids are
+ * negative, disjoint from the ids allocated by the TC. A branch the TC never learns about, because the launcher
+ * crashed or the global transaction timed out before it was registered, is rolled back by {@link #recover} from its
+ * fence log.
+ *
+ * @author agent
+ */
+public class DeferredBranchRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeferredBranchRegistry.class);
+
+    private static final boolean ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.TCC_DEFERRED_BRANCH_REGISTER, DefaultValues.DEFAULT_TCC_DEFERRED_BRANCH_REGISTER);
+
+    private static final int MAX_SIZE = Math.max(1, ConfigurationFactory.getInstance().getInt(
+        ConfigurationKeys.TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE, DefaultValues.DEFAULT_TCC_DEFERRED_BRANCH_REGISTER_MAX_SIZE));
+
+    private static final IdWorker ID_WORKER = new IdWorker(null);
+
+    /**
+     * the max count of the fence logs recovered at once
+     */
+    private static final int RECOVER_LIMIT = 1000;
+
+    /**
+     * the global statuses whose tried branches unknown to the TC are rolled back, the TC answers
+     * {@link GlobalStatus#Finished} for a global transaction it does not know any more
+     */
+    private static final Set<GlobalStatus> ROLLBACK_STATUSES = EnumSet.of(GlobalStatus.Finished,
+        GlobalStatus.Rollbacking, GlobalStatus.RollbackRetrying, GlobalStatus.Rollbacked, GlobalStatus.RollbackFailed,
+        GlobalStatus.TimeoutRollbacking, GlobalStatus.TimeoutRollbackRetrying, GlobalStatus.TimeoutRollbacked,
+        GlobalStatus.TimeoutRollbackFailed);
+
+    private static final Map<String, List<DeferredBranch>> DEFERRED_BRANCHES = new ConcurrentHashMap<>();
+
+    /**
+     * the branches are registered concurrently, so that the batch sender of the rm client merges them into one request
+     */
+    private static final ThreadPoolExecutor REGISTER_EXECUTOR = new ThreadPoolExecutor(0, MAX_SIZE, 60L,
+        TimeUnit.SECONDS, new SynchronousQueue<>(), new NamedThreadFactory("tccDeferredRegister", MAX_SIZE, true),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    private DeferredBranchRegistry() {
+    }
+
+    /**
+     * Whether the registration of the branches can be deferred
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLE;
+    }
+
+    /**
+     * Whether the branch id is allocated locally by {@link #defer}
+     *
+     * @param branchId the branch id
+     * @return true if allocated locally
+     */
+    public static boolean isLocalBranchId(long branchId) {
+        return branchId < 0;
+    }
+
+    /**
+     * Whether the registration of the branch can be deferred
+     *
+     * @param xid            the xid
+     * @param businessAction the business action
+     * @return true if the global transaction is launched by the current thread and the action uses TCC fence
+     */
+    public static boolean isDeferrable(String xid, TwoPhaseBusinessAction businessAction) {
+        return ENABLE && businessAction.useTCCFence() && xid != null
+            && xid.equals(TransactionHookManager.getLaunchedXid());
+    }
+
+    /**
+     * Record the branch locally
+     *
+     * @param xid        the xid
+     * @param actionName the action name
+     * @param context    the action context, it is serialized when the branch is registered
+     * @return the branch id allocated locally
+     * @throws TransactionException the transaction exception
+     */
+    public static long defer(String xid, String actionName, Map<String, Object> context) throws TransactionException {
+        long branchId = -ID_WORKER.nextId();
+        context.put(Constants.LOCAL_BRANCH_ID, branchId);
+        List<DeferredBranch> branches = DEFERRED_BRANCHES.get(xid);
+        if (branches == null) {
+            branches = Collections.synchronizedList(new ArrayList<>());
+            DEFERRED_BRANCHES.put(xid, branches);
+            TransactionHookManager.registerHook(new DeferredBranchHook(xid));
+        }
+        branches.add(new DeferredBranch(branchId, actionName, context));
+        if (branches.size() >= MAX_SIZE) {
+            List<DeferredBranch> unregistered = register(xid, DEFERRED_BRANCHES.remove(xid));
+            if (!unregistered.isEmpty()) {
+                DEFERRED_BRANCHES.put(xid, unregistered);
+                throw unregistered.get(0).error;
+            }
+        }
+        return branchId;
+    }
+
+    /**
+     * Replace the action context of a deferred branch
+     *
+     * @param xid      the xid
+     * @param branchId the branch id
+     * @param context  the action context
+     * @return true if the branch is not registered yet
+     */
+    public static boolean updateContext(String xid, long branchId, Map<String, Object> context) {
+        List<DeferredBranch> branches = DEFERRED_BRANCHES.get(xid);
+        if (branches == null) {
+            return false;
+        }
+        synchronized (branches) {
+            for (DeferredBranch branch : branches) {
+                if (branch.branchId == branchId) {
+                    branch.context = context;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the count of the branches not registered yet.
+     *
+     * @param xid the xid
+     * @return the count
+     */
+    public static int getDeferredCount(String xid) {
+        List<DeferredBranch> branches = DEFERRED_BRANCHES.get(xid);
+        return branches == null ? 0 : branches.size();
+    }
+
+    /**
+     * Register the deferred branches of the global transaction with the TC.
+     *
+     * @param xid the xid
+     * @return the branches failed to register
+     */
+    static List<DeferredBranch> flush(String xid) {
+        return register(xid, DEFERRED_BRANCHES.remove(xid));
+    }
+
+    /**
+     * Roll back the deferred branches of the global transaction locally, the TC never knows them.
+     * A branch failed to roll back is registered, so that the TC retries it.
+     *
+     * @param xid the xid
+     */
+    static void rollback(String xid) {
+        List<DeferredBranch> branches = DEFERRED_BRANCHES.remove(xid);
+        if (CollectionUtils.isEmpty(branches)) {
+            return;
+        }
+        List<DeferredBranch> failed = rollbackLocally(xid, branches);
+        if (!failed.isEmpty()) {
+            for (DeferredBranch branch : register(xid, failed)) {
+                LOGGER.error("TCC branch can not be rolled back nor registered, xid: {}, branchId: {}, action: {}",
+                    xid, branch.branchId, branch.actionName, branch.error);
+            }
+        }
+    }
+
+    /**
+     * Roll back the branches registered deferred whose fence logs are still tried, if their global transactions are
+     * rolled back or finished. Such a branch is unknown to the TC, e.g. the launcher crashed before registering it.
+     *
+     * @param datetime the datetime the fence logs are created before
+     * @return the count of the branches rolled back
+     */
+    public static int recover(Date datetime) {
+        List<TCCFenceDO> fences = TCCFenceHandler.queryTriedDeferredFences(datetime, RECOVER_LIMIT);
+        Map<String, GlobalStatus> globalStatuses = new HashMap<>();
+        int recovered = 0;
+        for (TCCFenceDO fence : fences) {
+            String xid = fence.getXid();
+            GlobalStatus globalStatus = globalStatuses.get(xid);
+            if (globalStatus == null) {
+                try {
+                    globalStatus = GlobalTransactionContext.reload(xid).getStatus();
+                } catch (TransactionException e) {
+                    LOGGER.warn("Query the global status to recover deferred TCC branches error, xid: {}", xid, e);
+                    globalStatus = GlobalStatus.UnKnown;
+                }
+                globalStatuses.put(xid, globalStatus);
+            }
+            if (!ROLLBACK_STATUSES.contains(globalStatus)) {
+                continue;
+            }
+            if (fence.getActionContext() == null) {
+                LOGGER.warn("Deferred TCC branch without action context can not be recovered, xid: {}, branchId: {}",
+                    xid, fence.getBranchId());
+                continue;
+            }
+            // the launcher can not register them any more
+            DEFERRED_BRANCHES.remove(xid);
+            try {
+                BranchStatus status = DefaultResourceManager.get().branchRollback(BranchType.TCC, xid,
+                    fence.getBranchId(), fence.getActionName(), fence.getActionContext());
+                if (status == BranchStatus.PhaseTwo_Rollbacked) {
+                    recovered++;
+                    LOGGER.info("Deferred TCC branch recovered, xid: {}, branchId: {}, globalStatus: {}", xid,
+                        fence.getBranchId(), globalStatus);
+                } else {
+                    LOGGER.warn("Deferred TCC branch recover failed, xid: {}, branchId: {}, status: {}", xid,
+                        fence.getBranchId(), status);
+                }
+            } catch (TransactionException | RuntimeException e) {
+                LOGGER.error("Deferred TCC branch recover error, xid: {}, branchId: {}", xid, fence.getBranchId(), e);
+            }
+        }
+        return recovered;
+    }
+
+    private static List<DeferredBranch> register(String xid, List<DeferredBranch> branches) {
+        if (CollectionUtils.isEmpty(branches)) {
+            return Collections.emptyList();
+        }
+        List<Future<Long>> futures = new ArrayList<>(branches.size());
+        for (DeferredBranch branch : branches) {
+            futures.add(REGISTER_EXECUTOR.submit(() -> DefaultResourceManager.get().branchRegister(BranchType.TCC,
+                branch.actionName, null, xid, branch.getApplicationData(), null)));
+        }
+        List<DeferredBranch> unregistered = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            DeferredBranch branch = branches.get(i);
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                branch.error = new TransactionException(e);
+                unregistered.add(branch);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                branch.error = cause instanceof TransactionException ? (TransactionException)cause
+                    : new TransactionException(cause);
+                unregistered.add(branch);
+            }
+        }
+        return unregistered;
+    }
+
+    private static List<DeferredBranch> rollbackLocally(String xid, List<DeferredBranch> branches) {
+        List<DeferredBranch> failed = new ArrayList<>();
+        for (DeferredBranch branch : branches) {
+            try {
+                BranchStatus status = DefaultResourceManager.get().branchRollback(BranchType.TCC, xid, branch.branchId,
+                    branch.actionName, branch.getApplicationData());
+                if (status != BranchStatus.PhaseTwo_Rollbacked) {
+                    failed.add(branch);
+                }
+            } catch (TransactionException e) {
+                LOGGER.error("TCC branch rollback locally error, xid: {}, branchId: {}", xid, branch.branchId, e);
+                failed.add(branch);
+            }
+        }
+        return failed;
+    }
+
+    static class DeferredBranch {
+
+        private final long branchId;
+
+        private final String actionName;
+
+        private volatile Map<String, Object> context;
+
+        private TransactionException error;
+
+        DeferredBranch(long branchId, String actionName, Map<String, Object> context) {
+            this.branchId = branchId;
+            this.actionName = actionName;
+            this.context = context;
+        }
+
+        String getApplicationData() {
+            return ActionContextCodecFactory.encode(context);
+        }
+    }
+
+    /**
+     * registers the deferred branches before the global transaction commits, rolls them back locally before it
+     * rollbacks.
+     */
+    static class DeferredBranchHook extends TransactionHookAdapter {
+
+        private final String xid;
+
+        DeferredBranchHook(String xid) {
+            this.xid = xid;
+        }
+
+        @Override
+        public void beforeCommit() {
+            if (!isLaunchedTransaction()) {
+                return;
+            }
+            List<DeferredBranch> unregistered = flush(xid);
+            if (unregistered.isEmpty()) {
+                return;
+            }
+            LOGGER.error("Register deferred TCC branches error, rollback the global transaction, xid: {}", xid,
+                unregistered.get(0).error);
+            rollbackLocally(xid, unregistered);
+            try {
+                // the commit sent next finds the global transaction rolled back
+                GlobalTransactionContext.reload(xid).rollback();
+            } catch (TransactionException e) {
+                LOGGER.error("Rollback the global transaction error, xid: {}", xid, e);
+            }
+        }
+
+        @Override
+        public void beforeRollback() {
+            if (!isLaunchedTransaction()) {
+                return;
+            }
+            rollback(xid);
+        }
+
+        @Override
+        public void afterCompletion() {
+            List<DeferredBranch> branches = DEFERRED_BRANCHES.remove(xid);
+            if (CollectionUtils.isNotEmpty(branches)) {
+                LOGGER.warn("{} deferred TCC branches are left after the global transaction completed, xid: {}",
+                    branches.size(), xid);
+            }
+        }
+
+        /**
+         * the hooks of the thread are triggered by whichever transaction completes on it, only the one launched
+         * with the deferred branches acts on them.
+         */
+        private boolean isLaunchedTransaction() {
+            return xid.equals(RootContext.getXID()) && xid.equals(TransactionHookManager.getLaunchedXid());
+        }
+    }
+}
@@ -17,20 +17,15 @@ package io.seata.rm.tcc;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
-import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.SkipCallbackWrapperException;
 import io.seata.common.executor.Callback;
-import io.seata.common.thread.NamedThreadFactory;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 import io.seata.rm.tcc.constant.TCCFenceConstant;
 import io.seata.rm.tcc.exception.TCCFenceException;
 import io.seata.rm.tcc.store.TCCFenceDO;
@@ -61,28 +56,17 @@ public class TCCFenceHandler {
 
     private static TransactionTemplate transactionTemplate;
 
-    private static final int MAX_THREAD_CLEAN = 1;
-
-    private static final int MAX_QUEUE_SIZE = 500;
-
     /**
-     * limit of delete record by date (per sql)
+     * expected count of records deleted by date (per sql)
      */
     private static final int LIMIT_DELETE = 1000;
 
-    private static final LinkedBlockingQueue<FenceLogIdentity> LOG_QUEUE = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
-
-    private static FenceLogCleanRunnable fenceLogCleanRunnable;
+    /**
+     * bounds of the gmt_modified window purged per sql
+     */
+    private static final long PURGE_WINDOW_MIN_MILLIS = 1000L;
 
-    private static ExecutorService logCleanExecutor;
-
-    static {
-        try {
-            initLogCleanExecutor();
-        } catch (Exception e) {
-            LOGGER.error("init fence log clean executor error", e);
-        }
-    }
+    private static final long PURGE_WINDOW_MAX_MILLIS = 24 * 60 * 60 * 1000L;
 
     public static DataSource getDataSource() {
         return TCCFenceHandler.dataSource;
@@ -106,21 +90,46 @@ public class TCCFenceHandler {
      * @return the boolean
      */
     public static Object prepareFence(String xid, Long branchId, String actionName, Callback<Object> targetCallback) {
+        return prepareFence(xid, branchId, actionName, null, targetCallback);
+    }
+
+    /**
+     * tcc prepare method enhanced, the action context of the branch registered deferred is recorded with the fence
+     * log, so that the branch can be rolled back by {@link DeferredBranchRegistry#recover} if the TC never knows it.
+     *
+     * @param xid            the global transaction id
+     * @param branchId       the branch transaction id
+     * @param actionName     the action name
+     * @param actionContext  the action context to record, null if the branch is registered
+     * @param targetCallback the target callback
+     * @return the boolean
+     */
+    public static Object prepareFence(String xid, Long branchId, String actionName, Map<String, Object> actionContext,
+                                      Callback<Object> targetCallback) {
         return transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
-                boolean result = insertTCCFenceLog(conn, xid, branchId, actionName, TCCFenceConstant.STATUS_TRIED);
+                String encodedContext = actionContext == null ? null : ActionContextCodecFactory.encode(actionContext);
+                boolean result = insertTCCFenceLog(conn, xid, branchId, actionName, encodedContext, TCCFenceConstant.STATUS_TRIED);
                 LOGGER.info("TCC fence prepare result: {}. xid: {}, branchId: {}", result, xid, branchId);
                 if (result) {
-                    return targetCallback.execute();
+                    Object businessResult = targetCallback.execute();
+                    if (encodedContext != null) {
+                        // the try method may add to the action context
+                        String triedContext = ActionContextCodecFactory.encode(actionContext);
+                        if (!encodedContext.equals(triedContext)) {
+                            TCC_FENCE_DAO.updateTCCFenceContext(conn, xid, branchId, triedContext);
+                        }
+                    }
+                    return businessResult;
                 } else {
                     throw new TCCFenceException(String.format("Insert tcc fence record error, prepare fence failed. xid= %s, branchId= %s", xid, branchId),
                             FrameworkErrorCode.InsertRecordError);
                 }
             } catch (TCCFenceException e) {
                 if (e.getErrcode() == FrameworkErrorCode.DuplicateKeyException) {
+                    // the suspended record is left to the periodic purge
                     LOGGER.error("Branch transaction has already rollbacked before,prepare fence failed. xid= {},branchId = {}", xid, branchId);
-                    addToLogCleanQueue(xid, branchId);
                 }
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(e);
@@ -143,9 +152,25 @@ public class TCCFenceHandler {
      */
     public static boolean commitFence(Method commitMethod, Object targetTCCBean,
                                       String xid, Long branchId, Object[] args) {
+        return commitFence(xid, branchId, () -> commitMethod.invoke(targetTCCBean, args));
+    }
+
+    /**
+     * tcc commit method enhanced
+     *
+     * @param xid                   the global transaction id
+     * @param branchId              the branch transaction id
+     * @param targetCallback        the callback invoking commit method
+     * @return the boolean
+     */
+    public static boolean commitFence(String xid, Long branchId, Callback<Object> targetCallback) {
         return transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
+                // the common path: the record is tried, so a single conditional update locks and transits it
+                if (TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, TCCFenceConstant.STATUS_TRIED)) {
+                    return invokeTargetMethod(targetCallback, status);
+                }
                 TCCFenceDO tccFenceDO = TCC_FENCE_DAO.queryTCCFenceDO(conn, xid, branchId);
                 if (tccFenceDO == null) {
                     throw new TCCFenceException(String.format("TCC fence record not exists, commit fence method failed. xid= %s, branchId= %s", xid, branchId),
@@ -161,7 +186,7 @@ public class TCCFenceHandler {
                     }
                     return false;
                 }
-                return updateStatusAndInvokeTargetMethod(conn, commitMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status, args);
+                return updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_COMMITTED, status);
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
@@ -182,13 +207,30 @@ public class TCCFenceHandler {
      */
     public static boolean rollbackFence(Method rollbackMethod, Object targetTCCBean,
                                         String xid, Long branchId, Object[] args, String actionName) {
+        return rollbackFence(xid, branchId, actionName, () -> rollbackMethod.invoke(targetTCCBean, args));
+    }
+
+    /**
+     * tcc rollback method enhanced
+     *
+     * @param xid                   the global transaction id
+     * @param branchId              the branch transaction id
+     * @param actionName            the action name
+     * @param targetCallback        the callback invoking rollback method
+     * @return the boolean
+     */
+    public static boolean rollbackFence(String xid, Long branchId, String actionName, Callback<Object> targetCallback) {
         return transactionTemplate.execute(status -> {
             try {
                 Connection conn = DataSourceUtils.getConnection(dataSource);
+                // the common path: the record is tried, so a single conditional update locks and transits it
+                if (TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, TCCFenceConstant.STATUS_TRIED)) {
+                    return invokeTargetMethod(targetCallback, status);
+                }
                 TCCFenceDO tccFenceDO = TCC_FENCE_DAO.queryTCCFenceDO(conn, xid, branchId);
                 // non_rollback
                 if (tccFenceDO == null) {
-                    boolean result = insertTCCFenceLog(conn, xid, branchId, actionName, TCCFenceConstant.STATUS_SUSPENDED);
+                    boolean result = insertTCCFenceLog(conn, xid, branchId, actionName, null, TCCFenceConstant.STATUS_SUSPENDED);
                     LOGGER.info("Insert tcc fence record result: {}. xid: {}, branchId: {}", result, xid, branchId);
                     if (!result) {
                         throw new TCCFenceException(String.format("Insert tcc fence record error, rollback fence method failed. xid= %s, branchId= %s", xid, branchId),
@@ -207,7 +249,7 @@ public class TCCFenceHandler {
                         return false;
                     }
                 }
-                return updateStatusAndInvokeTargetMethod(conn, rollbackMethod, targetTCCBean, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status, args);
+                return updateStatusAndInvokeTargetMethod(conn, targetCallback, xid, branchId, TCCFenceConstant.STATUS_ROLLBACKED, status);
             } catch (Throwable t) {
                 status.setRollbackOnly();
                 throw new SkipCallbackWrapperException(t);
@@ -221,14 +263,17 @@ public class TCCFenceHandler {
      * @param conn     the db connection
      * @param xid      the xid
      * @param branchId the branchId
+     * @param actionContext the encoded action context, null if not recorded
      * @param status   the status
      * @return the boolean
      */
-    private static boolean insertTCCFenceLog(Connection conn, String xid, Long branchId, String actionName, Integer status) {
+    private static boolean insertTCCFenceLog(Connection conn, String xid, Long branchId, String actionName,
+                                             String actionContext, Integer status) {
         TCCFenceDO tccFenceDO = new TCCFenceDO();
         tccFenceDO.setXid(xid);
         tccFenceDO.setBranchId(branchId);
         tccFenceDO.setActionName(actionName);
+        tccFenceDO.setActionContext(actionContext);
         tccFenceDO.setStatus(status);
         return TCC_FENCE_DAO.insertTCCFenceDO(conn, tccFenceDO);
     }
@@ -236,32 +281,34 @@ public class TCCFenceHandler {
     /**
      * Update TCC Fence status and invoke target method
      *
-     * @param method                target method
-     * @param targetTCCBean         target bean
+     * @param targetCallback        the callback invoking target method
      * @param xid                   the global transaction id
      * @param branchId              the branch transaction id
      * @param status                the tcc fence status
      * @return the boolean
      */
-    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Method method, Object targetTCCBean,
+    private static boolean updateStatusAndInvokeTargetMethod(Connection conn, Callback<Object> targetCallback,
                                                              String xid, Long branchId, int status,
-                                                             TransactionStatus transactionStatus,
-                                                             Object[] args) throws Exception {
+                                                             TransactionStatus transactionStatus) throws Throwable {
         boolean result = TCC_FENCE_DAO.updateTCCFenceDO(conn, xid, branchId, status, TCCFenceConstant.STATUS_TRIED);
         if (result) {
-            // invoke two phase method
-            Object ret = method.invoke(targetTCCBean, args);
-            if (null != ret) {
-                if (ret instanceof TwoPhaseResult) {
-                    result = ((TwoPhaseResult) ret).isSuccess();
-                } else {
-                    result = (boolean) ret;
-                }
-                // If the business execution result is false, the transaction will be rolled back
-                if (!result) {
-                    transactionStatus.setRollbackOnly();
-                }
-            }
+            result = invokeTargetMethod(targetCallback, transactionStatus);
+        }
+        return result;
+    }
+
+    /**
+     * Invoke the two phase method whose fence status has been transited
+     *
+     * @param targetCallback        the callback invoking target method
+     * @param transactionStatus     the fence transaction status
+     * @return the boolean
+     */
+    private static boolean invokeTargetMethod(Callback<Object> targetCallback, TransactionStatus transactionStatus) throws Throwable {
+        boolean result = TwoPhaseInvoker.toResult(targetCallback.execute());
+        // If the business execution result is false, the transaction will be rolled back
+        if (!result) {
+            transactionStatus.setRollbackOnly();
         }
         return result;
     }
@@ -287,26 +334,53 @@ public class TCCFenceHandler {
         });
     }
 
+    /**
+     * Query the fence logs still tried of the branches registered deferred.
+     *
+     * @param datetime the datetime the logs are created before
+     * @param limit    the max count of the logs
+     * @return the fence logs with the action context
+     */
+    public static List<TCCFenceDO> queryTriedDeferredFences(Date datetime, int limit) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return TCC_FENCE_DAO.queryTriedLocalTCCFenceDOByDate(connection, datetime, limit);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
 
-
+    /**
+     * Delete the fence logs in end status modified before the datetime.
+     * The range is purged window by window along gmt_modified, every window is a short statement of its own
+     * deleting at most {@link #LIMIT_DELETE} rows, and the window is resized to keep each one close to that.
+     *
+     * @param datetime the datetime
+     * @return the deleted row count
+     */
     public static int deleteFenceByDate(Date datetime) {
         DataSource dataSource = TCCFenceHandler.getDataSource();
         Connection connection = null;
         int total = 0;
         try {
             connection = DataSourceUtils.getConnection(dataSource);
-            if (isOracle(connection)) {
-                // delete by date if DB is oracle
-                return TCC_FENCE_DAO.deleteTCCFenceDOByDate(connection, datetime);
-            }
-
-            //delete by id if DB is not oracle
-            while (true) {
-                Set<String> xidSet = TCC_FENCE_DAO.queryEndStatusXidsByDate(connection, datetime, LIMIT_DELETE);
-                if (xidSet.isEmpty()) {
-                    break;
+            long window = PURGE_WINDOW_MIN_MILLIS;
+            Date from = TCC_FENCE_DAO.queryFirstModifiedDate(connection, new Date(0), datetime);
+            while (from != null) {
+                Date to = new Date(Math.min(from.getTime() + window, datetime.getTime()));
+                int deleted = TCC_FENCE_DAO.deleteTCCFenceDOByDateRange(connection, from, to, LIMIT_DELETE);
+                total += deleted;
+                if (deleted >= LIMIT_DELETE) {
+                    // the window may hold more, purge the rest of it again
+                    window = Math.max(window / 2, PURGE_WINDOW_MIN_MILLIS);
+                    from = TCC_FENCE_DAO.queryFirstModifiedDate(connection, from, datetime);
+                    continue;
+                }
+                if (deleted < LIMIT_DELETE / 2) {
+                    window = Math.min(window * 2, PURGE_WINDOW_MAX_MILLIS);
                 }
-                total += TCC_FENCE_DAO.deleteTCCFenceDO(connection, new ArrayList<>(xidSet));
+                // skip the empty gap to the next modified record directly
+                from = to.before(datetime) ? TCC_FENCE_DAO.queryFirstModifiedDate(connection, to, datetime) : null;
             }
         } catch (RuntimeException e) {
             LOGGER.error("delete fence log failed ", e);
@@ -316,89 +390,5 @@ public class TCCFenceHandler {
             }
         }
         return total;
-
-    }
-
-    private static boolean isOracle(Connection connection) {
-        try {
-            String url = connection.getMetaData().getURL();
-            return url.toLowerCase().contains(":oracle:");
-        } catch (SQLException e) {
-            LOGGER.error("get db type fail", e);
-        }
-        return false;
-    }
-
-    private static void initLogCleanExecutor() {
-        logCleanExecutor = new ThreadPoolExecutor(MAX_THREAD_CLEAN, MAX_THREAD_CLEAN, Integer.MAX_VALUE,
-                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
-                new NamedThreadFactory("fenceLogCleanThread", MAX_THREAD_CLEAN, true)
-        );
-        fenceLogCleanRunnable = new FenceLogCleanRunnable();
-        logCleanExecutor.submit(fenceLogCleanRunnable);
-    }
-
-    private static void addToLogCleanQueue(final String xid, final long branchId) {
-        FenceLogIdentity logIdentity = new FenceLogIdentity();
-        logIdentity.setXid(xid);
-        logIdentity.setBranchId(branchId);
-        try {
-            LOG_QUEUE.add(logIdentity);
-        } catch (Exception e) {
-            LOGGER.warn("Insert tcc fence record into queue for async delete error,xid:{},branchId:{}", xid, branchId, e);
-        }
-    }
-
-    /**
-     * clean fence log that has the final status runnable.
-     *
-     * @see TCCFenceConstant
-     */
-    private static class FenceLogCleanRunnable implements Runnable {
-        @Override
-        public void run() {
-            while (true) {
-
-                try {
-                    FenceLogIdentity logIdentity = LOG_QUEUE.take();
-                    boolean ret = TCCFenceHandler.deleteFence(logIdentity.getXid(), logIdentity.getBranchId());
-                    if (!ret) {
-                        LOGGER.error("delete fence log failed, xid: {}, branchId: {}", logIdentity.getXid(), logIdentity.getBranchId());
-                    }
-                } catch (InterruptedException e) {
-                    LOGGER.error("take fence log from queue for clean be interrupted", e);
-                } catch (Exception e) {
-                    LOGGER.error("exception occur when clean fence log", e);
-                }
-            }
-        }
-    }
-
-    private static class FenceLogIdentity {
-        /**
-         * the global transaction id
-         */
-        private String xid;
-
-        /**
-         * the branch transaction id
-         */
-        private Long branchId;
-
-        public String getXid() {
-            return xid;
-        }
-
-        public Long getBranchId() {
-            return branchId;
-        }
-
-        public void setXid(String xid) {
-            this.xid = xid;
-        }
-
-        public void setBranchId(Long branchId) {
-            this.branchId = branchId;
-        }
     }
 }
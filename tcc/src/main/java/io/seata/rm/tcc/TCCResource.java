@@ -54,6 +54,10 @@ public class TCCResource implements Resource {
 
     private String[] phaseTwoRollbackKeys;
 
+    private TwoPhaseInvoker commitInvoker;
+
+    private TwoPhaseInvoker rollbackInvoker;
+
     @Override
     public String getResourceGroupId() {
         return resourceGroupId;
@@ -286,6 +290,38 @@ public class TCCResource implements Resource {
         this.phaseTwoRollbackKeys = phaseTwoRollbackKeys;
     }
 
+    /**
+     * get compiled commit method invoker
+     * @return the commit invoker
+     */
+    public TwoPhaseInvoker getCommitInvoker() {
+        return commitInvoker;
+    }
+
+    /**
+     * set compiled commit method invoker
+     * @param commitInvoker commitInvoker
+     */
+    public void setCommitInvoker(TwoPhaseInvoker commitInvoker) {
+        this.commitInvoker = commitInvoker;
+    }
+
+    /**
+     * get compiled rollback method invoker
+     * @return the rollback invoker
+     */
+    public TwoPhaseInvoker getRollbackInvoker() {
+        return rollbackInvoker;
+    }
+
+    /**
+     * set compiled rollback method invoker
+     * @param rollbackInvoker rollbackInvoker
+     */
+    public void setRollbackInvoker(TwoPhaseInvoker rollbackInvoker) {
+        this.rollbackInvoker = rollbackInvoker;
+    }
+
     @Override
     public int hashCode() {
         return actionName.hashCode();
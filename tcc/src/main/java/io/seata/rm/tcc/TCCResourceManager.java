@@ -21,17 +21,16 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
-import com.alibaba.fastjson.JSON;
 import io.seata.common.Constants;
 import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.exception.SkipCallbackWrapperException;
-import io.seata.common.util.StringUtils;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.rm.AbstractResourceManager;
 import io.seata.rm.tcc.api.BusinessActionContext;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 
 /**
  * TCC resource manager
@@ -61,6 +60,7 @@ public class TCCResourceManager extends AbstractResourceManager {
     @Override
     public void registerResource(Resource resource) {
         TCCResource tccResource = (TCCResource)resource;
+        compileInvokers(tccResource);
         tccResourceCache.put(tccResource.getResourceId(), tccResource);
         super.registerResource(tccResource);
     }
@@ -88,36 +88,26 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method commitMethod = tccResource.getCommitMethod();
-        if (targetTCCBean == null || commitMethod == null) {
+        TwoPhaseInvoker invoker = tccResource.getCommitInvoker();
+        if (invoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseCommitArgs(tccResource, businessActionContext);
-            Object ret;
+            Object[] args = invoker.bindArgs(businessActionContext);
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.commitFence(commitMethod, targetTCCBean, xid, branchId, args);
+                    result = TCCFenceHandler.commitFence(xid, businessActionContext.getBranchId(),
+                        () -> invoker.invoke(args));
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = commitMethod.invoke(targetTCCBean, args);
-                if (ret != null) {
-                    if (ret instanceof TwoPhaseResult) {
-                        result = ((TwoPhaseResult)ret).isSuccess();
-                    } else {
-                        result = (boolean)ret;
-                    }
-                } else {
-                    result = true;
-                }
+                result = TwoPhaseInvoker.toResult(invoker.invoke(args));
             }
             LOGGER.info("TCC resource commit result : {}, xid: {}, branchId: {}, resourceId: {}", result, xid, branchId, resourceId);
             return result ? BranchStatus.PhaseTwo_Committed : BranchStatus.PhaseTwo_CommitFailed_Retryable;
@@ -146,37 +136,26 @@ public class TCCResourceManager extends AbstractResourceManager {
         if (tccResource == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not exist, resourceId: %s", resourceId));
         }
-        Object targetTCCBean = tccResource.getTargetBean();
-        Method rollbackMethod = tccResource.getRollbackMethod();
-        if (targetTCCBean == null || rollbackMethod == null) {
+        TwoPhaseInvoker invoker = tccResource.getRollbackInvoker();
+        if (invoker == null) {
             throw new ShouldNeverHappenException(String.format("TCC resource is not available, resourceId: %s", resourceId));
         }
         try {
             //BusinessActionContext
             BusinessActionContext businessActionContext = getBusinessActionContext(xid, branchId, resourceId,
                 applicationData);
-            Object[] args = this.getTwoPhaseRollbackArgs(tccResource, businessActionContext);
-            Object ret;
+            Object[] args = invoker.bindArgs(businessActionContext);
             boolean result;
             // add idempotent and anti hanging
             if (Boolean.TRUE.equals(businessActionContext.getActionContext(Constants.USE_TCC_FENCE))) {
                 try {
-                    result = TCCFenceHandler.rollbackFence(rollbackMethod, targetTCCBean, xid, branchId,
-                            args, tccResource.getActionName());
+                    result = TCCFenceHandler.rollbackFence(xid, businessActionContext.getBranchId(),
+                        tccResource.getActionName(), () -> invoker.invoke(args));
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     throw e.getCause();
                 }
             } else {
-                ret = rollbackMethod.invoke(targetTCCBean, args);
-                if (ret != null) {
-                    if (ret instanceof TwoPhaseResult) {
-                        result = ((TwoPhaseResult)ret).isSuccess();
-                    } else {
-                        result = (boolean)ret;
-                    }
-                } else {
-                    result = true;
-                }
+                result = TwoPhaseInvoker.toResult(invoker.invoke(args));
             }
             LOGGER.info("TCC resource rollback result : {}, xid: {}, branchId: {}, resourceId: {}", result, xid, branchId, resourceId);
             return result ? BranchStatus.PhaseTwo_Rollbacked : BranchStatus.PhaseTwo_RollbackFailed_Retryable;
@@ -198,56 +177,43 @@ public class TCCResourceManager extends AbstractResourceManager {
      */
     protected BusinessActionContext getBusinessActionContext(String xid, long branchId, String resourceId,
                                                              String applicationData) {
-        Map actionContextMap = null;
-        if (StringUtils.isNotBlank(applicationData)) {
-            Map tccContext = JSON.parseObject(applicationData, Map.class);
-            actionContextMap = (Map)tccContext.get(Constants.TCC_ACTION_CONTEXT);
-        }
+        // nested values stay parsed json trees, they are converted once by the binders of the invoker
+        Map<String, Object> actionContextMap = ActionContextCodecFactory.decode(applicationData);
         if (actionContextMap == null) {
             actionContextMap = new HashMap<>(2);
         }
 
+        //the branch registered deferred keeps the branch id allocated locally, which the fence log is recorded by
+        Object localBranchId = actionContextMap.get(Constants.LOCAL_BRANCH_ID);
+
         //instance the action context
         BusinessActionContext businessActionContext = new BusinessActionContext(
-            xid, String.valueOf(branchId), actionContextMap);
+            xid, localBranchId != null ? String.valueOf(localBranchId) : String.valueOf(branchId), actionContextMap);
         businessActionContext.setActionName(resourceId);
         return businessActionContext;
     }
 
     /**
-     * get phase two commit method's args
-     * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
-     */
-    private Object[] getTwoPhaseCommitArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoCommitKeys();
-        Class<?>[] argsCommitClasses = tccResource.getCommitArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsCommitClasses, businessActionContext);
-    }
-
-    /**
-     * get phase two rollback method's args
+     * compile the phase two invokers of the tcc resource
      * @param tccResource tccResource
-     * @param businessActionContext businessActionContext
-     * @return args
      */
-    private Object[] getTwoPhaseRollbackArgs(TCCResource tccResource, BusinessActionContext businessActionContext) {
-        String[] keys = tccResource.getPhaseTwoRollbackKeys();
-        Class<?>[] argsRollbackClasses = tccResource.getRollbackArgsClasses();
-        return this.getTwoPhaseMethodParams(keys, argsRollbackClasses, businessActionContext);
+    private void compileInvokers(TCCResource tccResource) {
+        Object targetTCCBean = tccResource.getTargetBean();
+        if (targetTCCBean == null) {
+            return;
+        }
+        if (tccResource.getCommitMethod() != null && tccResource.getCommitInvoker() == null) {
+            tccResource.setCommitInvoker(new TwoPhaseInvoker(targetTCCBean, tccResource.getCommitMethod(),
+                tccResource.getPhaseTwoCommitKeys(), argsClasses(tccResource.getCommitArgsClasses(), tccResource.getCommitMethod())));
+        }
+        if (tccResource.getRollbackMethod() != null && tccResource.getRollbackInvoker() == null) {
+            tccResource.setRollbackInvoker(new TwoPhaseInvoker(targetTCCBean, tccResource.getRollbackMethod(),
+                tccResource.getPhaseTwoRollbackKeys(), argsClasses(tccResource.getRollbackArgsClasses(), tccResource.getRollbackMethod())));
+        }
     }
 
-    private Object[] getTwoPhaseMethodParams(String[] keys, Class<?>[] argsClasses, BusinessActionContext businessActionContext) {
-        Object[] args = new Object[argsClasses.length];
-        for (int i = 0; i < argsClasses.length; i++) {
-            if (argsClasses[i].equals(BusinessActionContext.class)) {
-                args[i] = businessActionContext;
-            } else {
-                args[i] = businessActionContext.getActionContext(keys[i], argsClasses[i]);
-            }
-        }
-        return args;
+    private Class<?>[] argsClasses(Class<?>[] argsClasses, Method method) {
+        return argsClasses != null ? argsClasses : method.getParameterTypes();
     }
 
     @Override
@@ -0,0 +1,168 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import com.alibaba.fastjson.JSON;
+import io.seata.rm.tcc.api.BusinessActionContext;
+import io.seata.rm.tcc.interceptor.ActionContextUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The invoker of a TCC phase two method, compiled once per TCC resource.
+ * The method is bound to the target bean as a method handle, and the binder of every argument is resolved
+ * from its declared class and action context key up front.
+ *
+ * @author agent
+ */
+public class TwoPhaseInvoker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TwoPhaseInvoker.class);
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+    private final Object targetBean;
+
+    private final Method method;
+
+    /**
+     * (Object[])Object, null if the method can only be invoked reflectively
+     */
+    private final MethodHandle handle;
+
+    private final ArgBinder[] binders;
+
+    /**
+     * Instantiates a new two phase invoker.
+     *
+     * @param targetBean  the target bean
+     * @param method      the phase two method
+     * @param keys        the action context keys of the arguments
+     * @param argsClasses the argument classes
+     */
+    public TwoPhaseInvoker(Object targetBean, Method method, String[] keys, Class<?>[] argsClasses) {
+        this.targetBean = targetBean;
+        this.method = method;
+        this.handle = compile(targetBean, method);
+        this.binders = new ArgBinder[argsClasses.length];
+        for (int i = 0; i < argsClasses.length; i++) {
+            binders[i] = toBinder(keys == null || keys.length <= i ? null : keys[i], argsClasses[i]);
+        }
+    }
+
+    /**
+     * Bind the arguments of the method from the action context.
+     *
+     * @param businessActionContext the business action context
+     * @return the args
+     */
+    public Object[] bindArgs(BusinessActionContext businessActionContext) {
+        Object[] args = new Object[binders.length];
+        for (int i = 0; i < binders.length; i++) {
+            args[i] = binders[i].bind(businessActionContext);
+        }
+        return args;
+    }
+
+    /**
+     * Invoke the method.
+     *
+     * @param args the args
+     * @return the return value of the method
+     * @throws Throwable the throwable thrown by the method
+     */
+    public Object invoke(Object[] args) throws Throwable {
+        if (handle != null) {
+            return handle.invokeExact(args);
+        }
+        return method.invoke(targetBean, args);
+    }
+
+    /**
+     * Bind the arguments and invoke the method, then convert the return value to the phase two result.
+     *
+     * @param businessActionContext the business action context
+     * @return the phase two result
+     * @throws Throwable the throwable thrown by the method
+     */
+    public boolean invoke(BusinessActionContext businessActionContext) throws Throwable {
+        return toResult(invoke(bindArgs(businessActionContext)));
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * Convert the return value of a phase two method to the result.
+     *
+     * @param ret the return value, a boolean or {@link TwoPhaseResult}
+     * @return the result, true if the method returns nothing
+     */
+    public static boolean toResult(Object ret) {
+        if (ret == null) {
+            return true;
+        }
+        if (ret instanceof TwoPhaseResult) {
+            return ((TwoPhaseResult)ret).isSuccess();
+        }
+        return (boolean)ret;
+    }
+
+    private static MethodHandle compile(Object targetBean, Method method) {
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).bindTo(targetBean)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+        } catch (RuntimeException | IllegalAccessException e) {
+            LOGGER.warn("Compile the phase two method {} failed, it will be invoked reflectively. cause: {}",
+                method, e.getMessage());
+            return null;
+        }
+    }
+
+    private static ArgBinder toBinder(String key, Class<?> argClass) {
+        if (argClass.equals(BusinessActionContext.class)) {
+            return context -> context;
+        }
+        if (argClass.isPrimitive() || Object.class.equals(argClass) || String.class.equals(argClass)) {
+            return context -> context.getActionContext(key, argClass);
+        }
+        return context -> {
+            Object value = context.getActionContext(key);
+            // the parsed json tree is converted to the argument class directly, without being serialized again
+            if (value instanceof JSON && !argClass.isInstance(value)) {
+                try {
+                    return ((JSON)value).toJavaObject(argClass);
+                } catch (RuntimeException ignore) {
+                    // reported by the generic conversion below
+                }
+            }
+            return ActionContextUtil.convertActionContext(key, value, argClass);
+        };
+    }
+
+    @FunctionalInterface
+    private interface ArgBinder {
+        Object bind(BusinessActionContext context);
+    }
+}
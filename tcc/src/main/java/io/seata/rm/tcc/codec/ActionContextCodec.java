@@ -0,0 +1,45 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.util.Map;
+
+/**
+ * The codec of the TCC action context, which is carried as the application data of the branch.
+ * The implementations are loaded by {@link io.seata.common.loader.EnhancedServiceLoader}, the encoded application
+ * data is prefixed with the codec name unless it is JSON.
+ *
+ * @author agent
+ * @see ActionContextCodecFactory
+ */
+public interface ActionContextCodec {
+
+    /**
+     * Encode the action context.
+     *
+     * @param actionContext the action context
+     * @return the encoded string
+     */
+    String encode(Map<String, Object> actionContext);
+
+    /**
+     * Decode the action context.
+     *
+     * @param data the encoded string without the codec name prefix
+     * @return the action context
+     */
+    Map<String, Object> decode(String data);
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.seata.common.DefaultValues;
+import io.seata.common.exception.FrameworkException;
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+
+import static io.seata.common.ConfigurationKeys.TCC_CONTEXT_CODEC;
+
+/**
+ * The action context codec factory.
+ * <p>
+ * The application data is encoded by the configured codec. The JSON form is kept as it is to stay readable by the
+ * earlier versions, any other form is prefixed with its codec name and a colon, so every form can be decoded no matter
+ * which codec is configured.
+ *
+ * @author agent
+ */
+public class ActionContextCodecFactory {
+
+    private static final char NAME_SEPARATOR = ':';
+
+    private static final Map<String, ActionContextCodec> CODEC_MAP = new ConcurrentHashMap<>();
+
+    private static volatile String codecName;
+
+    private ActionContextCodecFactory() {
+    }
+
+    /**
+     * Encode the action context into the application data by the configured codec.
+     *
+     * @param actionContext the action context
+     * @return the application data
+     */
+    public static String encode(Map<String, Object> actionContext) {
+        String name = getCodecName();
+        String data = getCodec(name).encode(actionContext);
+        return JsonActionContextCodec.NAME.equals(name) ? data : name + NAME_SEPARATOR + data;
+    }
+
+    /**
+     * Decode the action context from the application data of any codec.
+     *
+     * @param applicationData the application data
+     * @return the action context, null if the application data is blank
+     */
+    public static Map<String, Object> decode(String applicationData) {
+        if (StringUtils.isBlank(applicationData)) {
+            return null;
+        }
+        if (applicationData.charAt(0) == '{') {
+            return getCodec(JsonActionContextCodec.NAME).decode(applicationData);
+        }
+        int index = applicationData.indexOf(NAME_SEPARATOR);
+        if (index <= 0) {
+            throw new FrameworkException("Unknown action context codec of the application data: " + applicationData);
+        }
+        return getCodec(applicationData.substring(0, index)).decode(applicationData.substring(index + 1));
+    }
+
+    /**
+     * Get the codec by name.
+     *
+     * @param name the codec name
+     * @return the codec
+     */
+    public static ActionContextCodec getCodec(String name) {
+        return CollectionUtils.computeIfAbsent(CODEC_MAP, name,
+            key -> EnhancedServiceLoader.load(ActionContextCodec.class, key));
+    }
+
+    private static String getCodecName() {
+        if (codecName == null) {
+            codecName = ConfigurationFactory.getInstance().getConfig(TCC_CONTEXT_CODEC,
+                DefaultValues.DEFAULT_TCC_CONTEXT_CODEC);
+        }
+        return codecName;
+    }
+}
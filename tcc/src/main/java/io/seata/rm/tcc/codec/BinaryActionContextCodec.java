@@ -0,0 +1,263 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.alibaba.fastjson.JSON;
+import io.seata.common.DefaultValues;
+import io.seata.common.exception.FrameworkException;
+import io.seata.common.loader.LoadLevel;
+import io.seata.config.ConfigurationFactory;
+
+import static io.seata.common.ConfigurationKeys.TCC_CONTEXT_COMPRESS_THRESHOLD;
+
+/**
+ * The binary action context codec.
+ * <p>
+ * The context is written as a count followed by the entries, every entry is the key and a tagged value. The numbers,
+ * booleans and strings are written natively, the other values as JSON. The bytes are deflated when they reach the
+ * compress threshold, and the result is Base64 encoded so that it can be stored as the application data string.
+ *
+ * @author agent
+ */
+@LoadLevel(name = BinaryActionContextCodec.NAME)
+public class BinaryActionContextCodec implements ActionContextCodec {
+
+    /**
+     * The codec name.
+     */
+    public static final String NAME = "binary";
+
+    private static final int VERSION = 1;
+
+    private static final int FLAG_DEFLATED = 0x01;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_TRUE = 4;
+    private static final byte TYPE_FALSE = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_DECIMAL = 7;
+    private static final byte TYPE_JSON = 8;
+
+    private final int compressThreshold;
+
+    public BinaryActionContextCodec() {
+        this(ConfigurationFactory.getInstance().getInt(TCC_CONTEXT_COMPRESS_THRESHOLD,
+            DefaultValues.DEFAULT_TCC_CONTEXT_COMPRESS_THRESHOLD));
+    }
+
+    /**
+     * Instantiates a new binary action context codec.
+     *
+     * @param compressThreshold the byte size from which the context is deflated, not positive to disable
+     */
+    public BinaryActionContextCodec(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public String encode(Map<String, Object> actionContext) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.write(VERSION << 4);
+        writeVarInt(out, actionContext.size());
+        for (Map.Entry<String, Object> entry : actionContext.entrySet()) {
+            writeString(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+        byte[] bytes = out.toByteArray();
+        if (compressThreshold > 0 && bytes.length >= compressThreshold) {
+            byte[] deflated = deflate(bytes);
+            if (deflated.length < bytes.length) {
+                bytes = deflated;
+            }
+        }
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @Override
+    public Map<String, Object> decode(String data) {
+        byte[] bytes = Base64.getDecoder().decode(data);
+        if (bytes.length == 0 || bytes[0] >> 4 != VERSION) {
+            throw new FrameworkException("Unsupported binary action context version");
+        }
+        ByteBuffer buffer = (bytes[0] & FLAG_DEFLATED) != 0 ? ByteBuffer.wrap(inflate(bytes)) : ByteBuffer.wrap(bytes);
+        buffer.get();
+        int size = readVarInt(buffer);
+        Map<String, Object> actionContext = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            String key = readString(buffer);
+            actionContext.put(key, readValue(buffer));
+        }
+        return actionContext;
+    }
+
+    private static void writeValue(ByteArrayOutputStream out, Object value) {
+        if (value == null) {
+            out.write(TYPE_NULL);
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            out.write(TYPE_STRING);
+            writeString(out, value.toString());
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.write(TYPE_INT);
+            writeVarLong(out, zigZag(((Number)value).intValue()));
+        } else if (value instanceof Long) {
+            out.write(TYPE_LONG);
+            writeVarLong(out, zigZag((Long)value));
+        } else if (value instanceof Boolean) {
+            out.write((Boolean)value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.write(TYPE_DOUBLE);
+            long bits = Double.doubleToLongBits(((Number)value).doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                out.write((int)(bits >>> shift));
+            }
+        } else if (value instanceof BigDecimal) {
+            out.write(TYPE_DECIMAL);
+            writeString(out, value.toString());
+        } else {
+            out.write(TYPE_JSON);
+            writeString(out, JSON.toJSONString(value));
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer) {
+        byte type = buffer.get();
+        switch (type) {
+            case TYPE_NULL:
+                return null;
+            case TYPE_STRING:
+                return readString(buffer);
+            case TYPE_INT:
+                return (int)unZigZag(readVarLong(buffer));
+            case TYPE_LONG:
+                return unZigZag(readVarLong(buffer));
+            case TYPE_TRUE:
+                return Boolean.TRUE;
+            case TYPE_FALSE:
+                return Boolean.FALSE;
+            case TYPE_DOUBLE:
+                return buffer.getDouble();
+            case TYPE_DECIMAL:
+                return new BigDecimal(readString(buffer));
+            case TYPE_JSON:
+                return JSON.parse(readString(buffer));
+            default:
+                throw new FrameworkException("Unknown binary action context value type: " + type);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer);
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int)((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int)value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        return (int)readVarLong(buffer);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new FrameworkException("Malformed binary action context");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater();
+        try {
+            // the header byte stays readable to tell the body is deflated
+            deflater.setInput(bytes, 1, bytes.length - 1);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            out.write(bytes[0] | FLAG_DEFLATED);
+            byte[] chunk = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            out.write(bytes[0]);
+            byte[] chunk = new byte[1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(chunk);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new FrameworkException("Truncated binary action context");
+                }
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new FrameworkException(e, "Malformed binary action context");
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.util.Collections;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import io.seata.common.Constants;
+import io.seata.common.loader.LoadLevel;
+
+/**
+ * The JSON action context codec, which is compatible with the application data of the earlier versions.
+ * The nested values are decoded as the parsed json trees.
+ *
+ * @author agent
+ */
+@LoadLevel(name = JsonActionContextCodec.NAME)
+public class JsonActionContextCodec implements ActionContextCodec {
+
+    /**
+     * The codec name.
+     */
+    public static final String NAME = "json";
+
+    @Override
+    public String encode(Map<String, Object> actionContext) {
+        return JSON.toJSONString(Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, actionContext));
+    }
+
+    @Override
+    public Map<String, Object> decode(String data) {
+        return JSON.parseObject(data).getJSONObject(Constants.TCC_ACTION_CONTEXT);
+    }
+}
@@ -26,7 +26,10 @@ import javax.sql.DataSource;
 import io.seata.common.DefaultValues;
 import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.rpc.Disposable;
+import io.seata.rm.tcc.DeferredBranchRegistry;
 import io.seata.rm.tcc.TCCFenceHandler;
 import io.seata.rm.tcc.exception.TCCFenceException;
 import io.seata.rm.tcc.store.db.TCCFenceStoreDataBaseDAO;
@@ -136,6 +139,31 @@ public class TCCFenceConfig implements InitializingBean, Disposable {
         }
     }
 
+    /**
+     * init the recover task of the TCC branches registered deferred, it rolls back the tried branches the TC never
+     * knows, e.g. when the launcher crashed before registering them
+     */
+    public void initRecoverTask() {
+        if (!DeferredBranchRegistry.isEnabled()) {
+            return;
+        }
+        // the fence logs younger than a global transaction timeout are left to the launcher
+        int configuredTimeout = ConfigurationFactory.getInstance().getInt(
+            ConfigurationKeys.DEFAULT_GLOBAL_TRANSACTION_TIMEOUT, DefaultValues.DEFAULT_GLOBAL_TRANSACTION_TIMEOUT);
+        long period = configuredTimeout > 0 ? configuredTimeout : DefaultValues.DEFAULT_GLOBAL_TRANSACTION_TIMEOUT;
+        tccFenceClean.scheduleWithFixedDelay(() -> {
+            try {
+                int recovered = DeferredBranchRegistry.recover(new Date(System.currentTimeMillis() - period));
+                if (recovered > 0) {
+                    LOGGER.info("Deferred TCC branch recover task executed success, recovered count: {}", recovered);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.error("Recover deferred TCC branches failed", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        LOGGER.info("Deferred TCC branch recover task start success, period: {}ms", period);
+    }
+
     @Override
     public void destroy() {
         // shutdown delete tcc fence log task
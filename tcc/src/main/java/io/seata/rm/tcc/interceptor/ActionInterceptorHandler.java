@@ -18,12 +18,10 @@ package io.seata.rm.tcc.interceptor;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import javax.annotation.Nonnull;
 
-import com.alibaba.fastjson.JSON;
 import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.exception.SkipCallbackWrapperException;
@@ -33,12 +31,14 @@ import io.seata.common.util.NetUtil;
 import io.seata.core.context.RootContext;
 import io.seata.core.model.BranchType;
 import io.seata.rm.DefaultResourceManager;
+import io.seata.rm.tcc.DeferredBranchRegistry;
 import io.seata.rm.tcc.TCCFenceHandler;
 import io.seata.rm.tcc.api.BusinessActionContext;
 import io.seata.rm.tcc.api.BusinessActionContextParameter;
 import io.seata.rm.tcc.api.BusinessActionContextUtil;
 import io.seata.rm.tcc.api.ParamType;
 import io.seata.rm.tcc.api.TwoPhaseBusinessAction;
+import io.seata.rm.tcc.codec.ActionContextCodecFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -91,7 +91,11 @@ public class ActionInterceptorHandler {
             if (businessAction.useTCCFence()) {
                 try {
                     // Use TCC Fence, and return the business result
-                    return TCCFenceHandler.prepareFence(xid, Long.valueOf(branchId), actionName, targetCallback);
+                    Long fenceBranchId = Long.valueOf(branchId);
+                    // the branch registered deferred records its action context for the recovery
+                    return TCCFenceHandler.prepareFence(xid, fenceBranchId, actionName,
+                        DeferredBranchRegistry.isLocalBranchId(fenceBranchId) ? actionContext.getActionContext() : null,
+                        targetCallback);
                 } catch (SkipCallbackWrapperException | UndeclaredThrowableException e) {
                     Throwable originException = e.getCause();
                     if (originException instanceof FrameworkException) {
@@ -192,9 +196,19 @@ public class ActionInterceptorHandler {
 
         //endregion
 
+        if (DeferredBranchRegistry.isDeferrable(xid, businessAction)) {
+            try {
+                //record the branch locally, it is registered when the global transaction needs it
+                return String.valueOf(DeferredBranchRegistry.defer(xid, actionName, context));
+            } catch (Throwable t) {
+                String msg = String.format("TCC branch Register error, xid: %s", xid);
+                LOGGER.error(msg, t);
+                throw new FrameworkException(t, msg);
+            }
+        }
+
         //Init applicationData
-        Map<String, Object> applicationContext = Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, context);
-        String applicationContextStr = JSON.toJSONString(applicationContext);
+        String applicationContextStr = ActionContextCodecFactory.encode(context);
         try {
             //registry branch record
             Long branchId = DefaultResourceManager.get().branchRegister(BranchType.TCC, actionName, null, xid,
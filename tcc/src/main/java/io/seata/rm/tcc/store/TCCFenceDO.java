@@ -39,6 +39,11 @@ public class TCCFenceDO {
      */
     private String actionName;
 
+    /**
+     * the encoded action context, only recorded for the branch registered deferred
+     */
+    private String actionContext;
+
     /**
      * the tcc fence status
      * tried: 1; committed: 2; rollbacked: 3; suspended: 4
@@ -79,6 +84,14 @@ public class TCCFenceDO {
         this.actionName = actionName;
     }
 
+    public String getActionContext() {
+        return actionContext;
+    }
+
+    public void setActionContext(String actionContext) {
+        this.actionContext = actionContext;
+    }
+
     public Integer getStatus() {
         return status;
     }
@@ -42,9 +42,20 @@ public interface TCCFenceStore {
      * @param datetime the datetime
      * @param limit the limit size
      * @return the tcc fence do
+     * @deprecated the fence logs are purged by {@link #deleteTCCFenceDOByDateRange(Connection, Date, Date, int)}
      */
+    @Deprecated
     Set<String> queryEndStatusXidsByDate(Connection conn, Date datetime, int limit);
 
+    /**
+     * Query the tried fence logs of the branches registered deferred.
+     * @param conn the connection
+     * @param datetime the datetime the logs are created before
+     * @param limit the limit size
+     * @return the tcc fence do list with the action context
+     */
+    List<TCCFenceDO> queryTriedLocalTCCFenceDOByDate(Connection conn, Date datetime, int limit);
+
     /**
      * Insert tcc fence do boolean.
      * @param conn the connection
@@ -64,6 +75,16 @@ public interface TCCFenceStore {
      */
     boolean updateTCCFenceDO(Connection conn, String xid, Long branchId, int newStatus, int oldStatus);
 
+    /**
+     * Update the action context of tcc fence do.
+     * @param conn the connection
+     * @param xid the global transaction id
+     * @param branchId the branch transaction id
+     * @param actionContext the encoded action context
+     * @return the boolean
+     */
+    boolean updateTCCFenceContext(Connection conn, String xid, Long branchId, String actionContext);
+
     /**
      * Delete tcc fence do boolean.
      * @param conn the connection
@@ -78,7 +99,9 @@ public interface TCCFenceStore {
      * @param conn the connection
      * @param xids the global transaction ids
      * @return the boolean
+     * @deprecated the fence logs are purged by {@link #deleteTCCFenceDOByDateRange(Connection, Date, Date, int)}
      */
+    @Deprecated
     int deleteTCCFenceDO(Connection conn, List<String> xids);
 
     /**
@@ -86,9 +109,30 @@ public interface TCCFenceStore {
      * @param conn the connection
      * @param datetime datetime
      * @return the deleted row count
+     * @deprecated the fence logs are purged by {@link #deleteTCCFenceDOByDateRange(Connection, Date, Date, int)}
      */
+    @Deprecated
     int deleteTCCFenceDOByDate(Connection conn, Date datetime);
 
+    /**
+     * Query the earliest modified datetime of the records in end status in the range.
+     * @param conn the connection
+     * @param from the inclusive start datetime
+     * @param to the exclusive end datetime
+     * @return the earliest gmt_modified, null if no record in end status in the range
+     */
+    Date queryFirstModifiedDate(Connection conn, Date from, Date to);
+
+    /**
+     * Delete tcc fence in end status by the modified datetime range.
+     * @param conn the connection
+     * @param from the inclusive start datetime
+     * @param to the exclusive end datetime
+     * @param limit the max row count deleted
+     * @return the deleted row count
+     */
+    int deleteTCCFenceDOByDateRange(Connection conn, Date from, Date to, int limit);
+
 
     /**
      * Set LogTable Name
@@ -31,6 +31,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -89,6 +90,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Deprecated
     @Override
     public Set<String> queryEndStatusXidsByDate(Connection conn, Date datetime, int limit) {
         PreparedStatement ps = null;
@@ -111,20 +113,57 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Override
+    public List<TCCFenceDO> queryTriedLocalTCCFenceDOByDate(Connection conn, Date datetime, int limit) {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            String sql = TCCFenceStoreSqls.getQueryTriedLocalBranchSQLByDate(logTableName);
+            ps = conn.prepareStatement(sql);
+            ps.setTimestamp(1, new Timestamp(datetime.getTime()));
+            ps.setInt(2, limit);
+            rs = ps.executeQuery();
+            List<TCCFenceDO> tccFenceDOs = new ArrayList<>();
+            while (rs.next()) {
+                TCCFenceDO tccFenceDO = new TCCFenceDO();
+                tccFenceDO.setXid(rs.getString("xid"));
+                tccFenceDO.setBranchId(rs.getLong("branch_id"));
+                tccFenceDO.setActionName(rs.getString("action_name"));
+                tccFenceDO.setActionContext(rs.getString("action_context"));
+                tccFenceDO.setStatus(rs.getInt("status"));
+                tccFenceDO.setGmtCreate(rs.getTimestamp("gmt_create"));
+                tccFenceDO.setGmtModified(rs.getTimestamp("gmt_modified"));
+                tccFenceDOs.add(tccFenceDO);
+            }
+            return tccFenceDOs;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        } finally {
+            IOUtil.close(rs, ps);
+        }
+    }
+
     @Override
     public boolean insertTCCFenceDO(Connection conn, TCCFenceDO tccFenceDO) {
         PreparedStatement ps = null;
         try {
             Timestamp now = new Timestamp(System.currentTimeMillis());
 
-            String sql = TCCFenceStoreSqls.getInsertLocalTCCLogSQL(logTableName);
+            // the action context column is only required by the branches registered deferred
+            boolean withContext = tccFenceDO.getActionContext() != null;
+            String sql = withContext ? TCCFenceStoreSqls.getInsertLocalTCCLogWithContextSQL(logTableName)
+                : TCCFenceStoreSqls.getInsertLocalTCCLogSQL(logTableName);
             ps = conn.prepareStatement(sql);
-            ps.setString(1, tccFenceDO.getXid());
-            ps.setLong(2, tccFenceDO.getBranchId());
-            ps.setString(3, tccFenceDO.getActionName());
-            ps.setInt(4, tccFenceDO.getStatus());
-            ps.setTimestamp(5, now);
-            ps.setTimestamp(6, now);
+            int index = 1;
+            ps.setString(index++, tccFenceDO.getXid());
+            ps.setLong(index++, tccFenceDO.getBranchId());
+            ps.setString(index++, tccFenceDO.getActionName());
+            if (withContext) {
+                ps.setString(index++, tccFenceDO.getActionContext());
+            }
+            ps.setInt(index++, tccFenceDO.getStatus());
+            ps.setTimestamp(index++, now);
+            ps.setTimestamp(index, now);
             return ps.executeUpdate() > 0;
         } catch (SQLIntegrityConstraintViolationException e) {
             throw new TCCFenceException(String.format("Insert tcc fence record duplicate key exception. xid= %s, branchId= %s", tccFenceDO.getXid(), tccFenceDO.getBranchId()),
@@ -156,6 +195,23 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Override
+    public boolean updateTCCFenceContext(Connection conn, String xid, Long branchId, String actionContext) {
+        PreparedStatement ps = null;
+        try {
+            String sql = TCCFenceStoreSqls.getUpdateContextSQLByBranchIdAndXid(logTableName);
+            ps = conn.prepareStatement(sql);
+            ps.setString(1, actionContext);
+            ps.setString(2, xid);
+            ps.setLong(3, branchId);
+            return ps.executeUpdate() > 0;
+        } catch (SQLException e) {
+            throw new StoreException(e);
+        } finally {
+            IOUtil.close(ps);
+        }
+    }
+
     @Override
     public boolean deleteTCCFenceDO(Connection conn, String xid, Long branchId) {
         PreparedStatement ps = null;
@@ -173,6 +229,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Deprecated
     @Override
     public int deleteTCCFenceDO(Connection conn, List<String> xids) {
         PreparedStatement ps = null;
@@ -191,6 +248,7 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Deprecated
     @Override
     public int deleteTCCFenceDOByDate(Connection conn, Date datetime) {
         PreparedStatement ps = null;
@@ -206,6 +264,45 @@ public class TCCFenceStoreDataBaseDAO implements TCCFenceStore {
         }
     }
 
+    @Override
+    public Date queryFirstModifiedDate(Connection conn, Date from, Date to) {
+        PreparedStatement ps = null;
+        ResultSet rs = null;
+        try {
+            String sql = TCCFenceStoreSqls.getQueryFirstModifiedSQLByDateRange(logTableName);
+            ps = conn.prepareStatement(sql);
+            ps.setTimestamp(1, new Timestamp(from.getTime()));
+            ps.setTimestamp(2, new Timestamp(to.getTime()));
+            rs = ps.executeQuery();
+            if (rs.next()) {
+                Timestamp first = rs.getTimestamp(1);
+                return first == null ? null : new Date(first.getTime());
+            }
+            return null;
+        } catch (SQLException e) {
+            throw new DataAccessException(e);
+        } finally {
+            IOUtil.close(rs, ps);
+        }
+    }
+
+    @Override
+    public int deleteTCCFenceDOByDateRange(Connection conn, Date from, Date to, int limit) {
+        PreparedStatement ps = null;
+        try {
+            String sql = TCCFenceStoreSqls.getDeleteSQLByDateRangeAndStatus(logTableName);
+            ps = conn.prepareStatement(sql);
+            ps.setTimestamp(1, new Timestamp(from.getTime()));
+            ps.setTimestamp(2, new Timestamp(to.getTime()));
+            ps.setInt(3, limit);
+            return ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new StoreException(e);
+        } finally {
+            IOUtil.close(ps);
+        }
+    }
+
     @Override
     public void setLogTableName(String logTableName) {
         this.logTableName = logTableName;
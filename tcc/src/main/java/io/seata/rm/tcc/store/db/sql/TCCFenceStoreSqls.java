@@ -37,6 +37,7 @@ public class TCCFenceStoreSqls {
      * The constant PRAMETER_PLACEHOLD.
      * format: ?, ?, ?
      */
+    @Deprecated
     public static final String PRAMETER_PLACEHOLD = " #PRAMETER_PLACEHOLD# ";
 
     /**
@@ -46,6 +47,13 @@ public class TCCFenceStoreSqls {
             + " (xid, branch_id, action_name, status, gmt_create, gmt_modified) "
             + " values (?, ?, ?, ?, ?, ?) ";
 
+    /**
+     * The constant INSERT_LOCAL_TCC_LOG_WITH_CONTEXT.
+     */
+    protected static final String INSERT_LOCAL_TCC_LOG_WITH_CONTEXT = "insert into " + LOCAL_TCC_LOG_PLACEHOLD
+            + " (xid, branch_id, action_name, action_context, status, gmt_create, gmt_modified) "
+            + " values (?, ?, ?, ?, ?, ?, ?) ";
+
     /**
      * The constant QUERY_BY_BRANCH_ID_AND_XID.
      */
@@ -56,12 +64,29 @@ public class TCCFenceStoreSqls {
     /**
      * The constant QUERY_END_STATUS_BY_DATE.
      */
+    @Deprecated
     protected static final String QUERY_END_STATUS_BY_DATE = "select xid, branch_id, status, gmt_create, gmt_modified "
             + "from " + LOCAL_TCC_LOG_PLACEHOLD
             + " where  gmt_modified < ? "
             + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")"
             + " limit ?";
 
+    /**
+     * The constant QUERY_TRIED_LOCAL_BRANCH_BY_DATE.
+     * the branch registered deferred is recorded by the negative branch id allocated locally
+     */
+    protected static final String QUERY_TRIED_LOCAL_BRANCH_BY_DATE = "select xid, branch_id, action_name, action_context, status, gmt_create, gmt_modified "
+            + "from " + LOCAL_TCC_LOG_PLACEHOLD
+            + " where gmt_create < ? and branch_id < 0 "
+            + " and status = " + TCCFenceConstant.STATUS_TRIED
+            + " limit ?";
+
+    /**
+     * The constant UPDATE_CONTEXT_BY_BRANCH_ID_AND_XID.
+     */
+    protected static final String UPDATE_CONTEXT_BY_BRANCH_ID_AND_XID = "update " + LOCAL_TCC_LOG_PLACEHOLD + " set action_context = ?"
+            + " where xid = ? and  branch_id = ? ";
+
     /**
      * The constant UPDATE_STATUS_BY_BRANCH_ID_AND_XID.
      */
@@ -76,28 +101,58 @@ public class TCCFenceStoreSqls {
     /**
      * The constant DELETE_BY_BRANCH_ID_AND_XID.
      */
+    @Deprecated
     protected static final String DELETE_BY_BRANCH_XIDS = "delete from " + LOCAL_TCC_LOG_PLACEHOLD + " where xid in (" + PRAMETER_PLACEHOLD + ")";
 
 
     /**
      * The constant DELETE_BY_DATE_AND_STATUS.
      */
+    @Deprecated
     protected static final String DELETE_BY_DATE_AND_STATUS = "delete from " + LOCAL_TCC_LOG_PLACEHOLD
             + " where gmt_modified < ? "
             + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")";
 
+    /**
+     * The constant QUERY_FIRST_MODIFIED_BY_DATE_RANGE.
+     */
+    protected static final String QUERY_FIRST_MODIFIED_BY_DATE_RANGE = "select min(gmt_modified) from " + LOCAL_TCC_LOG_PLACEHOLD
+            + " where gmt_modified >= ? and gmt_modified < ? "
+            + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")";
+
+    /**
+     * The constant DELETE_BY_DATE_RANGE_AND_STATUS.
+     */
+    protected static final String DELETE_BY_DATE_RANGE_AND_STATUS = "delete from " + LOCAL_TCC_LOG_PLACEHOLD
+            + " where gmt_modified >= ? and gmt_modified < ? "
+            + " and status in (" + TCCFenceConstant.STATUS_COMMITTED + " , " + TCCFenceConstant.STATUS_ROLLBACKED + " , " + TCCFenceConstant.STATUS_SUSPENDED + ")"
+            + " limit ?";
+
     public static String getInsertLocalTCCLogSQL(String localTccTable) {
         return INSERT_LOCAL_TCC_LOG.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    public static String getInsertLocalTCCLogWithContextSQL(String localTccTable) {
+        return INSERT_LOCAL_TCC_LOG_WITH_CONTEXT.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
     public static String getQuerySQLByBranchIdAndXid(String localTccTable) {
         return QUERY_BY_BRANCH_ID_AND_XID.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    @Deprecated
     public static String getQueryEndStatusSQLByDate(String localTccTable) {
         return QUERY_END_STATUS_BY_DATE.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    public static String getQueryTriedLocalBranchSQLByDate(String localTccTable) {
+        return QUERY_TRIED_LOCAL_BRANCH_BY_DATE.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
+    public static String getUpdateContextSQLByBranchIdAndXid(String localTccTable) {
+        return UPDATE_CONTEXT_BY_BRANCH_ID_AND_XID.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
     public static String getUpdateStatusSQLByBranchIdAndXid(String localTccTable) {
         return UPDATE_STATUS_BY_BRANCH_ID_AND_XID.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
@@ -106,13 +161,23 @@ public class TCCFenceStoreSqls {
         return DELETE_BY_BRANCH_ID_AND_XID.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    @Deprecated
     public static String getDeleteSQLByXids(String localTccTable, String paramsPlaceHolder) {
         return DELETE_BY_BRANCH_XIDS.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable)
                 .replace(PRAMETER_PLACEHOLD, paramsPlaceHolder);
     }
 
+    @Deprecated
     public static String getDeleteSQLByDateAndStatus(String localTccTable) {
         return DELETE_BY_DATE_AND_STATUS.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
     }
 
+    public static String getQueryFirstModifiedSQLByDateRange(String localTccTable) {
+        return QUERY_FIRST_MODIFIED_BY_DATE_RANGE.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
+    public static String getDeleteSQLByDateRangeAndStatus(String localTccTable) {
+        return DELETE_BY_DATE_RANGE_AND_STATUS.replace(LOCAL_TCC_LOG_PLACEHOLD, localTccTable);
+    }
+
 }
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.seata.common.Constants;
+import io.seata.core.context.RootContext;
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.model.ResourceManager;
+import io.seata.core.model.TransactionManager;
+import io.seata.rm.DefaultResourceManager;
+import io.seata.tm.TransactionManagerHolder;
+import io.seata.tm.api.transaction.TransactionHook;
+import io.seata.tm.api.transaction.TransactionHookManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.h2.jdbcx.JdbcDataSource;
+import org.mockito.Mockito;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Deferred branch registry test.
+ *
+ * @author agent
+ */
+public class DeferredBranchRegistryTest {
+
+    private static final String XID = "127.0.0.1:8091:123456";
+
+    private ResourceManager resourceManager;
+
+    private ResourceManager originResourceManager;
+
+    @BeforeEach
+    public void init() {
+        originResourceManager = DefaultResourceManager.get().getResourceManager(BranchType.TCC);
+        resourceManager = Mockito.mock(ResourceManager.class);
+        DefaultResourceManager.mockResourceManager(BranchType.TCC, resourceManager);
+    }
+
+    @AfterEach
+    public void clear() {
+        RootContext.unbind();
+        TransactionHookManager.clear();
+        DefaultResourceManager.mockResourceManager(BranchType.TCC, originResourceManager);
+    }
+
+    @Test
+    public void testRegisterBeforeCommit() throws Exception {
+        Map<String, Object> context = new HashMap<>();
+        long branchId = DeferredBranchRegistry.defer(XID, "tccActionForTest", context);
+        DeferredBranchRegistry.defer(XID, "tccActionForTest", new HashMap<>());
+        Assertions.assertEquals(branchId, context.get(Constants.LOCAL_BRANCH_ID));
+        Assertions.assertTrue(DeferredBranchRegistry.isLocalBranchId(branchId));
+        Assertions.assertEquals(2, DeferredBranchRegistry.getDeferredCount(XID));
+
+        Map<String, Object> updated = new HashMap<>(context);
+        updated.put("a", "updated");
+        Assertions.assertTrue(DeferredBranchRegistry.updateContext(XID, branchId, updated));
+        Assertions.assertFalse(DeferredBranchRegistry.updateContext(XID, branchId + 100, updated));
+        verify(resourceManager, never()).branchRegister(eq(BranchType.TCC), anyString(), isNull(), anyString(),
+            anyString(), isNull());
+
+        List<TransactionHook> hooks = TransactionHookManager.getHooks();
+        Assertions.assertEquals(1, hooks.size());
+        launch(XID);
+        hooks.get(0).beforeCommit();
+        verify(resourceManager, times(2)).branchRegister(eq(BranchType.TCC), eq("tccActionForTest"), isNull(),
+            eq(XID), anyString(), isNull());
+        verify(resourceManager).branchRegister(eq(BranchType.TCC), eq("tccActionForTest"), isNull(), eq(XID),
+            contains("updated"), isNull());
+        Assertions.assertEquals(0, DeferredBranchRegistry.getDeferredCount(XID));
+        Assertions.assertFalse(DeferredBranchRegistry.updateContext(XID, branchId, updated));
+    }
+
+    @Test
+    public void testRollbackLocally() throws Exception {
+        long branchId = DeferredBranchRegistry.defer(XID, "tccActionForTest", new HashMap<>());
+        long failedBranchId = DeferredBranchRegistry.defer(XID, "tccActionForTest", new HashMap<>());
+        when(resourceManager.branchRollback(eq(BranchType.TCC), eq(XID), eq(branchId), anyString(), anyString()))
+            .thenReturn(BranchStatus.PhaseTwo_Rollbacked);
+        when(resourceManager.branchRollback(eq(BranchType.TCC), eq(XID), eq(failedBranchId), anyString(), anyString()))
+            .thenReturn(BranchStatus.PhaseTwo_RollbackFailed_Retryable);
+
+        launch(XID);
+        TransactionHookManager.getHooks().get(0).beforeRollback();
+        verify(resourceManager, times(2)).branchRollback(eq(BranchType.TCC), eq(XID), anyLong(), anyString(),
+            anyString());
+        // only the branch failed to roll back is registered, the TC retries it
+        verify(resourceManager, times(1)).branchRegister(eq(BranchType.TCC), eq("tccActionForTest"), isNull(),
+            eq(XID), contains(String.valueOf(failedBranchId)), isNull());
+        Assertions.assertEquals(0, DeferredBranchRegistry.getDeferredCount(XID));
+    }
+
+    @Test
+    public void testIgnoreOtherTransaction() throws Exception {
+        DeferredBranchRegistry.defer(XID, "tccActionForTest", new HashMap<>());
+        TransactionHook hook = TransactionHookManager.getHooks().get(0);
+
+        // a nested transaction joins the launched one
+        RootContext.bind(XID);
+        hook.beforeRollback();
+        // a new transaction is launched meanwhile
+        launch(XID + "1");
+        hook.beforeCommit();
+        hook.beforeRollback();
+        verify(resourceManager, never()).branchRollback(eq(BranchType.TCC), anyString(), anyLong(), anyString(),
+            anyString());
+        verify(resourceManager, never()).branchRegister(eq(BranchType.TCC), anyString(), isNull(), anyString(),
+            anyString(), isNull());
+        Assertions.assertEquals(1, DeferredBranchRegistry.getDeferredCount(XID));
+
+        launch(XID);
+        hook.afterCompletion();
+        Assertions.assertEquals(0, DeferredBranchRegistry.getDeferredCount(XID));
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tcc_fence_recover;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        TCCFenceHandler.setDataSource(dataSource);
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        TransactionManager originTransactionManager = TransactionManagerHolder.get();
+        TransactionManager transactionManager = Mockito.mock(TransactionManager.class);
+        TransactionManagerHolder.set(transactionManager);
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("create table tcc_fence_log (xid varchar(128) not null, branch_id bigint not null,"
+                + " action_name varchar(64) not null, action_context text, status tinyint not null,"
+                + " gmt_create timestamp not null, gmt_modified timestamp not null, primary key (xid, branch_id))");
+        }
+        try {
+            String finishedXid = XID + "1";
+            String beginXid = XID + "2";
+            Map<String, Object> context = new HashMap<>();
+            context.put("a", "tried");
+            TCCFenceHandler.prepareFence(finishedXid, -1L, "tccActionForTest", context, () -> {
+                // the try method adds to the action context
+                context.put("b", "added");
+                return true;
+            });
+            TCCFenceHandler.prepareFence(beginXid, -2L, "tccActionForTest", new HashMap<>(), () -> true);
+            // the branch registered at once is not recovered
+            TCCFenceHandler.prepareFence(finishedXid, 3L, "tccActionForTest", () -> true);
+            when(transactionManager.getStatus(finishedXid)).thenReturn(GlobalStatus.Finished);
+            when(transactionManager.getStatus(beginXid)).thenReturn(GlobalStatus.Begin);
+            when(resourceManager.branchRollback(eq(BranchType.TCC), anyString(), anyLong(), anyString(), anyString()))
+                .thenReturn(BranchStatus.PhaseTwo_Rollbacked);
+
+            // the fence logs younger than the datetime are left
+            Assertions.assertEquals(0, DeferredBranchRegistry.recover(new Date(System.currentTimeMillis() - 60000)));
+            Assertions.assertEquals(1, DeferredBranchRegistry.recover(new Date(System.currentTimeMillis() + 1000)));
+            verify(resourceManager, times(1)).branchRollback(eq(BranchType.TCC), anyString(), anyLong(), anyString(),
+                anyString());
+            verify(resourceManager).branchRollback(eq(BranchType.TCC), eq(finishedXid), eq(-1L),
+                eq("tccActionForTest"), and(contains("tried"), contains("added")));
+            verify(transactionManager, times(1)).getStatus(finishedXid);
+        } finally {
+            TransactionManagerHolder.set(originTransactionManager);
+            try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+                st.execute("drop table tcc_fence_log");
+            }
+        }
+    }
+
+    private void launch(String xid) {
+        RootContext.bind(xid);
+        TransactionHookManager.setLaunchedXid(xid);
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.rm.tcc.constant.TCCFenceConstant;
+import io.seata.rm.tcc.store.TCCFenceDO;
+import io.seata.rm.tcc.store.db.TCCFenceStoreDataBaseDAO;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * The type TCC fence handler test.
+ *
+ * @author agent
+ */
+public class TCCFenceHandlerTest {
+
+    private static final String XID = "127.0.0.1:8091:123456";
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private static JdbcDataSource dataSource;
+
+    private final FenceAction action = new FenceAction();
+
+    @BeforeAll
+    public static void initDataSource() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:tcc_fence;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        TCCFenceHandler.setDataSource(dataSource);
+        TCCFenceHandler.setTransactionTemplate(new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+
+    @BeforeEach
+    public void createTable() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("create table tcc_fence_log (xid varchar(128) not null, branch_id bigint not null,"
+                + " action_name varchar(64) not null, action_context text, status tinyint not null, gmt_create timestamp not null,"
+                + " gmt_modified timestamp not null, primary key (xid, branch_id))");
+        }
+    }
+
+    @AfterEach
+    public void dropTable() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement()) {
+            st.execute("drop table tcc_fence_log");
+        }
+    }
+
+    @Test
+    public void testCommitFence() throws Exception {
+        Method commit = FenceAction.class.getMethod("commit");
+        TCCFenceHandler.prepareFence(XID, 1L, "fenceAction", () -> true);
+
+        Assertions.assertTrue(TCCFenceHandler.commitFence(commit, action, XID, 1L, new Object[0]));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_COMMITTED, queryStatus(1L));
+        // idempotent, the method is not invoked again
+        Assertions.assertTrue(TCCFenceHandler.commitFence(commit, action, XID, 1L, new Object[0]));
+        Assertions.assertEquals(1, action.commitTimes.get());
+
+        Assertions.assertThrows(RuntimeException.class,
+            () -> TCCFenceHandler.commitFence(commit, action, XID, 2L, new Object[0]));
+    }
+
+    @Test
+    public void testRollbackFence() throws Exception {
+        Method rollback = FenceAction.class.getMethod("rollback");
+        Method commit = FenceAction.class.getMethod("commit");
+        TCCFenceHandler.prepareFence(XID, 1L, "fenceAction", () -> true);
+
+        Assertions.assertTrue(TCCFenceHandler.rollbackFence(rollback, action, XID, 1L, new Object[0], "fenceAction"));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_ROLLBACKED, queryStatus(1L));
+        Assertions.assertTrue(TCCFenceHandler.rollbackFence(rollback, action, XID, 1L, new Object[0], "fenceAction"));
+        Assertions.assertEquals(1, action.rollbackTimes.get());
+        Assertions.assertFalse(TCCFenceHandler.commitFence(commit, action, XID, 1L, new Object[0]));
+
+        // non_rollback, then the suspended record rejects the late prepare
+        Assertions.assertTrue(TCCFenceHandler.rollbackFence(rollback, action, XID, 2L, new Object[0], "fenceAction"));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_SUSPENDED, queryStatus(2L));
+        Assertions.assertEquals(1, action.rollbackTimes.get());
+        Assertions.assertThrows(RuntimeException.class,
+            () -> TCCFenceHandler.prepareFence(XID, 2L, "fenceAction", () -> true));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_SUSPENDED, queryStatus(2L));
+    }
+
+    @Test
+    public void testFailedTwoPhaseRollsBackFenceStatus() throws Exception {
+        Method commit = FenceAction.class.getMethod("failedCommit");
+        TCCFenceHandler.prepareFence(XID, 1L, "fenceAction", () -> true);
+
+        Assertions.assertFalse(TCCFenceHandler.commitFence(commit, action, XID, 1L, new Object[0]));
+        Assertions.assertEquals(TCCFenceConstant.STATUS_TRIED, queryStatus(1L));
+    }
+
+    @Test
+    public void testDeleteFenceByDate() throws SQLException {
+        long now = System.currentTimeMillis();
+        int rows = 0;
+        // spread ended records over the last ten days, some of them densely in the same second
+        for (int day = 1; day <= 10; day++) {
+            for (int i = 0; i < 3; i++) {
+                insert(rows++, TCCFenceConstant.STATUS_COMMITTED, now - day * DAY_MILLIS + i);
+            }
+        }
+        for (int i = 0; i < 1500; i++) {
+            insert(rows++, TCCFenceConstant.STATUS_ROLLBACKED, now - 5 * DAY_MILLIS - 500 + i % 100);
+        }
+        insert(rows++, TCCFenceConstant.STATUS_TRIED, now - 9 * DAY_MILLIS);
+        insert(rows++, TCCFenceConstant.STATUS_SUSPENDED, now - 2 * DAY_MILLIS);
+        insert(rows++, TCCFenceConstant.STATUS_COMMITTED, now - 1000);
+
+        int deleted = TCCFenceHandler.deleteFenceByDate(new Date(now - DAY_MILLIS / 2));
+        Assertions.assertEquals(30 + 1500 + 1, deleted);
+        Assertions.assertEquals(2, count());
+        Assertions.assertEquals(0, TCCFenceHandler.deleteFenceByDate(new Date(now - DAY_MILLIS / 2)));
+    }
+
+    private Integer queryStatus(long branchId) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            TCCFenceDO tccFenceDO = TCCFenceStoreDataBaseDAO.getInstance().queryTCCFenceDO(conn, XID, branchId);
+            return tccFenceDO == null ? null : tccFenceDO.getStatus();
+        }
+    }
+
+    private void insert(long branchId, int status, long modified) throws SQLException {
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(
+            "insert into tcc_fence_log (xid, branch_id, action_name, status, gmt_create, gmt_modified) values (?, ?, ?, ?, ?, ?)")) {
+            ps.setString(1, XID);
+            ps.setLong(2, branchId);
+            ps.setString(3, "fenceAction");
+            ps.setInt(4, status);
+            ps.setTimestamp(5, new Timestamp(modified));
+            ps.setTimestamp(6, new Timestamp(modified));
+            ps.executeUpdate();
+        }
+    }
+
+    private int count() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("select count(1) from tcc_fence_log")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    public static class FenceAction {
+
+        private final AtomicInteger commitTimes = new AtomicInteger();
+
+        private final AtomicInteger rollbackTimes = new AtomicInteger();
+
+        public boolean commit() {
+            commitTimes.incrementAndGet();
+            return true;
+        }
+
+        public boolean failedCommit() {
+            return false;
+        }
+
+        public boolean rollback() {
+            rollbackTimes.incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import io.seata.common.exception.FrameworkException;
+import io.seata.rm.tcc.api.BusinessActionContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Two phase invoker test.
+ *
+ * @author agent
+ */
+public class TwoPhaseInvokerTest {
+
+    @Test
+    public void testBindArgsAndInvoke() throws Throwable {
+        PhaseTwoAction action = new PhaseTwoAction();
+        TwoPhaseInvoker invoker = new TwoPhaseInvoker(action,
+            PhaseTwoAction.class.getMethod("commit", BusinessActionContext.class, Order.class, Integer.class, String.class),
+            new String[] {null, "order", "count", "name"},
+            new Class<?>[] {BusinessActionContext.class, Order.class, Integer.class, String.class});
+
+        // the nested value is kept as the parsed json tree, as the resource manager decodes it
+        JSONObject applicationData = JSON.parseObject("{\"order\":{\"id\":7,\"amount\":12},\"count\":\"3\",\"name\":9}");
+        BusinessActionContext context = new BusinessActionContext("xid", "1", applicationData);
+
+        Object[] args = invoker.bindArgs(context);
+        Assertions.assertSame(context, args[0]);
+        Assertions.assertEquals(7L, ((Order)args[1]).getId());
+        Assertions.assertEquals(12, ((Order)args[1]).getAmount());
+        Assertions.assertEquals(3, args[2]);
+        Assertions.assertEquals("9", args[3]);
+
+        Assertions.assertTrue(invoker.invoke(context));
+        Assertions.assertSame(args[1].getClass(), action.lastOrder.getClass());
+        Assertions.assertEquals(7L, action.lastOrder.getId());
+    }
+
+    @Test
+    public void testResultAndException() throws Throwable {
+        PhaseTwoAction action = new PhaseTwoAction();
+        TwoPhaseInvoker invoker = new TwoPhaseInvoker(action,
+            PhaseTwoAction.class.getMethod("rollback", BusinessActionContext.class, Order.class),
+            new String[] {null, "order"}, new Class<?>[] {BusinessActionContext.class, Order.class});
+
+        Map<String, Object> map = new HashMap<>();
+        BusinessActionContext context = new BusinessActionContext("xid", "1", map);
+        // a null argument is bound when the key is absent
+        Assertions.assertFalse(invoker.invoke(context));
+
+        map.put("order", new Order());
+        Assertions.assertTrue(invoker.invoke(context));
+
+        map.put("order", "not a json");
+        Assertions.assertThrows(FrameworkException.class, () -> invoker.bindArgs(context));
+
+        map.put("order", JSON.parseObject("{\"id\":-1}"));
+        Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(context));
+
+        Assertions.assertTrue(TwoPhaseInvoker.toResult(null));
+        Assertions.assertFalse(TwoPhaseInvoker.toResult(new TwoPhaseResult(false, "")));
+    }
+
+    public static class PhaseTwoAction {
+
+        private Order lastOrder;
+
+        public boolean commit(BusinessActionContext context, Order order, Integer count, String name) {
+            lastOrder = order;
+            return context != null && count == 3 && "9".equals(name);
+        }
+
+        public TwoPhaseResult rollback(BusinessActionContext context, Order order) {
+            if (order != null && order.getId() < 0) {
+                throw new IllegalStateException("illegal order");
+            }
+            return new TwoPhaseResult(order != null, "");
+        }
+    }
+
+    public static class Order {
+
+        private long id;
+
+        private int amount;
+
+        public long getId() {
+            return id;
+        }
+
+        public void setId(long id) {
+            this.id = id;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+    }
+}
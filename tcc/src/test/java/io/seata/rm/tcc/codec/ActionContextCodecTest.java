@@ -0,0 +1,104 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.tcc.codec;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import io.seata.common.Constants;
+import io.seata.common.exception.FrameworkException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Action context codec test.
+ *
+ * @author agent
+ */
+public class ActionContextCodecTest {
+
+    @Test
+    public void testBinaryRoundTrip() {
+        Map<String, Object> context = newContext();
+        ActionContextCodec codec = new BinaryActionContextCodec(0);
+        Map<String, Object> decoded = codec.decode(codec.encode(context));
+
+        Assertions.assertEquals(context.size(), decoded.size());
+        Assertions.assertEquals("tccActionForTest", decoded.get(Constants.ACTION_NAME));
+        Assertions.assertEquals(Boolean.TRUE, decoded.get(Constants.USE_TCC_FENCE));
+        Assertions.assertEquals(1234567890123L, decoded.get(Constants.ACTION_START_TIME));
+        Assertions.assertEquals(-7, decoded.get("count"));
+        Assertions.assertEquals(0.5D, decoded.get("ratio"));
+        Assertions.assertEquals(new BigDecimal("12.30"), decoded.get("amount"));
+        Assertions.assertEquals("中", decoded.get("char"));
+        Assertions.assertNull(decoded.get("nothing"));
+        Assertions.assertTrue(decoded.containsKey("nothing"));
+        Assertions.assertEquals(7, ((JSONObject)decoded.get("order")).getIntValue("id"));
+    }
+
+    @Test
+    public void testBinaryCompress() {
+        Map<String, Object> context = newContext();
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            large.append("seata");
+        }
+        context.put("large", large.toString());
+
+        String plain = new BinaryActionContextCodec(0).encode(context);
+        String compressed = new BinaryActionContextCodec(1024).encode(context);
+        Assertions.assertTrue(compressed.length() * 10 < plain.length());
+        Assertions.assertEquals(context.get("large"), new BinaryActionContextCodec(0).decode(compressed).get("large"));
+        // the small context is not compressed
+        context.remove("large");
+        Assertions.assertEquals(new BinaryActionContextCodec(0).encode(context),
+            new BinaryActionContextCodec(1024).encode(context));
+    }
+
+    @Test
+    public void testFactoryDecodeAnyForm() {
+        Map<String, Object> context = newContext();
+        String legacy = JSON.toJSONString(Collections.singletonMap(Constants.TCC_ACTION_CONTEXT, context));
+        Assertions.assertEquals(legacy, ActionContextCodecFactory.encode(context));
+
+        Map<String, Object> fromJson = ActionContextCodecFactory.decode(legacy);
+        Map<String, Object> fromBinary = ActionContextCodecFactory.decode(BinaryActionContextCodec.NAME + ":"
+            + ActionContextCodecFactory.getCodec(BinaryActionContextCodec.NAME).encode(context));
+        Assertions.assertEquals(fromJson.get(Constants.ACTION_NAME), fromBinary.get(Constants.ACTION_NAME));
+        Assertions.assertEquals(fromJson.get("order"), fromBinary.get("order"));
+
+        Assertions.assertNull(ActionContextCodecFactory.decode(""));
+        Assertions.assertThrows(FrameworkException.class, () -> ActionContextCodecFactory.decode("unknown"));
+    }
+
+    private Map<String, Object> newContext() {
+        Map<String, Object> context = new HashMap<>();
+        context.put(Constants.ACTION_NAME, "tccActionForTest");
+        context.put(Constants.USE_TCC_FENCE, true);
+        context.put(Constants.ACTION_START_TIME, 1234567890123L);
+        context.put("count", -7);
+        context.put("ratio", 0.5D);
+        context.put("amount", new BigDecimal("12.30"));
+        context.put("char", '中');
+        context.put("nothing", null);
+        context.put("order", JSON.parseObject("{\"id\":7,\"name\":\"order\"}"));
+        return context;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateMachineInstance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * State machine tests with the memory stores
+ *
+ * @author agent
+ */
+public class StateMachineMemoryStoreTests {
+
+    private static final String CONFIG_LOCATION = "classpath:saga/spring/statemachine_engine_memory_test.xml";
+
+    @BeforeAll
+    public static void cleanJournal() {
+        File[] files = new File("target/saga_memory_journal").listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Assertions.assertTrue(file.delete());
+            }
+        }
+    }
+
+    @Test
+    public void testCompensationStateMachine() {
+        try (ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(CONFIG_LOCATION)) {
+            StateMachineEngine stateMachineEngine = applicationContext.getBean(StateMachineEngine.class);
+
+            Map<String, Object> paramMap = new HashMap<>(2);
+            paramMap.put("a", 1);
+            paramMap.put("barThrowException", "true");
+            StateMachineInstance inst = stateMachineEngine.start("simpleCompensationStateMachine", null, paramMap);
+            Assertions.assertEquals(ExecutionStatus.UN, inst.getStatus());
+            Assertions.assertEquals(ExecutionStatus.SU, inst.getCompensationStatus());
+
+            StateMachineInstance reloaded = stateMachineEngine.getStateMachineConfig().getStateLogStore()
+                .getStateMachineInstance(inst.getId());
+            Assertions.assertEquals(ExecutionStatus.SU, reloaded.getCompensationStatus());
+            Assertions.assertEquals(inst.getStateList().size(), reloaded.getStateList().size());
+        }
+    }
+
+    @Test
+    public void testForwardAfterRestart() {
+        String instId;
+        try (ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(CONFIG_LOCATION)) {
+            StateMachineEngine stateMachineEngine = applicationContext.getBean(StateMachineEngine.class);
+
+            Map<String, Object> paramMap = new HashMap<>(2);
+            paramMap.put("a", 2);
+            paramMap.put("barThrowException", "true");
+            StateMachineInstance inst = stateMachineEngine.start("simpleStateMachineWithCompensationAndSubMachine",
+                null, paramMap);
+            Assertions.assertEquals(ExecutionStatus.UN, inst.getStatus());
+            instId = inst.getId();
+        }
+
+        try (ClassPathXmlApplicationContext applicationContext = new ClassPathXmlApplicationContext(CONFIG_LOCATION)) {
+            StateMachineEngine stateMachineEngine = applicationContext.getBean(StateMachineEngine.class);
+
+            StateMachineInstance reloaded = stateMachineEngine.getStateMachineConfig().getStateLogStore()
+                .getStateMachineInstance(instId);
+            Assertions.assertNotNull(reloaded);
+            Assertions.assertEquals(ExecutionStatus.UN, reloaded.getStatus());
+
+            Map<String, Object> replaceParams = new HashMap<>(2);
+            replaceParams.put("a", 2);
+            replaceParams.put("barThrowException", "false");
+            StateMachineInstance inst = stateMachineEngine.forward(instId, replaceParams);
+            Assertions.assertEquals(ExecutionStatus.SU, inst.getStatus());
+        }
+    }
+}
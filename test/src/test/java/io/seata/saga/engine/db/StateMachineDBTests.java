@@ -801,6 +801,26 @@ public class StateMachineDBTests extends AbstractServerTest {
         });
     }
 
+    @Test
+    public void testSimpleStateMachineWithLoopOf1kItems() throws Exception {
+        String stateMachineName = "simpleLoopTestStateMachine";
+
+        SagaCostPrint.executeAndPrint("3-30-1k", () -> {
+            List<Integer> loopList = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                loopList.add(i);
+            }
+
+            Map<String, Object> paramMap = new HashMap<>(2);
+            paramMap.put("a", 1);
+            paramMap.put("collection", loopList);
+
+            StateMachineInstance inst = stateMachineEngine.start(stateMachineName, null, paramMap);
+
+            Assertions.assertEquals(ExecutionStatus.SU, inst.getStatus());
+        });
+    }
+
     @Test
     public void testSimpleStateMachineWithLoopForward() throws Exception {
         String stateMachineName = "simpleLoopTestStateMachine";
@@ -0,0 +1,75 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.expression;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.seata.saga.engine.expression.spel.MapPathExpression;
+import io.seata.saga.engine.expression.spel.SpringELExpression;
+import io.seata.saga.engine.expression.spel.SpringELExpressionFactory;
+import io.seata.saga.engine.mock.DemoService.People;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Spring EL expression factory tests
+ *
+ * @author agent
+ */
+public class SpringELExpressionFactoryTests {
+
+    private final SpringELExpressionFactory expressionFactory = new SpringELExpressionFactory();
+
+    @Test
+    public void testExpressionCache() {
+        Expression expression = expressionFactory.createExpression("[a] == 1");
+        Assertions.assertSame(expression, expressionFactory.createExpression("[a] == 1"));
+        Assertions.assertTrue(expression instanceof SpringELExpression);
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("a", 1);
+        for (int i = 0; i < 500; i++) {
+            Assertions.assertEquals(Boolean.TRUE, expression.getValue(variables));
+        }
+        variables.put("a", "1");
+        Assertions.assertEquals(Boolean.FALSE, expression.getValue(variables));
+    }
+
+    @Test
+    public void testMapPathExpression() {
+        Expression expression = expressionFactory.createExpression("[people]['name']");
+        Assertions.assertTrue(expression instanceof MapPathExpression);
+
+        Map<String, Object> people = new HashMap<>();
+        people.put("name", "lilei");
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("people", people);
+        Assertions.assertEquals("lilei", expression.getValue(variables));
+
+        people.remove("name");
+        Assertions.assertNull(expression.getValue(variables));
+
+        // not a map, falls back to SpEL
+        People pojo = new People();
+        pojo.setName("hanmeimei");
+        variables.put("people", pojo);
+        Assertions.assertEquals("hanmeimei", expression.getValue(variables));
+
+        Assertions.assertFalse(expressionFactory.createExpression("[people].name") instanceof MapPathExpression);
+        Assertions.assertFalse(expressionFactory.createExpression("[list][0]") instanceof MapPathExpression);
+    }
+}
@@ -18,6 +18,8 @@ package io.seata.tm;
 import io.seata.core.exception.TmTransactionException;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.metrics.ClientMeter;
+import io.seata.core.metrics.ClientMetrics;
 import io.seata.core.model.GlobalStatus;
 import io.seata.core.model.TransactionManager;
 import io.seata.core.protocol.ResultCode;
@@ -50,7 +52,9 @@ public class DefaultTransactionManager implements TransactionManager {
         GlobalBeginRequest request = new GlobalBeginRequest();
         request.setTransactionName(name);
         request.setTimeout(timeout);
+        long start = ClientMetrics.start();
         GlobalBeginResponse response = (GlobalBeginResponse) syncCall(request);
+        ClientMetrics.recordTime(ClientMeter.TM_BEGIN, start);
         if (response.getResultCode() == ResultCode.Failed) {
             throw new TmTransactionException(TransactionExceptionCode.BeginFailed, response.getMsg());
         }
@@ -61,7 +65,9 @@ public class DefaultTransactionManager implements TransactionManager {
     public GlobalStatus commit(String xid) throws TransactionException {
         GlobalCommitRequest globalCommit = new GlobalCommitRequest();
         globalCommit.setXid(xid);
+        long start = ClientMetrics.start();
         GlobalCommitResponse response = (GlobalCommitResponse) syncCall(globalCommit);
+        ClientMetrics.recordTime(ClientMeter.TM_COMMIT, start);
         return response.getGlobalStatus();
     }
 
@@ -69,7 +75,9 @@ public class DefaultTransactionManager implements TransactionManager {
     public GlobalStatus rollback(String xid) throws TransactionException {
         GlobalRollbackRequest globalRollback = new GlobalRollbackRequest();
         globalRollback.setXid(xid);
+        long start = ClientMetrics.start();
         GlobalRollbackResponse response = (GlobalRollbackResponse) syncCall(globalRollback);
+        ClientMetrics.recordTime(ClientMeter.TM_ROLLBACK, start);
         return response.getGlobalStatus();
     }
 
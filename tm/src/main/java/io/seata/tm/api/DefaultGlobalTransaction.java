@@ -15,6 +15,8 @@
  */
 package io.seata.tm.api;
 
+import java.util.ArrayList;
+
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.context.RootContext;
@@ -23,6 +25,8 @@ import io.seata.core.model.GlobalStatus;
 import io.seata.core.model.TransactionManager;
 import io.seata.tm.TransactionManagerHolder;
 import io.seata.tm.api.transaction.SuspendedResourcesHolder;
+import io.seata.tm.api.transaction.TransactionHook;
+import io.seata.tm.api.transaction.TransactionHookManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -212,7 +216,14 @@ public class DefaultGlobalTransaction implements GlobalTransaction {
                 }
             }
             RootContext.unbind();
-            return clean ? null : new SuspendedResourcesHolder(xid);
+            if (clean) {
+                return null;
+            }
+            // the hooks belong to the suspended transaction, the one executed meanwhile must not trigger them
+            SuspendedResourcesHolder suspendedResourcesHolder = new SuspendedResourcesHolder(xid,
+                new ArrayList<>(TransactionHookManager.getHooks()), TransactionHookManager.getLaunchedXid());
+            TransactionHookManager.clear();
+            return suspendedResourcesHolder;
         } else {
             return null;
         }
@@ -225,6 +236,11 @@ public class DefaultGlobalTransaction implements GlobalTransaction {
         }
         String xid = suspendedResourcesHolder.getXid();
         RootContext.bind(xid);
+        TransactionHookManager.clear();
+        for (TransactionHook hook : suspendedResourcesHolder.getHooks()) {
+            TransactionHookManager.registerHook(hook);
+        }
+        TransactionHookManager.setLaunchedXid(suspendedResourcesHolder.getLaunchedXid());
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Resumimg the transaction,xid = {}", xid);
         }
@@ -140,7 +140,7 @@ public class TransactionalTemplate {
                 //5. clear
                 resumeGlobalLockConfig(previousConfig);
                 triggerAfterCompletion(tx);
-                cleanUp();
+                cleanUp(tx);
             }
         } finally {
             // If the transaction is suspended, resume it.
@@ -305,6 +305,7 @@ public class TransactionalTemplate {
         try {
             triggerBeforeBegin();
             tx.begin(txInfo.getTimeOut(), txInfo.getName());
+            TransactionHookManager.setLaunchedXid(tx.getXid());
             triggerAfterBegin();
         } catch (TransactionException txe) {
             throw new TransactionalExecutor.ExecutionException(tx, txe,
@@ -386,7 +387,12 @@ public class TransactionalTemplate {
 
     }
 
-    private void cleanUp() {
+    private void cleanUp(GlobalTransaction tx) {
+        // a participant joins the transaction launched by the current thread, whose hooks are not triggered yet
+        if (tx.getGlobalTransactionRole() == GlobalTransactionRole.Participant
+            && tx.getXid() != null && tx.getXid().equals(TransactionHookManager.getLaunchedXid())) {
+            return;
+        }
         TransactionHookManager.clear();
     }
 
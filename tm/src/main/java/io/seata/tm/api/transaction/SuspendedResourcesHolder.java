@@ -15,6 +15,9 @@
  */
 package io.seata.tm.api.transaction;
 
+import java.util.Collections;
+import java.util.List;
+
 import javax.annotation.Nonnull;
 
 /**
@@ -31,15 +34,40 @@ public class SuspendedResourcesHolder {
      */
     private String xid;
 
+    /**
+     * The hooks registered by the suspended transaction
+     */
+    private List<TransactionHook> hooks;
+
+    /**
+     * The xid of the global transaction launched by the current thread when suspended
+     */
+    private String launchedXid;
+
     public SuspendedResourcesHolder(String xid) {
+        this(xid, Collections.emptyList(), null);
+    }
+
+    public SuspendedResourcesHolder(String xid, List<TransactionHook> hooks, String launchedXid) {
         if (xid == null) {
             throw new IllegalArgumentException("xid must be not null");
         }
         this.xid = xid;
+        this.hooks = hooks;
+        this.launchedXid = launchedXid;
     }
 
     @Nonnull
     public String getXid() {
         return xid;
     }
+
+    @Nonnull
+    public List<TransactionHook> getHooks() {
+        return hooks;
+    }
+
+    public String getLaunchedXid() {
+        return launchedXid;
+    }
 }
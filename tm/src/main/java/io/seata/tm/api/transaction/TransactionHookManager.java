@@ -30,6 +30,8 @@ public final class TransactionHookManager {
 
     private static final ThreadLocal<List<TransactionHook>> LOCAL_HOOKS = new ThreadLocal<>();
 
+    private static final ThreadLocal<String> LOCAL_LAUNCHED_XID = new ThreadLocal<>();
+
     /**
      * get the current hooks
      *
@@ -61,10 +63,30 @@ public final class TransactionHookManager {
         LOCAL_HOOKS.get().add(transactionHook);
     }
 
+    /**
+     * get the xid of the global transaction launched by the current thread.
+     * the hooks registered now will be triggered before it commits or rollbacks.
+     *
+     * @return the launched xid, null if the current thread does not launch a global transaction
+     */
+    public static String getLaunchedXid() {
+        return LOCAL_LAUNCHED_XID.get();
+    }
+
+    /**
+     * set the xid of the global transaction launched by the current thread
+     *
+     * @param xid the launched xid
+     */
+    public static void setLaunchedXid(String xid) {
+        LOCAL_LAUNCHED_XID.set(xid);
+    }
+
     /**
      * clear hooks
      */
     public static void clear() {
         LOCAL_HOOKS.remove();
+        LOCAL_LAUNCHED_XID.remove();
     }
 }
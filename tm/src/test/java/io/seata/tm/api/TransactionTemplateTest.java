@@ -23,6 +23,7 @@ import io.seata.core.model.GlobalStatus;
 import io.seata.core.model.TransactionManager;
 import io.seata.tm.TransactionManagerHolder;
 import io.seata.tm.api.transaction.NoRollbackRule;
+import io.seata.tm.api.transaction.Propagation;
 import io.seata.tm.api.transaction.RollbackRule;
 import io.seata.tm.api.transaction.TransactionHook;
 import io.seata.tm.api.transaction.TransactionHookManager;
@@ -121,6 +122,65 @@ public class TransactionTemplateTest {
         verifyRollBack(transactionHook);
     }
 
+    @Test
+    public void testParticipantKeepsLauncherHooks() throws Throwable {
+        TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
+        TransactionalExecutor participantExecutor = mockExecutor(DEFAULT_NAME, Propagation.REQUIRED);
+        TransactionalTemplate template = new TransactionalTemplate();
+        when(transactionalExecutor.execute()).thenAnswer(invocation -> {
+            TransactionHookManager.registerHook(transactionHook);
+            template.execute(participantExecutor);
+            assertThat(TransactionHookManager.getLaunchedXid()).isEqualTo(DEFAULT_XID);
+            assertThat(TransactionHookManager.getHooks()).containsExactly(transactionHook);
+            return null;
+        });
+        template.execute(transactionalExecutor);
+        verify(transactionHook).beforeCommit();
+        verify(transactionHook).afterCommit();
+        verify(transactionHook).afterCompletion();
+    }
+
+    @Test
+    public void testRequiresNewKeepsSuspendedHooks() throws Throwable {
+        String innerXid = "987654321";
+        String innerName = "inner";
+        TransactionManager transactionManager = TransactionManagerHolder.get();
+        when(transactionManager.begin(null, null, innerName, DEFAULT_TIME_OUT)).thenReturn(innerXid);
+        when(transactionManager.rollback(innerXid)).thenReturn(GlobalStatus.Rollbacked);
+        when(transactionManager.getStatus(innerXid)).thenReturn(GlobalStatus.Begin);
+
+        TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
+        TransactionalExecutor innerExecutor = mockExecutor(innerName, Propagation.REQUIRES_NEW);
+        when(innerExecutor.execute()).thenThrow(new RuntimeException());
+        TransactionalTemplate template = new TransactionalTemplate();
+        when(transactionalExecutor.execute()).thenAnswer(invocation -> {
+            TransactionHookManager.registerHook(transactionHook);
+            try {
+                template.execute(innerExecutor);
+            } catch (Exception e) {
+                //catch rollback exception
+            }
+            assertThat(RootContext.getXID()).isEqualTo(DEFAULT_XID);
+            assertThat(TransactionHookManager.getLaunchedXid()).isEqualTo(DEFAULT_XID);
+            assertThat(TransactionHookManager.getHooks()).containsExactly(transactionHook);
+            return null;
+        });
+        template.execute(transactionalExecutor);
+        verify(transactionHook, Mockito.never()).beforeRollback();
+        verify(transactionHook).beforeCommit();
+        verify(transactionHook).afterCompletion();
+    }
+
+    private TransactionalExecutor mockExecutor(String name, Propagation propagation) {
+        TransactionalExecutor executor = Mockito.mock(TransactionalExecutor.class);
+        TransactionInfo txInfo = new TransactionInfo();
+        txInfo.setTimeOut(DEFAULT_TIME_OUT);
+        txInfo.setName(name);
+        txInfo.setPropagation(propagation);
+        when(executor.getTransactionInfo()).thenReturn(txInfo);
+        return executor;
+    }
+
     private TransactionHook testRollBackRules(Set<RollbackRule> rollbackRules, Throwable throwable) throws Throwable {
         TransactionHook transactionHook = Mockito.mock(TransactionHook.class);
         // mock  txInfo